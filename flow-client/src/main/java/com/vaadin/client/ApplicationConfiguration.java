@@ -34,6 +34,7 @@ public class ApplicationConfiguration {
     private ErrorMessage sessionExpiredError;
     private int heartbeatInterval;
     private int maxMessageSuspendTimeout;
+    private int updateTimeSlice;
 
     private boolean productionMode;
     private boolean requestTiming;
@@ -211,6 +212,29 @@ public class ApplicationConfiguration {
         this.maxMessageSuspendTimeout = maxMessageSuspendTimeout;
     }
 
+    /**
+     * Gets the time slice used when rendering changes from the server.
+     *
+     * @return The maximum time, in milliseconds, to spend on rendering changes
+     *         before yielding to the browser until the next animation frame, or
+     *         0 if changes are always rendered in one go.
+     */
+    public int getUpdateTimeSlice() {
+        return updateTimeSlice;
+    }
+
+    /**
+     * Sets the time slice used when rendering changes from the server.
+     *
+     * @param updateTimeSlice
+     *            The maximum time, in milliseconds, to spend on rendering
+     *            changes before yielding to the browser until the next
+     *            animation frame, or 0 to always render changes in one go.
+     */
+    public void setUpdateTimeSlice(int updateTimeSlice) {
+        this.updateTimeSlice = updateTimeSlice;
+    }
+
     /**
      * Gets the message used when a session expiration error occurs.
      *
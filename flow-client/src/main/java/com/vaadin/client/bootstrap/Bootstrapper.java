@@ -153,6 +153,12 @@ public class Bootstrapper implements EntryPoint {
         conf.setMaxMessageSuspendTimeout(
                 jsoConfiguration.getConfigInteger("maxMessageSuspendTimeout"));
 
+        Integer updateTimeSlice = jsoConfiguration
+                .getConfigInteger("updateTimeSlice");
+        if (updateTimeSlice != null) {
+            conf.setUpdateTimeSlice(updateTimeSlice.intValue());
+        }
+
         conf.setServletVersion(jsoConfiguration.getVaadinVersion());
         conf.setAtmosphereVersion(jsoConfiguration.getAtmosphereVersion());
         conf.setAtmosphereJSVersion(jsoConfiguration.getAtmosphereJSVersion());
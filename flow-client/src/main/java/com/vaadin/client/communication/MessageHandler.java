@@ -384,7 +384,9 @@ public class MessageHandler {
         assert getServerId(valueMap) == -1
                 || getServerId(valueMap) == lastSeenServerSyncId;
 
+        boolean renderingPostponed = false;
         try {
+            Profiler.enter("MessageHandler.processMessage");
             double processUidlStart = Duration.currentTimeMillis();
 
             JsonObject json = valueMap.cast();
@@ -442,48 +444,119 @@ public class MessageHandler {
                 Profiler.leave("Error handling");
             }
             nextResponseSessionExpiredHandler = null;
+
+            renderingPostponed = !flushChanges();
+            if (renderingPostponed) {
+                continueRendering(valueMap, lock, start);
+            } else {
+                afterRendering(start);
+            }
+        } finally {
+            Profiler.leave("MessageHandler.processMessage");
+            if (!renderingPostponed) {
+                endMessageProcessing(valueMap, lock);
+            }
+        }
+
+    }
+
+    /**
+     * Flushes the pending reactive changes. If an update time slice has been
+     * configured, flushing is paused when the time slice has been used up.
+     *
+     * @return <code>true</code> if all changes were flushed,
+     *         <code>false</code> if there are changes left to flush
+     */
+    private boolean flushChanges() {
+        int timeSlice = registry.getApplicationConfiguration()
+                .getUpdateTimeSlice();
+        if (timeSlice <= 0) {
             Reactive.flush();
+            return true;
+        }
+        double deadline = Duration.currentTimeMillis() + timeSlice;
+        return Reactive.flush(() -> Duration.currentTimeMillis() >= deadline);
+    }
 
-            lastProcessingTime = (int) (Duration.currentTimeMillis() - start);
-            totalProcessingTime += lastProcessingTime;
-            if (!initialMessageHandled) {
-                initialMessageHandled = true;
-
-                double fetchStart = getFetchStartTime();
-                if (fetchStart != 0) {
-                    int time = (int) (Duration.currentTimeMillis()
-                            - fetchStart);
-                    Console.log("First response processed " + time
-                            + " ms after fetchStart");
+    /**
+     * Continues rendering the changes of a message in the next animation frame.
+     * The response handling lock is kept until all changes have been rendered
+     * so that subsequent messages are handled in order after this one.
+     */
+    private void continueRendering(ValueMap valueMap, Object lock,
+            double start) {
+        requestAnimationFrame(() -> {
+            if (!responseHandlingLocks.has(lock)) {
+                // Locks have been forcibly removed and the remaining
+                // changes have been flushed by a later message
+                return;
+            }
+            boolean renderingPostponed = false;
+            try {
+                Profiler.enter("MessageHandler.continueRendering");
+                renderingPostponed = !flushChanges();
+                if (renderingPostponed) {
+                    continueRendering(valueMap, lock, start);
+                } else {
+                    afterRendering(start);
                 }
-
-                bootstrapTime = calculateBootstrapTime();
-                if (Profiler.isEnabled() && bootstrapTime != -1) {
-                    Profiler.logBootstrapTimings();
+            } finally {
+                Profiler.leave("MessageHandler.continueRendering");
+                if (!renderingPostponed) {
+                    endMessageProcessing(valueMap, lock);
                 }
             }
+        });
+    }
 
-        } finally {
-            Console.log(" Processing time was "
-                    + String.valueOf(lastProcessingTime) + "ms");
+    private void afterRendering(double start) {
+        lastProcessingTime = (int) (Duration.currentTimeMillis() - start);
+        totalProcessingTime += lastProcessingTime;
+        if (!initialMessageHandled) {
+            initialMessageHandled = true;
 
-            endRequestIfResponse(valueMap);
-            resumeResponseHandling(lock);
+            double fetchStart = getFetchStartTime();
+            if (fetchStart != 0) {
+                int time = (int) (Duration.currentTimeMillis() - fetchStart);
+                Console.log("First response processed " + time
+                        + " ms after fetchStart");
+            }
 
-            if (Profiler.isEnabled()) {
-                Scheduler.get().scheduleDeferred(() -> {
-                    Profiler.logTimings();
-                    Profiler.reset();
-                });
+            bootstrapTime = calculateBootstrapTime();
+            if (Profiler.isEnabled() && bootstrapTime != -1) {
+                Profiler.logBootstrapTimings();
             }
         }
+    }
+
+    private void endMessageProcessing(ValueMap valueMap, Object lock) {
+        Console.log(" Processing time was " + String.valueOf(lastProcessingTime)
+                + "ms");
 
+        endRequestIfResponse(valueMap);
+        resumeResponseHandling(lock);
+
+        if (Profiler.isEnabled()) {
+            Scheduler.get().scheduleDeferred(() -> {
+                Profiler.logTimings();
+                Profiler.reset();
+            });
+        }
     }
 
+    private static native void requestAnimationFrame(Command command)
+    /*-{
+        $wnd.requestAnimationFrame($entry(function() {
+            command.@com.vaadin.client.Command::execute()();
+        }));
+    }-*/;
+
     private void processChanges(JsonObject json) {
         StateTree tree = registry.getStateTree();
+        Profiler.enter("TreeChangeProcessor.processChanges");
         JsSet<StateNode> updatedNodes = TreeChangeProcessor.processChanges(tree,
                 json.getArray("changes"));
+        Profiler.leave("TreeChangeProcessor.processChanges");
 
         if (!registry.getApplicationConfiguration().isProductionMode()) {
             try {
@@ -18,9 +18,18 @@ package com.vaadin.client.communication;
 import com.google.gwt.core.client.Scheduler;
 import com.vaadin.client.Console;
 import com.vaadin.client.Registry;
+import com.vaadin.client.flow.StateNode;
+import com.vaadin.client.flow.collection.JsArray;
+import com.vaadin.client.flow.collection.JsCollections;
+import com.vaadin.client.flow.collection.JsSet;
+import com.vaadin.client.flow.nodefeature.NodeMap;
+import com.vaadin.flow.internal.nodefeature.NodeFeatures;
+import com.vaadin.flow.shared.JsonConstants;
 
 import elemental.json.Json;
 import elemental.json.JsonArray;
+import elemental.json.JsonObject;
+import elemental.json.JsonType;
 import elemental.json.JsonValue;
 
 /**
@@ -132,12 +141,112 @@ public class ServerRpcQueue {
 
     /**
      * Returns the current invocations as JSON.
+     * <p>
+     * Property synchronizations that are superseded by a later synchronization
+     * of the same property are left out, unless some other invocation than a
+     * property synchronization has been queued in between. Events are left out
+     * in the same way if all listeners of the event type have allowed it, see
+     * {@link JsonConstants#COALESCE_EVENT_TOKEN}.
      *
      * @return the current invocations in a JSON format ready to be sent to the
      *         server
      */
     public JsonArray toJson() {
-        return pendingInvocations;
+        int length = pendingInvocations.length();
+
+        // Walk backwards so that the last invocation for each key is kept
+        JsArray<JsonValue> kept = JsCollections.array();
+        JsSet<String> syncedProperties = JsCollections.set();
+        JsSet<String> coalescedEvents = JsCollections.set();
+        for (int i = length - 1; i >= 0; i--) {
+            JsonValue invocation = pendingInvocations.get(i);
+            String type = getType(invocation);
+
+            if (JsonConstants.RPC_TYPE_MAP_SYNC.equals(type)) {
+                String key = getPropertySyncKey((JsonObject) invocation);
+                if (syncedProperties.has(key)) {
+                    continue;
+                }
+                syncedProperties.add(key);
+            } else if (JsonConstants.RPC_TYPE_EVENT.equals(type)
+                    && isCoalescing((JsonObject) invocation)) {
+                String key = getEventKey((JsonObject) invocation);
+                if (coalescedEvents.has(key)) {
+                    continue;
+                }
+                coalescedEvents.add(key);
+                syncedProperties.clear();
+            } else {
+                syncedProperties.clear();
+                coalescedEvents.clear();
+            }
+            kept.push(invocation);
+        }
+
+        if (kept.length() == length) {
+            return pendingInvocations;
+        }
+
+        Console.debug("Left out " + (length - kept.length())
+                + " superseded invocations");
+        JsonArray compacted = Json.createArray();
+        for (int i = kept.length() - 1; i >= 0; i--) {
+            compacted.set(compacted.length(), kept.get(i));
+        }
+        return compacted;
+    }
+
+    private static String getType(JsonValue invocation) {
+        if (invocation.getType() != JsonType.OBJECT) {
+            return null;
+        }
+        JsonObject object = (JsonObject) invocation;
+        if (!object.hasKey(JsonConstants.RPC_TYPE)) {
+            return null;
+        }
+        return object.getString(JsonConstants.RPC_TYPE);
+    }
+
+    private static String getPropertySyncKey(JsonObject invocation) {
+        return (int) invocation.getNumber(JsonConstants.RPC_NODE) + ":"
+                + (int) invocation.getNumber(JsonConstants.RPC_FEATURE) + ":"
+                + invocation.getString(JsonConstants.RPC_PROPERTY);
+    }
+
+    private static String getEventKey(JsonObject invocation) {
+        String key = (int) invocation.getNumber(JsonConstants.RPC_NODE) + ":"
+                + invocation.getString(JsonConstants.RPC_EVENT_TYPE);
+        JsonObject eventData = invocation
+                .getObject(JsonConstants.RPC_EVENT_DATA);
+        if (eventData != null
+                && eventData.hasKey(JsonConstants.EVENT_DATA_PHASE)) {
+            // Debounce phases of the same event are never coalesced
+            key += ":" + eventData.getString(JsonConstants.EVENT_DATA_PHASE);
+        }
+        return key;
+    }
+
+    private boolean isCoalescing(JsonObject invocation) {
+        StateNode node = registry.getStateTree()
+                .getNode((int) invocation.getNumber(JsonConstants.RPC_NODE));
+        if (node == null
+                || !node.hasFeature(NodeFeatures.ELEMENT_LISTENERS)) {
+            return false;
+        }
+
+        NodeMap listenerMap = node.getMap(NodeFeatures.ELEMENT_LISTENERS);
+        String eventType = invocation.getString(JsonConstants.RPC_EVENT_TYPE);
+        if (!listenerMap.hasPropertyValue(eventType)) {
+            return false;
+        }
+
+        String settingsKey = (String) listenerMap.getProperty(eventType)
+                .getValue();
+        if (!registry.getConstantPool().has(settingsKey)) {
+            return false;
+        }
+        JsonObject settings = registry.getConstantPool().get(settingsKey);
+        return settings.hasKey(JsonConstants.COALESCE_EVENT_TOKEN);
     }
 
     private boolean isFlushScheduled() {
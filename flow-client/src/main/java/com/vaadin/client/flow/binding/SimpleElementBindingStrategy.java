@@ -1240,6 +1240,10 @@ public class SimpleElementBindingStrategy implements BindingStrategy<Element> {
                     String property = expressionString.substring(
                             JsonConstants.SYNCHRONIZE_PROPERTY_TOKEN.length());
                     synchronizeProperties.add(property);
+                } else if (JsonConstants.COALESCE_EVENT_TOKEN
+                        .equals(expressionString)) {
+                    // Not an expression, only checked by ServerRpcQueue
+                    continue;
                 } else {
                     EventExpression expression = getOrCreateExpression(
                             expressionString);
@@ -15,6 +15,8 @@
  */
 package com.vaadin.client.flow.reactive;
 
+import java.util.function.BooleanSupplier;
+
 import com.vaadin.client.Command;
 import com.vaadin.client.flow.collection.JsArray;
 import com.vaadin.client.flow.collection.JsCollections;
@@ -97,8 +99,29 @@ public class Reactive {
      * @see #addPostFlushListener(FlushListener)
      */
     public static void flush() {
-        if(flushing) {
-            return;
+        flush(() -> false);
+    }
+
+    /**
+     * Flushes flush listeners and post flush listeners until there are no more
+     * listeners or until the provided condition tells that flushing should be
+     * paused. The condition is checked after each invoked listener. Listeners
+     * that have not been invoked when flushing is paused are kept in their
+     * original order and are invoked by the next flush.
+     *
+     * @param yieldCondition
+     *            the condition that tells whether flushing should be paused,
+     *            not <code>null</code>
+     * @return <code>true</code> if all listeners have been invoked,
+     *         <code>false</code> if flushing was paused before all listeners
+     *         were invoked
+     *
+     * @see #flush()
+     */
+    public static boolean flush(BooleanSupplier yieldCondition) {
+        assert yieldCondition != null;
+        if (flushing) {
+            return true;
         }
         try {
             flushing = true;
@@ -107,6 +130,10 @@ public class Reactive {
                 while (hasFlushListeners()) {
                     FlushListener oldestListener = flushListeners.remove(0);
                     oldestListener.flush();
+                    if (yieldCondition.getAsBoolean()) {
+                        return !hasFlushListeners()
+                                && !hasPostFlushListeners();
+                    }
                 }
 
                 // Purge one post flush listener, then look if there are new flush
@@ -114,9 +141,14 @@ public class Reactive {
                 if (hasPostFlushListeners()) {
                     FlushListener oldestListener = postFlushListeners.remove(0);
                     oldestListener.flush();
+                    if (yieldCondition.getAsBoolean()) {
+                        return !hasFlushListeners()
+                                && !hasPostFlushListeners();
+                    }
                 }
             }
-        }finally {
+            return true;
+        } finally {
             flushing = false;
         }
     }
@@ -0,0 +1,181 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.client.communication;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import com.vaadin.client.InitialPropertiesHandler;
+import com.vaadin.client.Registry;
+import com.vaadin.client.UILifecycle;
+import com.vaadin.client.flow.ConstantPool;
+import com.vaadin.client.flow.StateNode;
+import com.vaadin.client.flow.StateTree;
+import com.vaadin.flow.internal.nodefeature.NodeFeatures;
+import com.vaadin.flow.shared.JsonConstants;
+
+import elemental.json.Json;
+import elemental.json.JsonArray;
+import elemental.json.JsonObject;
+
+public class ServerRpcQueueTest {
+
+    private static final String COALESCING_SETTINGS = "coalescing";
+    private static final String PLAIN_SETTINGS = "plain";
+    private static final int NODE = 2;
+
+    private ServerRpcQueue queue;
+    private StateTree tree;
+
+    @Before
+    public void setup() {
+        UILifecycle lifecycle = Mockito.mock(UILifecycle.class);
+        Mockito.when(lifecycle.isRunning()).thenReturn(true);
+
+        Registry registry = new Registry() {
+            {
+                set(UILifecycle.class, lifecycle);
+                set(ConstantPool.class, new ConstantPool());
+                set(InitialPropertiesHandler.class,
+                        Mockito.mock(InitialPropertiesHandler.class));
+                set(StateTree.class, new StateTree(this));
+            }
+        };
+        tree = registry.getStateTree();
+        queue = new ServerRpcQueue(registry);
+
+        JsonObject coalescing = Json.createObject();
+        coalescing.put(JsonConstants.COALESCE_EVENT_TOKEN, false);
+        JsonObject constants = Json.createObject();
+        constants.put(COALESCING_SETTINGS, coalescing);
+        constants.put(PLAIN_SETTINGS, Json.createObject());
+        registry.getConstantPool().importFromJson(constants);
+
+        StateNode node = new StateNode(NODE, tree);
+        node.getMap(NodeFeatures.ELEMENT_LISTENERS).getProperty("mousemove")
+                .setValue(COALESCING_SETTINGS);
+        node.getMap(NodeFeatures.ELEMENT_LISTENERS).getProperty("click")
+                .setValue(PLAIN_SETTINGS);
+        tree.registerNode(node);
+    }
+
+    @Test
+    public void toJson_noSupersededInvocations_allInvocationsSent() {
+        queue.add(sync(NODE, "value", "a"));
+        queue.add(sync(NODE, "checked", true));
+        queue.add(event(NODE, "click"));
+        queue.add(sync(NODE, "value", "b"));
+
+        JsonArray json = queue.toJson();
+
+        Assert.assertEquals(4, json.length());
+    }
+
+    @Test
+    public void toJson_supersededPropertySync_onlyLastSent() {
+        queue.add(sync(NODE, "value", "a"));
+        queue.add(sync(NODE, "checked", true));
+        queue.add(sync(NODE, "value", "ab"));
+        queue.add(sync(NODE, "value", "abc"));
+
+        JsonArray json = queue.toJson();
+
+        Assert.assertEquals(2, json.length());
+        Assert.assertEquals("checked", json.getObject(0)
+                .getString(JsonConstants.RPC_PROPERTY));
+        Assert.assertEquals("abc", json.getObject(1)
+                .getString(JsonConstants.RPC_PROPERTY_VALUE));
+    }
+
+    @Test
+    public void toJson_propertySyncOfOtherNode_notCoalesced() {
+        queue.add(sync(NODE, "value", "a"));
+        queue.add(sync(NODE + 1, "value", "b"));
+
+        Assert.assertEquals(2, queue.toJson().length());
+    }
+
+    @Test
+    public void toJson_coalescingEvents_onlyLastEventAndSyncSent() {
+        queue.add(sync(NODE, "value", "a"));
+        queue.add(event(NODE, "mousemove"));
+        queue.add(sync(NODE, "value", "ab"));
+        queue.add(event(NODE, "mousemove"));
+
+        JsonArray json = queue.toJson();
+
+        Assert.assertEquals(2, json.length());
+        Assert.assertEquals("ab", json.getObject(0)
+                .getString(JsonConstants.RPC_PROPERTY_VALUE));
+        Assert.assertEquals("mousemove", json.getObject(1)
+                .getString(JsonConstants.RPC_EVENT_TYPE));
+    }
+
+    @Test
+    public void toJson_nonCoalescingEvents_allSent() {
+        queue.add(event(NODE, "click"));
+        queue.add(event(NODE, "click"));
+
+        Assert.assertEquals(2, queue.toJson().length());
+    }
+
+    @Test
+    public void toJson_otherInvocationBetweenCoalescingEvents_allSent() {
+        queue.add(event(NODE, "mousemove"));
+        queue.add(event(NODE, "click"));
+        queue.add(event(NODE, "mousemove"));
+
+        Assert.assertEquals(3, queue.toJson().length());
+    }
+
+    @Test
+    public void toJson_differentDebouncePhases_notCoalesced() {
+        JsonObject leading = event(NODE, "mousemove");
+        leading.getObject(JsonConstants.RPC_EVENT_DATA)
+                .put(JsonConstants.EVENT_DATA_PHASE, "leading");
+        queue.add(leading);
+        queue.add(event(NODE, "mousemove"));
+
+        Assert.assertEquals(2, queue.toJson().length());
+    }
+
+    private static JsonObject sync(int node, String property, Object value) {
+        JsonObject message = Json.createObject();
+        message.put(JsonConstants.RPC_TYPE, JsonConstants.RPC_TYPE_MAP_SYNC);
+        message.put(JsonConstants.RPC_NODE, node);
+        message.put(JsonConstants.RPC_FEATURE,
+                NodeFeatures.ELEMENT_PROPERTIES);
+        message.put(JsonConstants.RPC_PROPERTY, property);
+        if (value instanceof Boolean) {
+            message.put(JsonConstants.RPC_PROPERTY_VALUE,
+                    ((Boolean) value).booleanValue());
+        } else {
+            message.put(JsonConstants.RPC_PROPERTY_VALUE, (String) value);
+        }
+        return message;
+    }
+
+    private static JsonObject event(int node, String type) {
+        JsonObject message = Json.createObject();
+        message.put(JsonConstants.RPC_TYPE, JsonConstants.RPC_TYPE_EVENT);
+        message.put(JsonConstants.RPC_NODE, node);
+        message.put(JsonConstants.RPC_EVENT_TYPE, type);
+        message.put(JsonConstants.RPC_EVENT_DATA, Json.createObject());
+        return message;
+    }
+}
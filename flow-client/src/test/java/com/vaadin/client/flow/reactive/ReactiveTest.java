@@ -177,4 +177,54 @@ public class ReactiveTest {
 
         Assert.assertEquals(Arrays.asList("flush", "flush2", "postFlush"), order);
     }
+
+    @Test
+    public void flushWithYieldCondition_pausesAndResumesInOrder() {
+        List<String> order = new ArrayList<>();
+
+        Reactive.addPostFlushListener(() -> order.add("postFlush"));
+        Reactive.addFlushListener(() -> order.add("flush1"));
+        Reactive.addFlushListener(() -> order.add("flush2"));
+        Reactive.addFlushListener(() -> order.add("flush3"));
+
+        Assert.assertFalse("Flush should be paused after the first listener",
+                Reactive.flush(() -> true));
+        Assert.assertEquals(Arrays.asList("flush1"), order);
+
+        Assert.assertFalse(Reactive.flush(() -> order.size() == 3));
+        Assert.assertEquals(Arrays.asList("flush1", "flush2", "flush3"),
+                order);
+
+        Assert.assertTrue(
+                "Flush should be completed when the last listener is invoked",
+                Reactive.flush(() -> true));
+        Assert.assertEquals(
+                Arrays.asList("flush1", "flush2", "flush3", "postFlush"),
+                order);
+    }
+
+    @Test
+    public void flushWithYieldCondition_remainingListenersRunByRegularFlush() {
+        List<String> order = new ArrayList<>();
+
+        Reactive.addPostFlushListener(() -> order.add("postFlush"));
+        Reactive.addFlushListener(() -> order.add("flush1"));
+        Reactive.addFlushListener(() -> order.add("flush2"));
+
+        Assert.assertFalse(Reactive.flush(() -> true));
+
+        Reactive.flush();
+
+        Assert.assertEquals(Arrays.asList("flush1", "flush2", "postFlush"),
+                order);
+    }
+
+    @Test
+    public void flushWithYieldCondition_neverYielding_completes() {
+        Reactive.addFlushListener(count::incrementAndGet);
+        Reactive.addPostFlushListener(count::incrementAndGet);
+
+        Assert.assertTrue(Reactive.flush(() -> false));
+        Assert.assertEquals(2, count.get());
+    }
 }
@@ -15,9 +15,7 @@
  */
 package com.vaadin.flow.data.binder;
 
-import javax.validation.metadata.BeanDescriptor;
 import javax.validation.metadata.ConstraintDescriptor;
-import javax.validation.metadata.PropertyDescriptor;
 
 import com.vaadin.flow.component.HasValue;
 import com.vaadin.flow.data.binder.BeanPropertySet.NestedBeanPropertyDefinition;
@@ -155,15 +153,9 @@ public class BeanValidationBinder<BEAN> extends Binder<BEAN> {
     private void configureRequired(BindingBuilder<BEAN, ?> binding,
             PropertyDefinition<BEAN, ?> definition, BeanValidator validator) {
         assert requiredConfigurator != null;
-        Class<?> propertyHolderType = definition.getPropertyHolderType();
-        BeanDescriptor descriptor = validator.getJavaxBeanValidator()
-                .getConstraintsForClass(propertyHolderType);
-        PropertyDescriptor propertyDescriptor = descriptor
-                .getConstraintsForProperty(definition.getTopLevelName());
-        if (propertyDescriptor == null) {
-            return;
-        }
-        if (propertyDescriptor.getConstraintDescriptors().stream()
+        // The validator is created for the property holder type and shares
+        // the constraint metadata with other validators of the property
+        if (validator.getConstraintDescriptors().stream()
                 .map(ConstraintDescriptor::getAnnotation)
                 .anyMatch(constraint -> requiredConfigurator.test(constraint,
                         binding))) {
@@ -779,6 +779,13 @@ public class Binder<BEAN> implements Serializable {
          */
         private Converter<FIELDVALUE, ?> converterValidatorChain;
 
+        /**
+         * The individual converters and validators of
+         * {@link #converterValidatorChain}, used for building the compiled
+         * chain of the binding.
+         */
+        private final List<Converter<?, ?>> converterValidatorSteps = new ArrayList<>();
+
         private boolean asRequiredSet;
 
         /**
@@ -803,6 +810,7 @@ public class Binder<BEAN> implements Serializable {
             this.binder = binder;
             this.converterValidatorChain = converterValidatorChain;
             this.statusHandler = statusHandler;
+            converterValidatorSteps.add(converterValidatorChain);
         }
 
         Converter<FIELDVALUE, ?> getConverterValidatorChain() {
@@ -899,8 +907,7 @@ public class Binder<BEAN> implements Serializable {
                 }
             });
 
-            converterValidatorChain = ((Converter<FIELDVALUE, TARGET>) converterValidatorChain)
-                    .chain(new ValidatorAsConverter<>(wrappedValidator));
+            addStep(new ValidatorAsConverter<>(wrappedValidator));
             return this;
         }
 
@@ -978,12 +985,17 @@ public class Binder<BEAN> implements Serializable {
                 getBinder().initialConverters.get(field).setIdentity();
             }
 
-            converterValidatorChain = ((Converter<FIELDVALUE, TARGET>) converterValidatorChain)
-                    .chain(converter);
+            addStep(converter);
 
             return (BindingBuilder<BEAN, NEWTARGET>) this;
         }
 
+        private void addStep(Converter<TARGET, ?> converter) {
+            converterValidatorChain = ((Converter<FIELDVALUE, TARGET>) converterValidatorChain)
+                    .chain(converter);
+            converterValidatorSteps.add(converter);
+        }
+
         /**
          * Returns the {@code Binder} connected to this {@code Binding}
          * instance.
@@ -1046,10 +1058,15 @@ public class Binder<BEAN> implements Serializable {
         private boolean valueInit = false;
 
         /**
-         * Contains all converters and validators chained together in the
-         * correct order.
+         * Contains all converters and validators in the order they are applied
+         * to the field value. The steps are run in a loop instead of through
+         * the chained converter of the builder to avoid allocating an
+         * intermediate result for every step.
          */
-        private final Converter<FIELDVALUE, TARGET> converterValidatorChain;
+        private final Converter<Object, Object>[] converterValidatorSteps;
+
+        private transient ValueContext cachedValueContext;
+        private int cachedValueContextOperation;
 
         private final boolean asRequiredSet;
 
@@ -1062,7 +1079,8 @@ public class Binder<BEAN> implements Serializable {
             field = builder.field;
             statusHandler = builder.statusHandler;
             this.asRequiredSet = builder.asRequiredSet;
-            converterValidatorChain = ((Converter<FIELDVALUE, TARGET>) builder.converterValidatorChain);
+            converterValidatorSteps = builder.converterValidatorSteps
+                    .toArray(new Converter[0]);
 
             onValueChange = getField().addValueChangeListener(
                     event -> handleFieldValueChange(event));
@@ -1137,8 +1155,66 @@ public class Binder<BEAN> implements Serializable {
          */
         private Result<TARGET> doConversion() {
             FIELDVALUE fieldValue = field.getValue();
-            return converterValidatorChain.convertToModel(fieldValue,
-                    createValueContext());
+            return convertToModel(fieldValue, getValueContext());
+        }
+
+        /**
+         * Runs the given value through all converters and validators. Gives
+         * the same result as the chained converter of the builder.
+         *
+         * @param fieldValue
+         *            the field value to convert
+         * @param context
+         *            the value context to use
+         * @return the result of the conversion
+         */
+        @SuppressWarnings("unchecked")
+        private Result<TARGET> convertToModel(FIELDVALUE fieldValue,
+                ValueContext context) {
+            Object value = fieldValue;
+            Result<Object> result = null;
+            List<ValidationResult> validationResults = null;
+            int lastStep = converterValidatorSteps.length - 1;
+            for (int i = 0; i <= lastStep; i++) {
+                Converter<Object, Object> step = converterValidatorSteps[i];
+                if (step instanceof ValidatorAsConverter) {
+                    ValidationResult validationResult = ((ValidatorAsConverter<Object>) step).validator
+                            .apply(value, context);
+                    if (validationResults == null) {
+                        validationResults = new ArrayList<>();
+                    }
+                    validationResults.add(validationResult);
+                    if (validationResult.isError()) {
+                        result = Result
+                                .error(validationResult.getErrorMessage());
+                        break;
+                    }
+                    result = null;
+                } else {
+                    result = step.convertToModel(value, context);
+                    if (result instanceof ValidationResultWrap) {
+                        ValidationResultWrap<Object> wrap = (ValidationResultWrap<Object>) result;
+                        if (validationResults == null) {
+                            validationResults = new ArrayList<>();
+                        }
+                        validationResults.addAll(wrap.getValidationResults());
+                        result = wrap.getWrappedResult();
+                    }
+                    if (result.isError()) {
+                        break;
+                    }
+                    if (i < lastStep) {
+                        value = result.getOrThrow(IllegalStateException::new);
+                    }
+                }
+            }
+            if (result == null) {
+                result = Result.ok(value);
+            }
+            if (validationResults != null) {
+                result = new ValidationResultWrap<>(result, validationResults);
+            }
+            return (Result<TARGET>) result;
         }
 
         private BindingValidationStatus<TARGET> toValidationStatus(
@@ -1167,6 +1243,25 @@ public class Binder<BEAN> implements Serializable {
             return createValueContext(field);
         }
 
+        /**
+         * Gets a value context for the binding. During a binder operation, such
+         * as {@link Binder#readBean(Object)} or {@link Binder#validate()}, the
+         * same context is reused for all conversions of the binding.
+         *
+         * @return the value context
+         */
+        private ValueContext getValueContext() {
+            if (binder == null || binder.operationDepth == 0) {
+                return createValueContext();
+            }
+            if (cachedValueContext == null
+                    || cachedValueContextOperation != binder.operationCount) {
+                cachedValueContext = createValueContext();
+                cachedValueContextOperation = binder.operationCount;
+            }
+            return cachedValueContext;
+        }
+
         static ValueContext createValueContext(HasValue<?, ?> field) {
             if (field instanceof Component) {
                 return new ValueContext((Component) field, field);
@@ -1207,10 +1302,18 @@ public class Binder<BEAN> implements Serializable {
             }
         }
 
+        @SuppressWarnings("unchecked")
         private FIELDVALUE convertToFieldType(TARGET target) {
-            ValueContext valueContext = createValueContext();
-            return converterValidatorChain.convertToPresentation(target,
-                    valueContext);
+            ValueContext valueContext = getValueContext();
+            Object value = target;
+            for (int i = converterValidatorSteps.length - 1; i >= 0; i--) {
+                Converter<Object, Object> step = converterValidatorSteps[i];
+                // Validators don't change the value
+                if (!(step instanceof ValidatorAsConverter)) {
+                    value = step.convertToPresentation(value, valueContext);
+                }
+            }
+            return (FIELDVALUE) value;
         }
 
         /**
@@ -1227,8 +1330,14 @@ public class Binder<BEAN> implements Serializable {
 
             if (binder != null) {
                 // Inform binder of changes; if setBean: writeIfValid
-                getBinder().handleFieldValueChange(this);
-                getBinder().fireEvent(event);
+                Binder<BEAN> currentBinder = getBinder();
+                currentBinder.beginOperation();
+                try {
+                    currentBinder.handleFieldValueChange(this);
+                } finally {
+                    currentBinder.endOperation();
+                }
+                currentBinder.fireEvent(event);
             }
         }
 
@@ -1453,6 +1562,11 @@ public class Binder<BEAN> implements Serializable {
 
     private boolean validatorsDisabled = false;
 
+    private int operationDepth;
+    private int operationCount;
+    private boolean statusChangePending;
+    private boolean pendingHasValidationErrors;
+
     /**
      * Creates a binder using a custom {@link PropertySet} implementation for
      * finding and resolving property names for
@@ -1760,21 +1874,27 @@ public class Binder<BEAN> implements Serializable {
      *            bean and clear bound fields
      */
     public void setBean(BEAN bean) {
-        checkBindingsCompleted("setBean");
-        if (bean == null) {
-            if (this.bean != null) {
-                doRemoveBean(true);
-                clearFields();
+        beginOperation();
+        try {
+            checkBindingsCompleted("setBean");
+            if (bean == null) {
+                if (this.bean != null) {
+                    doRemoveBean(true);
+                    clearFields();
+                }
+            } else {
+                doRemoveBean(false);
+                this.bean = bean;
+                getBindings().forEach(b -> b.initFieldValue(bean, true));
+                // if there has been field value change listeners that trigger
+                // validation, need to make sure the validation errors are
+                // cleared
+                getValidationStatusHandler().statusChange(
+                        BinderValidationStatus.createUnresolvedStatus(this));
+                fireStatusChangeEvent(false);
             }
-        } else {
-            doRemoveBean(false);
-            this.bean = bean;
-            getBindings().forEach(b -> b.initFieldValue(bean, true));
-            // if there has been field value change listeners that trigger
-            // validation, need to make sure the validation errors are cleared
-            getValidationStatusHandler().statusChange(
-                    BinderValidationStatus.createUnresolvedStatus(this));
-            fireStatusChangeEvent(false);
+        } finally {
+            endOperation();
         }
     }
 
@@ -1805,25 +1925,30 @@ public class Binder<BEAN> implements Serializable {
      *            clear bound fields
      */
     public void readBean(BEAN bean) {
-        checkBindingsCompleted("readBean");
-        if (bean == null) {
-            clearFields();
-        } else {
-            changedBindings.clear();
-            getBindings().forEach(binding -> {
-                /*
-                 * Some bindings may have been removed from binder during
-                 * readBean. We should skip those bindings to avoid NPE inside
-                 * initFieldValue. It happens e.g. when we unbind a binding in
-                 * valueChangeListener of another field.
-                 */
-                if (binding.getField() != null) {
-                    binding.initFieldValue(bean, false);
-                }
-            });
-            getValidationStatusHandler().statusChange(
-                    BinderValidationStatus.createUnresolvedStatus(this));
-            fireStatusChangeEvent(false);
+        beginOperation();
+        try {
+            checkBindingsCompleted("readBean");
+            if (bean == null) {
+                clearFields();
+            } else {
+                changedBindings.clear();
+                getBindings().forEach(binding -> {
+                    /*
+                     * Some bindings may have been removed from binder during
+                     * readBean. We should skip those bindings to avoid NPE
+                     * inside initFieldValue. It happens e.g. when we unbind a
+                     * binding in valueChangeListener of another field.
+                     */
+                    if (binding.getField() != null) {
+                        binding.initFieldValue(bean, false);
+                    }
+                });
+                getValidationStatusHandler().statusChange(
+                        BinderValidationStatus.createUnresolvedStatus(this));
+                fireStatusChangeEvent(false);
+            }
+        } finally {
+            endOperation();
         }
     }
 
@@ -1937,49 +2062,58 @@ public class Binder<BEAN> implements Serializable {
     @SuppressWarnings("unchecked")
     private BinderValidationStatus<BEAN> doWriteIfValid(BEAN bean,
             Collection<Binding<BEAN, ?>> bindings) {
-        Objects.requireNonNull(bean, "bean cannot be null");
-        List<ValidationResult> binderResults = Collections.emptyList();
-
-        // First run fields level validation, if no validation errors then
-        // update bean
-        List<BindingValidationStatus<?>> bindingResults = bindings.stream()
-                .map(b -> b.validate(false)).collect(Collectors.toList());
-
-        if (bindingResults.stream()
-                .noneMatch(BindingValidationStatus::isError)) {
-            // Store old bean values so we can restore them if validators fail
-            Map<Binding<BEAN, ?>, Object> oldValues = getBeanState(bean,
-                    bindings);
-
-            bindings.forEach(binding -> ((BindingImpl<BEAN, ?, ?>) binding)
-                    .writeFieldValue(bean));
-            // Now run bean level validation against the updated bean
-            binderResults = validateBean(bean);
-            if (binderResults.stream().anyMatch(ValidationResult::isError)) {
-                // Bean validator failed, revert values
-                restoreBeanState(bean, oldValues);
-            } else if (bean.equals(getBean())) {
-                /*
-                 * Changes have been successfully saved. The set is only cleared
-                 * when the changes are stored in the currently set bean.
-                 */
-                bindings.clear();
-            } else if (getBean() == null) {
-                /*
-                 * When using readBean and writeBean there is no knowledge of
-                 * which bean the changes come from or are stored in. Binder is
-                 * no longer "changed" when saved succesfully to any bean.
-                 */
-                changedBindings.clear();
+        beginOperation();
+        try {
+            Objects.requireNonNull(bean, "bean cannot be null");
+            List<ValidationResult> binderResults = Collections.emptyList();
+
+            // First run fields level validation, if no validation errors then
+            // update bean
+            List<BindingValidationStatus<?>> bindingResults = bindings.stream()
+                    .map(b -> b.validate(false)).collect(Collectors.toList());
+
+            if (bindingResults.stream()
+                    .noneMatch(BindingValidationStatus::isError)) {
+                // Store old bean values so we can restore them if validators
+                // fail
+                Map<Binding<BEAN, ?>, Object> oldValues = getBeanState(bean,
+                        bindings);
+
+                bindings.forEach(binding -> ((BindingImpl<BEAN, ?, ?>) binding)
+                        .writeFieldValue(bean));
+                // Now run bean level validation against the updated bean
+                binderResults = validateBean(bean);
+                if (binderResults.stream()
+                        .anyMatch(ValidationResult::isError)) {
+                    // Bean validator failed, revert values
+                    restoreBeanState(bean, oldValues);
+                } else if (bean.equals(getBean())) {
+                    /*
+                     * Changes have been successfully saved. The set is only
+                     * cleared when the changes are stored in the currently set
+                     * bean.
+                     */
+                    bindings.clear();
+                } else if (getBean() == null) {
+                    /*
+                     * When using readBean and writeBean there is no knowledge
+                     * of which bean the changes come from or are stored in.
+                     * Binder is no longer "changed" when saved succesfully to
+                     * any bean.
+                     */
+                    changedBindings.clear();
+                }
             }
-        }
 
-        // Generate status object and fire events.
-        BinderValidationStatus<BEAN> status = new BinderValidationStatus<>(this,
-                bindingResults, binderResults);
-        getValidationStatusHandler().statusChange(status);
-        fireStatusChangeEvent(!status.isOk());
-        return status;
+            // Generate status object and fire events.
+            BinderValidationStatus<BEAN> status = new BinderValidationStatus<>(
+                    this, bindingResults, binderResults);
+            getValidationStatusHandler().statusChange(status);
+            fireStatusChangeEvent(!status.isOk());
+            return status;
+        } finally {
+            endOperation();
+        }
     }
 
     /**
@@ -1996,17 +2130,22 @@ public class Binder<BEAN> implements Serializable {
     @SuppressWarnings({ "unchecked" })
     private void doWriteDraft(BEAN bean, 
             Collection<Binding<BEAN, ?>> bindings, boolean forced) {
-        Objects.requireNonNull(bean, "bean cannot be null");
+        beginOperation();
+        try {
+            Objects.requireNonNull(bean, "bean cannot be null");
 
-        if (!forced) {
-             bindings.forEach(binding -> ((BindingImpl<BEAN, ?, ?>) binding)
-                    .writeFieldValue(bean));
-        } else {
-            boolean isDisabled = isValidatorsDisabled();
-            setValidatorsDisabled(true);
-            bindings.forEach(binding -> ((BindingImpl<BEAN, ?, ?>) binding)
-                    .writeFieldValue(bean));
-            setValidatorsDisabled(isDisabled);
+            if (!forced) {
+                bindings.forEach(binding -> ((BindingImpl<BEAN, ?, ?>) binding)
+                        .writeFieldValue(bean));
+            } else {
+                boolean isDisabled = isValidatorsDisabled();
+                setValidatorsDisabled(true);
+                bindings.forEach(binding -> ((BindingImpl<BEAN, ?, ?>) binding)
+                        .writeFieldValue(bean));
+                setValidatorsDisabled(isDisabled);
+            }
+        } finally {
+            endOperation();
         }
     }
 
@@ -2174,33 +2313,38 @@ public class Binder<BEAN> implements Serializable {
      *
      */
     protected BinderValidationStatus<BEAN> validate(boolean fireEvent) {
-        if (getBean() == null && !validators.isEmpty()) {
-            throw new IllegalStateException("Cannot validate binder: "
-                    + "bean level validators have been configured "
-                    + "but no bean is currently set");
-        }
-        List<BindingValidationStatus<?>> bindingStatuses = validateBindings();
-
-        BinderValidationStatus<BEAN> validationStatus;
-        if (validators.isEmpty() || bindingStatuses.stream()
-                .anyMatch(BindingValidationStatus::isError)) {
-            validationStatus = new BinderValidationStatus<>(this,
-                    bindingStatuses, Collections.emptyList());
-        } else {
-            Map<Binding<BEAN, ?>, Object> beanState = getBeanState(getBean(),
-                    changedBindings);
-            changedBindings
-                    .forEach(binding -> ((BindingImpl<BEAN, ?, ?>) binding)
-                            .writeFieldValue(getBean()));
-            validationStatus = new BinderValidationStatus<>(this,
-                    bindingStatuses, validateBean(getBean()));
-            restoreBeanState(getBean(), beanState);
-        }
-        if (fireEvent) {
-            getValidationStatusHandler().statusChange(validationStatus);
-            fireStatusChangeEvent(validationStatus.hasErrors());
+        beginOperation();
+        try {
+            if (getBean() == null && !validators.isEmpty()) {
+                throw new IllegalStateException("Cannot validate binder: "
+                        + "bean level validators have been configured "
+                        + "but no bean is currently set");
+            }
+            List<BindingValidationStatus<?>> bindingStatuses = validateBindings();
+
+            BinderValidationStatus<BEAN> validationStatus;
+            if (validators.isEmpty() || bindingStatuses.stream()
+                    .anyMatch(BindingValidationStatus::isError)) {
+                validationStatus = new BinderValidationStatus<>(this,
+                        bindingStatuses, Collections.emptyList());
+            } else {
+                Map<Binding<BEAN, ?>, Object> beanState = getBeanState(
+                        getBean(), changedBindings);
+                changedBindings
+                        .forEach(binding -> ((BindingImpl<BEAN, ?, ?>) binding)
+                                .writeFieldValue(getBean()));
+                validationStatus = new BinderValidationStatus<>(this,
+                        bindingStatuses, validateBean(getBean()));
+                restoreBeanState(getBean(), beanState);
+            }
+            if (fireEvent) {
+                getValidationStatusHandler().statusChange(validationStatus);
+                fireStatusChangeEvent(validationStatus.hasErrors());
+            }
+            return validationStatus;
+        } finally {
+            endOperation();
         }
-        return validationStatus;
     }
 
     /**
@@ -2239,9 +2383,13 @@ public class Binder<BEAN> implements Serializable {
      * @return an immutable list of validation results for bindings
      */
     private List<BindingValidationStatus<?>> validateBindings() {
-        return getBindings().stream().map(BindingImpl::doValidation)
-                .collect(Collectors.collectingAndThen(Collectors.toList(),
-                        Collections::unmodifiableList));
+        Collection<BindingImpl<BEAN, ?, ?>> currentBindings = getBindings();
+        List<BindingValidationStatus<?>> statuses = new ArrayList<>(
+                currentBindings.size());
+        for (BindingImpl<BEAN, ?, ?> binding : currentBindings) {
+            statuses.add(binding.doValidation());
+        }
+        return Collections.unmodifiableList(statuses);
     }
 
     /**
@@ -2527,9 +2675,14 @@ public class Binder<BEAN> implements Serializable {
      *
      * @return a list of the bindings
      */
+    @SuppressWarnings("unchecked")
     protected Collection<BindingImpl<BEAN, ?, ?>> getBindings() {
-        return bindings.stream().map(b -> ((BindingImpl<BEAN, ?, ?>) b))
-                .collect(Collectors.toList());
+        List<BindingImpl<BEAN, ?, ?>> result = new ArrayList<>(
+                bindings.size());
+        for (Binding<BEAN, ?> binding : bindings) {
+            result.add((BindingImpl<BEAN, ?, ?>) binding);
+        }
+        return result;
     }
 
     /**
@@ -2648,13 +2801,45 @@ public class Binder<BEAN> implements Serializable {
     }
 
     private void fireStatusChangeEvent(boolean hasValidationErrors) {
+        if (operationDepth > 0) {
+            // Fired once when the outermost operation ends
+            statusChangePending = true;
+            pendingHasValidationErrors = hasValidationErrors;
+            return;
+        }
         StatusChangeEvent event = new StatusChangeEvent(this,
                 hasValidationErrors);
         fireEvent(event);
     }
 
+    /**
+     * Starts a binder operation that may convert the values of many bindings,
+     * such as reading or validating all fields. Value contexts are reused
+     * within an operation and status change events are collected into one
+     * event that is fired when the outermost operation ends. Must always be
+     * followed by {@link #endOperation()}.
+     */
+    private void beginOperation() {
+        if (operationDepth++ == 0) {
+            operationCount++;
+        }
+    }
+
+    /**
+     * Ends an operation started with {@link #beginOperation()}.
+     */
+    private void endOperation() {
+        if (--operationDepth == 0 && statusChangePending) {
+            statusChangePending = false;
+            fireStatusChangeEvent(pendingHasValidationErrors);
+        }
+    }
+
     @SuppressWarnings({ "rawtypes", "unchecked" })
     private void fireEvent(Object event) {
+        if (listeners.isEmpty()) {
+            return;
+        }
         new HashMap<>(listeners).entrySet().stream().filter(
                 entry -> entry.getKey().isAssignableFrom(event.getClass()))
                 .forEach(entry -> {
@@ -2748,17 +2933,24 @@ public class Binder<BEAN> implements Serializable {
     public void bindInstanceFields(Object objectWithMemberFields) {
         Class<?> objectClass = objectWithMemberFields.getClass();
 
-        Integer numberOfBoundFields = getFieldsInDeclareOrder(objectClass)
-                .stream()
-                .filter(memberField -> HasValue.class
-                        .isAssignableFrom(memberField.getType()))
-                .filter(memberField -> !isFieldBound(memberField,
-                        objectWithMemberFields))
-                .map(memberField -> handleProperty(memberField,
-                        objectWithMemberFields,
-                        (property, type) -> bindProperty(objectWithMemberFields,
-                                memberField, property, type)))
-                .reduce(0, this::accumulate, Integer::sum);
+        Integer numberOfBoundFields;
+        // Fire one status change event instead of one for each binding
+        beginOperation();
+        try {
+            numberOfBoundFields = getFieldsInDeclareOrder(objectClass).stream()
+                    .filter(memberField -> HasValue.class
+                            .isAssignableFrom(memberField.getType()))
+                    .filter(memberField -> !isFieldBound(memberField,
+                            objectWithMemberFields))
+                    .map(memberField -> handleProperty(memberField,
+                            objectWithMemberFields,
+                            (property, type) -> bindProperty(
+                                    objectWithMemberFields, memberField,
+                                    property, type)))
+                    .reduce(0, this::accumulate, Integer::sum);
+        } finally {
+            endOperation();
+        }
         if (numberOfBoundFields == 0 && bindings.isEmpty()
                 && (incompleteBindings == null
                         || incompleteBindings.isEmpty())) {
@@ -41,6 +41,9 @@ public interface ValidationResult extends Serializable {
      */
     class SimpleValidationResult implements ValidationResult {
 
+        static final SimpleValidationResult OK = new SimpleValidationResult(
+                null, null);
+
         private final String error;
         private final ErrorLevel errorLevel;
 
@@ -116,7 +119,7 @@ public interface ValidationResult extends Serializable {
          * @return the successful result
          */
         static ValidationResult ok() {
-            return new SimpleValidationResult(null,null);
+            return SimpleValidationResult.OK;
         }
 
         /**
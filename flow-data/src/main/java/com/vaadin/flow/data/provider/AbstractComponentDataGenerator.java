@@ -58,17 +58,28 @@ public abstract class AbstractComponentDataGenerator<T>
         String itemKey = getItemKey(item);
         Component renderedComponent = renderedComponents.remove(itemKey);
         if (renderedComponent != null) {
-            renderedComponent.getElement().removeFromParent();
+            passivateComponent(renderedComponent);
         }
     }
 
     @Override
     public void destroyAllData() {
-        renderedComponents.values().forEach(
-                component -> component.getElement().removeFromParent());
+        renderedComponents.values().forEach(this::passivateComponent);
         renderedComponents.clear();
     }
 
+    /**
+     * Called when a rendered component is no longer needed for its item, for
+     * instance when the item is scrolled out of view. By default, the
+     * component is removed from the container.
+     *
+     * @param component
+     *            the component that is no longer needed, not <code>null</code>
+     */
+    protected void passivateComponent(Component component) {
+        component.getElement().removeFromParent();
+    }
+
     /**
      * Gets the element where the generated components will be attached to.
      * 
@@ -114,7 +125,8 @@ public abstract class AbstractComponentDataGenerator<T>
 
     /**
      * Appends the component to the container and registers it for future use
-     * during the lifecycle of the generator.
+     * during the lifecycle of the generator. A component that is already in
+     * the container is not moved.
      * 
      * @param itemKey
      *            the key of the model item
@@ -125,7 +137,10 @@ public abstract class AbstractComponentDataGenerator<T>
             Component component) {
 
         Element element = component.getElement();
-        getContainer().appendChild(element);
+        Element container = getContainer();
+        if (!container.equals(element.getParent())) {
+            container.appendChild(element);
+        }
         renderedComponents.put(itemKey, component);
     }
 
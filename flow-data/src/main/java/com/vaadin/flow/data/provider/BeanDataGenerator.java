@@ -43,6 +43,8 @@ import elemental.json.JsonValue;
  */
 public class BeanDataGenerator<T> implements DataGenerator<T> {
 
+    private boolean threadSafe;
+
     @Override
     public void generateData(T item, JsonObject data) {
         JsonValue value = JsonSerializer.toJson(item);
@@ -56,4 +58,32 @@ public class BeanDataGenerator<T> implements DataGenerator<T> {
         }
     }
 
+    /**
+     * Sets whether the beans may be serialized in parallel, from threads that
+     * don't hold the session lock. Only enable this if the getters of the
+     * beans are thread-safe and don't depend on the current session or
+     * request, e.g. for lazily loading associations of JPA entities.
+     * <p>
+     * Parallel generation is disabled by default.
+     *
+     * @param threadSafe
+     *            {@code true} to allow serializing the beans in parallel,
+     *            {@code false} otherwise
+     * @see DataCommunicator#setDataGenerationExecutor(java.util.concurrent.Executor)
+     */
+    public void setThreadSafe(boolean threadSafe) {
+        this.threadSafe = threadSafe;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Returns {@code false} unless enabled with
+     * {@link #setThreadSafe(boolean)}.
+     */
+    @Override
+    public boolean isThreadSafe() {
+        return threadSafe;
+    }
+
 }
@@ -15,6 +15,9 @@
  */
 package com.vaadin.flow.data.provider;
 
+import java.util.ArrayDeque;
+import java.util.Deque;
+
 import com.vaadin.flow.component.Component;
 import com.vaadin.flow.data.renderer.ComponentRenderer;
 import com.vaadin.flow.dom.Element;
@@ -44,6 +47,7 @@ public class ComponentDataGenerator<T>
     private final ValueProvider<T, String> keyMapper;
     private String nodeIdPropertyName;
     private Element container;
+    private final Deque<Component> recycledComponents = new ArrayDeque<>();
 
     /**
      * Creates a new generator.
@@ -80,7 +84,9 @@ public class ComponentDataGenerator<T>
         if (oldRenderedComponent != null) {
             nodeId = oldRenderedComponent.getElement().getNode().getId();
         } else {
-            Component renderedComponent = createComponent(item);
+            Component renderedComponent = recycledComponents.isEmpty()
+                    ? createComponent(item)
+                    : recycleComponent(item);
             registerRenderedComponent(itemKey, renderedComponent);
 
             nodeId = renderedComponent.getElement().getNode().getId();
@@ -89,6 +95,31 @@ public class ComponentDataGenerator<T>
         jsonObject.put(nodeIdPropertyName, nodeId);
     }
 
+    private Component recycleComponent(T item) {
+        Component recycled = recycledComponents.pop();
+        Component component = updateComponent(recycled, item);
+        if (component != recycled) {
+            recycled.getElement().removeFromParent();
+        }
+        return component;
+    }
+
+    /**
+     * Keeps the component in the container for reuse if recycling is enabled
+     * for the renderer and the pool is not full, otherwise removes it.
+     *
+     * @see ComponentRenderer#setRecyclingPoolSize(int)
+     */
+    @Override
+    protected void passivateComponent(Component component) {
+        if (recycledComponents.size() < componentRenderer
+                .getRecyclingPoolSize()) {
+            recycledComponents.push(component);
+        } else {
+            super.passivateComponent(component);
+        }
+    }
+
     @Override
     protected Component createComponent(T item) {
         return componentRenderer.createComponent(item);
@@ -15,7 +15,9 @@
  */
 package com.vaadin.flow.data.provider;
 
-import java.util.HashSet;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Set;
 
 import com.vaadin.flow.shared.Registration;
@@ -25,7 +27,7 @@ import elemental.json.JsonObject;
 /**
  * A {@link DataGenerator} that aggregates multiple DataGenerators and delegates
  * the data generation to them. It doesn't generate or destroy any data by its
- * own.
+ * own. The DataGenerators are called in the order they were added.
  * <p>
  * It is used by components that need to add and remove DataGenerators
  * dynamically, or that support multiple layers of data generation.
@@ -39,7 +41,7 @@ import elemental.json.JsonObject;
 public class CompositeDataGenerator<T>
         implements DataGenerator<T>, HasDataGenerators<T> {
 
-    private final Set<DataGenerator<T>> dataGenerators = new HashSet<>();
+    private final Set<DataGenerator<T>> dataGenerators = new LinkedHashSet<>();
 
     @Override
     public void generateData(T item, JsonObject jsonObject) {
@@ -62,6 +64,68 @@ public class CompositeDataGenerator<T>
         dataGenerators.forEach(generator -> generator.refreshData(item));
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * A composite generator is thread-safe if all of its generators are.
+     */
+    @Override
+    public boolean isThreadSafe() {
+        return dataGenerators.stream().allMatch(DataGenerator::isThreadSafe);
+    }
+
+    /**
+     * Generates the data of either the thread-safe or the other generators,
+     * including the generators of nested composite generators.
+     *
+     * @param item
+     *            the data item being serialized
+     * @param jsonObject
+     *            the JSON object being sent to the client
+     * @param threadSafe
+     *            {@code true} to run the thread-safe generators,
+     *            {@code false} to run the other generators
+     */
+    void generateData(T item, JsonObject jsonObject, boolean threadSafe) {
+        for (DataGenerator<T> generator : dataGenerators) {
+            if (generator instanceof CompositeDataGenerator) {
+                ((CompositeDataGenerator<T>) generator).generateData(item,
+                        jsonObject, threadSafe);
+            } else if (generator.isThreadSafe() == threadSafe) {
+                generator.generateData(item, jsonObject);
+            }
+        }
+    }
+
+    /**
+     * Checks whether the thread-safe generators can be run before the other
+     * generators without changing the order in which the generators are run
+     * for an item. This is the case when there are thread-safe generators and
+     * all of them, including the generators of nested composite generators,
+     * have been added before the other generators.
+     *
+     * @return {@code true} if the thread-safe generators can be run first,
+     *         {@code false} otherwise
+     */
+    boolean canGenerateThreadSafeDataFirst() {
+        List<Boolean> threadSafety = new ArrayList<>();
+        collectThreadSafety(threadSafety);
+        int firstOther = threadSafety.indexOf(Boolean.FALSE);
+        return threadSafety.contains(Boolean.TRUE) && (firstOther == -1
+                || threadSafety.lastIndexOf(Boolean.TRUE) < firstOther);
+    }
+
+    private void collectThreadSafety(List<Boolean> threadSafety) {
+        for (DataGenerator<T> generator : dataGenerators) {
+            if (generator instanceof CompositeDataGenerator) {
+                ((CompositeDataGenerator<T>) generator)
+                        .collectThreadSafety(threadSafety);
+            } else {
+                threadSafety.add(Boolean.valueOf(generator.isThreadSafe()));
+            }
+        }
+    }
+
     @Override
     public Registration addDataGenerator(DataGenerator<T> generator) {
         assert generator != null : "generator should not be null";
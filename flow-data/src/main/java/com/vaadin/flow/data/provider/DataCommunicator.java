@@ -25,7 +25,11 @@ import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
@@ -33,6 +37,7 @@ import java.util.stream.Stream;
 
 import com.vaadin.flow.component.Component;
 import com.vaadin.flow.component.ComponentUtil;
+import com.vaadin.flow.component.UI;
 import com.vaadin.flow.data.provider.ArrayUpdater.Update;
 import com.vaadin.flow.data.provider.DataChangeEvent.DataRefreshEvent;
 import com.vaadin.flow.dom.Element;
@@ -40,9 +45,11 @@ import com.vaadin.flow.function.SerializableComparator;
 import com.vaadin.flow.function.SerializableConsumer;
 import com.vaadin.flow.function.SerializableSupplier;
 import com.vaadin.flow.internal.ExecutionContext;
+import com.vaadin.flow.internal.HeapSizeEstimator;
 import com.vaadin.flow.internal.JsonUtils;
 import com.vaadin.flow.internal.Range;
 import com.vaadin.flow.internal.StateNode;
+import com.vaadin.flow.internal.StateTree;
 import com.vaadin.flow.shared.Registration;
 import org.slf4j.LoggerFactory;
 
@@ -66,6 +73,8 @@ public class DataCommunicator<T> implements Serializable {
 
     private static final int DEFAULT_PAGE_SIZE = 50;
 
+    private static final int PARALLEL_GENERATION_CHUNK_SIZE = 25;
+
     private final DataGenerator<T> dataGenerator;
     private final ArrayUpdater arrayUpdater;
     private final SerializableConsumer<JsonArray> dataUpdater;
@@ -105,6 +114,7 @@ public class DataCommunicator<T> implements Serializable {
     private SerializableComparator<T> inMemorySorting;
 
     private Registration dataProviderUpdateRegistration;
+    private Registration memoryFootprintRegistration;
     private HashSet<T> updatedData = new HashSet<>();
 
     private SerializableConsumer<ExecutionContext> flushRequest;
@@ -123,6 +133,14 @@ public class DataCommunicator<T> implements Serializable {
 
     private boolean fetchEnabled;
 
+    private boolean rowDiffingEnabled;
+
+    // Not serializable, parallel generation is disabled after deserialization
+    private transient Executor dataGenerationExecutor;
+
+    // Content hashes of the rows last sent to the client by key
+    private HashMap<String, Long> sentRowHashes = new HashMap<>();
+
     /**
      * In-memory data provider with no items.
      * <p>
@@ -421,6 +439,7 @@ public class DataCommunicator<T> implements Serializable {
 
         reset();
         getKeyMapper().removeAll();
+        sentRowHashes.clear();
 
         this.dataProvider = dataProvider;
 
@@ -830,6 +849,80 @@ public class DataCommunicator<T> implements Serializable {
         this.pagingEnabled = pagingEnabled;
     }
 
+    /**
+     * Gets the executor used for generating the data of thread-safe data
+     * generators in parallel.
+     *
+     * @return the executor, or {@code null} if data is generated on the
+     *         calling thread
+     *
+     * @see #setDataGenerationExecutor(Executor)
+     */
+    public Executor getDataGenerationExecutor() {
+        return dataGenerationExecutor;
+    }
+
+    /**
+     * Sets an executor for generating the data of thread-safe data generators
+     * in parallel when a large number of rows is sent to the client.
+     * <p>
+     * The rows are split into chunks that are run on the executor with the
+     * data generators that return {@code true} from
+     * {@link DataGenerator#isThreadSafe()}. The other data generators, such as
+     * the ones creating components, are then run for each row on the calling
+     * thread, which holds the session lock. In a
+     * {@link CompositeDataGenerator}, the thread-safe generators are only run
+     * in parallel if they have all been added before the other generators, so
+     * that the generators are still run in the order they were added. The
+     * flush waits for all the chunks to complete, so the rows are sent in
+     * order.
+     * <p>
+     * The executor should be a managed executor provided by the application
+     * server or a shared thread pool. It is not serialized with the data
+     * communicator. Parallel generation is disabled by default.
+     *
+     * @param dataGenerationExecutor
+     *            the executor to use, or {@code null} to generate all data on
+     *            the calling thread
+     */
+    public void setDataGenerationExecutor(Executor dataGenerationExecutor) {
+        this.dataGenerationExecutor = dataGenerationExecutor;
+    }
+
+    /**
+     * Returns whether only changed rows are sent when the whole active range
+     * is resent.
+     *
+     * @return {@code true} if row diffing is enabled, {@code false} otherwise
+     *
+     * @see #setRowDiffingEnabled(boolean)
+     */
+    public boolean isRowDiffingEnabled() {
+        return rowDiffingEnabled;
+    }
+
+    /**
+     * Sets whether only changed rows are sent when the whole active range is
+     * resent, e.g. after {@link #reset()} or a data provider refresh.
+     * <p>
+     * When enabled, a hash of the generated data of each row sent to the
+     * client is kept, and rows whose generated data is the same as what the
+     * client already has at the same position are not sent again. The data is
+     * still generated for every row. This reduces the amount of data sent for
+     * views that are refreshed often while only a few rows change at a time,
+     * at the cost of some memory for the hashes. Disabled by default.
+     *
+     * @param rowDiffingEnabled
+     *            {@code true} to send only changed rows, {@code false} to
+     *            always send the whole range
+     */
+    public void setRowDiffingEnabled(boolean rowDiffingEnabled) {
+        this.rowDiffingEnabled = rowDiffingEnabled;
+        if (!rowDiffingEnabled) {
+            sentRowHashes.clear();
+        }
+    }
+
     /**
      * Returns whether the data communicator will call Data Provider for
      * fetching the items and/or getting the items count, or ignore such a
@@ -1021,10 +1114,30 @@ public class DataCommunicator<T> implements Serializable {
                     }
                 });
 
+        if (stateNode.isAttached()) {
+            UI ui = ((StateTree) stateNode.getOwner()).getUI();
+            memoryFootprintRegistration = ui.getInternals()
+                    .addMemoryFootprintContributor(this::getEstimatedSize);
+        }
+
         // Ensure the initialize check is done
         requestFlush();
     }
 
+    private long getEstimatedSize() {
+        long size = HeapSizeEstimator.arrayList(activeKeyOrder.size())
+                + HeapSizeEstimator.hashMap(updatedData.size())
+                + HeapSizeEstimator.hashMap(passivatedByUpdate.size())
+                + HeapSizeEstimator.hashMap(sentRowHashes.size())
+                + sentRowHashes.size() * HeapSizeEstimator.object(0, 8);
+        if (keyMapper instanceof KeyMapper) {
+            size += ((KeyMapper<T>) keyMapper).getEstimatedSize();
+        } else if (keyMapper instanceof IntKeyMapper) {
+            size += ((IntKeyMapper<T>) keyMapper).getEstimatedSize();
+        }
+        return size;
+    }
+
     protected void handleDataRefreshEvent(DataRefreshEvent<T> event) {
         refresh(event.getItem());
     }
@@ -1035,6 +1148,10 @@ public class DataCommunicator<T> implements Serializable {
             dataProviderUpdateRegistration.remove();
             dataProviderUpdateRegistration = null;
         }
+        if (memoryFootprintRegistration != null) {
+            memoryFootprintRegistration.remove();
+            memoryFootprintRegistration = null;
+        }
     }
 
     private void requestFlush() {
@@ -1069,6 +1186,7 @@ public class DataCommunicator<T> implements Serializable {
 
     private void flush() {
         Set<String> oldActive = new HashSet<>(activeKeyOrder);
+        List<String> previousKeyOrder = activeKeyOrder;
 
         Range effectiveRequested;
         final Range previousActive = Range.withLength(activeStart,
@@ -1126,7 +1244,7 @@ public class DataCommunicator<T> implements Serializable {
         // Phase 2: Collect changes to send
         Update update = arrayUpdater.startUpdate(assumedSize);
         boolean updated = collectChangesToSend(previousActive,
-                effectiveRequested, update);
+                previousKeyOrder, effectiveRequested, update);
 
         resendEntireRange = false;
         assumeEmptyClient = false;
@@ -1138,6 +1256,9 @@ public class DataCommunicator<T> implements Serializable {
         // Phase 4: unregister passivated and updated items
         unregisterPassivatedKeys();
 
+        // Phase 5: evict old keys outside of the active range if limited
+        evictInactiveKeys();
+
         fireItemCountEvent(assumedSize);
     }
 
@@ -1173,7 +1294,7 @@ public class DataCommunicator<T> implements Serializable {
         if (updatedData.isEmpty()) {
             return;
         }
-        dataUpdater.accept(updatedData.stream().map(this::generateJson)
+        dataUpdater.accept(generateJson(new ArrayList<>(updatedData)).stream()
                 .collect(JsonUtils.asArray()));
         updatedData.clear();
     }
@@ -1189,6 +1310,25 @@ public class DataCommunicator<T> implements Serializable {
         }
     }
 
+    private void evictInactiveKeys() {
+        if (!(keyMapper instanceof IntKeyMapper)) {
+            return;
+        }
+        IntKeyMapper<T> mapper = (IntKeyMapper<T>) keyMapper;
+        if (mapper.size() - activeKeyOrder.size() > mapper
+                .getMaxInactiveSize()) {
+            /*
+             * Keys waiting for the client to confirm their removal are kept
+             * so that they are unregistered normally.
+             */
+            mapper.evictInactive(Stream.concat(activeKeyOrder.stream(),
+                    passivatedByUpdate.values().stream()
+                            .flatMap(Set::stream)),
+                    dataGenerator::destroyData);
+            sentRowHashes.keySet().removeIf(key -> !mapper.containsKey(key));
+        }
+    }
+
     private void doUnregister(Integer updateId) {
         Set<String> passivated = passivatedByUpdate.remove(updateId);
         if (passivated != null) {
@@ -1198,6 +1338,7 @@ public class DataCommunicator<T> implements Serializable {
                     dataGenerator.destroyData(item);
                     keyMapper.remove(item);
                 }
+                sentRowHashes.remove(key);
             });
         }
     }
@@ -1223,9 +1364,14 @@ public class DataCommunicator<T> implements Serializable {
     }
 
     private boolean collectChangesToSend(final Range previousActive,
+            final List<String> previousKeyOrder,
             final Range effectiveRequested, Update update) {
         boolean updated = false;
-        if (assumeEmptyClient || resendEntireRange) {
+        if (rowDiffingEnabled && resendEntireRange && !assumeEmptyClient) {
+            setChangedRows(previousActive, previousKeyOrder,
+                    effectiveRequested, update);
+            updated = true;
+        } else if (assumeEmptyClient || resendEntireRange) {
             if (!assumeEmptyClient) {
                 /*
                  * TODO: Not necessary to clear something that would be set back
@@ -1260,6 +1406,54 @@ public class DataCommunicator<T> implements Serializable {
         return updated;
     }
 
+    /**
+     * Sends the rows in the requested range that differ from what the client
+     * has at the same position, and clears the previously active rows outside
+     * of the requested range.
+     */
+    private void setChangedRows(Range previousActive,
+            List<String> previousKeyOrder, Range effectiveRequested,
+            Update update) {
+        withMissing(previousActive, effectiveRequested,
+                range -> update.clear(range.getStart(), range.length()));
+
+        List<String> keys = activeKeyOrder.subList(0,
+                effectiveRequested.length());
+        Long[] sentHashes = new Long[keys.size()];
+        for (int i = 0; i < sentHashes.length; i++) {
+            int index = activeStart + i;
+            String key = keys.get(i);
+            if (previousActive.contains(index) && key.equals(previousKeyOrder
+                    .get(index - previousActive.getStart()))) {
+                sentHashes[i] = sentRowHashes.get(key);
+            }
+        }
+        List<JsonValue> rows = generateJson(
+                keys.stream().map(keyMapper::get).collect(Collectors.toList()));
+
+        List<JsonValue> changedRows = new ArrayList<>();
+        int changedStart = activeStart;
+        for (int i = 0; i < sentHashes.length; i++) {
+            int index = activeStart + i;
+            JsonValue json = rows.get(i);
+            if (sentHashes[i] != null
+                    && sentHashes[i].equals(sentRowHashes.get(keys.get(i)))) {
+                if (!changedRows.isEmpty()) {
+                    update.set(changedStart, changedRows);
+                    changedRows = new ArrayList<>();
+                }
+            } else {
+                if (changedRows.isEmpty()) {
+                    changedStart = index;
+                }
+                changedRows.add(json);
+            }
+        }
+        if (!changedRows.isEmpty()) {
+            update.set(changedStart, changedRows);
+        }
+    }
+
     private Activation collectKeysToFlush(final Range previousActive,
             final Range effectiveRequested) {
         /*
@@ -1293,10 +1487,9 @@ public class DataCommunicator<T> implements Serializable {
     }
 
     private List<JsonValue> getJsonItems(Range range) {
-        return range.stream()
+        return generateJson(range.stream()
                 .mapToObj(index -> activeKeyOrder.get(index - activeStart))
-                .map(keyMapper::get).map(this::generateJson)
-                .collect(Collectors.toList());
+                .map(keyMapper::get).collect(Collectors.toList()));
     }
 
     private static void withMissing(Range expected, Range actual,
@@ -1336,11 +1529,96 @@ public class DataCommunicator<T> implements Serializable {
         return new Activation(activeKeys, needsSizeRecheck);
     }
 
-    private JsonValue generateJson(T item) {
-        JsonObject json = Json.createObject();
-        json.put("key", getKeyMapper().key(item));
-        dataGenerator.generateData(item, json);
-        return json;
+    private List<JsonValue> generateJson(List<T> items) {
+        List<JsonValue> rows = new ArrayList<>(items.size());
+        for (T item : items) {
+            JsonObject json = Json.createObject();
+            json.put("key", getKeyMapper().key(item));
+            rows.add(json);
+        }
+
+        if (dataGenerationExecutor != null
+                && items.size() >= PARALLEL_GENERATION_CHUNK_SIZE * 2) {
+            generateJsonInParallel(items, rows);
+        } else {
+            for (int i = 0; i < items.size(); i++) {
+                dataGenerator.generateData(items.get(i),
+                        (JsonObject) rows.get(i));
+            }
+        }
+
+        if (rowDiffingEnabled) {
+            for (JsonValue row : rows) {
+                sentRowHashes.put(((JsonObject) row).getString("key"),
+                        Long.valueOf(hash(row.toJson())));
+            }
+        }
+        return rows;
+    }
+
+    private void generateJsonInParallel(List<T> items, List<JsonValue> rows) {
+        BiConsumer<T, JsonObject> parallelGenerator;
+        BiConsumer<T, JsonObject> sequentialGenerator;
+        if (dataGenerator.isThreadSafe()) {
+            parallelGenerator = dataGenerator::generateData;
+            sequentialGenerator = null;
+        } else if (dataGenerator instanceof CompositeDataGenerator
+                && ((CompositeDataGenerator<T>) dataGenerator)
+                        .canGenerateThreadSafeDataFirst()) {
+            CompositeDataGenerator<T> composite = (CompositeDataGenerator<T>) dataGenerator;
+            parallelGenerator = (item, json) -> composite.generateData(item,
+                    json, true);
+            sequentialGenerator = (item, json) -> composite
+                    .generateData(item, json, false);
+        } else {
+            parallelGenerator = null;
+            sequentialGenerator = dataGenerator::generateData;
+        }
+
+        if (parallelGenerator != null) {
+            List<CompletableFuture<Void>> chunks = new ArrayList<>();
+            for (int start = 0; start < items.size();
+                    start += PARALLEL_GENERATION_CHUNK_SIZE) {
+                int chunkStart = start;
+                int chunkEnd = Math.min(items.size(),
+                        start + PARALLEL_GENERATION_CHUNK_SIZE);
+                chunks.add(CompletableFuture.runAsync(() -> {
+                    for (int i = chunkStart; i < chunkEnd; i++) {
+                        parallelGenerator.accept(items.get(i),
+                                (JsonObject) rows.get(i));
+                    }
+                }, dataGenerationExecutor));
+            }
+            try {
+                CompletableFuture
+                        .allOf(chunks.toArray(new CompletableFuture[0]))
+                        .join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                } else if (e.getCause() instanceof Error) {
+                    throw (Error) e.getCause();
+                }
+                throw e;
+            }
+        }
+
+        if (sequentialGenerator != null) {
+            for (int i = 0; i < items.size(); i++) {
+                sequentialGenerator.accept(items.get(i),
+                        (JsonObject) rows.get(i));
+            }
+        }
+    }
+
+    private static long hash(String json) {
+        // 64-bit FNV-1a to make collisions between row versions unlikely
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < json.length(); i++) {
+            hash ^= json.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
     }
 
     private void removeFilteringAndSorting() {
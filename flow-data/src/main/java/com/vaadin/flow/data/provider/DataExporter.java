@@ -0,0 +1,306 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.data.provider;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+import com.vaadin.flow.server.StreamResource;
+
+/**
+ * Streams all items of a {@link DataProvider} to an {@link OutputStream}, for
+ * example for exporting the contents of a component as CSV.
+ * <p>
+ * Items are fetched from back end data providers one page at a time and each
+ * page is written before the next one is fetched, so only a single page and a
+ * fixed size output buffer are kept in memory regardless of the number of
+ * items. In-memory data providers are queried only once, so that the items are
+ * sorted only once. Since writing blocks when the receiver doesn't keep up,
+ * items are not fetched faster than they can be written.
+ * <p>
+ * The filter and sorting are captured when the exporter is created, so later
+ * changes to the component don't affect an export in progress. The export
+ * itself doesn't need the session lock, as long as the data provider doesn't.
+ *
+ * @param <T>
+ *            the item type
+ */
+public class DataExporter<T> implements Serializable {
+
+    /**
+     * The default number of items fetched from a back end data provider at a
+     * time.
+     */
+    public static final int DEFAULT_PAGE_SIZE = 1000;
+
+    /**
+     * The default size of the output buffer in bytes.
+     */
+    public static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Writes exported items to the output.
+     *
+     * @param <T>
+     *            the item type
+     */
+    @FunctionalInterface
+    public interface RowWriter<T> extends Serializable {
+
+        /**
+         * Writes a single item.
+         *
+         * @param item
+         *            the item to write
+         * @param out
+         *            the output stream, not {@code null}
+         * @throws IOException
+         *             if writing fails
+         */
+        void writeRow(T item, OutputStream out) throws IOException;
+
+        /**
+         * Writes anything preceding the items, such as column headers. Does
+         * nothing by default.
+         *
+         * @param out
+         *            the output stream, not {@code null}
+         * @throws IOException
+         *             if writing fails
+         */
+        default void writeHeader(OutputStream out) throws IOException {
+        }
+
+        /**
+         * Writes anything following the items. Does nothing by default.
+         *
+         * @param out
+         *            the output stream, not {@code null}
+         * @throws IOException
+         *             if writing fails
+         */
+        default void writeFooter(OutputStream out) throws IOException {
+        }
+    }
+
+    /**
+     * Receives progress updates of an export.
+     */
+    @FunctionalInterface
+    public interface ProgressListener extends Serializable {
+
+        /**
+         * Invoked after each page of items has been written, and once more
+         * when the export is complete.
+         *
+         * @param exportedItems
+         *            the number of items written so far
+         * @param totalItems
+         *            the total number of items as reported by the data
+         *            provider when the export started
+         */
+        void onProgress(long exportedItems, long totalItems);
+    }
+
+    private final DataProvider<T, Object> dataProvider;
+    private final Object filter;
+    private final List<QuerySortOrder> sortOrders;
+    private final Comparator<T> inMemorySorting;
+
+    private int pageSize = DEFAULT_PAGE_SIZE;
+    private int bufferSize = DEFAULT_BUFFER_SIZE;
+    private ProgressListener progressListener;
+
+    /**
+     * Creates an exporter for all items of the given data provider, without
+     * filtering or sorting.
+     *
+     * @param dataProvider
+     *            the data provider to export, not {@code null}
+     */
+    public DataExporter(DataProvider<T, ?> dataProvider) {
+        this(dataProvider, null, Collections.emptyList(), null);
+    }
+
+    /**
+     * Creates an exporter for the items of the given data communicator, using
+     * its current data provider, filter and sorting.
+     *
+     * @param dataCommunicator
+     *            the data communicator of the component to export, not
+     *            {@code null}
+     */
+    public DataExporter(DataCommunicator<T> dataCommunicator) {
+        this(dataCommunicator.getDataProvider(),
+                dataCommunicator.buildQuery(0, 0).getFilter().orElse(null),
+                dataCommunicator.getBackEndSorting(),
+                dataCommunicator.getInMemorySorting());
+    }
+
+    @SuppressWarnings("unchecked")
+    private DataExporter(DataProvider<T, ?> dataProvider, Object filter,
+            List<QuerySortOrder> sortOrders, Comparator<T> inMemorySorting) {
+        this.dataProvider = (DataProvider<T, Object>) Objects
+                .requireNonNull(dataProvider, "Data provider cannot be null");
+        this.filter = filter;
+        this.sortOrders = sortOrders;
+        this.inMemorySorting = inMemorySorting;
+    }
+
+    /**
+     * Sets the number of items fetched from a back end data provider at a
+     * time. The default is {@value #DEFAULT_PAGE_SIZE}.
+     *
+     * @param pageSize
+     *            the page size, greater than zero
+     * @return this exporter
+     */
+    public DataExporter<T> withPageSize(int pageSize) {
+        if (pageSize < 1) {
+            throw new IllegalArgumentException(
+                    "The page size must be greater than zero");
+        }
+        this.pageSize = pageSize;
+        return this;
+    }
+
+    /**
+     * Sets the size of the buffer between the row writer and the output
+     * stream. The default is {@value #DEFAULT_BUFFER_SIZE} bytes.
+     *
+     * @param bufferSize
+     *            the buffer size in bytes, greater than zero
+     * @return this exporter
+     */
+    public DataExporter<T> withBufferSize(int bufferSize) {
+        if (bufferSize < 1) {
+            throw new IllegalArgumentException(
+                    "The buffer size must be greater than zero");
+        }
+        this.bufferSize = bufferSize;
+        return this;
+    }
+
+    /**
+     * Sets a listener for the progress of the export. When a listener is set,
+     * the total number of items is queried from the data provider before the
+     * export starts.
+     *
+     * @param progressListener
+     *            the listener, or {@code null} to not report progress
+     * @return this exporter
+     */
+    public DataExporter<T> withProgressListener(
+            ProgressListener progressListener) {
+        this.progressListener = progressListener;
+        return this;
+    }
+
+    /**
+     * Writes all items to the given output stream. The stream is flushed but
+     * not closed.
+     *
+     * @param out
+     *            the output stream, not {@code null}
+     * @param rowWriter
+     *            the writer for the items, not {@code null}
+     * @return the number of exported items
+     * @throws IOException
+     *             if writing fails
+     */
+    public long export(OutputStream out, RowWriter<T> rowWriter)
+            throws IOException {
+        Objects.requireNonNull(out, "Output stream cannot be null");
+        Objects.requireNonNull(rowWriter, "Row writer cannot be null");
+
+        long totalItems = progressListener == null ? -1
+                : dataProvider.size(new Query<>(filter));
+        OutputStream buffered = new BufferedOutputStream(out, bufferSize);
+        rowWriter.writeHeader(buffered);
+
+        long exportedItems = 0;
+        if (dataProvider.isInMemory()) {
+            exportedItems = writeRows(createQuery(0, Integer.MAX_VALUE),
+                    rowWriter, buffered, totalItems, exportedItems);
+        } else {
+            int offset = 0;
+            long written;
+            do {
+                written = writeRows(createQuery(offset, pageSize), rowWriter,
+                        buffered, totalItems, exportedItems) - exportedItems;
+                exportedItems += written;
+                offset += written;
+            } while (written == pageSize);
+        }
+
+        rowWriter.writeFooter(buffered);
+        buffered.flush();
+        reportProgress(exportedItems, totalItems);
+        return exportedItems;
+    }
+
+    /**
+     * Creates a stream resource that exports all items when it is downloaded.
+     *
+     * @param fileName
+     *            the file name of the resource, not {@code null}
+     * @param rowWriter
+     *            the writer for the items, not {@code null}
+     * @return the stream resource
+     */
+    public StreamResource toStreamResource(String fileName,
+            RowWriter<T> rowWriter) {
+        Objects.requireNonNull(rowWriter, "Row writer cannot be null");
+        return new StreamResource(fileName,
+                (stream, session) -> export(stream, rowWriter));
+    }
+
+    private Query<T, Object> createQuery(int offset, int limit) {
+        return new Query<>(offset, limit, sortOrders, inMemorySorting,
+                filter);
+    }
+
+    private long writeRows(Query<T, Object> query, RowWriter<T> rowWriter,
+            OutputStream out, long totalItems, long exportedItems)
+            throws IOException {
+        long count = exportedItems;
+        try (Stream<T> items = dataProvider.fetch(query)) {
+            Iterator<T> iterator = items.iterator();
+            while (iterator.hasNext()) {
+                rowWriter.writeRow(iterator.next(), out);
+                count++;
+                if (count % pageSize == 0) {
+                    reportProgress(count, totalItems);
+                }
+            }
+        }
+        return count;
+    }
+
+    private void reportProgress(long exportedItems, long totalItems) {
+        if (progressListener != null) {
+            progressListener.onProgress(exportedItems, totalItems);
+        }
+    }
+}
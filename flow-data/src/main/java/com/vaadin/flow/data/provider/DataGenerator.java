@@ -71,4 +71,23 @@ public interface DataGenerator<T> extends Serializable {
      */
     default void refreshData(T item) {
     }
+
+    /**
+     * Returns whether {@link #generateData(Object, JsonObject)} can be called
+     * concurrently for different items from threads that don't hold the
+     * session lock. Thread-safe generators may be run in parallel when an
+     * executor has been set with
+     * {@link DataCommunicator#setDataGenerationExecutor(java.util.concurrent.Executor)}.
+     * Such generators must not modify shared state or access components, and
+     * can't rely on {@code UI.getCurrent()} or
+     * {@code VaadinSession.getCurrent()}.
+     * <p>
+     * The default implementation returns {@code false}.
+     *
+     * @return {@code true} if the data can be generated in parallel,
+     *         {@code false} otherwise
+     */
+    default boolean isThreadSafe() {
+        return false;
+    }
 }
@@ -0,0 +1,429 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.data.provider;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import com.vaadin.flow.function.ValueProvider;
+import com.vaadin.flow.internal.HeapSizeEstimator;
+
+/**
+ * A {@link DataKeyMapper} that uses primitive {@code int} keys internally and
+ * converts them to strings only when they are passed to or from the client.
+ * <p>
+ * The mappings are stored in plain arrays with open addressing hash tables for
+ * looking up an entry both by item identifier and by key, so there are no map
+ * entry objects, boxed keys or key strings per mapped item. Compared to
+ * {@link KeyMapper} this needs considerably less memory for large numbers of
+ * items.
+ * <p>
+ * When used by a {@link DataCommunicator}, the number of mappings retained for
+ * items outside the active range of the communicator can be limited with
+ * {@link #setMaxInactiveSize(int)}. Keys are never reused, so a key of an
+ * evicted item never refers to another item.
+ *
+ * @param <V>
+ *            the type of mapped objects
+ */
+public class IntKeyMapper<V> implements DataKeyMapper<V> {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private ValueProvider<V, Object> identifierGetter;
+
+    private int lastKey = 0;
+
+    private int maxInactiveSize = Integer.MAX_VALUE;
+
+    /*
+     * Entries are stored in parallel arrays. An entry is in use when its item
+     * is not null.
+     */
+    private Object[] ids = new Object[INITIAL_CAPACITY];
+    private Object[] items = new Object[INITIAL_CAPACITY];
+    private int[] keys = new int[INITIAL_CAPACITY];
+
+    private int[] freeEntries = new int[INITIAL_CAPACITY];
+    private int freeCount = 0;
+    private int usedEntries = 0;
+    private int size = 0;
+
+    /*
+     * Linear probing hash tables with entry index + 1 as the value, 0 marks an
+     * empty slot. The tables are kept at most half full.
+     */
+    private int[] idTable = new int[INITIAL_CAPACITY * 2];
+    private int[] keyTable = new int[INITIAL_CAPACITY * 2];
+
+    /**
+     * Constructs a new mapper.
+     *
+     * @param identifierGetter
+     *            has to return a unique key for every bean, and the returned
+     *            key has to follow general {@code hashCode()} and
+     *            {@code equals()} contract, see {@link Object#hashCode()} for
+     *            details.
+     */
+    public IntKeyMapper(ValueProvider<V, Object> identifierGetter) {
+        this.identifierGetter = identifierGetter;
+    }
+
+    /**
+     * Constructs a new mapper with trivial {@code identifierGetter}.
+     */
+    public IntKeyMapper() {
+        this(v -> v);
+    }
+
+    @Override
+    public String key(V dataObject) {
+        if (dataObject == null) {
+            return "null";
+        }
+
+        Object id = identifierGetter.apply(dataObject);
+        int entry = findById(id);
+        if (entry < 0) {
+            entry = add(id, dataObject);
+        }
+        return Integer.toString(keys[entry]);
+    }
+
+    @Override
+    public boolean has(V dataObject) {
+        return findById(identifierGetter.apply(dataObject)) >= 0;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(String key) {
+        int entry = findByKey(key);
+        return entry < 0 ? null : (V) items[entry];
+    }
+
+    /**
+     * Checks if the given key is mapped to an object.
+     *
+     * @param key
+     *            the key to check
+     * @return <code>true</code> if the key is currently mapped,
+     *         <code>false</code> otherwise
+     */
+    public boolean containsKey(String key) {
+        return findByKey(key) >= 0;
+    }
+
+    @Override
+    public void remove(V dataObject) {
+        int entry = findById(identifierGetter.apply(dataObject));
+        if (entry >= 0) {
+            removeEntry(entry);
+        }
+    }
+
+    @Override
+    public void removeAll() {
+        Arrays.fill(ids, 0, usedEntries, null);
+        Arrays.fill(items, 0, usedEntries, null);
+        Arrays.fill(idTable, 0);
+        Arrays.fill(keyTable, 0);
+        usedEntries = 0;
+        freeCount = 0;
+        size = 0;
+    }
+
+    @Override
+    public void refresh(V dataObject) {
+        int entry = findById(identifierGetter.apply(dataObject));
+        if (entry >= 0) {
+            items[entry] = dataObject;
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void setIdentifierGetter(ValueProvider<V, Object> identifierGetter) {
+        if (this.identifierGetter != identifierGetter) {
+            this.identifierGetter = identifierGetter;
+            Arrays.fill(idTable, 0);
+            for (int entry = 0; entry < usedEntries; entry++) {
+                if (items[entry] != null) {
+                    ids[entry] = identifierGetter.apply((V) items[entry]);
+                    insert(idTable, hash(ids[entry]), entry);
+                }
+            }
+        }
+    }
+
+    /**
+     * Sets the maximum number of mappings to keep for items that are not in
+     * the active range of the {@link DataCommunicator} using this mapper, and
+     * are not waiting for the client to confirm that they have been removed.
+     * When there are more such mappings, the oldest ones are removed. The
+     * client can't refer to items whose mappings have been removed, so the
+     * limit should be large enough to cover other uses of the keys, such as
+     * the keys of selected items. The default is no limit.
+     *
+     * @param maxInactiveSize
+     *            the maximum number of inactive mappings, not negative
+     */
+    public void setMaxInactiveSize(int maxInactiveSize) {
+        if (maxInactiveSize < 0) {
+            throw new IllegalArgumentException(
+                    "The maximum inactive size cannot be negative");
+        }
+        this.maxInactiveSize = maxInactiveSize;
+    }
+
+    /**
+     * Gets the maximum number of mappings kept for items that are not in the
+     * active range of the {@link DataCommunicator} using this mapper.
+     *
+     * @return the maximum number of inactive mappings
+     * @see #setMaxInactiveSize(int)
+     */
+    public int getMaxInactiveSize() {
+        return maxInactiveSize;
+    }
+
+    /**
+     * Gets the number of mapped items.
+     *
+     * @return the number of mapped items
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Removes the oldest mappings that are not retained if there are more of
+     * them than the maximum inactive size. A quarter of the limit is freed at
+     * a time to avoid evicting on every call.
+     *
+     * @param retainedKeys
+     *            the keys that must not be evicted
+     * @param evictionListener
+     *            notified of each evicted item
+     */
+    @SuppressWarnings("unchecked")
+    void evictInactive(Stream<String> retainedKeys,
+            Consumer<V> evictionListener) {
+        boolean[] retained = new boolean[usedEntries];
+        retainedKeys.mapToInt(this::findByKey).filter(entry -> entry >= 0)
+                .forEach(entry -> retained[entry] = true);
+
+        // Key in the high bits, entry index in the low bits
+        long[] candidates = new long[usedEntries];
+        int candidateCount = 0;
+        for (int entry = 0; entry < usedEntries; entry++) {
+            if (items[entry] != null && !retained[entry]) {
+                candidates[candidateCount++] = ((long) keys[entry] << 32)
+                        | entry;
+            }
+        }
+        if (candidateCount <= maxInactiveSize) {
+            return;
+        }
+        Arrays.sort(candidates, 0, candidateCount);
+        int evictCount = candidateCount - (maxInactiveSize
+                - maxInactiveSize / 4);
+        for (int i = 0; i < evictCount; i++) {
+            int entry = (int) candidates[i];
+            V item = (V) items[entry];
+            removeEntry(entry);
+            evictionListener.accept(item);
+        }
+    }
+
+    /**
+     * Gets an estimate of the memory used by the mappings in bytes, not
+     * including the mapped objects themselves.
+     *
+     * @return the estimated size in bytes
+     */
+    long getEstimatedSize() {
+        // An int takes as much space as a compressed reference
+        return HeapSizeEstimator.object(12, 20)
+                + HeapSizeEstimator.referenceArray(ids.length)
+                + HeapSizeEstimator.referenceArray(items.length)
+                + HeapSizeEstimator.referenceArray(keys.length)
+                + HeapSizeEstimator.referenceArray(freeEntries.length)
+                + HeapSizeEstimator.referenceArray(idTable.length)
+                + HeapSizeEstimator.referenceArray(keyTable.length);
+    }
+
+    private int add(Object id, V dataObject) {
+        int entry;
+        if (freeCount > 0) {
+            entry = freeEntries[--freeCount];
+        } else {
+            if (usedEntries == items.length) {
+                growEntries();
+            }
+            entry = usedEntries++;
+        }
+        ids[entry] = id;
+        items[entry] = dataObject;
+        keys[entry] = ++lastKey;
+        size++;
+        if (size * 2 > idTable.length) {
+            rehash(idTable.length * 2);
+        } else {
+            insert(idTable, hash(id), entry);
+            insert(keyTable, hash(keys[entry]), entry);
+        }
+        return entry;
+    }
+
+    private void removeEntry(int entry) {
+        removeFromTable(idTable, slotOf(idTable, hash(ids[entry]), entry),
+                true);
+        removeFromTable(keyTable, slotOf(keyTable, hash(keys[entry]), entry),
+                false);
+        ids[entry] = null;
+        items[entry] = null;
+        freeEntries[freeCount++] = entry;
+        size--;
+    }
+
+    private int findById(Object id) {
+        int mask = idTable.length - 1;
+        for (int slot = hash(id) & mask; idTable[slot] != 0; slot = (slot + 1)
+                & mask) {
+            int entry = idTable[slot] - 1;
+            if (Objects.equals(ids[entry], id)) {
+                return entry;
+            }
+        }
+        return -1;
+    }
+
+    private int findByKey(String key) {
+        int intKey = parseKey(key);
+        if (intKey == 0) {
+            return -1;
+        }
+        int mask = keyTable.length - 1;
+        for (int slot = hash(intKey) & mask; keyTable[slot] != 0; slot = (slot
+                + 1) & mask) {
+            int entry = keyTable[slot] - 1;
+            if (keys[entry] == intKey) {
+                return entry;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Parses a key created by this mapper.
+     *
+     * @param key
+     *            the key string
+     * @return the key, or 0 if the string isn't a key created by this mapper
+     */
+    private static int parseKey(String key) {
+        int length = key == null ? 0 : key.length();
+        if (length == 0 || length > 10 || key.charAt(0) == '0') {
+            return 0;
+        }
+        long value = 0;
+        for (int i = 0; i < length; i++) {
+            char c = key.charAt(i);
+            if (c < '0' || c > '9') {
+                return 0;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value > Integer.MAX_VALUE ? 0 : (int) value;
+    }
+
+    private static int slotOf(int[] table, int hash, int entry) {
+        int mask = table.length - 1;
+        int slot = hash & mask;
+        while (table[slot] != entry + 1) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private static void insert(int[] table, int hash, int entry) {
+        int mask = table.length - 1;
+        int slot = hash & mask;
+        while (table[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        table[slot] = entry + 1;
+    }
+
+    /*
+     * Removes the value in the given slot and moves back following values in
+     * the same probe sequence so that lookups don't need tombstones.
+     */
+    private void removeFromTable(int[] table, int slot, boolean idTable) {
+        int mask = table.length - 1;
+        int empty = slot;
+        int current = slot;
+        while (true) {
+            current = (current + 1) & mask;
+            if (table[current] == 0) {
+                break;
+            }
+            int entry = table[current] - 1;
+            int home = (idTable ? hash(ids[entry]) : hash(keys[entry])) & mask;
+            // Move the value unless its home slot is between the empty slot
+            // and its current slot
+            boolean inBetween = empty <= current
+                    ? empty < home && home <= current
+                    : empty < home || home <= current;
+            if (!inBetween) {
+                table[empty] = table[current];
+                empty = current;
+            }
+        }
+        table[empty] = 0;
+    }
+
+    private void growEntries() {
+        int capacity = items.length * 2;
+        ids = Arrays.copyOf(ids, capacity);
+        items = Arrays.copyOf(items, capacity);
+        keys = Arrays.copyOf(keys, capacity);
+        freeEntries = Arrays.copyOf(freeEntries, capacity);
+    }
+
+    private void rehash(int tableSize) {
+        idTable = new int[tableSize];
+        keyTable = new int[tableSize];
+        for (int entry = 0; entry < usedEntries; entry++) {
+            if (items[entry] != null) {
+                insert(idTable, hash(ids[entry]), entry);
+                insert(keyTable, hash(keys[entry]), entry);
+            }
+        }
+    }
+
+    private static int hash(Object id) {
+        return hash(Objects.hashCode(id));
+    }
+
+    private static int hash(int value) {
+        int hash = value * 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+}
@@ -20,6 +20,7 @@ import java.util.HashMap;
 import java.util.Map;
 
 import com.vaadin.flow.function.ValueProvider;
+import com.vaadin.flow.internal.HeapSizeEstimator;
 
 /**
  * <code>KeyMapper</code> is the simple two-way map for generating textual keys
@@ -153,6 +154,20 @@ public class KeyMapper<V> implements DataKeyMapper<V> {
         return keyObjectMap.containsKey(key);
     }
 
+    /**
+     * Gets an estimate of the memory used by the mappings in bytes, not
+     * including the mapped objects themselves.
+     *
+     * @return the estimated size in bytes
+     */
+    long getEstimatedSize() {
+        int size = keyObjectMap.size();
+        return HeapSizeEstimator.hashMap(size)
+                + HeapSizeEstimator.hashMap(objectIdKeyMap.size())
+                + size * HeapSizeEstimator
+                        .string(String.valueOf(lastKey).length());
+    }
+
     @Override
     public void refresh(V dataObject) {
         Object id = identifierGetter.apply(dataObject);
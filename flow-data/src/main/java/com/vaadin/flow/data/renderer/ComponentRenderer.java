@@ -54,6 +54,7 @@ public class ComponentRenderer<COMPONENT extends Component, SOURCE>
     private SerializableBiFunction<Component, SOURCE, Component> componentUpdateFunction;
     private SerializableBiConsumer<COMPONENT, SOURCE> itemConsumer;
     private String componentRendererTag = "flow-component-renderer";
+    private int recyclingPoolSize;
 
     /**
      * Creates a new ComponentRenderer that uses the componentSupplier to
@@ -188,6 +189,43 @@ public class ComponentRenderer<COMPONENT extends Component, SOURCE>
         this.componentRendererTag = componentRendererTag;
     }
 
+    /**
+     * Sets the maximum number of components that are kept for reuse when the
+     * items they render are no longer needed, e.g. after being scrolled out
+     * of view. Recycling is disabled by default.
+     * <p>
+     * When recycling is enabled, a component for a new item is taken from the
+     * pool if possible and passed to
+     * {@link #updateComponent(Component, Object)} instead of being created
+     * with {@link #createComponent(Object)}. Recycled components stay in the
+     * hidden container of the rendering, so reusing one only sends the changes
+     * made by the update to the client, instead of a new component tree.
+     * Recycling is thus only useful together with an update function that
+     * updates the given component in place, see
+     * {@link #ComponentRenderer(SerializableFunction, SerializableBiFunction)}.
+     *
+     * @param recyclingPoolSize
+     *            the maximum number of recycled components for each rendering
+     *            of this renderer, or <code>0</code> to disable recycling
+     */
+    public void setRecyclingPoolSize(int recyclingPoolSize) {
+        if (recyclingPoolSize < 0) {
+            throw new IllegalArgumentException(
+                    "The recycling pool size cannot be negative");
+        }
+        this.recyclingPoolSize = recyclingPoolSize;
+    }
+
+    /**
+     * Gets the maximum number of components that are kept for reuse.
+     *
+     * @return the recycling pool size, <code>0</code> if recycling is disabled
+     * @see #setRecyclingPoolSize(int)
+     */
+    public int getRecyclingPoolSize() {
+        return recyclingPoolSize;
+    }
+
     private void setupTemplateWhenAttached(UI ui, Element owner,
             ComponentRendering rendering, DataKeyMapper<SOURCE> keyMapper) {
         String appId = ui.getInternals().getAppId();
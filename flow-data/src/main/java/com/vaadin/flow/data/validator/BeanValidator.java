@@ -79,6 +79,8 @@ public class BeanValidator implements Validator<Object> {
     private String propertyName;
     private Class<?> beanType;
 
+    private transient PropertyConstraints constraints;
+
     /**
      * Creates a new JSR-303 {@code BeanValidator} that validates values of the
      * specified property. Localizes validation messages using the
@@ -122,6 +124,9 @@ public class BeanValidator implements Validator<Object> {
      */
     @Override
     public ValidationResult apply(final Object value, ValueContext context) {
+        if (getConstraints().isKnownValid(value)) {
+            return ValidationResult.ok();
+        }
         Set<? extends ConstraintViolation<?>> violations = getJavaxBeanValidator()
                 .validateValue(beanType, propertyName, value);
 
@@ -134,6 +139,17 @@ public class BeanValidator implements Validator<Object> {
         return result.orElse(ValidationResult.ok());
     }
 
+    /**
+     * Gets the constraints declared for the validated property. The
+     * constraints are read once and shared by all validators for the same
+     * property.
+     *
+     * @return the constraint descriptors of the property, not null
+     */
+    public Set<ConstraintDescriptor<?>> getConstraintDescriptors() {
+        return getConstraints().getConstraintDescriptors();
+    }
+
     @Override
     public String toString() {
         return String.format("%s[%s.%s]", getClass().getSimpleName(),
@@ -156,7 +172,7 @@ public class BeanValidator implements Validator<Object> {
      * @return the validator to use
      */
     public javax.validation.Validator getJavaxBeanValidator() {
-        return getJavaxBeanValidatorFactory().getValidator();
+        return LazyFactoryInitializer.VALIDATOR;
     }
 
     /**
@@ -171,6 +187,17 @@ public class BeanValidator implements Validator<Object> {
      */
     protected String getMessage(ConstraintViolation<?> violation,
             Locale locale) {
+        String template = violation.getMessageTemplate();
+        if (template.contains("${")) {
+            // Expressions may refer to the validated value
+            return interpolate(violation, locale);
+        }
+        return getConstraints().getMessage(violation.getConstraintDescriptor(),
+                template, locale, () -> interpolate(violation, locale));
+    }
+
+    private String interpolate(ConstraintViolation<?> violation,
+            Locale locale) {
         return getJavaxBeanValidatorFactory().getMessageInterpolator()
                 .interpolate(violation.getMessageTemplate(),
                         createContext(violation), locale);
@@ -188,9 +215,36 @@ public class BeanValidator implements Validator<Object> {
         return new ContextImpl(violation);
     }
 
+    private PropertyConstraints getConstraints() {
+        if (constraints == null) {
+            if (isDefaultJavaxBeanValidator()) {
+                constraints = PropertyConstraints.get(beanType, propertyName,
+                        getJavaxBeanValidator());
+            } else {
+                // The shared metadata and checks may not match a custom
+                // validator
+                constraints = PropertyConstraints.createUncompiled(beanType,
+                        propertyName, getJavaxBeanValidator());
+            }
+        }
+        return constraints;
+    }
+
+    private boolean isDefaultJavaxBeanValidator() {
+        try {
+            return getClass().getMethod("getJavaxBeanValidator")
+                    .getDeclaringClass() == BeanValidator.class;
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
     private static class LazyFactoryInitializer implements Serializable {
         private static final ValidatorFactory FACTORY = getFactory();
 
+        private static final javax.validation.Validator VALIDATOR = FACTORY
+                .getValidator();
+
         private LazyFactoryInitializer() {
         }
 
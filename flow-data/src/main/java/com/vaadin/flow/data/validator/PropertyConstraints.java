@@ -0,0 +1,393 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.data.validator;
+
+import java.beans.IntrospectionException;
+import java.lang.annotation.Annotation;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Collections;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+import javax.validation.GroupSequence;
+import javax.validation.groups.Default;
+import javax.validation.metadata.ConstraintDescriptor;
+import javax.validation.metadata.PropertyDescriptor;
+
+import com.vaadin.flow.internal.BeanUtil;
+
+/**
+ * Bean validation metadata of a single bean property, shared by all
+ * {@link BeanValidator} instances for the same property.
+ * <p>
+ * Contains the constraint descriptors of the property and, when all the
+ * constraints are simple built-in constraints, precompiled checks for them. The
+ * checks are used for quickly accepting valid values without going through the
+ * JSR-303 validator. Values that may be invalid are always validated with the
+ * full validator so that the error messages are the same. Interpolated error
+ * messages are cached per locale.
+ */
+final class PropertyConstraints {
+
+    private static final String GROUP_SEQUENCE_PROVIDER = "org.hibernate.validator.group.GroupSequenceProvider";
+
+    /**
+     * Constraints per bean type and property name. Stored with the bean class
+     * so that the bean's class loader is not kept reachable after a redeploy.
+     */
+    private static final ClassValue<ConcurrentMap<String, PropertyConstraints>> CACHE = new ClassValue<ConcurrentMap<String, PropertyConstraints>>() {
+        @Override
+        protected ConcurrentMap<String, PropertyConstraints> computeValue(
+                Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    /**
+     * A precompiled check of a single constraint.
+     */
+    @FunctionalInterface
+    private interface ConstraintCheck {
+        /**
+         * Checks the given value.
+         *
+         * @param value
+         *            the value to check
+         * @return {@code true} if the value is valid, {@code false} if it is
+         *         invalid and {@code null} if the check doesn't support the
+         *         type of the value
+         */
+        Boolean check(Object value);
+    }
+
+    private static final class MessageKey {
+        private final ConstraintDescriptor<?> descriptor;
+        private final String template;
+        private final Locale locale;
+
+        private MessageKey(ConstraintDescriptor<?> descriptor, String template,
+                Locale locale) {
+            this.descriptor = descriptor;
+            this.template = template;
+            this.locale = locale;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof MessageKey)) {
+                return false;
+            }
+            MessageKey other = (MessageKey) obj;
+            return descriptor.equals(other.descriptor)
+                    && template.equals(other.template)
+                    && locale.equals(other.locale);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(descriptor, template, locale);
+        }
+    }
+
+    private final Set<ConstraintDescriptor<?>> descriptors;
+
+    /**
+     * The checks for all constraints, or {@code null} if some constraint
+     * can't be checked without the full validator.
+     */
+    private final ConstraintCheck[] checks;
+
+    private final ConcurrentMap<MessageKey, String> messages = new ConcurrentHashMap<>();
+
+    private PropertyConstraints(Set<ConstraintDescriptor<?>> descriptors,
+            ConstraintCheck[] checks) {
+        this.descriptors = descriptors;
+        this.checks = checks;
+    }
+
+    /**
+     * Gets the shared constraints of the given property.
+     *
+     * @param beanType
+     *            the bean type declaring the property
+     * @param propertyName
+     *            the name of the property
+     * @param validator
+     *            the shared JSR-303 validator for reading the metadata
+     * @return the constraints of the property
+     */
+    static PropertyConstraints get(Class<?> beanType, String propertyName,
+            javax.validation.Validator validator) {
+        return CACHE.get(beanType).computeIfAbsent(propertyName,
+                name -> create(beanType, name, validator, true));
+    }
+
+    /**
+     * Creates new constraints of the given property without precompiled
+     * checks. Used for custom validators whose metadata may differ from the
+     * shared one.
+     *
+     * @param beanType
+     *            the bean type declaring the property
+     * @param propertyName
+     *            the name of the property
+     * @param validator
+     *            the JSR-303 validator for reading the metadata
+     * @return the constraints of the property
+     */
+    static PropertyConstraints createUncompiled(Class<?> beanType,
+            String propertyName, javax.validation.Validator validator) {
+        return create(beanType, propertyName, validator, false);
+    }
+
+    private static PropertyConstraints create(Class<?> beanType,
+            String propertyName, javax.validation.Validator validator,
+            boolean compile) {
+        // Nested properties are left to the validator
+        compile = compile && !propertyName.contains(".");
+        PropertyDescriptor property = validator.getConstraintsForClass(beanType)
+                .getConstraintsForProperty(propertyName);
+        if (property == null) {
+            ConstraintCheck[] checks = compile
+                    && isPlainProperty(beanType, propertyName)
+                            ? new ConstraintCheck[0]
+                            : null;
+            return new PropertyConstraints(Collections.emptySet(), checks);
+        }
+        Set<ConstraintDescriptor<?>> descriptors = property
+                .getConstraintDescriptors();
+        // Cascaded values and container elements are left to the validator
+        compile = compile && !property.isCascaded()
+                && !hasContainerElementConstraints(property);
+        ConstraintCheck[] checks = compile ? compile(beanType, descriptors)
+                : null;
+        return new PropertyConstraints(descriptors, checks);
+    }
+
+    private static boolean hasContainerElementConstraints(
+            PropertyDescriptor property) {
+        try {
+            return !property.getConstrainedContainerElementTypes().isEmpty();
+        } catch (NoSuchMethodError e) {
+            // Validation API 1.x has no container element constraints
+            return false;
+        }
+    }
+
+    private static boolean isPlainProperty(Class<?> beanType,
+            String propertyName) {
+        // Let the validator report properties it doesn't know about
+        try {
+            return BeanUtil.getPropertyDescriptor(beanType,
+                    propertyName) != null;
+        } catch (IntrospectionException e) {
+            return false;
+        }
+    }
+
+    private static ConstraintCheck[] compile(Class<?> beanType,
+            Set<ConstraintDescriptor<?>> descriptors) {
+        if (hasGroupSequence(beanType)) {
+            return null;
+        }
+        ConstraintCheck[] checks = new ConstraintCheck[descriptors.size()];
+        int i = 0;
+        for (ConstraintDescriptor<?> descriptor : descriptors) {
+            ConstraintCheck check = compile(descriptor);
+            if (check == null) {
+                return null;
+            }
+            checks[i++] = check;
+        }
+        return checks;
+    }
+
+    private static boolean hasGroupSequence(Class<?> beanType) {
+        if (beanType.isAnnotationPresent(GroupSequence.class)) {
+            return true;
+        }
+        // Provider is specific to Hibernate Validator, which may be missing
+        for (Annotation annotation : beanType.getAnnotations()) {
+            if (GROUP_SEQUENCE_PROVIDER
+                    .equals(annotation.annotationType().getName())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static ConstraintCheck compile(ConstraintDescriptor<?> descriptor) {
+        if (!descriptor.getComposingConstraints().isEmpty()
+                || !descriptor.getGroups()
+                        .equals(Collections.singleton(Default.class))) {
+            return null;
+        }
+        Map<String, Object> attributes = descriptor.getAttributes();
+        // Compared by name to also work with validation API 1.x
+        switch (descriptor.getAnnotation().annotationType().getName()) {
+        case "javax.validation.constraints.NotNull":
+            return value -> value != null;
+        case "javax.validation.constraints.Null":
+            return value -> value == null;
+        case "javax.validation.constraints.AssertTrue":
+            return value -> value == null ? Boolean.TRUE
+                    : value instanceof Boolean ? (Boolean) value : null;
+        case "javax.validation.constraints.AssertFalse":
+            return value -> value == null ? Boolean.TRUE
+                    : value instanceof Boolean ? !(Boolean) value : null;
+        case "javax.validation.constraints.NotEmpty":
+            return value -> value == null ? Boolean.FALSE
+                    : value instanceof CharSequence
+                            ? ((CharSequence) value).length() > 0
+                            : null;
+        case "javax.validation.constraints.NotBlank":
+            return value -> value == null ? Boolean.FALSE
+                    : value instanceof CharSequence
+                            ? !value.toString().trim().isEmpty()
+                            : null;
+        case "javax.validation.constraints.Size":
+            return compileSize((Integer) attributes.get("min"),
+                    (Integer) attributes.get("max"));
+        case "javax.validation.constraints.Min":
+            return compileLimit((Long) attributes.get("value"), true);
+        case "javax.validation.constraints.Max":
+            return compileLimit((Long) attributes.get("value"), false);
+        case "javax.validation.constraints.Pattern":
+            return compilePattern((String) attributes.get("regexp"),
+                    (javax.validation.constraints.Pattern.Flag[]) attributes
+                            .get("flags"));
+        default:
+            return null;
+        }
+    }
+
+    private static ConstraintCheck compileSize(int min, int max) {
+        return value -> {
+            if (value == null) {
+                return Boolean.TRUE;
+            } else if (value instanceof CharSequence) {
+                int length = ((CharSequence) value).length();
+                return length >= min && length <= max;
+            }
+            // Containers may have constraints on their elements
+            return null;
+        };
+    }
+
+    private static ConstraintCheck compileLimit(long limit, boolean min) {
+        return value -> {
+            int comparison;
+            if (value == null) {
+                return Boolean.TRUE;
+            } else if (value instanceof Integer || value instanceof Long
+                    || value instanceof Short || value instanceof Byte) {
+                comparison = Long.compare(((Number) value).longValue(),
+                        limit);
+            } else if (value instanceof BigInteger) {
+                comparison = ((BigInteger) value)
+                        .compareTo(BigInteger.valueOf(limit));
+            } else if (value instanceof BigDecimal) {
+                comparison = ((BigDecimal) value)
+                        .compareTo(BigDecimal.valueOf(limit));
+            } else {
+                return null;
+            }
+            return min ? comparison >= 0 : comparison <= 0;
+        };
+    }
+
+    private static ConstraintCheck compilePattern(String regexp,
+            javax.validation.constraints.Pattern.Flag[] flags) {
+        int flagMask = 0;
+        for (javax.validation.constraints.Pattern.Flag flag : flags) {
+            flagMask |= flag.getValue();
+        }
+        Pattern pattern;
+        try {
+            pattern = Pattern.compile(regexp, flagMask);
+        } catch (PatternSyntaxException e) {
+            // Let the validator report the invalid pattern
+            return null;
+        }
+        return value -> {
+            if (value == null) {
+                return Boolean.TRUE;
+            } else if (value instanceof CharSequence) {
+                return pattern.matcher((CharSequence) value).matches();
+            }
+            return null;
+        };
+    }
+
+    /**
+     * Gets the constraint descriptors of the property.
+     *
+     * @return the constraint descriptors, not null
+     */
+    Set<ConstraintDescriptor<?>> getConstraintDescriptors() {
+        return descriptors;
+    }
+
+    /**
+     * Checks whether the given value is known to satisfy all constraints of
+     * the property without using the full validator.
+     *
+     * @param value
+     *            the value to check
+     * @return {@code true} if the value is valid, {@code false} if it may be
+     *         invalid or can't be checked
+     */
+    boolean isKnownValid(Object value) {
+        if (checks == null) {
+            return false;
+        }
+        for (ConstraintCheck check : checks) {
+            if (!Boolean.TRUE.equals(check.check(value))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Gets an interpolated message from the cache, interpolating it if
+     * necessary.
+     *
+     * @param descriptor
+     *            the descriptor of the violated constraint
+     * @param template
+     *            the message template
+     * @param locale
+     *            the locale of the message
+     * @param interpolator
+     *            interpolates the message if it's not cached
+     * @return the interpolated message
+     */
+    String getMessage(ConstraintDescriptor<?> descriptor, String template,
+            Locale locale, Supplier<String> interpolator) {
+        return messages.computeIfAbsent(
+                new MessageKey(descriptor, template, locale),
+                key -> interpolator.get());
+    }
+}
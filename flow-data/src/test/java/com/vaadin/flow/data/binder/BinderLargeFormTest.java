@@ -0,0 +1,182 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.data.binder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.vaadin.flow.data.binder.Binder.Binding;
+import com.vaadin.flow.data.binder.Binder.BindingBuilder;
+import com.vaadin.flow.data.binder.testcomponents.TestTextField;
+import com.vaadin.flow.data.converter.Converter;
+import com.vaadin.flow.data.converter.StringToIntegerConverter;
+
+/**
+ * Tests a binder with a large number of bindings, such as a
+ * data entry form validated on every keystroke.
+ */
+public class BinderLargeFormTest {
+
+    private static final int FIELD_COUNT = 200;
+
+    private static final int ROUNDS = 500;
+
+    private static class ContextRecordingConverter
+            implements Converter<Integer, Integer> {
+        private final List<ValueContext> contexts = new ArrayList<>();
+
+        @Override
+        public Result<Integer> convertToModel(Integer value,
+                ValueContext context) {
+            contexts.add(context);
+            return Result.ok(value);
+        }
+
+        @Override
+        public Integer convertToPresentation(Integer value,
+                ValueContext context) {
+            contexts.add(context);
+            return value;
+        }
+    }
+
+    private Binder<int[]> binder;
+    private List<TestTextField> fields;
+    private List<Binding<int[], Integer>> bindings;
+    private List<ContextRecordingConverter> converters;
+    private int statusChangeCount;
+
+    @Before
+    public void setUp() {
+        binder = new Binder<>();
+        fields = new ArrayList<>();
+        bindings = new ArrayList<>();
+        converters = new ArrayList<>();
+        for (int i = 0; i < FIELD_COUNT; i++) {
+            int index = i;
+            TestTextField field = new TestTextField();
+            ContextRecordingConverter converter = new ContextRecordingConverter();
+            bindings.add(configure(binder.forField(field), converter).bind(
+                    values -> values[index],
+                    (values, value) -> values[index] = value));
+            fields.add(field);
+            converters.add(converter);
+        }
+        binder.addStatusChangeListener(event -> statusChangeCount++);
+    }
+
+    @Test
+    public void setBean_valueContextReusedWithinOperation() {
+        binder.setBean(createBean());
+
+        for (ContextRecordingConverter converter : converters) {
+            // convertToPresentation and convertToModel for write back
+            Assert.assertEquals(2, converter.contexts.size());
+            Assert.assertSame(converter.contexts.get(0),
+                    converter.contexts.get(1));
+        }
+
+        binder.validate();
+
+        for (ContextRecordingConverter converter : converters) {
+            Assert.assertEquals(3, converter.contexts.size());
+            Assert.assertNotSame(
+                    "A new operation should not reuse the old context",
+                    converter.contexts.get(0), converter.contexts.get(2));
+        }
+    }
+
+    @Test
+    public void readBean_fieldListenersValidate_singleStatusChangeEvent() {
+        for (int i = 0; i < FIELD_COUNT; i++) {
+            Binding<int[], Integer> binding = bindings.get(i);
+            fields.get(i).addValueChangeListener(event -> binding.validate());
+        }
+
+        binder.readBean(createBean());
+
+        Assert.assertEquals(1, statusChangeCount);
+    }
+
+    @Test
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    public void validate_sameResultsAsChainedConverters() {
+        Converter<String, ?> chain = ((Binder.BindingBuilderImpl<?, String, ?>) configure(
+                new Binder<int[]>().forField(new TestTextField()),
+                new ContextRecordingConverter())).getConverterValidatorChain();
+        binder.readBean(createBean());
+        String[] values = { "", "foo", "-1", "1000", "1" };
+        for (int i = 0; i < values.length; i++) {
+            fields.get(i).setValue(values[i]);
+        }
+
+        List<BindingValidationStatus<?>> statuses = binder.validate()
+                .getFieldValidationStatuses();
+
+        for (int i = 0; i < values.length; i++) {
+            BindingValidationStatus<?> expected = new BindingValidationStatus(
+                    chain.convertToModel(values[i],
+                            new ValueContext(fields.get(i))),
+                    bindings.get(i));
+            BindingValidationStatus<?> actual = statuses.get(i);
+            Assert.assertEquals(expected.isError(), actual.isError());
+            Assert.assertEquals(expected.getMessage(), actual.getMessage());
+            Assert.assertEquals(expected.getValidationResults().size(),
+                    actual.getValidationResults().size());
+        }
+        Assert.assertEquals(4,
+                binder.validate().getFieldValidationErrors().size());
+    }
+
+    /**
+     * Validates the whole form once for every simulated keystroke.
+     */
+    @Test
+    public void validate_manyRounds_allValid() {
+        int[] bean = createBean();
+        binder.setBean(bean);
+
+        for (int round = 0; round < ROUNDS; round++) {
+            TestTextField field = fields.get(round % FIELD_COUNT);
+            field.setValue(String.valueOf(round));
+            Assert.assertTrue(binder.validate().isOk());
+        }
+
+        Assert.assertEquals(ROUNDS - 1, bean[(ROUNDS - 1) % FIELD_COUNT]);
+    }
+
+    private static BindingBuilder<int[], Integer> configure(
+            BindingBuilder<int[], String> builder,
+            Converter<Integer, Integer> converter) {
+        return builder.asRequired("Required")
+                .withConverter(new StringToIntegerConverter("Must be a number"))
+                .withValidator(value -> value >= 0, "Must not be negative")
+                .withConverter(converter)
+                .withValidator(value -> value < 1000, "Must be below 1000");
+    }
+
+    private static int[] createBean() {
+        int[] bean = new int[FIELD_COUNT];
+        for (int i = 0; i < FIELD_COUNT; i++) {
+            bean[i] = i;
+        }
+        return bean;
+    }
+}
@@ -17,6 +17,8 @@ package com.vaadin.flow.data.provider;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import org.hamcrest.CoreMatchers;
 import org.junit.Assert;
@@ -173,6 +175,80 @@ public class CompositeDataGeneratorTest {
         Assert.assertTrue(mock3.getProcessed().isEmpty());
     }
 
+    @Test
+    public void generateData_threadSafeFlag_onlyMatchingGeneratorsInvoked() {
+        CompositeDataGenerator<String> composite = new CompositeDataGenerator<>();
+        CompositeDataGenerator<String> nested = new CompositeDataGenerator<>();
+
+        MockDataGenerator mock1 = new MockDataGenerator("mock1", "value1");
+        MockDataGenerator mock2 = new MockDataGenerator("mock2", "value2") {
+            @Override
+            public boolean isThreadSafe() {
+                return true;
+            }
+        };
+        composite.addDataGenerator(nested);
+        nested.addDataGenerator(mock2);
+        Assert.assertTrue(composite.isThreadSafe());
+
+        composite.addDataGenerator(mock1);
+        Assert.assertFalse(composite.isThreadSafe());
+        Assert.assertTrue(composite.canGenerateThreadSafeDataFirst());
+        Assert.assertFalse(new CompositeDataGenerator<String>()
+                .canGenerateThreadSafeDataFirst());
+
+        JsonObject json = Json.createObject();
+        composite.generateData("item1", json, true);
+        Assert.assertEquals("value2", json.getString("mock2"));
+        Assert.assertFalse(json.hasKey("mock1"));
+
+        composite.generateData("item1", json, false);
+        Assert.assertEquals("value1", json.getString("mock1"));
+        Assert.assertEquals(1, mock1.getProcessed().size());
+        Assert.assertEquals(1, mock2.getProcessed().size());
+    }
+
+    @Test
+    public void canGenerateThreadSafeDataFirst_threadSafeAddedLast_false() {
+        CompositeDataGenerator<String> composite = new CompositeDataGenerator<>();
+        CompositeDataGenerator<String> nested = new CompositeDataGenerator<>();
+        composite.addDataGenerator(new MockDataGenerator("mock1", "value1"));
+        composite.addDataGenerator(nested);
+        nested.addDataGenerator(new MockDataGenerator("mock2", "value2") {
+            @Override
+            public boolean isThreadSafe() {
+                return true;
+            }
+        });
+
+        Assert.assertFalse(composite.canGenerateThreadSafeDataFirst());
+    }
+
+    @Test
+    public void generateData_generatorsCalledInOrderOfAddition() {
+        CompositeDataGenerator<String> composite = new CompositeDataGenerator<>();
+        List<String> calls = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            String name = "generator" + i;
+            composite.addDataGenerator((item, json) -> calls.add(name));
+        }
+
+        composite.generateData("item1", Json.createObject());
+
+        Assert.assertEquals(IntStream.range(0, 10)
+                .mapToObj(i -> "generator" + i).collect(Collectors.toList()),
+                calls);
+    }
+
+    @Test
+    public void beanDataGenerator_threadSafeOnlyWhenEnabled() {
+        BeanDataGenerator<String> generator = new BeanDataGenerator<>();
+        Assert.assertFalse(generator.isThreadSafe());
+
+        generator.setThreadSafe(true);
+        Assert.assertTrue(generator.isThreadSafe());
+    }
+
     @Test
     public void dataGeneratorRegistration_remove_dataIsDestroyed() {
         CompositeDataGenerator<String> composite = new CompositeDataGenerator<>();
@@ -17,7 +17,12 @@ package com.vaadin.flow.data.provider;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.locks.Lock;
@@ -50,6 +55,7 @@ import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
 
+import elemental.json.JsonObject;
 import elemental.json.JsonValue;
 
 public class DataCommunicatorTest {
@@ -108,6 +114,7 @@ public class DataCommunicatorTest {
     public Range lastClear = null;
     public Range lastSet = null;
     public int lastUpdateId = -1;
+    public List<Range> setRanges = new ArrayList<>();
     private int pageSize;
 
     @Before
@@ -120,6 +127,7 @@ public class DataCommunicatorTest {
         lastClear = null;
         lastSet = null;
         lastUpdateId = -1;
+        setRanges.clear();
 
         update = new ArrayUpdater.Update() {
 
@@ -131,6 +139,7 @@ public class DataCommunicatorTest {
             @Override
             public void set(int start, List<JsonValue> items) {
                 lastSet = Range.withLength(start, items.size());
+                setRanges.add(lastSet);
             }
 
             @Override
@@ -185,6 +194,24 @@ public class DataCommunicatorTest {
                 Range.withLength(50, 20), lastSet);
     }
 
+    @Test
+    public void memoryFootprint_activeItems_includedInUiFootprint_removedOnDetach() {
+        long initial = ui.getInternals().getMemoryFootprint().getOtherSize();
+
+        dataCommunicator.setDataProvider(createDataProvider(), null);
+        dataCommunicator.setRequestedRange(0, 50);
+        fakeClientCommunication();
+
+        long withItems = ui.getInternals().getMemoryFootprint()
+                .getOtherSize();
+        Assert.assertTrue(withItems > initial);
+
+        element.removeFromParent();
+
+        Assert.assertEquals(initial,
+                ui.getInternals().getMemoryFootprint().getOtherSize());
+    }
+
     @Test
     public void reattach_different_roundtrip_refresh_all() {
         dataCommunicator.setDataProvider(createDataProvider(), null);
@@ -241,6 +268,232 @@ public class DataCommunicatorTest {
                 dataCommunicator.getKeyMapper().get("1"));
     }
 
+    @Test
+    public void rowDiffingEnabled_reset_onlyChangedRowsSent() {
+        List<Item> items = IntStream.range(0, 100).mapToObj(Item::new)
+                .collect(Collectors.toList());
+        generateItemValues();
+        dataCommunicator.setRowDiffingEnabled(true);
+        dataCommunicator.setDataProvider(DataProvider.ofCollection(items),
+                null);
+        dataCommunicator.setRequestedRange(0, 50);
+        fakeClientCommunication();
+        Assert.assertEquals(Arrays.asList(Range.withLength(0, 50)),
+                setRanges);
+
+        setRanges.clear();
+        items.get(3).value = "changed";
+        items.get(4).value = "changed";
+        items.get(40).value = "changed";
+        dataCommunicator.reset();
+        fakeClientCommunication();
+
+        Assert.assertEquals(Arrays.asList(Range.withLength(3, 2),
+                Range.withLength(40, 1)), setRanges);
+        Assert.assertNull(lastClear);
+
+        setRanges.clear();
+        dataCommunicator.reset();
+        fakeClientCommunication();
+
+        Assert.assertEquals(Collections.emptyList(), setRanges);
+        Assert.assertNotEquals(-1, lastUpdateId);
+    }
+
+    @Test
+    public void rowDiffingEnabled_itemsReordered_movedRowsSent() {
+        List<Item> items = IntStream.range(0, 100).mapToObj(Item::new)
+                .collect(Collectors.toList());
+        generateItemValues();
+        dataCommunicator.setRowDiffingEnabled(true);
+        dataCommunicator.setDataProvider(DataProvider.ofCollection(items),
+                null);
+        dataCommunicator.setRequestedRange(0, 50);
+        fakeClientCommunication();
+
+        setRanges.clear();
+        Collections.swap(items, 10, 12);
+        dataCommunicator.reset();
+        fakeClientCommunication();
+
+        Assert.assertEquals(Arrays.asList(Range.withLength(10, 1),
+                Range.withLength(12, 1)), setRanges);
+    }
+
+    @Test
+    public void rowDiffingDisabled_reset_allRowsSent() {
+        List<Item> items = IntStream.range(0, 100).mapToObj(Item::new)
+                .collect(Collectors.toList());
+        generateItemValues();
+        dataCommunicator.setDataProvider(DataProvider.ofCollection(items),
+                null);
+        dataCommunicator.setRequestedRange(0, 50);
+        fakeClientCommunication();
+
+        setRanges.clear();
+        dataCommunicator.reset();
+        fakeClientCommunication();
+
+        Assert.assertEquals(Arrays.asList(Range.withLength(0, 50)),
+                setRanges);
+        Assert.assertEquals(Range.withLength(0, 50), lastClear);
+    }
+
+    @Test
+    public void dataGenerationExecutor_threadSafeGeneratorsRunInParallel() {
+        Thread uiThread = Thread.currentThread();
+        Set<Thread> threadSafeThreads = ConcurrentHashMap.newKeySet();
+        List<String> rowValues = new ArrayList<>();
+        CompositeDataGenerator<Item> composite = new CompositeDataGenerator<>();
+        composite.addDataGenerator(new DataGenerator<Item>() {
+            @Override
+            public void generateData(Item item, JsonObject jsonObject) {
+                threadSafeThreads.add(Thread.currentThread());
+                jsonObject.put("value", item.value);
+            }
+
+            @Override
+            public boolean isThreadSafe() {
+                return true;
+            }
+        });
+        composite.addDataGenerator((item, jsonObject) -> {
+            Assert.assertSame(uiThread, Thread.currentThread());
+            // The thread-safe data is generated first
+            rowValues.add(jsonObject.getString("value"));
+        });
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            dataCommunicator = new DataCommunicator<>(composite, arrayUpdater,
+                    data -> {
+                    }, element.getNode());
+            dataCommunicator.setDataGenerationExecutor(executor);
+            dataCommunicator.setDataProvider(createDataProvider(), null);
+            dataCommunicator.setRequestedRange(0, 100);
+            fakeClientCommunication();
+        } finally {
+            executor.shutdown();
+        }
+
+        Assert.assertEquals(Range.withLength(0, 100), lastSet);
+        Assert.assertEquals(IntStream.range(0, 100).mapToObj(i -> "Item " + i)
+                .collect(Collectors.toList()), rowValues);
+        Assert.assertFalse(threadSafeThreads.isEmpty());
+        Assert.assertFalse(threadSafeThreads.contains(uiThread));
+    }
+
+    @Test
+    public void dataGenerationExecutor_threadSafeGeneratorAddedLast_orderKept() {
+        Thread uiThread = Thread.currentThread();
+        CompositeDataGenerator<Item> composite = new CompositeDataGenerator<>();
+        composite.addDataGenerator(
+                (item, jsonObject) -> jsonObject.put("value", "first"));
+        composite.addDataGenerator(new DataGenerator<Item>() {
+            @Override
+            public void generateData(Item item, JsonObject jsonObject) {
+                Assert.assertSame(uiThread, Thread.currentThread());
+                // Overwrites the value of the generator added before
+                jsonObject.put("value", item.value);
+            }
+
+            @Override
+            public boolean isThreadSafe() {
+                return true;
+            }
+        });
+        List<String> rowValues = new ArrayList<>();
+        composite.addDataGenerator((item, jsonObject) -> rowValues
+                .add(jsonObject.getString("value")));
+        dataCommunicator = new DataCommunicator<>(composite, arrayUpdater,
+                data -> {
+                }, element.getNode());
+        dataCommunicator.setDataGenerationExecutor(command -> Assert
+                .fail("Generators should not be run on the executor"));
+        dataCommunicator.setDataProvider(createDataProvider(), null);
+        dataCommunicator.setRequestedRange(0, 100);
+        fakeClientCommunication();
+
+        Assert.assertEquals(IntStream.range(0, 100).mapToObj(i -> "Item " + i)
+                .collect(Collectors.toList()), rowValues);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void dataGenerationExecutor_generatorThrows_exceptionRethrown() {
+        DataGenerator<Item> failing = new DataGenerator<Item>() {
+            @Override
+            public void generateData(Item item, JsonObject jsonObject) {
+                throw new IllegalStateException();
+            }
+
+            @Override
+            public boolean isThreadSafe() {
+                return true;
+            }
+        };
+        dataCommunicator = new DataCommunicator<>(failing, arrayUpdater,
+                data -> {
+                }, element.getNode());
+        dataCommunicator.setDataGenerationExecutor(Runnable::run);
+        dataCommunicator.setDataProvider(createDataProvider(), null);
+        dataCommunicator.setRequestedRange(0, 100);
+        fakeClientCommunication();
+    }
+
+    @Test
+    public void intKeyMapperWithMaxInactiveSize_oldInactiveKeysEvicted() {
+        IntKeyMapper<Item> keyMapper = new IntKeyMapper<>();
+        keyMapper.setMaxInactiveSize(20);
+        dataCommunicator.setKeyMapper(keyMapper);
+        dataCommunicator.setDataProvider(createDataProvider(), null);
+        dataCommunicator.setRequestedRange(0, 50);
+        fakeClientCommunication();
+
+        // Keys created outside of the active range, e.g. for selection
+        List<String> inactiveKeys = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            inactiveKeys.add(keyMapper.key(new Item(100 + i)));
+        }
+        dataCommunicator.setRequestedRange(0, 50);
+        fakeClientCommunication();
+
+        Assert.assertEquals(50 + 15, keyMapper.size());
+        for (int i = 0; i < 50; i++) {
+            Assert.assertEquals(i,
+                    keyMapper.get(String.valueOf(i + 1)).id);
+        }
+        for (int i = 0; i < 15; i++) {
+            Assert.assertNull(keyMapper.get(inactiveKeys.get(i)));
+            Mockito.verify(dataGenerator).destroyData(new Item(100 + i));
+        }
+        for (int i = 15; i < 30; i++) {
+            Assert.assertEquals(100 + i,
+                    keyMapper.get(inactiveKeys.get(i)).id);
+        }
+    }
+
+    @Test
+    public void intKeyMapper_passivatedKeysNotEvictedBeforeConfirmation() {
+        IntKeyMapper<Item> keyMapper = new IntKeyMapper<>();
+        keyMapper.setMaxInactiveSize(0);
+        dataCommunicator.setKeyMapper(keyMapper);
+        dataCommunicator.setDataProvider(createDataProvider(), null);
+        dataCommunicator.setRequestedRange(0, 50);
+        fakeClientCommunication();
+
+        dataCommunicator.setRequestedRange(50, 50);
+        fakeClientCommunication();
+
+        Assert.assertEquals(0, keyMapper.get("1").id);
+        Mockito.verify(dataGenerator, Mockito.never())
+                .destroyData(new Item(0));
+
+        dataCommunicator.confirmUpdate(lastUpdateId);
+        fakeClientCommunication();
+
+        Assert.assertNull(keyMapper.get("1"));
+        Assert.assertEquals(50, keyMapper.size());
+    }
+
     @Test
     public void dataProviderBreaksContract_limitOrPageSizeAreNotCalled_throw() {
         List<Item> items = new ArrayList<>();
@@ -1466,6 +1719,16 @@ public class DataCommunicatorTest {
         return dataCommunicator.getPageSize() * 4;
     }
 
+    private void generateItemValues() {
+        Mockito.doAnswer(invocation -> {
+            Item item = (Item) invocation.getArguments()[0];
+            ((JsonObject) invocation.getArguments()[1]).put("value",
+                    item.value);
+            return null;
+        }).when(dataGenerator).generateData(Mockito.any(Item.class),
+                Mockito.any(JsonObject.class));
+    }
+
     private void fakeClientCommunication() {
         ui.getInternals().getStateTree().runExecutionsBeforeClientResponse();
         ui.getInternals().getStateTree().collectChanges(ignore -> {
@@ -0,0 +1,171 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.data.provider;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import com.vaadin.flow.data.provider.DataExporter.RowWriter;
+import com.vaadin.flow.dom.Element;
+import com.vaadin.flow.function.SerializablePredicate;
+
+public class DataExporterTest {
+
+    private static final RowWriter<Integer> LINE_WRITER = (item,
+            out) -> out.write((item + "\n").getBytes(StandardCharsets.UTF_8));
+
+    private final List<Query<Integer, Void>> queries = new ArrayList<>();
+
+    private DataProvider<Integer, Void> createBackEndProvider(int size) {
+        return DataProvider.fromCallbacks(query -> {
+            queries.add(query);
+            int end = Math.min(size, query.getOffset() + query.getLimit());
+            return IntStream.range(query.getOffset(), end).boxed();
+        }, query -> size);
+    }
+
+    @Test
+    public void export_backEndProvider_fetchedInPages() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        List<Long> progress = new ArrayList<>();
+
+        long count = new DataExporter<>(createBackEndProvider(2500))
+                .withPageSize(1000)
+                .withProgressListener((exported, total) -> {
+                    Assert.assertEquals(2500, total);
+                    progress.add(exported);
+                }).export(out, LINE_WRITER);
+
+        Assert.assertEquals(2500, count);
+        Assert.assertEquals(3, queries.size());
+        for (int i = 0; i < queries.size(); i++) {
+            Assert.assertEquals(i * 1000, queries.get(i).getOffset());
+            Assert.assertEquals(1000, queries.get(i).getLimit());
+        }
+        Assert.assertEquals(Arrays.asList(1000L, 2000L, 2500L), progress);
+        String[] lines = out.toString("UTF-8").split("\n");
+        Assert.assertEquals(2500, lines.length);
+        Assert.assertEquals("2499", lines[2499]);
+    }
+
+    @Test
+    public void export_fullLastPage_emptyPageFetched() throws IOException {
+        long count = new DataExporter<>(createBackEndProvider(2000))
+                .withPageSize(1000)
+                .export(new ByteArrayOutputStream(), LINE_WRITER);
+
+        Assert.assertEquals(2000, count);
+        Assert.assertEquals(3, queries.size());
+    }
+
+    @Test
+    public void export_headerAndFooter_writtenAroundRows() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        new DataExporter<>(DataProvider.ofItems(1, 2, 3)).export(out,
+                new RowWriter<Integer>() {
+                    @Override
+                    public void writeRow(Integer item, OutputStream stream)
+                            throws IOException {
+                        stream.write(('0' + item));
+                    }
+
+                    @Override
+                    public void writeHeader(OutputStream stream)
+                            throws IOException {
+                        stream.write('[');
+                    }
+
+                    @Override
+                    public void writeFooter(OutputStream stream)
+                            throws IOException {
+                        stream.write(']');
+                    }
+                });
+
+        Assert.assertEquals("[123]", out.toString("UTF-8"));
+    }
+
+    @Test
+    public void export_dataCommunicator_usesFilterAndSorting()
+            throws IOException {
+        ListDataProvider<Integer> dataProvider = DataProvider
+                .ofCollection(Arrays.asList(5, 3, 8, 1, 9, 2));
+        DataCommunicator<Integer> dataCommunicator = new DataCommunicator<>(
+                (item, json) -> {
+                }, Mockito.mock(ArrayUpdater.class), data -> {
+                }, new Element("div").getNode());
+        dataCommunicator.setDataProvider(dataProvider,
+                (SerializablePredicate<Integer>) item -> item > 2);
+        dataCommunicator.setInMemorySorting(Integer::compare);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        DataExporter<Integer> exporter = new DataExporter<>(dataCommunicator);
+        // Changes after creating the exporter are not used
+        dataCommunicator.setInMemorySorting(null);
+        long count = exporter.export(out, LINE_WRITER);
+
+        Assert.assertEquals(4, count);
+        Assert.assertEquals("3\n5\n8\n9\n", out.toString("UTF-8"));
+    }
+
+    @Test
+    public void export_inMemoryProvider_singleQuery() throws IOException {
+        List<Query<Integer, ?>> inMemoryQueries = new ArrayList<>();
+        ListDataProvider<Integer> dataProvider = new ListDataProvider<Integer>(
+                Arrays.asList(1, 2, 3)) {
+            @Override
+            public Stream<Integer> fetch(
+                    Query<Integer, SerializablePredicate<Integer>> query) {
+                inMemoryQueries.add(query);
+                return super.fetch(query);
+            }
+        };
+
+        long count = new DataExporter<>(dataProvider).withPageSize(1)
+                .export(new ByteArrayOutputStream(), LINE_WRITER);
+
+        Assert.assertEquals(3, count);
+        Assert.assertEquals(1, inMemoryQueries.size());
+    }
+
+    @Test
+    public void toStreamResource_writesExport() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        new DataExporter<>(DataProvider.ofItems(1, 2))
+                .toStreamResource("export.csv", LINE_WRITER).getWriter()
+                .accept(out, null);
+
+        Assert.assertEquals("1\n2\n", out.toString("UTF-8"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void withPageSize_zero_throws() {
+        new DataExporter<>(DataProvider.ofItems(1)).withPageSize(0);
+    }
+}
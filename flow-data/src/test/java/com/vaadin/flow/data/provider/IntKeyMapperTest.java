@@ -0,0 +1,160 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.data.provider;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class IntKeyMapperTest {
+
+    private final IntKeyMapper<String> keyMapper = new IntKeyMapper<>();
+
+    @Test
+    public void key_sameObject_sameKey() {
+        String key = keyMapper.key("foo");
+
+        Assert.assertEquals("1", key);
+        Assert.assertEquals(key, keyMapper.key("foo"));
+        Assert.assertEquals("2", keyMapper.key("bar"));
+        Assert.assertEquals("foo", keyMapper.get(key));
+        Assert.assertTrue(keyMapper.has("foo"));
+        Assert.assertTrue(keyMapper.containsKey(key));
+        Assert.assertEquals(2, keyMapper.size());
+    }
+
+    @Test
+    public void get_invalidKeys_returnsNull() {
+        keyMapper.key("foo");
+
+        for (String key : new String[] { null, "", "0", "01", "+1", "-1",
+                "1a", "2", "99999999999", "null" }) {
+            Assert.assertNull(key, keyMapper.get(key));
+            Assert.assertFalse(key, keyMapper.containsKey(key));
+        }
+    }
+
+    @Test
+    public void remove_keyNotReused() {
+        String key = keyMapper.key("foo");
+        keyMapper.remove("foo");
+
+        Assert.assertFalse(keyMapper.has("foo"));
+        Assert.assertNull(keyMapper.get(key));
+        Assert.assertNotEquals(key, keyMapper.key("foo"));
+
+        keyMapper.removeAll();
+
+        Assert.assertEquals(0, keyMapper.size());
+        Assert.assertEquals("3", keyMapper.key("bar"));
+    }
+
+    @Test
+    public void refreshAndSetIdentifierGetter_useIdentifiers() {
+        IntKeyMapper<StrBean> mapper = new IntKeyMapper<>(StrBean::getId);
+        StrBean bean = new StrBean("foo", 1, 0);
+        String key = mapper.key(bean);
+
+        StrBean updated = new StrBean("bar", 1, 0);
+        Assert.assertTrue(mapper.has(updated));
+        mapper.refresh(updated);
+        Assert.assertSame(updated, mapper.get(key));
+
+        mapper.setIdentifierGetter(StrBean::getValue);
+        Assert.assertTrue(mapper.has(new StrBean("bar", 2, 0)));
+        Assert.assertFalse(mapper.has(bean));
+        Assert.assertEquals(key, mapper.key(updated));
+    }
+
+    @Test
+    public void randomOperations_sameResultsAsKeyMapper() {
+        KeyMapper<String> reference = new KeyMapper<>();
+        Map<String, String> keys = new HashMap<>();
+        Random random = new Random(42);
+
+        for (int i = 0; i < 100000; i++) {
+            String value = "item" + random.nextInt(5000);
+            if (random.nextInt(3) == 0) {
+                reference.remove(value);
+                keyMapper.remove(value);
+                keys.remove(value);
+            } else {
+                String key = keyMapper.key(value);
+                reference.key(value);
+                String previous = keys.put(value, key);
+                Assert.assertTrue(previous == null || previous.equals(key));
+            }
+        }
+
+        keys.forEach((value, key) -> {
+            Assert.assertEquals(value, keyMapper.get(key));
+            Assert.assertTrue(reference.has(value));
+        });
+        Assert.assertEquals(keys.size(), keyMapper.size());
+    }
+
+    @Test
+    public void evictInactive_oldestNotRetainedEvicted() {
+        keyMapper.setMaxInactiveSize(8);
+        List<String> keys = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            keys.add(keyMapper.key("item" + i));
+        }
+        List<String> evicted = new ArrayList<>();
+
+        keyMapper.evictInactive(Stream.of(keys.get(0), keys.get(19)),
+                evicted::add);
+
+        // 18 inactive mappings reduced to 6 to leave room for new ones
+        Assert.assertEquals(12, evicted.size());
+        Assert.assertEquals(8, keyMapper.size());
+        Assert.assertEquals("item0", keyMapper.get(keys.get(0)));
+        for (int i = 1; i <= 12; i++) {
+            Assert.assertTrue(evicted.contains("item" + i));
+            Assert.assertNull(keyMapper.get(keys.get(i)));
+        }
+        for (int i = 13; i < 20; i++) {
+            Assert.assertEquals("item" + i, keyMapper.get(keys.get(i)));
+        }
+
+        evicted.clear();
+        keyMapper.evictInactive(Stream.empty(), evicted::add);
+        Assert.assertTrue(evicted.isEmpty());
+    }
+
+    @Test
+    public void getEstimatedSize_smallerThanKeyMapper() {
+        KeyMapper<String> reference = new KeyMapper<>();
+        for (int i = 0; i < 10000; i++) {
+            keyMapper.key("item" + i);
+            reference.key("item" + i);
+        }
+
+        Assert.assertTrue(keyMapper.getEstimatedSize() < reference
+                .getEstimatedSize() * 3 / 4);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void setMaxInactiveSize_negative_throws() {
+        keyMapper.setMaxInactiveSize(-1);
+    }
+}
@@ -213,4 +213,82 @@ public class ComponentRendererTest {
                 updatedComponent);
     }
 
+    @Test
+    public void recyclingEnabled_passivatedComponentReusedForNewItem() {
+        AtomicInteger createInvocations = new AtomicInteger();
+        ComponentRenderer<TestLabel, String> renderer = new ComponentRenderer<>(
+                item -> {
+                    createInvocations.incrementAndGet();
+                    return new TestLabel(item);
+                }, (component, item) -> {
+                    ((TestLabel) component).setText(item);
+                    return component;
+                });
+        renderer.setRecyclingPoolSize(1);
+        Element container = new Element("div");
+        ComponentDataGenerator<String> generator = createGenerator(renderer,
+                container);
+
+        generator.generateData("a", Json.createObject());
+        Component component = container.getChild(0).getComponent().get();
+        generator.destroyData("a");
+
+        Assert.assertEquals("Recycled component should stay in the container",
+                1, container.getChildCount());
+
+        generator.generateData("b", Json.createObject());
+
+        Assert.assertEquals(1, createInvocations.get());
+        Assert.assertEquals(1, container.getChildCount());
+        Assert.assertSame(component,
+                container.getChild(0).getComponent().get());
+        Assert.assertEquals("b", component.getElement().getText());
+    }
+
+    @Test
+    public void recyclingEnabled_poolFull_componentRemoved() {
+        ComponentRenderer<TestLabel, String> renderer = new ComponentRenderer<>(
+                TestLabel::new, (component, item) -> component);
+        renderer.setRecyclingPoolSize(1);
+        Element container = new Element("div");
+        ComponentDataGenerator<String> generator = createGenerator(renderer,
+                container);
+
+        generator.generateData("a", Json.createObject());
+        generator.generateData("b", Json.createObject());
+        generator.destroyAllData();
+
+        Assert.assertEquals(1, container.getChildCount());
+    }
+
+    @Test
+    public void recyclingDisabled_passivatedComponentRemoved() {
+        AtomicInteger createInvocations = new AtomicInteger();
+        ComponentRenderer<TestLabel, String> renderer = new ComponentRenderer<>(
+                item -> {
+                    createInvocations.incrementAndGet();
+                    return new TestLabel(item);
+                }, (component, item) -> component);
+        Element container = new Element("div");
+        ComponentDataGenerator<String> generator = createGenerator(renderer,
+                container);
+
+        generator.generateData("a", Json.createObject());
+        generator.destroyData("a");
+        Assert.assertEquals(0, container.getChildCount());
+
+        generator.generateData("b", Json.createObject());
+        Assert.assertEquals(2, createInvocations.get());
+    }
+
+    private static ComponentDataGenerator<String> createGenerator(
+            ComponentRenderer<TestLabel, String> renderer, Element container) {
+        KeyMapper<String> keyMapper = new KeyMapper<>();
+        ComponentDataGenerator<String> generator = new ComponentDataGenerator<>(
+                renderer, keyMapper::key);
+        generator.setContainer(container);
+        generator.setNodeIdPropertyName("nodeId");
+        return generator;
+    }
+
 }
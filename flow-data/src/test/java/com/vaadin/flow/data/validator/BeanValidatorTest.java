@@ -1,19 +1,38 @@
 package com.vaadin.flow.data.validator;
 
+import java.io.Serializable;
+import java.util.Arrays;
 import java.util.Calendar;
+import java.util.Collections;
+import java.util.List;
 import java.util.Locale;
 
 import javax.validation.Validation;
+import javax.validation.constraints.Email;
 
 import org.junit.After;
+import org.junit.Assert;
 import org.junit.Test;
 
 import com.vaadin.flow.component.UI;
+import com.vaadin.flow.data.binder.ValueContext;
 import com.vaadin.flow.tests.data.bean.Address;
 import com.vaadin.flow.tests.data.bean.BeanToValidate;
 
 public class BeanValidatorTest extends ValidatorTestBase {
 
+    public static class Recipients implements Serializable {
+        private List<@Email String> emails;
+
+        public List<String> getEmails() {
+            return emails;
+        }
+
+        public void setEmails(List<String> emails) {
+            this.emails = emails;
+        }
+    }
+
     @Test
     public void testFirstNameNullFails() {
         assertFails(null, "must not be null", validator("firstname"));
@@ -78,6 +97,70 @@ public class BeanValidatorTest extends ValidatorTestBase {
         assertPasses(null, validator("nickname"));
     }
 
+    @Test
+    public void precompiledChecks_builtInConstraints_validValuesKnownValid() {
+        Assert.assertTrue(constraints("firstname").isKnownValid("Magi"));
+        Assert.assertFalse(constraints("firstname").isKnownValid("x"));
+        Assert.assertFalse(constraints("firstname").isKnownValid(null));
+        Assert.assertTrue(constraints("age").isKnownValid(18));
+        Assert.assertFalse(constraints("age").isKnownValid(151));
+        Assert.assertTrue(constraints("nickname").isKnownValid(null));
+        Assert.assertTrue(constraints("nickname").isKnownValid("VVV"));
+        Assert.assertFalse(constraints("nickname").isKnownValid("Vaadin"));
+        Assert.assertTrue(constraints("readOnlyProperty").isKnownValid("foo"));
+    }
+
+    @Test
+    public void precompiledChecks_unsupportedConstraints_neverKnownValid() {
+        Assert.assertFalse(constraints("dateOfBirth").isKnownValid(null));
+        Assert.assertFalse(constraints("decimals").isKnownValid("1.2"));
+        Assert.assertFalse(
+                constraints("address.postalCode").isKnownValid(12345));
+        Assert.assertFalse(
+                constraints("addresses").isKnownValid(new Address[0]));
+    }
+
+    @Test
+    public void precompiledChecks_containerElementConstraints_neverKnownValid() {
+        BeanValidator validator = new BeanValidator(Recipients.class,
+                "emails");
+        PropertyConstraints constraints = PropertyConstraints.get(
+                Recipients.class, "emails",
+                validator.getJavaxBeanValidator());
+
+        Assert.assertFalse(constraints.isKnownValid(
+                Collections.singletonList("foo@vaadin.com")));
+        assertPasses(Collections.singletonList("foo@vaadin.com"), validator);
+        assertFails(Arrays.asList("foo@vaadin.com", "not an email"),
+                "must be a well-formed email address", validator);
+    }
+
+    @Test
+    public void getConstraintDescriptors_sharedBetweenValidators() {
+        Assert.assertEquals(2,
+                validator("firstname").getConstraintDescriptors().size());
+        Assert.assertSame(validator("firstname").getConstraintDescriptors(),
+                validator("firstname").getConstraintDescriptors());
+    }
+
+    @Test
+    public void apply_sameLocale_interpolatedMessageCached() {
+        ValueContext context = new ValueContext(Locale.ENGLISH);
+        String message = validator("firstname").apply("x", context)
+                .getErrorMessage();
+
+        Assert.assertSame(message,
+                validator("firstname").apply("y", context).getErrorMessage());
+        Assert.assertNotSame(message, validator("firstname")
+                .apply("x", new ValueContext(Locale.FRENCH))
+                .getErrorMessage());
+    }
+
+    private PropertyConstraints constraints(String propertyName) {
+        return PropertyConstraints.get(BeanToValidate.class, propertyName,
+                validator(propertyName).getJavaxBeanValidator());
+    }
+
     @After
     public void tearDown() {
         UI.setCurrent(null);
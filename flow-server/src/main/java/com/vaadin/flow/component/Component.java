@@ -29,6 +29,7 @@ import com.vaadin.flow.dom.ElementUtil;
 import com.vaadin.flow.dom.PropertyChangeListener;
 import com.vaadin.flow.dom.ShadowRoot;
 import com.vaadin.flow.i18n.I18NProvider;
+import com.vaadin.flow.i18n.TranslationCache;
 import com.vaadin.flow.internal.AnnotationReader;
 import com.vaadin.flow.internal.nodefeature.ElementData;
 import com.vaadin.flow.server.Attributes;
@@ -620,10 +621,15 @@ public abstract class Component
      * @return translation for key if found
      */
     public String getTranslation(String key, Locale locale, Object... params) {
-        if (getI18NProvider() == null) {
+        I18NProvider provider = getI18NProvider();
+        if (provider == null) {
             return "!{" + key + "}!";
         }
-        return getI18NProvider().getTranslation(key, locale, params);
+        TranslationCache cache = TranslationCache.getCurrent();
+        if (cache != null) {
+            return cache.getTranslation(provider, key, locale, params);
+        }
+        return provider.getTranslation(key, locale, params);
     }
 
     private I18NProvider getI18NProvider() {
@@ -219,16 +219,24 @@ public class ComponentUtil {
                     initialAttach);
         }
 
-        Optional<UI> ui = component.getUI();
-        if (ui.isPresent() && component instanceof LocaleChangeObserver) {
-            LocaleChangeEvent localeChangeEvent = new LocaleChangeEvent(
-                    ui.get(), ui.get().getLocale());
-            ((LocaleChangeObserver) component).localeChange(localeChangeEvent);
+        // Finding the UI walks up the component tree, so only do it if needed
+        if (component instanceof LocaleChangeObserver) {
+            Optional<UI> ui = component.getUI();
+            if (ui.isPresent()) {
+                LocaleChangeEvent localeChangeEvent = new LocaleChangeEvent(
+                        ui.get(), ui.get().getLocale());
+                ((LocaleChangeObserver) component)
+                        .localeChange(localeChangeEvent);
+            }
         }
 
-        AttachEvent attachEvent = new AttachEvent(component, initialAttach);
-        component.onAttach(attachEvent);
-        fireEvent(component, attachEvent);
+        if (componentMetaDataCache.get(component.getClass()).handlesAttach()
+                || component.hasListener(AttachEvent.class)) {
+            AttachEvent attachEvent = new AttachEvent(component,
+                    initialAttach);
+            component.onAttach(attachEvent);
+            fireEvent(component, attachEvent);
+        }
 
         // inform component about onEnabledState if new state differs from
         // internal state
@@ -258,9 +266,12 @@ public class ComponentUtil {
             onComponentDetach(((Composite<?>) component).getContent());
         }
 
-        DetachEvent detachEvent = new DetachEvent(component);
-        component.onDetach(detachEvent);
-        fireEvent(component, detachEvent);
+        if (componentMetaDataCache.get(component.getClass()).handlesDetach()
+                || component.hasListener(DetachEvent.class)) {
+            DetachEvent detachEvent = new DetachEvent(component);
+            component.onDetach(detachEvent);
+            fireEvent(component, detachEvent);
+        }
 
         // inform component about onEnabledState if parent and child states
         // differ.
@@ -27,7 +27,10 @@ import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Stream;
 
+import com.vaadin.flow.component.AttachEvent;
 import com.vaadin.flow.component.Component;
+import com.vaadin.flow.component.ComponentEvent;
+import com.vaadin.flow.component.DetachEvent;
 import com.vaadin.flow.component.Synchronize;
 import com.vaadin.flow.component.dependency.CssImport;
 import com.vaadin.flow.component.dependency.JavaScript;
@@ -108,6 +111,8 @@ public class ComponentMetaData {
     private final Collection<SynchronizedPropertyInfo> synchronizedProperties;
     private final ConcurrentHashMap<VaadinService, DependencyInfo> dependencyInfo = new ConcurrentHashMap<>();
     private final Class<? extends Component> componentClass;
+    private final boolean handlesAttach;
+    private final boolean handlesDetach;
 
     /**
      * Scans the given component class and creates a new instance based on found
@@ -119,6 +124,12 @@ public class ComponentMetaData {
     public ComponentMetaData(Class<? extends Component> componentClass) {
         this.componentClass = componentClass;
         synchronizedProperties = findSynchronizedProperties(componentClass);
+        boolean firesEvents = overrides(componentClass, "fireEvent",
+                ComponentEvent.class);
+        handlesAttach = firesEvents
+                || overrides(componentClass, "onAttach", AttachEvent.class);
+        handlesDetach = firesEvents
+                || overrides(componentClass, "onDetach", DetachEvent.class);
     }
 
     /**
@@ -169,6 +180,46 @@ public class ComponentMetaData {
         return dependencyInfo;
     }
 
+    /**
+     * Checks whether the component class overrides
+     * {@link Component#onAttach(AttachEvent)} or
+     * {@link Component#fireEvent(ComponentEvent)}. If not, the attach event
+     * only needs to be created when there are listeners for it.
+     *
+     * @return <code>true</code> if the class may handle attach events without
+     *         listeners, <code>false</code> otherwise
+     */
+    public boolean handlesAttach() {
+        return handlesAttach;
+    }
+
+    /**
+     * Checks whether the component class overrides
+     * {@link Component#onDetach(DetachEvent)} or
+     * {@link Component#fireEvent(ComponentEvent)}. If not, the detach event
+     * only needs to be created when there are listeners for it.
+     *
+     * @return <code>true</code> if the class may handle detach events without
+     *         listeners, <code>false</code> otherwise
+     */
+    public boolean handlesDetach() {
+        return handlesDetach;
+    }
+
+    private static boolean overrides(Class<?> componentClass, String name,
+            Class<?> parameterType) {
+        for (Class<?> type = componentClass; type != null
+                && type != Component.class; type = type.getSuperclass()) {
+            try {
+                type.getDeclaredMethod(name, parameterType);
+                return true;
+            } catch (NoSuchMethodException e) {
+                // Check the superclass
+            }
+        }
+        return false;
+    }
+
     /**
      * Gets the properties that are marked to be synchronized and corresponding
      * events.
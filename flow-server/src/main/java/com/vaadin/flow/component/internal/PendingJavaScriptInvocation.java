@@ -42,6 +42,8 @@ public class PendingJavaScriptInvocation implements PendingJavaScriptResult {
     private boolean sentToBrowser = false;
     private boolean canceled = false;
 
+    private String coalescingKey;
+
     /**
      * Creates a new pending invocation for the given owner node and invocation.
      *
@@ -131,6 +133,26 @@ public class PendingJavaScriptInvocation implements PendingJavaScriptResult {
         return sentToBrowser;
     }
 
+    @Override
+    public PendingJavaScriptResult setCoalescingKey(String key) {
+        if (sentToBrowser) {
+            throw new IllegalStateException(
+                    "Cannot set the coalescing key after the execution has been sent to the client.");
+        }
+        coalescingKey = key;
+        return this;
+    }
+
+    /**
+     * Gets the coalescing key of this invocation.
+     *
+     * @return the coalescing key, or <code>null</code> if not set
+     * @see #setCoalescingKey(String)
+     */
+    public String getCoalescingKey() {
+        return coalescingKey;
+    }
+
     // Non-private for testing purposes
     void setSentToBrowser() {
         assert !sentToBrowser;
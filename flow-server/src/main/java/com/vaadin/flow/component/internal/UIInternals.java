@@ -36,6 +36,7 @@ import com.vaadin.flow.component.ComponentUtil;
 import com.vaadin.flow.component.HasElement;
 import com.vaadin.flow.component.PushConfiguration;
 import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.UIDetachedException;
 import com.vaadin.flow.component.dependency.CssImport;
 import com.vaadin.flow.component.dependency.JavaScript;
 import com.vaadin.flow.component.dependency.JsModule;
@@ -48,7 +49,9 @@ import com.vaadin.flow.dom.impl.BasicElementStateProvider;
 import com.vaadin.flow.function.DeploymentConfiguration;
 import com.vaadin.flow.internal.AnnotationReader;
 import com.vaadin.flow.internal.ConstantPool;
+import com.vaadin.flow.internal.HeapSizeEstimator;
 import com.vaadin.flow.internal.JsonCodec;
+import com.vaadin.flow.internal.StateNode;
 import com.vaadin.flow.internal.StateTree;
 import com.vaadin.flow.internal.UrlUtil;
 import com.vaadin.flow.internal.nodefeature.LoadingIndicatorConfigurationMap;
@@ -67,6 +70,9 @@ import com.vaadin.flow.router.RouterLayout;
 import com.vaadin.flow.router.internal.AfterNavigationHandler;
 import com.vaadin.flow.router.internal.BeforeEnterHandler;
 import com.vaadin.flow.router.internal.BeforeLeaveHandler;
+import com.vaadin.flow.server.Command;
+import com.vaadin.flow.server.MemoryFootprint;
+import com.vaadin.flow.server.MemoryFootprintContributor;
 import com.vaadin.flow.server.VaadinContext;
 import com.vaadin.flow.server.VaadinService;
 import com.vaadin.flow.server.VaadinSession;
@@ -154,7 +160,13 @@ public class UIInternals implements Serializable {
      * Updated to the current time whenever the application receives a heartbeat
      * or UIDL request from the client for the related UI.
      */
-    private long lastHeartbeatTimestamp = System.currentTimeMillis();
+    private volatile long lastHeartbeatTimestamp = System.currentTimeMillis();
+
+    /**
+     * The number of heartbeat listeners, readable without the session lock so
+     * that heartbeats can be recorded without locking when nobody listens.
+     */
+    private volatile int heartbeatListenerCount;
 
     private List<PendingJavaScriptInvocation> pendingJsInvocations = new ArrayList<>();
 
@@ -201,6 +213,8 @@ public class UIInternals implements Serializable {
 
     private boolean isFallbackChunkLoaded;
 
+    private List<MemoryFootprintContributor> memoryFootprintContributors;
+
     /**
      * Creates a new instance for the given UI.
      *
@@ -339,6 +353,32 @@ public class UIInternals implements Serializable {
      */
     public void setLastHeartbeatTimestamp(long lastHeartbeat) {
         lastHeartbeatTimestamp = lastHeartbeat;
+        fireHeartbeatEvent(lastHeartbeat);
+    }
+
+    /**
+     * Records a heartbeat for the related UI without requiring the session
+     * lock. The timestamp is updated right away. Any heartbeat listeners are
+     * notified through {@link UI#access(Command)}, which means that they run
+     * immediately if the session is not locked and otherwise once the current
+     * lock holder releases the lock.
+     *
+     * @param lastHeartbeat
+     *            The time the last heartbeat request occurred, in milliseconds
+     *            since the epoch.
+     */
+    public void recordHeartbeat(long lastHeartbeat) {
+        lastHeartbeatTimestamp = lastHeartbeat;
+        if (heartbeatListenerCount > 0) {
+            try {
+                ui.access(() -> fireHeartbeatEvent(lastHeartbeat));
+            } catch (UIDetachedException e) {
+                // Nobody to notify anymore
+            }
+        }
+    }
+
+    private void fireHeartbeatEvent(long lastHeartbeat) {
         HeartbeatEvent heartbeatEvent = new HeartbeatEvent(ui, lastHeartbeat);
         getListeners(HeartbeatListener.class)
                 .forEach(listener -> listener.heartbeat(heartbeatEvent));
@@ -492,7 +532,14 @@ public class UIInternals implements Serializable {
     }
 
     public Registration addHeartbeatListener(HeartbeatListener listener) {
-        return addListener(HeartbeatListener.class, listener);
+        Registration registration = addListener(HeartbeatListener.class,
+                listener);
+        heartbeatListenerCount = getListeners(HeartbeatListener.class).size();
+        return () -> {
+            registration.remove();
+            heartbeatListenerCount = getListeners(HeartbeatListener.class)
+                    .size();
+        };
     }
 
     private <E> Registration addListener(Class<E> handler, E listener) {
@@ -565,6 +612,8 @@ public class UIInternals implements Serializable {
             return Collections.emptyList();
         }
 
+        cancelCoalescedInvocations();
+
         List<PendingJavaScriptInvocation> currentList = getPendingJavaScriptInvocations()
                 .peek(PendingJavaScriptInvocation::setSentToBrowser)
                 .collect(Collectors.toList());
@@ -574,6 +623,33 @@ public class UIInternals implements Serializable {
         return currentList;
     }
 
+    /**
+     * Cancels pending invocations that are superseded by a later invocation
+     * for the same node with the same coalescing key. Invocations with result
+     * handlers are always kept.
+     */
+    private void cancelCoalescedInvocations() {
+        Map<StateNode, Set<String>> laterKeys = null;
+        for (int i = pendingJsInvocations.size() - 1; i >= 0; i--) {
+            PendingJavaScriptInvocation invocation = pendingJsInvocations
+                    .get(i);
+            String key = invocation.getCoalescingKey();
+            if (key == null || invocation.isCanceled()) {
+                continue;
+            }
+            if (laterKeys == null) {
+                laterKeys = new HashMap<>();
+            }
+            boolean superseded = !laterKeys
+                    .computeIfAbsent(invocation.getOwner(),
+                            owner -> new HashSet<>())
+                    .add(key);
+            if (superseded && !invocation.isSubscribed()) {
+                invocation.cancelExecution();
+            }
+        }
+    }
+
     /**
      * Gets the pending javascript invocations added with
      * {@link #addJavaScriptInvocation(PendingJavaScriptInvocation)} after last
@@ -1006,6 +1082,65 @@ public class UIInternals implements Serializable {
                 || getPendingJavaScriptInvocations().count() != 0;
     }
 
+    /**
+     * Adds a contributor to the memory footprint of the related UI. Use this
+     * for structures that hold memory on behalf of the UI outside the state
+     * tree, e.g. key mappings of data communicators.
+     *
+     * @param contributor
+     *            the contributor to add, not <code>null</code>
+     * @return a handle that can be used for removing the contributor
+     * @see #getMemoryFootprint()
+     */
+    public Registration addMemoryFootprintContributor(
+            MemoryFootprintContributor contributor) {
+        assert contributor != null;
+        if (memoryFootprintContributors == null) {
+            memoryFootprintContributors = new ArrayList<>(1);
+        }
+        return Registration.addAndRemove(memoryFootprintContributors,
+                contributor);
+    }
+
+    /**
+     * Computes an estimate of the memory used by the related UI. The estimate
+     * covers the state tree, pending JavaScript invocations and all
+     * {@link #addMemoryFootprintContributor(MemoryFootprintContributor)
+     * registered contributors}.
+     * <p>
+     * The whole state tree is visited, so the cost of this method is
+     * proportional to the number of nodes in the UI.
+     *
+     * @return the memory footprint of the UI, not <code>null</code>
+     */
+    public MemoryFootprint getMemoryFootprint() {
+        int[] nodeCount = new int[1];
+        long[] nodeSize = new long[1];
+        stateTree.getRootNode().visitNodeTree(node -> {
+            nodeCount[0]++;
+            nodeSize[0] += node.getEstimatedSize();
+        });
+
+        long otherSize = HeapSizeEstimator
+                .arrayList(pendingJsInvocations.size());
+        for (PendingJavaScriptInvocation invocation : pendingJsInvocations) {
+            JavaScriptInvocation jsInvocation = invocation.getInvocation();
+            otherSize += HeapSizeEstimator.object(6, 2)
+                    + HeapSizeEstimator
+                            .string(jsInvocation.getExpression().length())
+                    + HeapSizeEstimator.arrayList(
+                            jsInvocation.getParameters().size());
+        }
+        if (memoryFootprintContributors != null) {
+            for (MemoryFootprintContributor contributor : memoryFootprintContributors) {
+                otherSize += contributor.getEstimatedSize();
+            }
+        }
+
+        return new MemoryFootprint(nodeCount[0], nodeSize[0],
+                pendingJsInvocations.size(), 0, 0, otherSize);
+    }
+
     /**
      * Sets the relative path from the UI (servlet) path to the context root.
      *
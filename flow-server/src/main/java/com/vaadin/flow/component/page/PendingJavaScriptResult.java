@@ -83,6 +83,29 @@ public interface PendingJavaScriptResult
      */
     boolean isSentToBrowser();
 
+    /**
+     * Sets a key that identifies what this execution updates in the browser,
+     * e.g. <code>"data"</code> for an execution that replaces the data of a
+     * chart. If several executions related to the same node with the same key
+     * are pending, only the last one is sent to the browser and the earlier
+     * ones are canceled, unless they have handlers for the result.
+     * <p>
+     * Consecutive executions with a key and without result handlers are also
+     * sent to the browser as a single function application, which makes
+     * frequent fire-and-forget updates cheaper to evaluate.
+     * <p>
+     * The key can only be set before the execution has been sent to the
+     * browser. The default implementation does nothing.
+     *
+     * @param key
+     *            the coalescing key, or <code>null</code> to send this
+     *            execution regardless of other executions
+     * @return this pending result, for chaining
+     */
+    default PendingJavaScriptResult setCoalescingKey(String key) {
+        return this;
+    }
+
     /**
      * Adds a typed handler that will be run for a successful execution and a
      * handler that will be run for a failed execution. One of the handlers will
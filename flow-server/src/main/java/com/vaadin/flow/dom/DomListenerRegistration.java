@@ -209,6 +209,140 @@ public interface DomListenerRegistration extends Registration {
         throw new UnsupportedOperationException();
     }
 
+    /**
+     * Configures whether the client may leave out events of this type that
+     * have been superseded by a later event of the same type from the same
+     * element before they are sent to the server. This is useful for
+     * high-frequency events such as <code>mousemove</code> or
+     * <code>scroll</code> where only the latest event is relevant.
+     * <p>
+     * Events are coalesced only if all listeners registered for the same
+     * event type on the element allow it. An event is never left out if any
+     * other kind of message, apart from property synchronization, has been
+     * queued between it and the event superseding it. Coalescing is disabled
+     * by default.
+     *
+     * @param coalescing
+     *            <code>true</code> to allow coalescing superseded events,
+     *            <code>false</code> to send every event to the server
+     * @return this registration, for chaining
+     */
+    default DomListenerRegistration setCoalescing(boolean coalescing) {
+        /*
+         * Dummy backwards compatibility implementation to keep old custom code
+         * compiling.
+         */
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Checks whether the client may leave out events of this type that have
+     * been superseded by a later event of the same type.
+     *
+     * @see #setCoalescing(boolean)
+     *
+     * @return <code>true</code> if superseded events may be coalesced,
+     *         <code>false</code> if every event is sent to the server
+     */
+    default boolean isCoalescing() {
+        /*
+         * Dummy backwards compatibility implementation to keep old custom code
+         * compiling.
+         */
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Configures this listener to not be invoked more often than
+     * <code>period</code> milliseconds, regardless of how often the client
+     * sends the event. Events that arrive at the server within the period
+     * after the previous invocation are dropped.
+     * <p>
+     * Unlike {@link #throttle(int)}, this is enforced on the server and does
+     * not rely on the client engine. A dropped event is not delivered later,
+     * so the listener is not guaranteed to see the last event of a burst.
+     * <p>
+     * Server-side throttling is disabled if the <code>period</code> is set to
+     * 0.
+     *
+     * @param period
+     *            the minimum period in milliseconds between listener
+     *            invocations, or 0 to disable server-side throttling
+     * @return this registration, for chaining
+     */
+    default DomListenerRegistration serverThrottle(int period) {
+        /*
+         * Dummy backwards compatibility implementation to keep old custom code
+         * compiling.
+         */
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Gets the period configured by {@link #serverThrottle(int)}.
+     *
+     * @return the minimum period in milliseconds between listener invocations,
+     *         or <code>0</code> if server-side throttling is disabled
+     */
+    default int getServerThrottle() {
+        /*
+         * Dummy backwards compatibility implementation to keep old custom code
+         * compiling.
+         */
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Configures this listener to not be invoked for events that have been
+     * waiting on the server for longer than <code>maxAge</code> milliseconds
+     * before they could be handled, e.g. because the session was busy
+     * handling other requests. This is useful for events that are only
+     * relevant while they are fresh, such as mouse position updates.
+     * <p>
+     * Dropping stale events is disabled if <code>maxAge</code> is set to 0.
+     *
+     * @param maxAge
+     *            the maximum age of an event in milliseconds, or 0 to always
+     *            handle events regardless of their age
+     * @return this registration, for chaining
+     */
+    default DomListenerRegistration setMaxEventAge(int maxAge) {
+        /*
+         * Dummy backwards compatibility implementation to keep old custom code
+         * compiling.
+         */
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Gets the maximum event age configured by {@link #setMaxEventAge(int)}.
+     *
+     * @return the maximum age of an event in milliseconds, or <code>0</code>
+     *         if events are handled regardless of their age
+     */
+    default int getMaxEventAge() {
+        /*
+         * Dummy backwards compatibility implementation to keep old custom code
+         * compiling.
+         */
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Gets the number of events that have not been delivered to this listener
+     * because of {@link #serverThrottle(int)} or
+     * {@link #setMaxEventAge(int)}.
+     *
+     * @return the number of dropped events
+     */
+    default long getDroppedEventCount() {
+        /*
+         * Dummy backwards compatibility implementation to keep old custom code
+         * compiling.
+         */
+        throw new UnsupportedOperationException();
+    }
+
     /**
      * Gets the event type that the listener is registered for.
      *
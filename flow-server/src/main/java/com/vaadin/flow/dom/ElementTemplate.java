@@ -0,0 +1,258 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.dom;
+
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+
+import com.vaadin.flow.component.ComponentUtil;
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.internal.CustomElementNameValidator;
+import com.vaadin.flow.internal.MessageDigestUtil;
+import com.vaadin.flow.internal.StateTree;
+
+/**
+ * A static element structure that is sent to the browser once per UI and can
+ * then be instantiated any number of times by reference.
+ * <p>
+ * Each element created by {@link #create()} is a regular element with the tag
+ * name and attributes of the template root. The children of the template root
+ * are rendered into the shadow root of the created element in the browser
+ * without any server-side state nodes. Dynamic content is added as children of
+ * the created element and shown in the <code>&lt;slot&gt;</code> of the
+ * template with a matching <code>name</code>, based on the <code>slot</code>
+ * attribute of the child:
+ *
+ * <pre>
+ * ElementTemplate card = new ElementTemplate(
+ *         "&lt;div class='card'&gt;&lt;h3&gt;&lt;slot name='title'&gt;&lt;/slot&gt;&lt;/h3&gt;"
+ *                 + "&lt;slot&gt;&lt;/slot&gt;&lt;/div&gt;");
+ * Element instance = card.create();
+ * instance.appendChild(new Element("span").setText(product.getName())
+ *         .setAttribute("slot", "title"));
+ * </pre>
+ * <p>
+ * Since the static content is in a shadow root, it is not affected by the
+ * styles of the page. Styles for it should be included in the template as a
+ * <code>&lt;style&gt;</code> element.
+ * <p>
+ * Browsers only allow a shadow root for custom elements and some of the
+ * standard elements, so the root of a template must be a custom element or
+ * one of <code>article</code>, <code>aside</code>, <code>blockquote</code>,
+ * <code>body</code>, <code>div</code>, <code>footer</code>,
+ * <code>h1</code>-<code>h6</code>, <code>header</code>, <code>main</code>,
+ * <code>nav</code>, <code>p</code>, <code>section</code> or
+ * <code>span</code>. Repeated list items or table rows can use a custom
+ * element root, or wrap the static content in a <code>div</code> inside the
+ * <code>li</code> or <code>td</code>.
+ */
+public class ElementTemplate implements Serializable {
+
+    private static final String REGISTER_EXPRESSION = "var t=window.Vaadin.Flow.elementTemplates;"
+            + "if(!t){t=window.Vaadin.Flow.elementTemplates={templates:{},"
+            + "render:function(host,id){"
+            + "var root=host.shadowRoot||host.attachShadow({mode:'open'});"
+            + "if(root.$template!==id){root.innerHTML=this.templates[id];root.$template=id}"
+            + "}}}"
+            + "t.templates[$0]=$1";
+
+    private static final String RENDER_EXPRESSION = "window.Vaadin.Flow.elementTemplates.render(this,$0)";
+
+    private static final String RENDER_COALESCING_KEY = "elementTemplate";
+
+    /**
+     * The standard elements that can have a shadow root.
+     */
+    private static final Set<String> SHADOW_HOST_TAGS = Collections
+            .unmodifiableSet(new HashSet<>(Arrays.asList("article", "aside",
+                    "blockquote", "body", "div", "footer", "h1", "h2", "h3",
+                    "h4", "h5", "h6", "header", "main", "nav", "p", "section",
+                    "span")));
+
+    /**
+     * The ids of the templates that have been sent to the browser of a UI.
+     */
+    private static class RegisteredTemplates extends HashSet<String> {
+    }
+
+    private final String tag;
+    private final Map<String, String> attributes;
+    private final String innerHtml;
+    private final String id;
+
+    /**
+     * Creates a template from the given HTML, which must contain exactly one
+     * top level element.
+     *
+     * @param outerHtml
+     *            the HTML of the template, not <code>null</code>
+     * @throws IllegalArgumentException
+     *             if the HTML doesn't contain exactly one top level element or
+     *             if the element cannot have a shadow root
+     */
+    public ElementTemplate(String outerHtml) {
+        this(parseRoot(outerHtml));
+    }
+
+    private ElementTemplate(org.jsoup.nodes.Element root) {
+        tag = root.tagName();
+        if (!SHADOW_HOST_TAGS.contains(tag)
+                && !CustomElementNameValidator.isCustomElementName(tag)) {
+            throw new IllegalArgumentException("The template root <" + tag
+                    + "> cannot have a shadow root. Use a custom element or "
+                    + "one of " + new TreeSet<>(SHADOW_HOST_TAGS)
+                    + " as the root");
+        }
+        attributes = getAttributes(root);
+        innerHtml = root.html();
+        id = calculateHash(innerHtml);
+    }
+
+    private static org.jsoup.nodes.Element parseRoot(String outerHtml) {
+        if (outerHtml == null || outerHtml.isEmpty()) {
+            throw new IllegalArgumentException("HTML cannot be null or empty");
+        }
+        Document doc = Jsoup.parseBodyFragment(outerHtml);
+        int nrChildren = doc.body().children().size();
+        if (nrChildren != 1) {
+            String message = "HTML must contain exactly one top level element (ignoring text nodes). Found "
+                    + nrChildren;
+            if (nrChildren > 1) {
+                String tagNames = doc.body().children().stream()
+                        .map(org.jsoup.nodes.Element::tagName)
+                        .collect(Collectors.joining(", "));
+                message += " elements with the tag names " + tagNames;
+            }
+            throw new IllegalArgumentException(message);
+        }
+        doc.outputSettings().prettyPrint(false);
+        return doc.body().child(0);
+    }
+
+    private static Map<String, String> getAttributes(
+            org.jsoup.nodes.Element root) {
+        Map<String, String> attributes = new LinkedHashMap<>();
+        root.attributes().forEach(attribute -> attributes.put(
+                attribute.getKey(),
+                attribute.getValue() == null ? "" : attribute.getValue()));
+        return Collections.unmodifiableMap(attributes);
+    }
+
+    /**
+     * Creates a template from the current structure of the given element. The
+     * element is not modified and later changes to it do not affect the
+     * template.
+     *
+     * @param element
+     *            the element to use as the template, not <code>null</code>
+     * @return a template based on the element, not <code>null</code>
+     * @throws IllegalArgumentException
+     *             if the element is a text node or cannot have a shadow root
+     */
+    public static ElementTemplate of(Element element) {
+        if (element.isTextNode()) {
+            throw new IllegalArgumentException(
+                    "A template must be an element, not a text node");
+        }
+        Document document = new Document("");
+        document.outputSettings().prettyPrint(false);
+        org.jsoup.nodes.Element root = (org.jsoup.nodes.Element) ElementUtil
+                .toJsoup(document, element);
+        document.appendChild(root);
+        return new ElementTemplate(root);
+    }
+
+    /**
+     * Creates a new element based on this template. The template is sent to
+     * the browser when the first element based on it is attached to a UI.
+     *
+     * @return a new element, not <code>null</code>
+     */
+    public Element create() {
+        Element element = new Element(tag);
+        attributes.forEach(element::setAttribute);
+        element.addAttachListener(event -> render(element));
+        return element;
+    }
+
+    private void render(Element element) {
+        UI ui = ((StateTree) element.getNode().getOwner()).getUI();
+        RegisteredTemplates registered = ComponentUtil.getData(ui,
+                RegisteredTemplates.class);
+        if (registered == null) {
+            registered = new RegisteredTemplates();
+            ComponentUtil.setData(ui, RegisteredTemplates.class, registered);
+        }
+        if (registered.add(id)) {
+            ui.getPage().executeJs(REGISTER_EXPRESSION, id, innerHtml);
+        }
+        element.executeJs(RENDER_EXPRESSION, id)
+                .setCoalescingKey(RENDER_COALESCING_KEY);
+    }
+
+    /**
+     * Gets the tag name of the elements created from this template.
+     *
+     * @return the tag name, not <code>null</code>
+     */
+    public String getTag() {
+        return tag;
+    }
+
+    /**
+     * Gets the inner HTML of the template root, which is shared by all
+     * elements created from this template.
+     *
+     * @return the inner HTML, not <code>null</code>
+     */
+    public String getInnerHtml() {
+        return innerHtml;
+    }
+
+    /**
+     * Gets the id that identifies this template in the browser. Templates with
+     * the same inner HTML have the same id.
+     *
+     * @return the template id, not <code>null</code>
+     */
+    public String getId() {
+        return id;
+    }
+
+    /*
+     * Same as for constant pool keys: the first 64 bits of the SHA-256 digest
+     * are enough to identify the templates of a UI.
+     */
+    private static String calculateHash(String html) {
+        byte[] digest = MessageDigestUtil.sha256(html);
+        ByteBuffer truncatedDigest = ByteBuffer.wrap(digest, 0, 8);
+        ByteBuffer base64Bytes = Base64.getEncoder().encode(truncatedDigest);
+        return StandardCharsets.US_ASCII.decode(base64Bytes).toString();
+    }
+}
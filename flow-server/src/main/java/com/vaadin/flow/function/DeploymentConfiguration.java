@@ -101,6 +101,72 @@ public interface DeploymentConfiguration extends Serializable {
      */
     int getMaxMessageSuspendTimeout();
 
+    /**
+     * Returns the time slice, in milliseconds, that the client engine may spend
+     * on rendering changes from the server before yielding to the browser until
+     * the next animation frame. Changes are still rendered in the order they
+     * were sent, and later messages are not handled before all changes of the
+     * previous message have been rendered.
+     *
+     * <p>
+     * The default implementation returns 0 if the configured value is not a
+     * valid non-negative number.
+     *
+     * @return the time slice in milliseconds, or 0 if the changes of a response
+     *         should always be rendered in one go
+     */
+    default int getClientUpdateTimeSlice() {
+        try {
+            int timeSlice = Integer.parseInt(getStringProperty(
+                    InitParameters.SERVLET_PARAMETER_CLIENT_UPDATE_TIME_SLICE,
+                    "0"));
+            return Math.max(timeSlice, 0);
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Returns the soft memory budget of a session in kilobytes. The budget is
+     * compared against the estimated memory footprint of the session after
+     * requests have been handled.
+     * <p>
+     * The default implementation returns 0 if the configured value is not a
+     * valid non-negative number.
+     *
+     * @return the memory budget in kilobytes, or 0 if the memory use of
+     *         sessions should not be checked
+     * @see com.vaadin.flow.server.VaadinService#addMemoryBudgetExceededListener(com.vaadin.flow.server.MemoryBudgetExceededListener)
+     */
+    default long getSessionMemoryBudget() {
+        try {
+            long budget = Long.parseLong(getStringProperty(
+                    InitParameters.SERVLET_PARAMETER_SESSION_MEMORY_BUDGET,
+                    "0"));
+            return budget >= 0 && budget <= Long.MAX_VALUE / 1024 ? budget
+                    : 0;
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Returns whether inactive UIs and sessions should be cleaned up
+     * periodically by a background thread instead of at the end of every
+     * request. In background mode, the end of a request only records timing
+     * information without locking the session, and each session is swept
+     * about once per heartbeat interval, but at least once a minute.
+     *
+     * @return <code>true</code> if session housekeeping is done in the
+     *         background, <code>false</code> if it is done at the end of each
+     *         request
+     */
+    default boolean isBackgroundSessionHousekeeping() {
+        return getBooleanProperty(
+                InitParameters.SERVLET_PARAMETER_BACKGROUND_SESSION_HOUSEKEEPING,
+                false);
+    }
+
     /**
      * Returns the number of seconds that a WebComponent will wait for a
      * reconnect before removing the server-side component from memory.
@@ -276,6 +342,67 @@ public interface DeploymentConfiguration extends Serializable {
                 InitParameters.DISABLE_AUTOMATIC_SERVLET_REGISTRATION, false);
     }
 
+    /**
+     * Checks whether translations returned by the
+     * {@link com.vaadin.flow.i18n.I18NProvider} should be cached for the whole
+     * application. This requires the provider to always return the same
+     * translation for the same key, locale and parameters.
+     *
+     * @return <code>true</code> to cache translations, <code>false</code> to
+     *         cache them only during a locale change
+     * @see com.vaadin.flow.i18n.TranslationCache
+     */
+    default boolean isTranslationCacheEnabled() {
+        return getBooleanProperty(
+                InitParameters.SERVLET_PARAMETER_TRANSLATION_CACHE, false);
+    }
+
+    /**
+     * Returns the UIDL response size in kilobytes above which a warning with
+     * statistics about the contents of the response is logged.
+     * <p>
+     * The default implementation returns 0 if the configured value is not a
+     * valid non-negative number.
+     *
+     * @return the size threshold in kilobytes, or 0 if no warning should be
+     *         logged
+     * @see com.vaadin.flow.server.communication.UidlStatistics
+     */
+    default long getUidlSizeWarningThreshold() {
+        try {
+            long threshold = Long.parseLong(getStringProperty(
+                    InitParameters.SERVLET_PARAMETER_UIDL_SIZE_WARNING_THRESHOLD,
+                    "0"));
+            return threshold >= 0 && threshold <= Long.MAX_VALUE / 1024
+                    ? threshold
+                    : 0;
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Returns the UIDL response size in bytes from which responses are gzip
+     * compressed, if the browser accepts it.
+     * <p>
+     * The default implementation returns 0 if the configured value is not a
+     * valid non-negative number.
+     *
+     * @return the size threshold in bytes, or 0 if responses should not be
+     *         compressed
+     * @see com.vaadin.flow.server.communication.UidlCompressor
+     */
+    default int getUidlCompressionThreshold() {
+        try {
+            int threshold = Integer.parseInt(getStringProperty(
+                    InitParameters.SERVLET_PARAMETER_UIDL_COMPRESSION_THRESHOLD,
+                    "0"));
+            return Math.max(threshold, 0);
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
     /**
      * Checks whether precompressed Brotli files should be used if available.
      *
@@ -0,0 +1,285 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.i18n;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.vaadin.flow.function.DeploymentConfiguration;
+import com.vaadin.flow.internal.CurrentInstance;
+import com.vaadin.flow.server.Command;
+import com.vaadin.flow.server.VaadinService;
+
+/**
+ * A bounded cache of translations returned by an {@link I18NProvider}, keyed by
+ * locale, translation key and parameters.
+ * <p>
+ * Only translations whose parameters are all immutable values, such as
+ * strings, boxed primitives, enums and locales, are cached. Translations with
+ * other parameters are always passed to the provider. The provider is assumed
+ * to return the same translation for the same arguments; the cache is cleared
+ * if a different provider is used.
+ * <p>
+ * A service wide cache is used when enabled with
+ * {@link DeploymentConfiguration#isTranslationCacheEnabled()}. Regardless of
+ * that setting, a cache is used for the duration of a locale change so that
+ * keys shared by many {@link LocaleChangeObserver}s are translated only once.
+ *
+ * @see VaadinService#getTranslationCache()
+ */
+public class TranslationCache implements Serializable {
+
+    /**
+     * The default maximum number of cached translations.
+     */
+    public static final int DEFAULT_MAX_SIZE = 10000;
+
+    private static final Set<Class<?>> IMMUTABLE_TYPES = new HashSet<>(
+            Arrays.asList(String.class, Integer.class, Long.class,
+                    Short.class, Byte.class, Double.class, Float.class,
+                    Boolean.class, Character.class, BigInteger.class,
+                    BigDecimal.class, Locale.class));
+
+    private static final class TranslationKey implements Serializable {
+        private final Locale locale;
+        private final String key;
+        private final Object[] params;
+        private final int hashCode;
+
+        private TranslationKey(Locale locale, String key, Object[] params) {
+            this.locale = locale;
+            this.key = key;
+            this.params = params;
+            hashCode = 31 * (31 * Objects.hashCode(locale) + key.hashCode())
+                    + Arrays.hashCode(params);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof TranslationKey)) {
+                return false;
+            }
+            TranslationKey other = (TranslationKey) obj;
+            return key.equals(other.key)
+                    && Objects.equals(locale, other.locale)
+                    && Arrays.equals(params, other.params);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+
+    private final int maxSize;
+
+    private final ConcurrentHashMap<TranslationKey, String> cache = new ConcurrentHashMap<>();
+
+    private volatile I18NProvider provider;
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+
+    /**
+     * Creates a cache with the default maximum size.
+     */
+    public TranslationCache() {
+        this(DEFAULT_MAX_SIZE);
+    }
+
+    /**
+     * Creates a cache with the given maximum size.
+     *
+     * @param maxSize
+     *            the maximum number of cached translations, greater than zero
+     */
+    public TranslationCache(int maxSize) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException(
+                    "The maximum size must be greater than zero");
+        }
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Gets the translation for the given key, locale and parameters from the
+     * cache, or from the provider if it is not cached.
+     *
+     * @param provider
+     *            the provider to get missing translations from, not
+     *            <code>null</code>
+     * @param key
+     *            translation key
+     * @param locale
+     *            locale to use
+     * @param params
+     *            parameters used in translation string
+     * @return translation for key as returned by the provider
+     */
+    public String getTranslation(I18NProvider provider, String key,
+            Locale locale, Object... params) {
+        Objects.requireNonNull(provider, "Provider cannot be null");
+        if (key == null || !isCacheable(params)) {
+            return provider.getTranslation(key, locale, params);
+        }
+        if (this.provider != provider) {
+            synchronized (this) {
+                if (this.provider != provider) {
+                    cache.clear();
+                    this.provider = provider;
+                }
+            }
+        }
+
+        TranslationKey translationKey = new TranslationKey(locale, key,
+                params == null ? null : params.clone());
+        String translation = cache.get(translationKey);
+        if (translation != null) {
+            hitCount.increment();
+            return translation;
+        }
+        missCount.increment();
+        translation = provider.getTranslation(key, locale, params);
+        if (translation != null) {
+            if (cache.size() >= maxSize) {
+                evict();
+            }
+            cache.put(translationKey, translation);
+        }
+        return translation;
+    }
+
+    private static boolean isCacheable(Object[] params) {
+        if (params != null) {
+            for (Object param : params) {
+                if (param != null && !(param instanceof Enum)
+                        && !IMMUTABLE_TYPES.contains(param.getClass())) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private void evict() {
+        int toRemove = Math.max(1, maxSize / 4);
+        Iterator<TranslationKey> keys = cache.keySet().iterator();
+        while (toRemove-- > 0 && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    /**
+     * Gets the number of lookups that found a cached translation.
+     *
+     * @return the number of cache hits
+     */
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    /**
+     * Gets the number of cacheable lookups that had to call the provider.
+     *
+     * @return the number of cache misses
+     */
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    /**
+     * Gets the number of cached translations.
+     *
+     * @return the number of cached translations
+     */
+    public int size() {
+        return cache.size();
+    }
+
+    /**
+     * Removes all cached translations, for example after the translations of
+     * the provider have been reloaded. The metrics are not reset.
+     */
+    public void clear() {
+        cache.clear();
+    }
+
+    /**
+     * Gets the translation cache to use in the current thread. This is the
+     * cache of an ongoing locale change, if any, or otherwise the cache of the
+     * current service if it is enabled.
+     *
+     * @return the current translation cache, or <code>null</code> if
+     *         translations should not be cached
+     */
+    public static TranslationCache getCurrent() {
+        TranslationCache current = CurrentInstance.get(TranslationCache.class);
+        if (current == null) {
+            VaadinService service = VaadinService.getCurrent();
+            if (service != null) {
+                current = service.getTranslationCache();
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Runs the given command with a translation cache available through
+     * {@link #getCurrent()}, so that translations resolved by the command are
+     * shared. If there is no current cache, a temporary cache is used. Nested
+     * calls share the outermost cache.
+     * <p>
+     * For internal use only. May be renamed or removed in a future release.
+     *
+     * @param command
+     *            the command to run, not <code>null</code>
+     */
+    public static void runWithCache(Command command) {
+        if (CurrentInstance.get(TranslationCache.class) != null) {
+            command.execute();
+            return;
+        }
+        TranslationCache cache = getCurrent();
+        if (cache == null) {
+            cache = new TranslationCache();
+        }
+        CurrentInstance.set(TranslationCache.class, cache);
+        try {
+            command.execute();
+        } finally {
+            CurrentInstance.set(TranslationCache.class, null);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("TranslationCache[size=%d, hits=%d, misses=%d]",
+                size(), getHitCount(), getMissCount());
+    }
+}
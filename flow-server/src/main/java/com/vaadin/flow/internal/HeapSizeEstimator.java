@@ -0,0 +1,122 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.internal;
+
+/**
+ * Helpers for estimating the shallow heap size of common data structures.
+ * <p>
+ * The estimates assume a 64-bit JVM with compressed object pointers, which is
+ * the default for heaps smaller than 32 GB. They are intended for comparing
+ * and budgeting memory use, not as an exact measurement.
+ * <p>
+ * For internal use only. May be renamed or removed in a future release.
+ */
+public final class HeapSizeEstimator {
+
+    /**
+     * The estimated size of an object header in bytes.
+     */
+    public static final int OBJECT_HEADER = 12;
+
+    /**
+     * The estimated size of an array header in bytes.
+     */
+    public static final int ARRAY_HEADER = 16;
+
+    /**
+     * The estimated size of an object reference in bytes.
+     */
+    public static final int REFERENCE = 4;
+
+    private static final int HASH_MAP_ENTRY = 32;
+
+    private HeapSizeEstimator() {
+        // Only static methods
+    }
+
+    /**
+     * Estimates the shallow size of an object with the given fields.
+     *
+     * @param references
+     *            the number of reference fields
+     * @param primitiveBytes
+     *            the total size of all primitive fields in bytes
+     * @return the estimated size in bytes
+     */
+    public static long object(int references, int primitiveBytes) {
+        return align(OBJECT_HEADER + references * REFERENCE + primitiveBytes);
+    }
+
+    /**
+     * Estimates the shallow size of an array of references.
+     *
+     * @param length
+     *            the array length
+     * @return the estimated size in bytes
+     */
+    public static long referenceArray(int length) {
+        return align(ARRAY_HEADER + length * REFERENCE);
+    }
+
+    /**
+     * Estimates the size of a {@link java.util.HashMap} or
+     * {@link java.util.HashSet} with the given number of entries, not
+     * including the keys and values themselves.
+     *
+     * @param size
+     *            the number of entries
+     * @return the estimated size in bytes
+     */
+    public static long hashMap(int size) {
+        long result = object(6, 16);
+        if (size > 0) {
+            int capacity = Integer.highestOneBit(Math.max(16, size * 4 / 3));
+            if (capacity * 3 / 4 < size) {
+                capacity *= 2;
+            }
+            result += referenceArray(capacity) + (long) size * HASH_MAP_ENTRY;
+        }
+        return result;
+    }
+
+    /**
+     * Estimates the size of an {@link java.util.ArrayList} with the given
+     * number of items, not including the items themselves.
+     *
+     * @param size
+     *            the number of items
+     * @return the estimated size in bytes
+     */
+    public static long arrayList(int size) {
+        return object(1, 8) + referenceArray(size);
+    }
+
+    /**
+     * Estimates the size of a string with the given length, assuming one byte
+     * per character as with compact strings.
+     *
+     * @param length
+     *            the string length
+     * @return the estimated size in bytes
+     */
+    public static long string(int length) {
+        return object(1, 8) + align(ARRAY_HEADER + length);
+    }
+
+    private static long align(long size) {
+        return (size + 7) & ~7L;
+    }
+}
@@ -346,7 +346,16 @@ public class StateNode implements Serializable {
     }
 
     private void forEachFeature(Consumer<NodeFeature> action) {
-        getInitializedFeatures().forEach(action::accept);
+        // Called for every node in attach and detach, so avoid streams
+        if (features instanceof NodeFeature) {
+            action.accept((NodeFeature) features);
+        } else if (features != null) {
+            for (NodeFeature feature : (NodeFeature[]) features) {
+                if (feature != null) {
+                    action.accept(feature);
+                }
+            }
+        }
     }
 
     private Stream<NodeFeature> getInitializedFeatures() {
@@ -642,7 +651,17 @@ public class StateNode implements Serializable {
         }
     }
 
-    private boolean hasChangeTracker(NodeFeature nodeFeature) {
+    /**
+     * Checks whether a change tracker has been created for the provided
+     * feature. Change trackers are created lazily when the feature is changed
+     * and discarded once the changes have been collected.
+     *
+     * @param nodeFeature
+     *            the feature to check
+     * @return <code>true</code> if there is a change tracker for the feature,
+     *         <code>false</code> otherwise
+     */
+    public boolean hasChangeTracker(NodeFeature nodeFeature) {
         return changes != null && changes.containsKey(nodeFeature.getClass());
     }
 
@@ -858,6 +877,39 @@ public class StateNode implements Serializable {
                 k -> factory.get());
     }
 
+    /**
+     * Gets an estimate of the heap memory used by this node in bytes. The
+     * estimate includes the node itself, its initialized features and pending
+     * change trackers, but not any child nodes.
+     *
+     * @see NodeFeature#getEstimatedSize()
+     *
+     * @return the estimated size in bytes
+     */
+    public long getEstimatedSize() {
+        long size = HeapSizeEstimator.object(8, 10);
+        if (features instanceof NodeFeature[]) {
+            size += HeapSizeEstimator
+                    .referenceArray(((NodeFeature[]) features).length);
+        }
+        size += getInitializedFeatures()
+                .mapToLong(NodeFeature::getEstimatedSize).sum();
+        if (changes != null) {
+            size += HeapSizeEstimator.hashMap(changes.size());
+        }
+        if (attachListeners != null) {
+            size += HeapSizeEstimator.arrayList(attachListeners.size());
+        }
+        if (detachListeners != null) {
+            size += HeapSizeEstimator.arrayList(detachListeners.size());
+        }
+        if (beforeClientResponseEntries != null) {
+            size += HeapSizeEstimator
+                    .arrayList(beforeClientResponseEntries.size());
+        }
+        return size;
+    }
+
     /**
      * Runs the command when the node is attached to a UI.
      * <p>
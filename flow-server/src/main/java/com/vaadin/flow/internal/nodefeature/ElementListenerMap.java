@@ -26,9 +26,13 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 import java.util.stream.Stream;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 import com.vaadin.flow.dom.DebouncePhase;
 import com.vaadin.flow.dom.DisabledUpdateMode;
 import com.vaadin.flow.dom.DomEvent;
@@ -111,6 +115,13 @@ public class ElementListenerMap extends NodeMap {
 
         private int debounceTimeout = 0;
         private EnumSet<DebouncePhase> debouncePhases = NO_TIMEOUT_PHASES;
+        private boolean coalescing;
+
+        private int serverThrottle;
+        private int maxEventAge;
+        private boolean delivered;
+        private long lastDeliveryTime;
+        private long droppedEventCount;
         private List<SerializableRunnable> unregisterHandlers;
 
         private DomEventListenerWrapper(ElementListenerMap listenerMap,
@@ -239,6 +250,77 @@ public class ElementListenerMap extends NodeMap {
             return Collections.unmodifiableSet(debouncePhases);
         }
 
+        @Override
+        public DomListenerRegistration setCoalescing(boolean coalescing) {
+            this.coalescing = coalescing;
+
+            listenerMap.updateEventSettings(type);
+
+            return this;
+        }
+
+        @Override
+        public boolean isCoalescing() {
+            return coalescing;
+        }
+
+        @Override
+        public DomListenerRegistration serverThrottle(int period) {
+            if (period < 0) {
+                throw new IllegalArgumentException(
+                        "Period cannot be negative");
+            }
+            serverThrottle = period;
+            return this;
+        }
+
+        @Override
+        public int getServerThrottle() {
+            return serverThrottle;
+        }
+
+        @Override
+        public DomListenerRegistration setMaxEventAge(int maxAge) {
+            if (maxAge < 0) {
+                throw new IllegalArgumentException(
+                        "Max age cannot be negative");
+            }
+            maxEventAge = maxAge;
+            return this;
+        }
+
+        @Override
+        public int getMaxEventAge() {
+            return maxEventAge;
+        }
+
+        @Override
+        public long getDroppedEventCount() {
+            return droppedEventCount;
+        }
+
+        /**
+         * Checks whether an event should be delivered with regards to the
+         * server-side throttling and the age of the event. Updates the
+         * throttling state and the dropped event count accordingly.
+         */
+        private boolean acceptEvent(long now, long eventAge) {
+            if (maxEventAge > 0 && eventAge > maxEventAge) {
+                droppedEventCount++;
+                return false;
+            }
+            if (serverThrottle > 0) {
+                if (delivered && now - lastDeliveryTime < TimeUnit.MILLISECONDS
+                        .toNanos(serverThrottle)) {
+                    droppedEventCount++;
+                    return false;
+                }
+                delivered = true;
+                lastDeliveryTime = now;
+            }
+            return true;
+        }
+
         public boolean matchesPhase(DebouncePhase phase) {
             return debouncePhases.contains(phase);
         }
@@ -331,6 +413,7 @@ public class ElementListenerMap extends NodeMap {
         Map<String, ExpressionSettings> expressions = new HashMap<>();
         boolean hasUnfilteredListener = false;
         boolean hasFilteredListener = false;
+        boolean allCoalescing = true;
 
         Function<String, ExpressionSettings> ensureExpression = expression -> expressions
                 .computeIfAbsent(expression, (key -> new ExpressionSettings()));
@@ -342,6 +425,8 @@ public class ElementListenerMap extends NodeMap {
                 wrapper.eventDataExpressions.forEach(ensureExpression::apply);
             }
 
+            allCoalescing &= wrapper.coalescing;
+
             String filter = wrapper.getFilter();
 
             int timeout = wrapper.debounceTimeout;
@@ -371,6 +456,10 @@ public class ElementListenerMap extends NodeMap {
                     NO_TIMEOUT_PHASES);
         }
 
+        if (allCoalescing && !wrappers.isEmpty()) {
+            ensureExpression.apply(JsonConstants.COALESCE_EVENT_TOKEN);
+        }
+
         return expressions;
     }
 
@@ -418,6 +507,23 @@ public class ElementListenerMap extends NodeMap {
      *            the event to fire
      */
     public void fireEvent(DomEvent event) {
+        fireEvent(event, 0);
+    }
+
+    /**
+     * Fires an event to all listeners registered for the given type, taking
+     * into account how long the event has been waiting before it could be
+     * handled. Listeners configured with
+     * {@link DomListenerRegistration#setMaxEventAge(int)} are not notified if
+     * the event is older than the configured age.
+     *
+     * @param event
+     *            the event to fire
+     * @param eventAge
+     *            the time in milliseconds that the event has been waiting on
+     *            the server, or 0 if not known
+     */
+    public void fireEvent(DomEvent event, long eventAge) {
         if (listeners == null) {
             return;
         }
@@ -428,13 +534,21 @@ public class ElementListenerMap extends NodeMap {
             return;
         }
 
+        long now = System.nanoTime();
         List<DomEventListener> listeners = new ArrayList<>();
         for (DomEventListenerWrapper wrapper : typeListeners) {
             if ((isElementEnabled
                     || DisabledUpdateMode.ALWAYS.equals(wrapper.mode))
                     && wrapper.matchesFilter(event.getEventData())
                     && wrapper.matchesPhase(event.getPhase())) {
-                listeners.add(wrapper.origin);
+                if (wrapper.acceptEvent(now, eventAge)) {
+                    listeners.add(wrapper.origin);
+                } else {
+                    getLogger().debug(
+                            "Dropped '{}' event for node {}, {} events dropped so far",
+                            event.getType(), getNode().getId(),
+                            wrapper.droppedEventCount);
+                }
             }
         }
 
@@ -478,4 +592,7 @@ public class ElementListenerMap extends NodeMap {
                 .reduce(DisabledUpdateMode::mostPermissive).orElse(null);
     }
 
+    private static Logger getLogger() {
+        return LoggerFactory.getLogger(ElementListenerMap.class);
+    }
 }
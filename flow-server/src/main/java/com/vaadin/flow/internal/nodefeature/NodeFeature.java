@@ -19,6 +19,7 @@ package com.vaadin.flow.internal.nodefeature;
 import java.io.Serializable;
 import java.util.function.Consumer;
 
+import com.vaadin.flow.internal.HeapSizeEstimator;
 import com.vaadin.flow.internal.StateNode;
 import com.vaadin.flow.internal.StateTree;
 import com.vaadin.flow.internal.change.NodeChange;
@@ -141,4 +142,17 @@ public abstract class NodeFeature implements Serializable {
     public boolean allowsChanges() {
         return true;
     }
+
+    /**
+     * Gets an estimate of the heap memory used by this feature in bytes. The
+     * estimate covers the data structures of the feature itself but not the
+     * stored values or any child nodes.
+     *
+     * @see StateNode#getEstimatedSize()
+     *
+     * @return the estimated size in bytes
+     */
+    public long getEstimatedSize() {
+        return HeapSizeEstimator.object(1, 0);
+    }
 }
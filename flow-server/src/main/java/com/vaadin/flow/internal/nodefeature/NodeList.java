@@ -30,6 +30,7 @@ import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import com.vaadin.flow.internal.HeapSizeEstimator;
 import com.vaadin.flow.internal.StateNode;
 import com.vaadin.flow.internal.change.AbstractListChange;
 import com.vaadin.flow.internal.change.EmptyChange;
@@ -494,4 +495,13 @@ public abstract class NodeList<T extends Serializable> extends NodeFeature {
             isPopulated = false;
         }
     }
+
+    @Override
+    public long getEstimatedSize() {
+        long size = HeapSizeEstimator.object(2, 2);
+        if (values != null) {
+            size += HeapSizeEstimator.arrayList(values.size());
+        }
+        return size;
+    }
 }
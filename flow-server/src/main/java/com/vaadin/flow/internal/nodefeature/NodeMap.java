@@ -17,16 +17,22 @@
 package com.vaadin.flow.internal.nodefeature;
 
 import java.io.Serializable;
+import java.util.AbstractSet;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.Set;
 import java.util.function.Consumer;
 import java.util.stream.Stream;
 
+import com.vaadin.flow.internal.HeapSizeEstimator;
 import com.vaadin.flow.internal.StateNode;
 import com.vaadin.flow.internal.change.EmptyChange;
 import com.vaadin.flow.internal.change.MapPutChange;
@@ -62,6 +68,8 @@ public abstract class NodeMap extends NodeFeature {
         // Named set instead of put to avoid incompatibility with HashMap where
         // put returns the previous value
         void set(String key, Serializable value);
+
+        long getEstimatedSize();
     }
 
     private static class SingleValue implements Values {
@@ -110,10 +118,157 @@ public abstract class NodeMap extends NodeFeature {
             assert key.equals(this.key);
             this.value = value;
         }
+
+        @Override
+        public long getEstimatedSize() {
+            return HeapSizeEstimator.object(2, 0);
+        }
     }
 
-    private static class HashMapValues extends HashMap<String, Serializable>
-            implements Values {
+    /**
+     * Stores a small number of values in parallel arrays. Most maps only
+     * contain a handful of keys, for which a linear scan is both faster and
+     * considerably more compact than a hash table.
+     */
+    private static class ArrayValues implements Values {
+
+        private static final int MAX_SIZE = 8;
+
+        private String[] keys;
+
+        private Serializable[] values;
+
+        private int size;
+
+        private transient Set<String> keySet;
+
+        public ArrayValues(Values previousValues) {
+            int capacity = Math.max(4, previousValues.size() + 1);
+            keys = new String[capacity];
+            values = new Serializable[capacity];
+            previousValues.keySet().forEach(
+                    key -> set(key, previousValues.get(key)));
+        }
+
+        private int indexOf(String key) {
+            for (int i = 0; i < size; i++) {
+                if (keys[i].equals(key)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        boolean isFull() {
+            return size == MAX_SIZE;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public Serializable get(String key) {
+            int index = indexOf(key);
+            return index == -1 ? null : values[index];
+        }
+
+        @Override
+        public Set<String> keySet() {
+            if (keySet == null) {
+                keySet = new KeySet();
+            }
+            return keySet;
+        }
+
+        @Override
+        public boolean containsKey(String key) {
+            return indexOf(key) != -1;
+        }
+
+        @Override
+        public Stream<Serializable> streamValues() {
+            return Arrays.stream(values, 0, size);
+        }
+
+        @Override
+        public void set(String key, Serializable value) {
+            int index = indexOf(key);
+            if (index == -1) {
+                assert !isFull();
+                if (size == keys.length) {
+                    int capacity = Math.min(MAX_SIZE, size * 2);
+                    keys = Arrays.copyOf(keys, capacity);
+                    values = Arrays.copyOf(values, capacity);
+                }
+                index = size++;
+                keys[index] = key;
+            }
+            values[index] = value;
+        }
+
+        public Serializable remove(String key) {
+            int index = indexOf(key);
+            if (index == -1) {
+                return null;
+            }
+            Serializable oldValue = values[index];
+            int tail = size - index - 1;
+            System.arraycopy(keys, index + 1, keys, index, tail);
+            System.arraycopy(values, index + 1, values, index, tail);
+            size--;
+            keys[size] = null;
+            values[size] = null;
+            return oldValue;
+        }
+
+        /**
+         * Read-only view of the keys in insertion order.
+         */
+        private final class KeySet extends AbstractSet<String> {
+            @Override
+            public Iterator<String> iterator() {
+                return new KeyIterator();
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+
+            @Override
+            public boolean contains(Object key) {
+                return key instanceof String && indexOf((String) key) != -1;
+            }
+        }
+
+        private final class KeyIterator implements Iterator<String> {
+            private int index;
+
+            @Override
+            public boolean hasNext() {
+                return index < size;
+            }
+
+            @Override
+            public String next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return keys[index++];
+            }
+        }
+
+        @Override
+        public long getEstimatedSize() {
+            return HeapSizeEstimator.object(2, 4)
+                    + 2 * HeapSizeEstimator.referenceArray(keys.length);
+        }
+    }
+
+    private static class HashMapValues
+            extends LinkedHashMap<String, Serializable> implements Values {
 
         public HashMapValues(Values previousValues) {
             super(previousValues == null ? 0 : previousValues.size());
@@ -142,6 +297,13 @@ public abstract class NodeMap extends NodeFeature {
         public Stream<Serializable> streamValues() {
             return super.values().stream();
         }
+
+        @Override
+        public long getEstimatedSize() {
+            // Linked entries also refer to the previous and next entry
+            return HeapSizeEstimator.hashMap(size())
+                    + 2L * size() * HeapSizeEstimator.REFERENCE;
+        }
     }
 
     private Values values;
@@ -197,12 +359,17 @@ public abstract class NodeMap extends NodeFeature {
             setUnChanged(key);
         }
 
-        // Optimize memory use when there's only one key
+        // Optimize memory use when there's only one or a few keys
         if (values == null) {
             values = new SingleValue(key, value);
         } else {
-            if (values instanceof SingleValue && !values.containsKey(key)) {
-                values = new HashMapValues(values);
+            if (!values.containsKey(key)) {
+                if (values instanceof SingleValue) {
+                    values = new ArrayValues(values);
+                } else if (values instanceof ArrayValues
+                        && ((ArrayValues) values).isFull()) {
+                    values = new HashMapValues(values);
+                }
             }
             values.set(key, value);
         }
@@ -348,6 +515,12 @@ public abstract class NodeMap extends NodeFeature {
             if (values.containsKey(key)) {
                 values = null;
             }
+        } else if (values instanceof ArrayValues) {
+            oldValue = ((ArrayValues) values).remove(key);
+
+            if (values.isEmpty()) {
+                values = null;
+            }
         } else {
             assert values instanceof HashMapValues;
             HashMapValues hashMapValues = (HashMapValues) values;
@@ -374,7 +547,10 @@ public abstract class NodeMap extends NodeFeature {
 
     private void setUnChanged(String key) {
         assert key != null;
-        getChangeTracker().remove(key);
+        // Don't allocate a tracker only to remove a key from it
+        if (getNode().hasChangeTracker(this)) {
+            getChangeTracker().remove(key);
+        }
     }
 
     private void setChanged(String key) {
@@ -516,9 +692,23 @@ public abstract class NodeMap extends NodeFeature {
         return !hadValueEarlier || !Objects.equals(newValue, values.get(key));
     }
 
+    @Override
+    public long getEstimatedSize() {
+        long size = HeapSizeEstimator.object(2, 1);
+        if (values != null) {
+            size += values.getEstimatedSize();
+        }
+        return size;
+    }
+
     // Exposed for testing purposes
     boolean usesSingleMap() {
         return values instanceof SingleValue;
     }
 
+    // Exposed for testing purposes
+    boolean usesArrayMap() {
+        return values instanceof ArrayValues;
+    }
+
 }
@@ -33,6 +33,7 @@ import com.vaadin.flow.dom.NodeVisitor;
 import com.vaadin.flow.dom.ShadowRoot;
 import com.vaadin.flow.i18n.LocaleChangeEvent;
 import com.vaadin.flow.i18n.LocaleChangeObserver;
+import com.vaadin.flow.i18n.TranslationCache;
 
 /**
  * Event handling utilities.
@@ -242,8 +243,10 @@ public final class EventUtil {
     public static void informLocaleChangeObservers(UI ui) {
         LocaleChangeEvent localeChangeEvent = new LocaleChangeEvent(ui,
                 ui.getLocale());
-        collectLocaleChangeObservers(ui.getElement())
-                .forEach(observer -> observer.localeChange(localeChangeEvent));
+        List<LocaleChangeObserver> observers = collectLocaleChangeObservers(
+                ui.getElement());
+        TranslationCache.runWithCache(() -> observers
+                .forEach(observer -> observer.localeChange(localeChangeEvent)));
     }
 
     /**
@@ -259,8 +262,10 @@ public final class EventUtil {
             List<HasElement> components) {
         LocaleChangeEvent localeChangeEvent = new LocaleChangeEvent(ui,
                 ui.getLocale());
-        collectLocaleChangeObservers(components)
-                .forEach(observer -> observer.localeChange(localeChangeEvent));
+        List<LocaleChangeObserver> observers = collectLocaleChangeObservers(
+                components);
+        TranslationCache.runWithCache(() -> observers
+                .forEach(observer -> observer.localeChange(localeChangeEvent)));
     }
 
     /**
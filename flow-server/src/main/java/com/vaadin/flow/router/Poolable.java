@@ -0,0 +1,56 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.router;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Indicates that instances of a route target may be reused for later
+ * navigations in the same session instead of creating a new instance each
+ * time.
+ * <p>
+ * When the user navigates away from a poolable route target, the detached
+ * instance is kept in a bounded pool of the session. The next navigation to the
+ * same route target in a UI of the session takes an instance from the pool if
+ * one is available. A reused instance receives the same navigation events as a
+ * new one, so any state depending on the location or route parameters should be
+ * set up in {@link BeforeEnterObserver#beforeEnter(BeforeEnterEvent)} and
+ * cleared in a detach listener.
+ * <p>
+ * Only use this annotation for views that are expensive to construct and that
+ * don't keep user specific state beyond what is reset on detach. It has no
+ * effect on router layouts.
+ *
+ * @see com.vaadin.flow.router.internal.RouteTargetPool
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+@Inherited
+@Documented
+public @interface Poolable {
+
+    /**
+     * The maximum number of detached instances kept in the pool of a session.
+     *
+     * @return the maximum number of pooled instances
+     */
+    int maxSize() default 2;
+}
@@ -35,8 +35,11 @@ import com.vaadin.flow.component.page.ExtendedClientDetails;
 import com.vaadin.flow.di.Instantiator;
 import com.vaadin.flow.dom.Element;
 import com.vaadin.flow.function.DeploymentConfiguration;
+import com.vaadin.flow.internal.HeapSizeEstimator;
 import com.vaadin.flow.internal.Pair;
 import com.vaadin.flow.internal.ReflectTools;
+import com.vaadin.flow.internal.StateNode;
+import com.vaadin.flow.internal.StateTree;
 import com.vaadin.flow.router.AfterNavigationEvent;
 import com.vaadin.flow.router.BeforeEnterEvent;
 import com.vaadin.flow.router.BeforeEnterObserver;
@@ -60,6 +63,7 @@ import com.vaadin.flow.router.PreserveOnRefresh;
 import com.vaadin.flow.router.RouteParameters;
 import com.vaadin.flow.router.Router;
 import com.vaadin.flow.router.RouterLayout;
+import com.vaadin.flow.server.MemoryFootprint;
 import com.vaadin.flow.server.VaadinSession;
 
 import elemental.json.JsonValue;
@@ -109,7 +113,9 @@ public abstract class AbstractNavigationStateRenderer
      * <p>
      * Override this method to control the creation of view instances.
      * <p>
-     * By default always creates new instances.
+     * By default creates new instances, unless the route target is
+     * {@link com.vaadin.flow.router.Poolable} and a pooled instance is
+     * available.
      *
      * @param <T>
      *            the route target type
@@ -129,8 +135,17 @@ public abstract class AbstractNavigationStateRenderer
                 .filter(component -> component.getClass()
                         .equals(routeTargetType))
                 .findAny();
-        return (T) currentInstance.orElseGet(() -> Instantiator.get(ui)
-                .createRouteTarget(routeTargetType, event));
+        return (T) currentInstance.orElseGet(() -> {
+            if (RouteTargetPool.isPoolable(routeTargetType)) {
+                T pooled = RouteTargetPool.get(ui.getSession()).acquire(ui,
+                        routeTargetType);
+                if (pooled != null) {
+                    return pooled;
+                }
+            }
+            return Instantiator.get(ui).createRouteTarget(routeTargetType,
+                    event);
+        });
     }
 
     @Override
@@ -220,10 +235,20 @@ public abstract class AbstractNavigationStateRenderer
         List<RouterLayout> routerLayouts = (List<RouterLayout>) (List<?>) chain
                 .subList(1, chain.size());
 
+        List<HasElement> oldChain = ui.getInternals()
+                .getActiveRouterTargetsChain();
+        HasElement oldTarget = oldChain.isEmpty() ? null : oldChain.get(0);
+
         // Change the UI according to the navigation Component chain.
         ui.getInternals().showRouteTarget(event.getLocation(),
                 componentInstance, routerLayouts);
 
+        if (oldTarget instanceof Component && !chain.contains(oldTarget)
+                && RouteTargetPool.isPoolable(oldTarget.getClass())) {
+            RouteTargetPool.get(ui.getSession())
+                    .release((Component) oldTarget);
+        }
+
         updatePageTitle(event, componentInstance);
 
         int statusCode = locationChangeEvent.getStatusCode();
@@ -939,6 +964,75 @@ public abstract class AbstractNavigationStateRenderer
         session.setAttribute(PreservedComponentCache.class, cache);
     }
 
+    /**
+     * Computes an estimate of the memory used by the route chains that are
+     * preserved in the given session for {@link PreserveOnRefresh}. Nodes of
+     * chains that are currently shown in a UI are accounted for by that UI and
+     * only counted here when they have been detached.
+     * <p>
+     * For internal use only. May be renamed or removed in a future release.
+     *
+     * @param session
+     *            the session to check, not <code>null</code>
+     * @return the memory footprint of the preserved chains
+     */
+    public static MemoryFootprint getPreservedChainsFootprint(
+            VaadinSession session) {
+        final PreservedComponentCache cache = session
+                .getAttribute(PreservedComponentCache.class);
+        if (cache == null || cache.isEmpty()) {
+            return MemoryFootprint.EMPTY;
+        }
+        int[] nodeCount = new int[1];
+        long[] nodeSize = new long[1];
+        cache.values().stream().flatMap(entry -> entry.getSecond().stream())
+                .map(HasElement::getElement)
+                .filter(element -> !element.getNode().isAttached())
+                .forEach(element -> element.getNode().visitNodeTree(node -> {
+                    nodeCount[0]++;
+                    nodeSize[0] += node.getEstimatedSize();
+                }));
+        return new MemoryFootprint(nodeCount[0], nodeSize[0], 0, 0,
+                cache.size(), HeapSizeEstimator.hashMap(cache.size()));
+    }
+
+    /**
+     * Removes the route chains preserved in the given session for
+     * {@link PreserveOnRefresh} that are no longer shown in an open UI, e.g.
+     * because their browser window has been closed. Chains of open UIs are
+     * kept so that refreshing those windows still preserves their state.
+     * <p>
+     * For internal use only. May be renamed or removed in a future release.
+     *
+     * @param session
+     *            the session to clear, not <code>null</code>
+     * @return the number of removed chains
+     */
+    public static int clearOrphanedPreservedChains(VaadinSession session) {
+        final PreservedComponentCache cache = session
+                .getAttribute(PreservedComponentCache.class);
+        if (cache == null) {
+            return 0;
+        }
+        int size = cache.size();
+        cache.values().removeIf(entry -> !isShownInOpenUI(entry.getSecond()));
+        int removed = size - cache.size();
+        if (removed > 0) {
+            session.setAttribute(PreservedComponentCache.class,
+                    cache.isEmpty() ? null : cache);
+        }
+        return removed;
+    }
+
+    private static boolean isShownInOpenUI(List<HasElement> chain) {
+        if (chain.isEmpty()) {
+            return false;
+        }
+        StateNode node = chain.get(0).getElement().getNode();
+        return node.isAttached()
+                && !((StateTree) node.getOwner()).getUI().isClosing();
+    }
+
     private static void clearAllPreservedChains(UI ui) {
         final VaadinSession session = ui.getSession();
         // Note that this check is always false if @PreserveOnRefresh has not
@@ -0,0 +1,270 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.router.internal;
+
+import java.io.Serializable;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+import com.vaadin.flow.component.Component;
+import com.vaadin.flow.component.HasElement;
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.di.Instantiator;
+import com.vaadin.flow.internal.HeapSizeEstimator;
+import com.vaadin.flow.internal.StateNode;
+import com.vaadin.flow.internal.StateTree;
+import com.vaadin.flow.router.Poolable;
+import com.vaadin.flow.router.PreserveOnRefresh;
+import com.vaadin.flow.router.RouterLayout;
+import com.vaadin.flow.server.MemoryFootprint;
+import com.vaadin.flow.server.VaadinSession;
+
+/**
+ * Pool of detached instances of {@link Poolable} route targets in a session.
+ * <p>
+ * A detached instance keeps belonging to the state tree of the UI it was shown
+ * in, so it can only be reused in the same UI. Instances that have never been
+ * attached, such as those created by {@link #prewarm(UI, Class, int)}, can be
+ * used in any UI of the session. Instances of closed UIs are dropped.
+ * <p>
+ * The pool is accessed while holding the session lock.
+ * <p>
+ * For internal use only. May be renamed or removed in a future release.
+ */
+public class RouteTargetPool implements Serializable {
+
+    private final Map<Class<?>, Deque<Component>> pools = new HashMap<>();
+
+    private long hitCount;
+    private long missCount;
+
+    /**
+     * Gets the route target pool of the given session, creating it if
+     * necessary.
+     *
+     * @param session
+     *            the session, not <code>null</code>
+     * @return the route target pool of the session, not <code>null</code>
+     */
+    public static RouteTargetPool get(VaadinSession session) {
+        RouteTargetPool pool = session.getAttribute(RouteTargetPool.class);
+        if (pool == null) {
+            pool = new RouteTargetPool();
+            session.setAttribute(RouteTargetPool.class, pool);
+        }
+        return pool;
+    }
+
+    /**
+     * Removes all pooled instances from the given session, if it has a pool.
+     *
+     * @param session
+     *            the session, not <code>null</code>
+     * @return the number of removed instances
+     */
+    public static int clear(VaadinSession session) {
+        RouteTargetPool pool = session.getAttribute(RouteTargetPool.class);
+        return pool == null ? 0 : pool.clear();
+    }
+
+    /**
+     * Computes an estimate of the memory used by the pooled instances of the
+     * given session.
+     *
+     * @param session
+     *            the session, not <code>null</code>
+     * @return the memory footprint of the pooled instances, not
+     *         <code>null</code>
+     */
+    public static MemoryFootprint getFootprint(VaadinSession session) {
+        RouteTargetPool pool = session.getAttribute(RouteTargetPool.class);
+        if (pool == null || pool.pools.isEmpty()) {
+            return MemoryFootprint.EMPTY;
+        }
+        int[] nodeCount = new int[1];
+        long[] nodeSize = new long[1];
+        pool.pools.values().stream().flatMap(Deque::stream)
+                .forEach(component -> component.getElement().getNode()
+                        .visitNodeTree(node -> {
+                            nodeCount[0]++;
+                            nodeSize[0] += node.getEstimatedSize();
+                        }));
+        return new MemoryFootprint(nodeCount[0], nodeSize[0], 0, 0, 0,
+                HeapSizeEstimator.hashMap(pool.pools.size()));
+    }
+
+    static boolean isPoolable(Class<?> type) {
+        return type.isAnnotationPresent(Poolable.class)
+                && !RouterLayout.class.isAssignableFrom(type)
+                && !type.isAnnotationPresent(PreserveOnRefresh.class);
+    }
+
+    /**
+     * Takes a pooled instance of the given type that can be attached to the
+     * given UI.
+     *
+     * @param ui
+     *            the UI to show the instance in, not <code>null</code>
+     * @param type
+     *            the {@link Poolable} route target type, not
+     *            <code>null</code>
+     * @return a pooled instance, or <code>null</code> if there is none
+     */
+    <T extends HasElement> T acquire(UI ui, Class<T> type) {
+        Deque<Component> pool = pools.get(type);
+        if (pool != null) {
+            for (Iterator<Component> iterator = pool.iterator(); iterator
+                    .hasNext();) {
+                Component component = iterator.next();
+                UI owner = getOwnerUI(component);
+                if (owner != null && owner.isClosing()) {
+                    iterator.remove();
+                } else if (owner == null || owner == ui) {
+                    iterator.remove();
+                    removeIfEmpty(type, pool);
+                    hitCount++;
+                    return type.cast(component);
+                }
+            }
+            removeIfEmpty(type, pool);
+        }
+        missCount++;
+        return null;
+    }
+
+    /**
+     * Returns an instance that is no longer shown to the pool, if it is
+     * {@link Poolable} and the pool for its type is not full.
+     *
+     * @param component
+     *            the route target instance, not <code>null</code>
+     * @return <code>true</code> if the instance was pooled,
+     *         <code>false</code> otherwise
+     */
+    boolean release(Component component) {
+        if (!isPoolable(component.getClass())
+                || component.getElement().getNode().isAttached()) {
+            return false;
+        }
+        Poolable poolable = component.getClass().getAnnotation(Poolable.class);
+        Deque<Component> pool = pools.computeIfAbsent(component.getClass(),
+                type -> new ArrayDeque<>());
+        pool.removeIf(pooled -> pooled == component
+                || isOwnerClosing(pooled));
+        if (pool.size() >= poolable.maxSize()) {
+            removeIfEmpty(component.getClass(), pool);
+            return false;
+        }
+        component.getElement().removeFromParent();
+        // Most recently used first
+        pool.addFirst(component);
+        return true;
+    }
+
+    /**
+     * Creates instances of the given {@link Poolable} route target type until
+     * the pool contains the given number of instances or is full. This can be
+     * used for creating instances of views that the user is likely to
+     * navigate to ahead of time.
+     *
+     * @param ui
+     *            the UI to get the instantiator from, not <code>null</code>
+     * @param type
+     *            the route target type, not <code>null</code>
+     * @param count
+     *            the number of instances to have in the pool
+     * @return the number of created instances
+     */
+    public int prewarm(UI ui, Class<? extends Component> type, int count) {
+        if (!isPoolable(type)) {
+            throw new IllegalArgumentException(type.getName()
+                    + " is not a poolable route target");
+        }
+        Poolable poolable = type.getAnnotation(Poolable.class);
+        Deque<Component> pool = pools.computeIfAbsent(type,
+                key -> new ArrayDeque<>());
+        pool.removeIf(RouteTargetPool::isOwnerClosing);
+        int created = 0;
+        Instantiator instantiator = Instantiator.get(ui);
+        while (pool.size() < Math.min(count, poolable.maxSize())) {
+            pool.addLast(instantiator.getOrCreate(type));
+            created++;
+        }
+        removeIfEmpty(type, pool);
+        return created;
+    }
+
+    /**
+     * Gets the number of navigations that reused a pooled instance.
+     *
+     * @return the number of pool hits
+     */
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * Gets the number of navigations to a {@link Poolable} route target that
+     * had to create a new instance.
+     *
+     * @return the number of pool misses
+     */
+    public long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * Gets the number of pooled instances.
+     *
+     * @return the number of pooled instances
+     */
+    public int size() {
+        return pools.values().stream().mapToInt(Deque::size).sum();
+    }
+
+    /**
+     * Removes all pooled instances. The metrics are not reset.
+     *
+     * @return the number of removed instances
+     */
+    public int clear() {
+        int size = size();
+        pools.clear();
+        return size;
+    }
+
+    private void removeIfEmpty(Class<?> type, Deque<Component> pool) {
+        if (pool.isEmpty()) {
+            pools.remove(type);
+        }
+    }
+
+    private static boolean isOwnerClosing(Component component) {
+        UI owner = getOwnerUI(component);
+        return owner != null && owner.isClosing();
+    }
+
+    private static UI getOwnerUI(Component component) {
+        StateNode node = component.getElement().getNode();
+        if (node.getOwner() instanceof StateTree) {
+            return ((StateTree) node.getOwner()).getUI();
+        }
+        return null;
+    }
+}
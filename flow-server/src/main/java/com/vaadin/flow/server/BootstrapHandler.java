@@ -1159,6 +1159,12 @@ public class BootstrapHandler extends SynchronizedRequestHandler {
             appConfig.put("maxMessageSuspendTimeout",
                     deploymentConfiguration.getMaxMessageSuspendTimeout());
 
+            int updateTimeSlice = deploymentConfiguration
+                    .getClientUpdateTimeSlice();
+            if (updateTimeSlice > 0) {
+                appConfig.put("updateTimeSlice", updateTimeSlice);
+            }
+
             boolean sendUrlsAsParameters = deploymentConfiguration
                     .isSendUrlsAsParameters();
             if (!sendUrlsAsParameters) {
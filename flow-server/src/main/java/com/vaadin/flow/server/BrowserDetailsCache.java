@@ -0,0 +1,164 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server;
+
+import java.io.Serializable;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.vaadin.flow.shared.BrowserDetails;
+
+/**
+ * A bounded cache of parsed {@link BrowserDetails} by user agent string,
+ * shared by all sessions of a {@link VaadinService}.
+ * <p>
+ * Parsing a user agent string is relatively expensive, while most requests
+ * come from a small number of distinct browsers. Browser details are never
+ * modified after parsing, so the same instance can be used by any number of
+ * sessions. When the cache is full, a quarter of the entries are dropped to
+ * make room for new ones. Unusually long user agent strings are parsed but not
+ * cached.
+ *
+ * @see VaadinService#getBrowserDetailsCache()
+ */
+public class BrowserDetailsCache implements Serializable {
+
+    /**
+     * The default maximum number of cached user agents.
+     */
+    public static final int DEFAULT_MAX_SIZE = 1000;
+
+    private static final int MAX_USER_AGENT_LENGTH = 512;
+
+    private final int maxSize;
+
+    private final ConcurrentHashMap<String, BrowserDetails> cache = new ConcurrentHashMap<>();
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+
+    /**
+     * Creates a cache with the default maximum size.
+     */
+    public BrowserDetailsCache() {
+        this(DEFAULT_MAX_SIZE);
+    }
+
+    /**
+     * Creates a cache with the given maximum size.
+     *
+     * @param maxSize
+     *            the maximum number of cached user agents, greater than zero
+     */
+    public BrowserDetailsCache(int maxSize) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException(
+                    "The maximum size must be greater than zero");
+        }
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Gets the browser details for the given user agent, parsing it if it is
+     * not cached.
+     *
+     * @param userAgent
+     *            the user agent string, not <code>null</code>
+     * @return the browser details, not <code>null</code>
+     */
+    public BrowserDetails get(String userAgent) {
+        BrowserDetails details = cache.get(userAgent);
+        if (details != null) {
+            hitCount.increment();
+            return details;
+        }
+        missCount.increment();
+        details = new BrowserDetails(userAgent);
+        if (userAgent.length() <= MAX_USER_AGENT_LENGTH) {
+            if (cache.size() >= maxSize) {
+                evict();
+            }
+            BrowserDetails existing = cache.putIfAbsent(userAgent, details);
+            if (existing != null) {
+                return existing;
+            }
+        }
+        return details;
+    }
+
+    private void evict() {
+        int toRemove = Math.max(1, maxSize / 4);
+        Iterator<String> keys = cache.keySet().iterator();
+        while (toRemove-- > 0 && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    /**
+     * Gets the number of lookups that found cached browser details.
+     *
+     * @return the number of cache hits
+     */
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    /**
+     * Gets the number of lookups that had to parse the user agent.
+     *
+     * @return the number of cache misses
+     */
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    /**
+     * Gets the ratio of cache hits to all lookups.
+     *
+     * @return the hit rate between 0 and 1, or 0 if there have been no
+     *         lookups
+     */
+    public double getHitRate() {
+        long hits = hitCount.sum();
+        long total = hits + missCount.sum();
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+    /**
+     * Gets the number of cached user agents.
+     *
+     * @return the number of cached user agents
+     */
+    public int size() {
+        return cache.size();
+    }
+
+    /**
+     * Removes all cached browser details. The metrics are not reset.
+     */
+    public void clear() {
+        cache.clear();
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "BrowserDetailsCache[size=%d, hits=%d, misses=%d]", size(),
+                getHitCount(), getMissCount());
+    }
+}
@@ -70,6 +70,9 @@ public class DefaultDeploymentConfiguration
             + "The permitted values are \"disabled\", \"manual\",\n"
             + "and \"automatic\". The default of \"disabled\" will be used.";
 
+    private static final String WARNING_NOT_NUMERIC = "WARNING: %s has been set to an illegal value."
+            + " The default of %d will be used.";
+
     private static final String INDEX_NOT_FOUND = "'%s' is not found from '%s'.%n"
             + "Generating a default one in '%s%s'. "
             + "Move it to the '%s' folder if you want to customize it.";
@@ -113,6 +116,10 @@ public class DefaultDeploymentConfiguration
     private boolean syncIdCheck;
     private boolean sendUrlsAsParameters;
     private boolean requestTiming;
+    private int clientUpdateTimeSlice;
+    private long sessionMemoryBudget;
+    private long uidlSizeWarningThreshold;
+    private int uidlCompressionThreshold;
 
     private static AtomicBoolean logging = new AtomicBoolean(true);
     private List<String> warnings = new ArrayList<>();
@@ -146,6 +153,10 @@ public class DefaultDeploymentConfiguration
         checkPushURL();
         checkSyncIdCheck();
         checkSendUrlsAsParameters();
+        checkClientUpdateTimeSlice();
+        checkSessionMemoryBudget();
+        checkUidlSizeWarningThreshold();
+        checkUidlCompressionThreshold();
 
         if (log) {
             logMessages();
@@ -233,6 +244,46 @@ public class DefaultDeploymentConfiguration
         return webComponentDisconnect;
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The default value is 0.
+     */
+    @Override
+    public int getClientUpdateTimeSlice() {
+        return clientUpdateTimeSlice;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The default value is 0.
+     */
+    @Override
+    public long getSessionMemoryBudget() {
+        return sessionMemoryBudget;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The default value is 0.
+     */
+    @Override
+    public long getUidlSizeWarningThreshold() {
+        return uidlSizeWarningThreshold;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The default value is 0.
+     */
+    @Override
+    public int getUidlCompressionThreshold() {
+        return uidlCompressionThreshold;
+    }
+
     /**
      * {@inheritDoc}
      * <p>
@@ -446,4 +497,44 @@ public class DefaultDeploymentConfiguration
                 InitParameters.SERVLET_PARAMETER_SEND_URLS_AS_PARAMETERS,
                 DEFAULT_SEND_URLS_AS_PARAMETERS);
     }
+
+    private void checkClientUpdateTimeSlice() {
+        clientUpdateTimeSlice = (int) getNonNegativeNumber(
+                InitParameters.SERVLET_PARAMETER_CLIENT_UPDATE_TIME_SLICE, 0,
+                Integer.MAX_VALUE);
+    }
+
+    private void checkSessionMemoryBudget() {
+        sessionMemoryBudget = getNonNegativeNumber(
+                InitParameters.SERVLET_PARAMETER_SESSION_MEMORY_BUDGET, 0,
+                Long.MAX_VALUE / 1024);
+    }
+
+    private void checkUidlSizeWarningThreshold() {
+        uidlSizeWarningThreshold = getNonNegativeNumber(
+                InitParameters.SERVLET_PARAMETER_UIDL_SIZE_WARNING_THRESHOLD,
+                0, Long.MAX_VALUE / 1024);
+    }
+
+    private void checkUidlCompressionThreshold() {
+        uidlCompressionThreshold = (int) getNonNegativeNumber(
+                InitParameters.SERVLET_PARAMETER_UIDL_COMPRESSION_THRESHOLD,
+                0, Integer.MAX_VALUE);
+    }
+
+    private long getNonNegativeNumber(String parameterName, long defaultValue,
+            long maxValue) {
+        try {
+            long value = getApplicationOrSystemProperty(parameterName,
+                    defaultValue, Long::parseLong);
+            if (value >= 0 && value <= maxValue) {
+                return value;
+            }
+        } catch (NumberFormatException e) {
+            // Handled below
+        }
+        warnings.add(
+                String.format(WARNING_NOT_NUMERIC, parameterName, defaultValue));
+        return defaultValue;
+    }
 }
@@ -40,7 +40,10 @@ import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Enumeration;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
@@ -104,6 +107,13 @@ public final class DevModeHandler implements RequestHandler {
     private static final int DEFAULT_TIMEOUT = 120 * 1000;
     private static final String WEBPACK_HOST = "http://localhost";
 
+    // Headers that only apply to a single connection and must not be
+    // forwarded by a proxy, see RFC 7230 section 6.1
+    private static final Set<String> HOP_BY_HOP_HEADERS = new HashSet<>(
+            Arrays.asList("connection", "keep-alive", "proxy-authenticate",
+                    "proxy-authorization", "proxy-connection", "te",
+                    "trailer", "transfer-encoding", "upgrade"));
+
     private boolean notified = false;
 
     private volatile String failedOutput;
@@ -286,6 +296,10 @@ public final class DevModeHandler implements RequestHandler {
      * <p>
      * Method returns {@code false} immediately if dev server failed on its
      * startup.
+     * <p>
+     * Connections to 'webpack-dev-server' are kept alive and reused by later
+     * requests. Response bodies are streamed to the client without decoding,
+     * so compressed responses are passed through as they are.
      *
      * @param request
      *            the servlet request
@@ -312,17 +326,20 @@ public final class DevModeHandler implements RequestHandler {
             return true;
         }
 
+        long start = System.nanoTime();
         HttpURLConnection connection = prepareConnection(requestFilename,
                 request.getMethod());
 
-        // Copies all the headers from the original request
+        // Copies the end-to-end headers from the original request, including
+        // Accept-Encoding so that compressed responses are passed through as
+        // is. Hop-by-hop headers are left to the pooled connection.
         Enumeration<String> headerNames = request.getHeaderNames();
         while (headerNames.hasMoreElements()) {
             String header = headerNames.nextElement();
-            connection.setRequestProperty(header,
-                    // Exclude keep-alive
-                    "Connect".equals(header) ? "close"
-                            : request.getHeader(header));
+            if (!isHopByHopHeader(header)) {
+                connection.setRequestProperty(header,
+                        request.getHeader(header));
+            }
         }
 
         // Send the request
@@ -332,37 +349,80 @@ public final class DevModeHandler implements RequestHandler {
         if (responseCode == HTTP_NOT_FOUND) {
             getLogger().debug("Resource not served by webpack {}",
                     requestFilename);
+            releaseConnection(connection, null);
             // webpack cannot access the resource, return false so as flow can
             // handle it
             return false;
         }
-        getLogger().debug("Served resource by webpack: {} {}", responseCode,
-                requestFilename);
 
-        // Copies response headers
-        connection.getHeaderFields().forEach((header, values) -> {
-            if (header != null) {
-                response.addHeader(header, values.get(0));
+        // Copies response headers, keeping all values of repeated headers.
+        // The body is not decoded, so Content-Encoding and Content-Length
+        // stay valid.
+        for (int i = 1; connection.getHeaderField(i) != null; i++) {
+            String header = connection.getHeaderFieldKey(i);
+            if (header != null && !isHopByHopHeader(header)) {
+                response.addHeader(header, connection.getHeaderField(i));
             }
-        });
+        }
 
+        long bytes;
         if (responseCode == HTTP_OK) {
             // Copies response payload
-            writeStream(response.getOutputStream(),
-                    connection.getInputStream());
-        } else if (responseCode < 400) {
-            response.setStatus(responseCode);
+            bytes = releaseConnection(connection, response.getOutputStream());
         } else {
-            // Copies response code
-            response.sendError(responseCode);
+            bytes = releaseConnection(connection, null);
+            if (responseCode < 400) {
+                response.setStatus(responseCode);
+            } else {
+                // Copies response code
+                response.sendError(responseCode);
+            }
         }
 
         // Close request to avoid issues in CI and Chrome
         response.getOutputStream().close();
 
+        if (getLogger().isDebugEnabled()) {
+            getLogger().debug(
+                    "Served resource by webpack: {} {} ({} bytes) in {}ms",
+                    responseCode, requestFilename, bytes,
+                    (System.nanoTime() - start) / 1_000_000);
+        }
         return true;
     }
 
+    private static boolean isHopByHopHeader(String header) {
+        return HOP_BY_HOP_HEADERS.contains(header.toLowerCase(Locale.ENGLISH));
+    }
+
+    /**
+     * Reads the response body of the connection to the end and closes it, so
+     * that the underlying socket is returned to the keep-alive pool of
+     * {@link HttpURLConnection} and reused by the next proxied request instead
+     * of opening a new connection to webpack-dev-server.
+     *
+     * @param connection
+     *            the connection to release
+     * @param outputStream
+     *            the stream to copy the body to, or {@code null} to discard
+     *            the body
+     * @return the number of bytes in the body
+     * @throws IOException
+     *             if reading or writing fails
+     */
+    private static long releaseConnection(HttpURLConnection connection,
+            ServletOutputStream outputStream) throws IOException {
+        InputStream inputStream = connection.getResponseCode() >= 400
+                ? connection.getErrorStream()
+                : connection.getInputStream();
+        if (inputStream == null) {
+            return 0;
+        }
+        try (InputStream body = inputStream) {
+            return writeStream(outputStream, body);
+        }
+    }
+
     private boolean checkWebpackConnection() {
         try {
             prepareConnection("/", "GET").getResponseCode();
@@ -483,13 +543,18 @@ public final class DevModeHandler implements RequestHandler {
         }
     }
 
-    private void writeStream(ServletOutputStream outputStream,
+    private static long writeStream(ServletOutputStream outputStream,
             InputStream inputStream) throws IOException {
         final byte[] buffer = new byte[DEFAULT_BUFFER_SIZE];
+        long total = 0;
         int bytes;
         while ((bytes = inputStream.read(buffer)) >= 0) {
-            outputStream.write(buffer, 0, bytes);
+            if (outputStream != null) {
+                outputStream.write(buffer, 0, bytes);
+            }
+            total += bytes;
         }
+        return total;
     }
 
     private static Logger getLogger() {
@@ -19,7 +19,9 @@ import java.io.Serializable;
 import java.io.UnsupportedEncodingException;
 import java.net.URLDecoder;
 import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
 import java.util.Locale;
+import java.util.Map;
 import java.util.function.BiConsumer;
 import java.util.regex.Pattern;
 
@@ -71,6 +73,14 @@ public class HandlerHelper implements Serializable {
          */
         PUSH(ApplicationConstants.REQUEST_TYPE_PUSH);
 
+        private static final Map<String, RequestType> BY_IDENTIFIER = new HashMap<>();
+
+        static {
+            for (RequestType type : values()) {
+                BY_IDENTIFIER.put(type.identifier, type);
+            }
+        }
+
         private String identifier;
 
         private RequestType(String identifier) {
@@ -107,6 +117,22 @@ public class HandlerHelper implements Serializable {
                 .getParameter(ApplicationConstants.REQUEST_TYPE_PARAMETER));
     }
 
+    /**
+     * Gets the type of the given request.
+     *
+     * @param request
+     *            the request to check
+     * @return the type of the request, or <code>null</code> if the request
+     *         does not have a known type, e.g. for page loads and static
+     *         resources
+     */
+    public static RequestType getRequestType(VaadinRequest request) {
+        String identifier = request
+                .getParameter(ApplicationConstants.REQUEST_TYPE_PARAMETER);
+        return identifier == null ? null
+                : RequestType.BY_IDENTIFIER.get(identifier);
+    }
+
     /**
      * Helper to find the most most suitable Locale. These potential sources are
      * checked in order until a Locale is found:
@@ -64,6 +64,30 @@ public class InitParameters implements Serializable {
     public static final String SERVLET_PARAMETER_JSBUNDLE = "module.bundle";
     public static final String SERVLET_PARAMETER_POLYFILLS = "module.polyfills";
 
+    /**
+     * Configuration name for the time, in milliseconds, that the client engine
+     * may spend on rendering changes from the server before yielding to the
+     * browser until the next animation frame. The default value 0 means that
+     * all changes in a response are rendered in one go.
+     */
+    public static final String SERVLET_PARAMETER_CLIENT_UPDATE_TIME_SLICE = "clientUpdateTimeSlice";
+
+    /**
+     * Configuration name for the soft memory budget of a session in kilobytes.
+     * When the estimated memory footprint of a session exceeds the budget,
+     * preserved {@code @PreserveOnRefresh} chains of closed windows are
+     * evicted and memory budget listeners are notified. The default value 0
+     * disables the check.
+     */
+    public static final String SERVLET_PARAMETER_SESSION_MEMORY_BUDGET = "sessionMemoryBudget";
+
+    /**
+     * Configuration name for running session housekeeping (closing inactive
+     * UIs and sessions) periodically in a background thread instead of at the
+     * end of every request.
+     */
+    public static final String SERVLET_PARAMETER_BACKGROUND_SESSION_HOUSEKEEPING = "backgroundSessionHousekeeping";
+
     /**
      * Configuration name for the parameter that determines whether Brotli
      * compression should be used for static resources in cases when a
@@ -71,6 +95,26 @@ public class InitParameters implements Serializable {
      */
     public static final String SERVLET_PARAMETER_BROTLI = "brotli";
 
+    /**
+     * Configuration name for caching translations returned by the
+     * {@link com.vaadin.flow.i18n.I18NProvider} for the whole application.
+     */
+    public static final String SERVLET_PARAMETER_TRANSLATION_CACHE = "translationCache";
+
+    /**
+     * Configuration name for the UIDL response size in kilobytes above which
+     * a warning with statistics about the contents of the response is logged.
+     * The default value 0 disables the warning.
+     */
+    public static final String SERVLET_PARAMETER_UIDL_SIZE_WARNING_THRESHOLD = "uidlSizeWarningThreshold";
+
+    /**
+     * Configuration name for the UIDL response size in bytes from which
+     * responses are gzip compressed for browsers that accept it. The default
+     * value 0 disables compression, leaving it to the servlet container.
+     */
+    public static final String SERVLET_PARAMETER_UIDL_COMPRESSION_THRESHOLD = "uidlCompressionThreshold";
+
     /**
      * Configuration name for the WebPack profile statistics json file to use to
      * determine template contents.
@@ -158,4 +202,11 @@ public class InitParameters implements Serializable {
      * component UI imports them as dependencies.
      */
     public static final String COMPILED_WEB_COMPONENTS_PATH = "compiled.web.components.path";
+
+    /**
+     * Configuration name for the context parameter that sets the directory
+     * where generated PWA icons are cached across restarts. Defaults to a
+     * folder in the temporary directory of the servlet context.
+     */
+    public static final String PWA_ICON_CACHE_DIRECTORY = "pwa.icon.cache.directory";
 }
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server;
+
+import java.util.EventObject;
+
+/**
+ * Event fired when the estimated memory footprint of a Vaadin session exceeds
+ * the configured budget.
+ *
+ * @see MemoryBudgetExceededListener#memoryBudgetExceeded(MemoryBudgetExceededEvent)
+ */
+public class MemoryBudgetExceededEvent extends EventObject {
+
+    private final VaadinSession session;
+
+    private final MemoryFootprint footprint;
+
+    private final long budget;
+
+    /**
+     * Creates a new event.
+     *
+     * @param service
+     *            the Vaadin service from which the event originates
+     * @param session
+     *            the Vaadin session that exceeds its budget
+     * @param footprint
+     *            the memory footprint of the session
+     * @param budget
+     *            the memory budget in bytes
+     */
+    public MemoryBudgetExceededEvent(VaadinService service,
+            VaadinSession session, MemoryFootprint footprint, long budget) {
+        super(service);
+        this.session = session;
+        this.footprint = footprint;
+        this.budget = budget;
+    }
+
+    @Override
+    public VaadinService getSource() {
+        return (VaadinService) super.getSource();
+    }
+
+    /**
+     * Gets the Vaadin service from which the event originates.
+     *
+     * @return the Vaadin service
+     */
+    public VaadinService getService() {
+        return getSource();
+    }
+
+    /**
+     * Gets the Vaadin session that exceeds its budget.
+     *
+     * @return the Vaadin session
+     */
+    public VaadinSession getSession() {
+        return session;
+    }
+
+    /**
+     * Gets the memory footprint of the session at the time of the check.
+     *
+     * @return the memory footprint
+     */
+    public MemoryFootprint getFootprint() {
+        return footprint;
+    }
+
+    /**
+     * Gets the memory budget of the session in bytes.
+     *
+     * @return the memory budget in bytes
+     */
+    public long getBudget() {
+        return budget;
+    }
+}
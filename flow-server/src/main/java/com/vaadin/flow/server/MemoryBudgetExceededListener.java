@@ -0,0 +1,38 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server;
+
+import java.io.Serializable;
+
+/**
+ * A listener that gets notified when the estimated memory footprint of a
+ * Vaadin session exceeds the configured budget.
+ *
+ * @see VaadinService#addMemoryBudgetExceededListener(MemoryBudgetExceededListener)
+ * @see InitParameters#SERVLET_PARAMETER_SESSION_MEMORY_BUDGET
+ */
+@FunctionalInterface
+public interface MemoryBudgetExceededListener extends Serializable {
+    /**
+     * Called when the memory footprint of a session exceeds the budget. The
+     * session is locked while the listener is called, so the listener may e.g.
+     * close UIs or clear caches held in session attributes.
+     *
+     * @param event
+     *            the event with details about the session and its footprint
+     */
+    void memoryBudgetExceeded(MemoryBudgetExceededEvent event);
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server;
+
+import java.io.Serializable;
+
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.internal.UIInternals;
+
+/**
+ * An estimate of the heap memory used by a {@link UI} or a
+ * {@link VaadinSession}.
+ * <p>
+ * The estimate is computed by walking the state tree and the other structures
+ * held by the UI or session. It covers the framework's own bookkeeping, such
+ * as state nodes and data communicator key mappings, but not application
+ * objects that are only referenced from components. The numbers are intended
+ * for monitoring and for comparing sessions with each other rather than as an
+ * exact measurement.
+ *
+ * @see UIInternals#getMemoryFootprint()
+ * @see VaadinSession#getMemoryFootprint()
+ * @see MemoryFootprintContributor
+ */
+public class MemoryFootprint implements Serializable {
+
+    /**
+     * An empty footprint.
+     */
+    public static final MemoryFootprint EMPTY = new MemoryFootprint(0, 0, 0, 0,
+            0, 0);
+
+    private final int nodeCount;
+    private final long nodeSize;
+    private final int pendingJavaScriptInvocationCount;
+    private final int streamResourceCount;
+    private final int preservedChainCount;
+    private final long otherSize;
+
+    /**
+     * Creates a new footprint.
+     *
+     * @param nodeCount
+     *            the number of state nodes
+     * @param nodeSize
+     *            the estimated size of the state nodes in bytes
+     * @param pendingJavaScriptInvocationCount
+     *            the number of pending JavaScript invocations
+     * @param streamResourceCount
+     *            the number of registered stream resources
+     * @param preservedChainCount
+     *            the number of route chains preserved for
+     *            {@code @PreserveOnRefresh}
+     * @param otherSize
+     *            the estimated size in bytes of all other structures,
+     *            including the pending invocations and stream resources
+     */
+    public MemoryFootprint(int nodeCount, long nodeSize,
+            int pendingJavaScriptInvocationCount, int streamResourceCount,
+            int preservedChainCount, long otherSize) {
+        this.nodeCount = nodeCount;
+        this.nodeSize = nodeSize;
+        this.pendingJavaScriptInvocationCount = pendingJavaScriptInvocationCount;
+        this.streamResourceCount = streamResourceCount;
+        this.preservedChainCount = preservedChainCount;
+        this.otherSize = otherSize;
+    }
+
+    /**
+     * Gets the number of state nodes.
+     *
+     * @return the number of state nodes
+     */
+    public int getNodeCount() {
+        return nodeCount;
+    }
+
+    /**
+     * Gets the estimated size of the state nodes in bytes.
+     *
+     * @return the estimated size of the state nodes
+     */
+    public long getNodeSize() {
+        return nodeSize;
+    }
+
+    /**
+     * Gets the number of JavaScript invocations that have not yet been sent to
+     * the client.
+     *
+     * @return the number of pending JavaScript invocations
+     */
+    public int getPendingJavaScriptInvocationCount() {
+        return pendingJavaScriptInvocationCount;
+    }
+
+    /**
+     * Gets the number of registered stream resources.
+     *
+     * @return the number of stream resources
+     */
+    public int getStreamResourceCount() {
+        return streamResourceCount;
+    }
+
+    /**
+     * Gets the number of route chains preserved for
+     * {@code @PreserveOnRefresh}.
+     *
+     * @return the number of preserved chains
+     */
+    public int getPreservedChainCount() {
+        return preservedChainCount;
+    }
+
+    /**
+     * Gets the estimated size in bytes of everything except the state nodes.
+     *
+     * @return the estimated size of other structures
+     */
+    public long getOtherSize() {
+        return otherSize;
+    }
+
+    /**
+     * Gets the total estimated size in bytes.
+     *
+     * @return the total estimated size
+     */
+    public long getEstimatedSize() {
+        return nodeSize + otherSize;
+    }
+
+    /**
+     * Combines this footprint with another one.
+     *
+     * @param other
+     *            the footprint to add, not <code>null</code>
+     * @return a new footprint containing the sum of both footprints
+     */
+    public MemoryFootprint add(MemoryFootprint other) {
+        return new MemoryFootprint(nodeCount + other.nodeCount,
+                nodeSize + other.nodeSize,
+                pendingJavaScriptInvocationCount
+                        + other.pendingJavaScriptInvocationCount,
+                streamResourceCount + other.streamResourceCount,
+                preservedChainCount + other.preservedChainCount,
+                otherSize + other.otherSize);
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "MemoryFootprint[estimatedSize=%d, nodes=%d, nodeSize=%d, "
+                        + "pendingJavaScriptInvocations=%d, "
+                        + "streamResources=%d, preservedChains=%d, otherSize=%d]",
+                getEstimatedSize(), nodeCount, nodeSize,
+                pendingJavaScriptInvocationCount, streamResourceCount,
+                preservedChainCount, otherSize);
+    }
+}
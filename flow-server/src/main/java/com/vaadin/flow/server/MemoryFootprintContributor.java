@@ -0,0 +1,38 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server;
+
+import java.io.Serializable;
+
+import com.vaadin.flow.component.internal.UIInternals;
+
+/**
+ * Provides an estimate of memory held on behalf of a UI by structures that are
+ * not part of the state tree, such as data communicator key mappings.
+ *
+ * @see UIInternals#addMemoryFootprintContributor(MemoryFootprintContributor)
+ * @see MemoryFootprint
+ */
+@FunctionalInterface
+public interface MemoryFootprintContributor extends Serializable {
+
+    /**
+     * Gets the estimated heap memory held by this contributor in bytes.
+     *
+     * @return the estimated size in bytes
+     */
+    long getEstimatedSize();
+}
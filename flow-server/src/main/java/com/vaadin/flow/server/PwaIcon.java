@@ -52,6 +52,23 @@ public class PwaIcon implements Serializable {
         HEADER, MANIFEST
     }
 
+    /**
+     * Loads the PNG data of an icon that is rendered on demand.
+     */
+    @FunctionalInterface
+    interface ImageLoader extends Serializable {
+        /**
+         * Loads the image data of the given icon.
+         *
+         * @param icon
+         *            the icon to load
+         * @return the image in PNG format
+         * @throws IOException
+         *             if loading the image fails
+         */
+        byte[] load(PwaIcon icon) throws IOException;
+    }
+
     private final boolean shouldBeCached;
     private final int width;
     private final int height;
@@ -59,6 +76,7 @@ public class PwaIcon implements Serializable {
     private String baseName;
     private Domain domain;
     private byte[] data;
+    private ImageLoader imageLoader;
 
     private final Map<String, String> attributes = new HashMap<>();
     private String tag = "link";
@@ -212,12 +230,40 @@ public class PwaIcon implements Serializable {
             stream.flush();
             data = stream.toByteArray();
             fileHash = Arrays.hashCode(data);
+            imageLoader = null;
             setRelativeName();
         } catch (IOException ioe) {
             throw new UncheckedIOException("Failed to write an image ", ioe);
         }
     }
 
+    /**
+     * Sets a loader for rendering the image when it's first needed instead of
+     * keeping the image data in memory.
+     *
+     * @param sourceHash
+     *            a hash identifying the source and parameters of the image,
+     *            used in place of the hash of the image data
+     * @param imageLoader
+     *            the loader for the image data
+     */
+    void setImageLoader(long sourceHash, ImageLoader imageLoader) {
+        this.imageLoader = imageLoader;
+        data = null;
+        fileHash = sourceHash;
+        setRelativeName();
+    }
+
+    /**
+     * Gets a strong entity tag for the icon image. The tag is based on the
+     * hash of the image, so it doesn't require loading the image.
+     *
+     * @return the entity tag, including the quotes
+     */
+    public String getETag() {
+        return '"' + Long.toHexString(fileHash) + '"';
+    }
+
     /**
      * Writes the icon image to output stream.
      *
@@ -226,7 +272,7 @@ public class PwaIcon implements Serializable {
      */
     public void write(OutputStream outputStream) {
         try {
-            outputStream.write(data);
+            outputStream.write(data != null ? data : imageLoader.load(this));
         } catch (IOException ioe) {
             throw new UncheckedIOException(
                     "Failed to store the icon image into the stream provided",
@@ -23,6 +23,9 @@ import java.awt.Graphics2D;
 import java.awt.Image;
 import java.awt.image.BufferedImage;
 import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
@@ -31,13 +34,24 @@ import java.io.UncheckedIOException;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.net.URLConnection;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
+import java.util.Base64;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
+import org.apache.commons.io.IOUtils;
 import org.slf4j.LoggerFactory;
 
+import com.vaadin.flow.internal.MessageDigestUtil;
 import com.vaadin.flow.server.startup.ApplicationRouteRegistry;
 
 import elemental.json.Json;
@@ -68,6 +82,10 @@ public class PwaRegistry implements Serializable {
             + "and (-webkit-device-pixel-ratio: %d)";
     public static final String WORKBOX_FOLDER = "VAADIN/static/server/workbox/";
     private static final String WORKBOX_CACHE_FORMAT = "{ url: '%s', revision: '%s' }";
+    private static final String SERVLET_TEMP_DIR = "javax.servlet.context.tempdir";
+    private static final String ICON_CACHE_FOLDER = "vaadin-pwa-icons";
+    // Change when rendering changes to invalidate cached icons
+    private static final int ICON_RENDERING_VERSION = 1;
 
     private String offlineHtml = "";
     private String manifestJson = "";
@@ -76,6 +94,10 @@ public class PwaRegistry implements Serializable {
     private List<PwaIcon> icons = new ArrayList<>();
     private final PwaConfiguration pwaConfiguration;
 
+    private byte[] logoData;
+    private String iconCacheDirectory;
+    private final Map<String, byte[]> renderedIcons = new ConcurrentHashMap<>();
+
     /**
      * Creates a new PwaRegistry instance.
      *
@@ -106,18 +128,17 @@ public class PwaRegistry implements Serializable {
                     pwaConfiguration.relOfflinePath());
             // Load base logo from servlet context if available
             // fall back to local image if unavailable
-            BufferedImage baseImage = getBaseImage(logo);
+            logoData = getBaseImageData(logo);
 
-            if (baseImage == null) {
+            if (ImageIO.read(new ByteArrayInputStream(logoData)) == null) {
                 LoggerFactory.getLogger(PwaRegistry.class).error(
                         "Image is not found or can't be loaded: " + logo);
+                logoData = null;
             } else {
-                // Pick top-left pixel as fill color if needed for image
-                // resizing
-                int bgColor = baseImage.getRGB(0, 0);
-
-                // initialize icons
-                icons = initializeIcons(baseImage, bgColor);
+                iconCacheDirectory = initializeIconCacheDirectory(
+                        servletContext);
+                // initialize icons, which are rendered when first requested
+                icons = initializeIcons(logoData);
             }
 
             // Load offline page as string, from servlet context if
@@ -146,17 +167,99 @@ public class PwaRegistry implements Serializable {
         return resourceUrl;
     }
 
-    private List<PwaIcon> initializeIcons(BufferedImage baseImage,
-            int bgColor) {
+    private List<PwaIcon> initializeIcons(byte[] logo) {
+        String logoHash = Base64.getEncoder()
+                .encodeToString(MessageDigestUtil.sha256(logo));
         for (PwaIcon icon : getIconTemplates(pwaConfiguration.getIconPath())) {
-            // New image with wanted size
-            icon.setImage(drawIconImage(baseImage, bgColor, icon));
-            // Store byte array and hashcode of image (GeneratedImage)
+            // The hash identifies the rendered image without rendering it
+            long sourceHash = ByteBuffer.wrap(MessageDigestUtil.sha256(
+                    logoHash + ICON_RENDERING_VERSION + icon.getSizes()))
+                    .getLong();
+            icon.setImageLoader(sourceHash, this::loadIconImage);
             icons.add(icon);
         }
         return icons;
     }
 
+    private static String initializeIconCacheDirectory(
+            ServletContext servletContext) {
+        String directory = servletContext
+                .getInitParameter(InitParameters.PWA_ICON_CACHE_DIRECTORY);
+        if (directory == null) {
+            Object tempDir = servletContext.getAttribute(SERVLET_TEMP_DIR);
+            if (!(tempDir instanceof File)) {
+                return null;
+            }
+            directory = new File((File) tempDir, ICON_CACHE_FOLDER).getPath();
+        }
+        try {
+            Files.createDirectories(Paths.get(directory));
+            return directory;
+        } catch (IOException | InvalidPathException e) {
+            LoggerFactory.getLogger(PwaRegistry.class).warn(
+                    "Unable to use '{}' for caching PWA icons, "
+                            + "icons will be kept in memory",
+                    directory, e);
+            return null;
+        }
+    }
+
+    private byte[] loadIconImage(PwaIcon icon) throws IOException {
+        String fileName = icon.getETag().replace("\"", "") + ".png";
+        if (iconCacheDirectory == null) {
+            return renderedIcons.computeIfAbsent(fileName,
+                    name -> renderIconImage(icon));
+        }
+        Path file = Paths.get(iconCacheDirectory, fileName);
+        if (Files.isRegularFile(file)) {
+            return Files.readAllBytes(file);
+        }
+        byte[] data = renderIconImage(icon);
+        Path tempFile = null;
+        try {
+            // Write to a temporary file first so that concurrent readers
+            // never see a partially written icon
+            tempFile = Files.createTempFile(file.getParent(), fileName,
+                    ".tmp");
+            Files.write(tempFile, data);
+            Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            LoggerFactory.getLogger(PwaRegistry.class)
+                    .debug("Failed to cache PWA icon {}", file, e);
+            deleteTempFile(tempFile);
+        }
+        return data;
+    }
+
+    private static void deleteTempFile(Path tempFile) {
+        if (tempFile == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(tempFile);
+        } catch (IOException e) {
+            LoggerFactory.getLogger(PwaRegistry.class).debug(
+                    "Failed to delete temporary PWA icon {}", tempFile, e);
+        }
+    }
+
+    private byte[] renderIconImage(PwaIcon icon) {
+        try {
+            BufferedImage baseImage = ImageIO
+                    .read(new ByteArrayInputStream(logoData));
+            // Pick top-left pixel as fill color if needed for image resizing
+            int bgColor = baseImage.getRGB(0, 0);
+            ByteArrayOutputStream stream = new ByteArrayOutputStream();
+            ImageIO.write(drawIconImage(baseImage, bgColor, icon), "png",
+                    stream);
+            return stream.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(
+                    "Failed to render PWA icon " + icon.getHref(), e);
+        }
+    }
+
     private BufferedImage drawIconImage(BufferedImage baseImage, int bgColor,
             PwaIcon icon) {
         BufferedImage bimage = new BufferedImage(icon.getWidth(),
@@ -383,11 +486,13 @@ public class PwaRegistry implements Serializable {
         }
     }
 
-    private BufferedImage getBaseImage(URL logo) throws IOException {
+    private byte[] getBaseImageData(URL logo) throws IOException {
         URLConnection logoResource = logo != null ? logo.openConnection()
                 : BootstrapHandler.class.getResource("default-logo.png")
                         .openConnection();
-        return ImageIO.read(logoResource.getInputStream());
+        try (InputStream stream = logoResource.getInputStream()) {
+            return IOUtils.toByteArray(stream);
+        }
     }
 
     /**
@@ -20,6 +20,7 @@ import java.io.IOException;
 import java.io.Serializable;
 
 import com.vaadin.flow.component.UI;
+import com.vaadin.flow.server.HandlerHelper.RequestType;
 
 /**
  * Handler for producing a response to HTTP requests. Handlers can be either
@@ -57,4 +58,28 @@ public interface RequestHandler extends Serializable {
     boolean handleRequest(VaadinSession session, VaadinRequest request,
             VaadinResponse response) throws IOException;
 
+    /**
+     * Checks whether this handler may handle requests of the given type. The
+     * service uses this to build a dispatch table once, so that for each
+     * request only the handlers interested in its type are called.
+     * <p>
+     * The default implementation returns <code>true</code> for all types,
+     * which means that
+     * {@link #handleRequest(VaadinSession, VaadinRequest, VaadinResponse)} is
+     * called for every request. A handler overriding this method should still
+     * check the request in
+     * {@link #handleRequest(VaadinSession, VaadinRequest, VaadinResponse)},
+     * since this method is not used for handlers added to a session.
+     *
+     * @param requestType
+     *            the type of the request, or <code>null</code> for requests
+     *            without a known type, e.g. page loads and static resources
+     * @return <code>true</code> if requests of the given type should be
+     *         passed to this handler, <code>false</code> otherwise
+     * @see HandlerHelper#getRequestType(VaadinRequest)
+     */
+    default boolean canHandleRequestType(RequestType requestType) {
+        return true;
+    }
+
 }
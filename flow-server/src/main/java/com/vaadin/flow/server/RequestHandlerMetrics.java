@@ -0,0 +1,144 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server;
+
+import java.io.Serializable;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency metrics for a {@link RequestHandler} registered to a
+ * {@link VaadinService}.
+ * <p>
+ * The metrics are updated for every call to
+ * {@link RequestHandler#handleRequest(VaadinSession, VaadinRequest, VaadinResponse)}
+ * made by the service, including calls that do not handle the request. The
+ * metrics can be read at any time without synchronization.
+ *
+ * @see VaadinService#getRequestHandlerMetrics()
+ */
+public class RequestHandlerMetrics implements Serializable {
+
+    private final RequestHandler handler;
+
+    private final LongAdder invocationCount = new LongAdder();
+    private final LongAdder handledCount = new LongAdder();
+    private final LongAdder totalTime = new LongAdder();
+    private final AtomicLong maxTime = new AtomicLong();
+
+    /**
+     * Creates new metrics for the given handler.
+     *
+     * @param handler
+     *            the request handler, not <code>null</code>
+     */
+    RequestHandlerMetrics(RequestHandler handler) {
+        this.handler = handler;
+    }
+
+    /**
+     * Gets the request handler these metrics are for.
+     *
+     * @return the request handler
+     */
+    public RequestHandler getHandler() {
+        return handler;
+    }
+
+    /**
+     * Gets the number of times the handler has been called.
+     *
+     * @return the number of calls
+     */
+    public long getInvocationCount() {
+        return invocationCount.sum();
+    }
+
+    /**
+     * Gets the number of calls in which the handler handled the request.
+     *
+     * @return the number of handled requests
+     */
+    public long getHandledCount() {
+        return handledCount.sum();
+    }
+
+    /**
+     * Gets the total time spent in the handler.
+     *
+     * @param unit
+     *            the time unit of the result, not <code>null</code>
+     * @return the total time
+     */
+    public long getTotalTime(TimeUnit unit) {
+        return unit.convert(totalTime.sum(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Gets the average time of a call to the handler.
+     *
+     * @param unit
+     *            the time unit of the result, not <code>null</code>
+     * @return the average time, or 0 if the handler has not been called
+     */
+    public long getAverageTime(TimeUnit unit) {
+        long count = invocationCount.sum();
+        return count == 0 ? 0
+                : unit.convert(totalTime.sum() / count, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Gets the time of the slowest call to the handler.
+     *
+     * @param unit
+     *            the time unit of the result, not <code>null</code>
+     * @return the maximum time
+     */
+    public long getMaxTime(TimeUnit unit) {
+        return unit.convert(maxTime.get(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Records a call to the handler.
+     *
+     * @param nanos
+     *            the duration of the call in nanoseconds
+     * @param handled
+     *            whether the handler handled the request
+     */
+    void record(long nanos, boolean handled) {
+        invocationCount.increment();
+        if (handled) {
+            handledCount.increment();
+        }
+        totalTime.add(nanos);
+        long max = maxTime.get();
+        while (nanos > max && !maxTime.compareAndSet(max, nanos)) {
+            max = maxTime.get();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "RequestHandlerMetrics[handler=%s, invocations=%d, handled=%d, "
+                        + "averageMicros=%d, maxMicros=%d]",
+                handler.getClass().getName(), getInvocationCount(),
+                getHandledCount(), getAverageTime(TimeUnit.MICROSECONDS),
+                getMaxTime(TimeUnit.MICROSECONDS));
+    }
+}
@@ -0,0 +1,213 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.vaadin.flow.function.DeploymentConfiguration;
+
+/**
+ * Runs session housekeeping in a background thread instead of at the end of
+ * every request.
+ * <p>
+ * Each known session is kept in a delay queue ordered by the time of its next
+ * sweep. A single thread takes all sessions that are due once a second and
+ * runs the housekeeping through {@link VaadinSession#access(Command)}, so the
+ * thread never blocks on a session lock that is held by a request.
+ *
+ * @see DeploymentConfiguration#isBackgroundSessionHousekeeping()
+ */
+class SessionHousekeeper {
+
+    private static final long TICK = 1000;
+
+    private static final long MAX_SWEEP_INTERVAL = 60000;
+
+    private static class ScheduledSweep implements Delayed {
+        private final VaadinSession session;
+        private final long dueTime;
+        private final long sequence;
+
+        private ScheduledSweep(VaadinSession session, long dueTime,
+                long sequence) {
+            this.session = session;
+            this.dueTime = dueTime;
+            this.sequence = sequence;
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(dueTime - System.currentTimeMillis(),
+                    TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            ScheduledSweep sweep = (ScheduledSweep) other;
+            int result = Long.compare(dueTime, sweep.dueTime);
+            // Sweeps scheduled during a run come after the older ones
+            return result != 0 ? result : Long.compare(sequence, sweep.sequence);
+        }
+    }
+
+    private final VaadinService service;
+
+    private final long sweepInterval;
+
+    private final DelayQueue<ScheduledSweep> queue = new DelayQueue<>();
+
+    private final Set<VaadinSession> scheduledSessions = ConcurrentHashMap
+            .newKeySet();
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    private ScheduledExecutorService executor;
+
+    /**
+     * Creates a new housekeeper for the given service.
+     *
+     * @param service
+     *            the service whose sessions to sweep
+     */
+    SessionHousekeeper(VaadinService service) {
+        this(service, getSweepInterval(service));
+    }
+
+    /**
+     * Creates a new housekeeper with the given sweep interval.
+     *
+     * @param service
+     *            the service whose sessions to sweep
+     * @param sweepInterval
+     *            the time between sweeps of the same session in milliseconds
+     */
+    SessionHousekeeper(VaadinService service, long sweepInterval) {
+        this.service = service;
+        this.sweepInterval = sweepInterval;
+    }
+
+    private static long getSweepInterval(VaadinService service) {
+        long heartbeatInterval = 1000L
+                * service.getDeploymentConfiguration().getHeartbeatInterval();
+        return heartbeatInterval > 0
+                ? Math.min(heartbeatInterval, MAX_SWEEP_INTERVAL)
+                : MAX_SWEEP_INTERVAL;
+    }
+
+    /**
+     * Starts the background thread.
+     */
+    void start() {
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable,
+                    "Vaadin session housekeeping");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this::sweepSafely, TICK, TICK,
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops the background thread. Sessions that are still scheduled are not
+     * swept anymore.
+     */
+    void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+        queue.clear();
+        scheduledSessions.clear();
+    }
+
+    /**
+     * Makes sure the given session is swept periodically. Does nothing if the
+     * session is already scheduled. This method does not require the session
+     * lock.
+     *
+     * @param session
+     *            the session to sweep
+     */
+    void register(VaadinSession session) {
+        if (scheduledSessions.add(session)) {
+            queue.add(new ScheduledSweep(session,
+                    System.currentTimeMillis() + sweepInterval,
+                    sequence.getAndIncrement()));
+        }
+    }
+
+    /**
+     * Sweeps all sessions that are due. Starting a sweep only enqueues a task
+     * for the session, so even a large number of due sessions is handled
+     * quickly.
+     *
+     * @return the number of sessions for which a sweep was started
+     */
+    int sweep() {
+        long start = sequence.get();
+        int count = 0;
+        ScheduledSweep sweep;
+        while ((sweep = queue.poll()) != null) {
+            if (sweep.sequence >= start) {
+                // Rescheduled during this run, leave it for the next one
+                queue.add(sweep);
+                break;
+            }
+            VaadinSession session = sweep.session;
+            scheduledSessions.remove(session);
+            try {
+                session.access(() -> sweep(session));
+            } catch (RuntimeException e) {
+                // The session is not usable anymore, so don't reschedule it
+                getLogger().debug("Unable to sweep session", e);
+            }
+            count++;
+        }
+        return count;
+    }
+
+    private void sweep(VaadinSession session) {
+        service.cleanupSession(session);
+        if (session.getState() == VaadinSessionState.OPEN) {
+            service.checkMemoryBudget(session);
+            register(session);
+        }
+    }
+
+    private void sweepSafely() {
+        try {
+            sweep();
+        } catch (Exception e) {
+            // An exception would cancel all further runs
+            getLogger().error("Error during session housekeeping", e);
+        }
+    }
+
+    private static Logger getLogger() {
+        return LoggerFactory.getLogger(SessionHousekeeper.class);
+    }
+}
@@ -185,4 +185,14 @@ public class StreamResourceRegistry implements Serializable {
         }
         return Optional.empty();
     }
+
+    /**
+     * Gets the number of registered resources.
+     *
+     * @return the number of registered resources
+     */
+    int getResourceCount() {
+        session.checkHasLock();
+        return res.size();
+    }
 }
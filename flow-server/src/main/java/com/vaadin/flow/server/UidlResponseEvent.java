@@ -0,0 +1,82 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server;
+
+import java.util.EventObject;
+
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.server.communication.UidlStatistics;
+
+/**
+ * Event fired when a UIDL response has been created for a UI.
+ *
+ * @see UidlResponseListener#uidlResponse(UidlResponseEvent)
+ */
+public class UidlResponseEvent extends EventObject {
+
+    private final UI ui;
+
+    private final UidlStatistics statistics;
+
+    /**
+     * Creates a new event.
+     *
+     * @param service
+     *            the Vaadin service from which the event originates
+     * @param ui
+     *            the UI that the response was created for
+     * @param statistics
+     *            the statistics of the response
+     */
+    public UidlResponseEvent(VaadinService service, UI ui,
+            UidlStatistics statistics) {
+        super(service);
+        this.ui = ui;
+        this.statistics = statistics;
+    }
+
+    @Override
+    public VaadinService getSource() {
+        return (VaadinService) super.getSource();
+    }
+
+    /**
+     * Gets the Vaadin service from which the event originates.
+     *
+     * @return the Vaadin service
+     */
+    public VaadinService getService() {
+        return getSource();
+    }
+
+    /**
+     * Gets the UI that the response was created for.
+     *
+     * @return the UI
+     */
+    public UI getUI() {
+        return ui;
+    }
+
+    /**
+     * Gets the statistics of the response.
+     *
+     * @return the response statistics
+     */
+    public UidlStatistics getStatistics() {
+        return statistics;
+    }
+}
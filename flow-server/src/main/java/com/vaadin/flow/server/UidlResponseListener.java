@@ -0,0 +1,37 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server;
+
+import java.io.Serializable;
+
+/**
+ * A listener that gets notified with statistics about the contents of each
+ * UIDL response.
+ *
+ * @see VaadinService#addUidlResponseListener(UidlResponseListener)
+ */
+@FunctionalInterface
+public interface UidlResponseListener extends Serializable {
+    /**
+     * Called when a UIDL response has been created for a UI. The session is
+     * locked while the listener is called. The listener should not modify the
+     * UI since the changes have already been collected.
+     *
+     * @param event
+     *            the event with the UI and the statistics of the response
+     */
+    void uidlResponse(UidlResponseEvent event);
+}
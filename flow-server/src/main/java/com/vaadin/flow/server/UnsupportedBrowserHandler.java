@@ -18,6 +18,7 @@ package com.vaadin.flow.server;
 import java.io.IOException;
 import java.io.Writer;
 
+import com.vaadin.flow.server.HandlerHelper.RequestType;
 import com.vaadin.flow.shared.ApplicationConstants;
 
 /**
@@ -73,6 +74,12 @@ public class UnsupportedBrowserHandler extends SynchronizedRequestHandler {
             + "</head>";
     // @formatter:on
 
+    @Override
+    protected boolean canHandleRequest(VaadinRequest request) {
+        // Heartbeats are handled without locking the session
+        return !HandlerHelper.isRequestType(request, RequestType.HEARTBEAT);
+    }
+
     @Override
     public boolean synchronizedHandleRequest(VaadinSession session,
             VaadinRequest request, VaadinResponse response) throws IOException {
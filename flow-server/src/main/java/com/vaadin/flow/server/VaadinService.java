@@ -32,6 +32,7 @@ import java.net.URL;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
@@ -59,11 +60,14 @@ import com.vaadin.flow.di.InstantiatorFactory;
 import com.vaadin.flow.di.Lookup;
 import com.vaadin.flow.function.DeploymentConfiguration;
 import com.vaadin.flow.i18n.I18NProvider;
+import com.vaadin.flow.i18n.TranslationCache;
 import com.vaadin.flow.internal.CurrentInstance;
 import com.vaadin.flow.internal.LocaleUtil;
 import com.vaadin.flow.internal.UsageStatistics;
 import com.vaadin.flow.router.RouteData;
 import com.vaadin.flow.router.Router;
+import com.vaadin.flow.router.internal.AbstractNavigationStateRenderer;
+import com.vaadin.flow.router.internal.RouteTargetPool;
 import com.vaadin.flow.server.HandlerHelper.RequestType;
 import com.vaadin.flow.server.communication.AtmospherePushConnection;
 import com.vaadin.flow.server.communication.HeartbeatHandler;
@@ -74,6 +78,7 @@ import com.vaadin.flow.server.communication.PwaHandler;
 import com.vaadin.flow.server.communication.SessionRequestHandler;
 import com.vaadin.flow.server.communication.StreamRequestHandler;
 import com.vaadin.flow.server.communication.UidlRequestHandler;
+import com.vaadin.flow.server.communication.UidlStatistics;
 import com.vaadin.flow.server.communication.WebComponentBootstrapHandler;
 import com.vaadin.flow.server.communication.WebComponentProvider;
 import com.vaadin.flow.server.webcomponent.WebComponentConfigurationRegistry;
@@ -137,6 +142,13 @@ public abstract class VaadinService implements Serializable {
 
     private static final String REQUEST_START_TIME_ATTRIBUTE = "requestStartTime";
 
+    /**
+     * Minimum interval between memory budget checks of a session, in
+     * milliseconds. Computing the footprint visits all state nodes of the
+     * session, so it should not be done on every request.
+     */
+    static final long MEMORY_BUDGET_CHECK_INTERVAL = 10000;
+
     /**
      * Should never be used directly, always use
      * {@link #getDeploymentConfiguration()}.
@@ -155,6 +167,8 @@ public abstract class VaadinService implements Serializable {
     private final List<SessionInitListener> sessionInitListeners = new CopyOnWriteArrayList<>();
     private final List<UIInitListener> uiInitListeners = new CopyOnWriteArrayList<>();
     private final List<SessionDestroyListener> sessionDestroyListeners = new CopyOnWriteArrayList<>();
+    private final List<MemoryBudgetExceededListener> memoryBudgetExceededListeners = new CopyOnWriteArrayList<>();
+    private final List<UidlResponseListener> uidlResponseListeners = new CopyOnWriteArrayList<>();
 
     private SystemMessagesProvider systemMessagesProvider = DefaultSystemMessagesProvider
             .get();
@@ -163,6 +177,16 @@ public abstract class VaadinService implements Serializable {
 
     private Iterable<RequestHandler> requestHandlers;
 
+    /*
+     * Built lazily from getRequestHandlers() so that overriding it is
+     * respected, and rebuilt if it returns another collection.
+     */
+    private volatile RequestHandlerDispatch requestHandlerDispatch;
+
+    private final BrowserDetailsCache browserDetailsCache = new BrowserDetailsCache();
+
+    private TranslationCache translationCache;
+
     private Iterable<BootstrapListener> bootstrapListeners;
 
     private transient Iterable<IndexHtmlRequestListener> indexHtmlRequestListeners;
@@ -174,6 +198,8 @@ public abstract class VaadinService implements Serializable {
     private BootstrapInitialPredicate bootstrapInitialPredicate;
     private BootstrapUrlPredicate bootstrapUrlPredicate;
 
+    private transient SessionHousekeeper sessionHousekeeper;
+
     /**
      * Keeps track of whether a warning about missing push support has already
      * been logged. This is used to avoid spamming the log with the same message
@@ -280,6 +306,9 @@ public abstract class VaadinService implements Serializable {
         });
 
         DeploymentConfiguration configuration = getDeploymentConfiguration();
+        if (configuration.isTranslationCacheEnabled()) {
+            translationCache = new TranslationCache();
+        }
         if (!configuration.isProductionMode()) {
             Logger logger = getLogger();
             logger.debug("The application has the following routes: ");
@@ -293,10 +322,56 @@ public abstract class VaadinService implements Serializable {
         if (getDeploymentConfiguration().isPnpmEnabled()) {
             UsageStatistics.markAsUsed("flow/pnpm", null);
         }
+        if (configuration.isBackgroundSessionHousekeeping()) {
+            sessionHousekeeper = new SessionHousekeeper(this);
+            sessionHousekeeper.start();
+        }
 
         initialized = true;
     }
 
+    /**
+     * The request handlers interested in each request type, in the order they
+     * are called. Handlers for requests without a known type are in
+     * untypedHandlers.
+     */
+    private static class RequestHandlerDispatch implements Serializable {
+        private final Iterable<RequestHandler> handlers;
+        private final List<RequestHandlerMetrics> metrics;
+        private final EnumMap<RequestType, RequestHandlerMetrics[]> typedHandlers = new EnumMap<>(
+                RequestType.class);
+        private final RequestHandlerMetrics[] untypedHandlers;
+
+        private RequestHandlerDispatch(Iterable<RequestHandler> handlers) {
+            this.handlers = handlers;
+            List<RequestHandlerMetrics> list = new ArrayList<>();
+            handlers.forEach(
+                    handler -> list.add(new RequestHandlerMetrics(handler)));
+            metrics = Collections.unmodifiableList(list);
+            for (RequestType type : RequestType.values()) {
+                typedHandlers.put(type, getHandlersFor(type));
+            }
+            untypedHandlers = getHandlersFor(null);
+        }
+
+        private RequestHandlerMetrics[] getHandlersFor(RequestType type) {
+            return metrics.stream()
+                    .filter(handlerMetrics -> handlerMetrics.getHandler()
+                            .canHandleRequestType(type))
+                    .toArray(RequestHandlerMetrics[]::new);
+        }
+    }
+
+    private RequestHandlerDispatch getRequestHandlerDispatch() {
+        Iterable<RequestHandler> handlers = getRequestHandlers();
+        RequestHandlerDispatch dispatch = requestHandlerDispatch;
+        if (dispatch == null || dispatch.handlers != handlers) {
+            dispatch = new RequestHandlerDispatch(handlers);
+            requestHandlerDispatch = dispatch;
+        }
+        return dispatch;
+    }
+
     private void addRouterUsageStatistics() {
         if (UsageStatistics.getEntries().anyMatch(
                 e -> Constants.STATISTIC_ROUTING_CLIENT.equals(e.getName()))) {
@@ -615,6 +690,98 @@ public abstract class VaadinService implements Serializable {
         return Registration.addAndRemove(sessionDestroyListeners, listener);
     }
 
+    /**
+     * Adds a listener that gets notified when the estimated memory footprint
+     * of a session exceeds the budget configured with
+     * {@link InitParameters#SERVLET_PARAMETER_SESSION_MEMORY_BUDGET}.
+     * <p>
+     * The budget is checked at the end of a request, at most once every ten
+     * seconds per session. Before
+     * the listeners are notified, route chains preserved for
+     * {@code @PreserveOnRefresh} are evicted from the session. The listeners
+     * are only notified if the session still exceeds its budget after that.
+     *
+     * @param listener
+     *            the memory budget listener
+     * @return a handle that can be used for removing the listener
+     * @see VaadinSession#getMemoryFootprint()
+     */
+    public Registration addMemoryBudgetExceededListener(
+            MemoryBudgetExceededListener listener) {
+        return Registration.addAndRemove(memoryBudgetExceededListeners,
+                listener);
+    }
+
+    /**
+     * Adds a listener that gets notified with statistics about the contents
+     * of each UIDL response, such as the number and size of the changes by
+     * node feature and by component type.
+     * <p>
+     * Collecting the statistics requires encoding the response an extra time,
+     * so listeners should only be added for diagnostics. A warning with the
+     * statistics is also logged for responses exceeding the size configured
+     * with {@link InitParameters#SERVLET_PARAMETER_UIDL_SIZE_WARNING_THRESHOLD},
+     * regardless of whether there are listeners.
+     *
+     * @param listener
+     *            the UIDL response listener
+     * @return a handle that can be used for removing the listener
+     * @see UidlStatistics
+     */
+    public Registration addUidlResponseListener(
+            UidlResponseListener listener) {
+        return Registration.addAndRemove(uidlResponseListeners, listener);
+    }
+
+    /**
+     * Checks whether statistics should be collected for UIDL responses, i.e.
+     * whether there are UIDL response listeners or a size warning threshold
+     * is configured.
+     * <p>
+     * For internal use only. May be renamed or removed in a future release.
+     *
+     * @return <code>true</code> if statistics should be collected,
+     *         <code>false</code> otherwise
+     */
+    public boolean isUidlStatisticsEnabled() {
+        return !uidlResponseListeners.isEmpty() || getDeploymentConfiguration()
+                .getUidlSizeWarningThreshold() > 0;
+    }
+
+    /**
+     * Notifies the UIDL response listeners and logs a warning if the response
+     * exceeds the configured size threshold.
+     * <p>
+     * For internal use only. May be renamed or removed in a future release.
+     *
+     * @param ui
+     *            the UI that the response was created for
+     * @param statistics
+     *            the statistics of the response
+     */
+    public void fireUidlResponseListeners(UI ui, UidlStatistics statistics) {
+        long threshold = getDeploymentConfiguration()
+                .getUidlSizeWarningThreshold() * 1024;
+        if (threshold > 0 && statistics.getTotalBytes() > threshold) {
+            getLogger().warn(
+                    "UIDL response for UI {} with route '{}' exceeds {} bytes: {}",
+                    ui.getUIId(),
+                    ui.getInternals().getActiveViewLocation().getPath(),
+                    threshold, statistics);
+        }
+        if (uidlResponseListeners.isEmpty()) {
+            return;
+        }
+        UidlResponseEvent event = new UidlResponseEvent(this, ui, statistics);
+        for (UidlResponseListener listener : uidlResponseListeners) {
+            try {
+                listener.uidlResponse(event);
+            } catch (Exception e) {
+                ui.getSession().getErrorHandler().error(new ErrorEvent(e));
+            }
+        }
+    }
+
     /**
      * Fires the
      * {@link BootstrapListener#modifyBootstrapPage(BootstrapPageResponse)}
@@ -854,6 +1021,25 @@ public abstract class VaadinService implements Serializable {
         WrappedSession wrappedSession = getWrappedSession(request,
                 requestCanCreateSession);
 
+        if (HandlerHelper.isRequestType(request, RequestType.HEARTBEAT)) {
+            /*
+             * Heartbeats never create, close or restart a session, so an
+             * already loaded open session can be used without locking.
+             * Anything else is left to the regular locked path.
+             */
+            VaadinSession session;
+            try {
+                session = readFromHttpSession(wrappedSession);
+            } catch (IllegalStateException e) {
+                // The HTTP session has been invalidated
+                throw new SessionExpiredException();
+            }
+            if (session != null && session.getService() == this && session
+                    .getStateWithoutLock() == VaadinSessionState.OPEN) {
+                return session;
+            }
+        }
+
         try {
             lockSession(wrappedSession);
         } catch (IllegalStateException e) {
@@ -1324,6 +1510,58 @@ public abstract class VaadinService implements Serializable {
         }
     }
 
+    /**
+     * Checks the estimated memory footprint of the given session against the
+     * configured budget. If the budget is exceeded, preserved route chains
+     * that are no longer shown in an open UI and pooled route targets are
+     * evicted first and the memory budget listeners
+     * are notified if that does not bring the session below the budget.
+     *
+     * @param session
+     *            the session to check, locked
+     */
+    void checkMemoryBudget(VaadinSession session) {
+        long budget = getDeploymentConfiguration().getSessionMemoryBudget()
+                * 1024;
+        if (budget <= 0 || session.getState() != VaadinSessionState.OPEN
+                || !session.startMemoryBudgetCheck(System.currentTimeMillis(),
+                        MEMORY_BUDGET_CHECK_INTERVAL)) {
+            return;
+        }
+        MemoryFootprint footprint = session.getMemoryFootprint();
+        if (footprint.getEstimatedSize() <= budget) {
+            return;
+        }
+        int evicted = footprint.getPreservedChainCount() > 0
+                ? AbstractNavigationStateRenderer
+                        .clearOrphanedPreservedChains(session)
+                : 0;
+        int released = RouteTargetPool.clear(session);
+        if (evicted > 0 || released > 0) {
+            getLogger().debug(
+                    "Evicted {} preserved route chains and {} pooled route targets from a session exceeding its memory budget",
+                    evicted, released);
+            footprint = session.getMemoryFootprint();
+            if (footprint.getEstimatedSize() <= budget) {
+                return;
+            }
+        }
+        if (memoryBudgetExceededListeners.isEmpty()) {
+            getLogger().warn("Session exceeds its memory budget of {} bytes: {}",
+                    budget, footprint);
+            return;
+        }
+        MemoryBudgetExceededEvent event = new MemoryBudgetExceededEvent(this,
+                session, footprint, budget);
+        for (MemoryBudgetExceededListener listener : memoryBudgetExceededListeners) {
+            try {
+                listener.memoryBudgetExceeded(event);
+            } catch (Exception e) {
+                session.getErrorHandler().error(new ErrorEvent(e));
+            }
+        }
+    }
+
     /**
      * Removes those UIs from the given session for which {@link UI#isClosing()
      * isClosing} yields true.
@@ -1480,9 +1718,36 @@ public abstract class VaadinService implements Serializable {
         request.setAttribute(REQUEST_START_TIME_ATTRIBUTE, System.nanoTime());
     }
 
+    /**
+     * Gets the time when the framework started handling the given request, as
+     * given by {@link System#nanoTime()}.
+     *
+     * @param request
+     *            the request to check, not <code>null</code>
+     * @return the start time in nanoseconds, or -1 if the request has not been
+     *         started through {@link #requestStart(VaadinRequest, VaadinResponse)}
+     */
+    public static long getRequestStartTime(VaadinRequest request) {
+        Object startTime = request.getAttribute(REQUEST_START_TIME_ATTRIBUTE);
+        if (startTime instanceof Long) {
+            return ((Long) startTime).longValue();
+        }
+        return -1;
+    }
+
     /**
      * Called after the framework has handled a request and the response has
      * been written.
+     * <p>
+     * Unless background session housekeeping is enabled, this cleans up the
+     * session while holding its lock. With background housekeeping, the
+     * cleanup is instead done periodically by a separate thread and this
+     * method does not lock the session.
+     * <p>
+     * Heartbeat requests never wait for the session lock. The cleanup is
+     * instead scheduled through {@link VaadinSession#access(Command)}, which
+     * runs it right away if the session is not locked and otherwise lets the
+     * current lock holder run it when releasing the lock.
      *
      * @param request
      *            The request object
@@ -1496,17 +1761,90 @@ public abstract class VaadinService implements Serializable {
             VaadinSession session) {
         if (session != null) {
             assert VaadinSession.getCurrent() == session;
-            session.lock();
+            final long duration = (System.nanoTime() - (Long) request
+                    .getAttribute(REQUEST_START_TIME_ATTRIBUTE)) / 1000000;
+            if (sessionHousekeeper != null) {
+                session.recordRequestDuration(duration);
+                sessionHousekeeper.register(session);
+            } else if (HandlerHelper.isRequestType(request,
+                    RequestType.HEARTBEAT)) {
+                session.recordRequestDuration(duration);
+                session.access(() -> {
+                    cleanupSession(session);
+                    checkMemoryBudget(session);
+                });
+            } else {
+                session.lock();
+                try {
+                    cleanupSession(session);
+                    checkMemoryBudget(session);
+                    session.setLastRequestDuration(duration);
+                } finally {
+                    session.unlock();
+                }
+            }
+        }
+        CurrentInstance.clearAll();
+    }
+
+    boolean handleWithDispatchTable(VaadinSession session,
+            VaadinRequest request, VaadinResponse response)
+            throws IOException {
+        RequestType type = HandlerHelper.getRequestType(request);
+        RequestHandlerDispatch dispatch = getRequestHandlerDispatch();
+        RequestHandlerMetrics[] handlers = type == null
+                ? dispatch.untypedHandlers
+                : dispatch.typedHandlers.get(type);
+        for (RequestHandlerMetrics metrics : handlers) {
+            long start = System.nanoTime();
+            boolean handled = false;
             try {
-                cleanupSession(session);
-                final long duration = (System.nanoTime() - (Long) request
-                        .getAttribute(REQUEST_START_TIME_ATTRIBUTE)) / 1000000;
-                session.setLastRequestDuration(duration);
+                handled = metrics.getHandler().handleRequest(session, request,
+                        response);
             } finally {
-                session.unlock();
+                metrics.record(System.nanoTime() - start, handled);
+            }
+            if (handled) {
+                return true;
             }
         }
-        CurrentInstance.clearAll();
+        return false;
+    }
+
+    /**
+     * Gets latency metrics for the request handlers registered with this
+     * service, in the order the handlers are called. Handlers are only called
+     * for the request types they declare through
+     * {@link RequestHandler#canHandleRequestType(RequestType)}.
+     * <p>
+     * The metrics are reset if {@link #getRequestHandlers()} starts returning
+     * another collection of handlers.
+     *
+     * @return an unmodifiable list of request handler metrics
+     */
+    public List<RequestHandlerMetrics> getRequestHandlerMetrics() {
+        return getRequestHandlerDispatch().metrics;
+    }
+
+    /**
+     * Gets the cache of parsed browser details shared by the sessions of this
+     * service.
+     *
+     * @return the browser details cache, not <code>null</code>
+     */
+    public BrowserDetailsCache getBrowserDetailsCache() {
+        return browserDetailsCache;
+    }
+
+    /**
+     * Gets the cache of translations shared by the sessions of this service.
+     *
+     * @return the translation cache, or <code>null</code> if it has not been
+     *         enabled
+     * @see DeploymentConfiguration#isTranslationCacheEnabled()
+     */
+    public TranslationCache getTranslationCache() {
+        return translationCache;
     }
 
     /**
@@ -1535,6 +1873,8 @@ public abstract class VaadinService implements Serializable {
     /**
      * Handles the incoming request and writes the response into the response
      * object. Uses {@link #getRequestHandlers()} for handling the request.
+     * Each handler is only called for the request types it declares through
+     * {@link RequestHandler#canHandleRequestType(RequestType)}.
      * <p>
      * If a session expiration is detected during request handling then each
      * {@link RequestHandler request handler} has an opportunity to handle the
@@ -1563,10 +1903,8 @@ public abstract class VaadinService implements Serializable {
                 return;
             }
 
-            for (RequestHandler handler : getRequestHandlers()) {
-                if (handler.handleRequest(vaadinSession, request, response)) {
-                    return;
-                }
+            if (handleWithDispatchTable(vaadinSession, request, response)) {
+                return;
             }
 
             // Request not handled by any RequestHandler
@@ -2090,11 +2428,25 @@ public abstract class VaadinService implements Serializable {
      * @see Servlet#destroy()
      */
     public void destroy() {
+        if (sessionHousekeeper != null) {
+            sessionHousekeeper.stop();
+            sessionHousekeeper = null;
+        }
         ServiceDestroyEvent event = new ServiceDestroyEvent(this);
         serviceDestroyListeners
                 .forEach(listener -> listener.serviceDestroy(event));
     }
 
+    /**
+     * Gets the background session housekeeper.
+     *
+     * @return the housekeeper, or <code>null</code> if background session
+     *         housekeeping is not enabled
+     */
+    SessionHousekeeper getSessionHousekeeper() {
+        return sessionHousekeeper;
+    }
+
     /**
      * Tries to acquire default class loader and sets it as a class loader for
      * this {@link VaadinService} if found. If current security policy disallows
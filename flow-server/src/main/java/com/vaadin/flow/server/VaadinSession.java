@@ -22,7 +22,6 @@ import java.io.Serializable;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Enumeration;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.Locale;
@@ -31,8 +30,10 @@ import java.util.Objects;
 import java.util.Queue;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 
@@ -44,9 +45,14 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.internal.UIInternals;
 import com.vaadin.flow.function.DeploymentConfiguration;
 import com.vaadin.flow.i18n.I18NProvider;
+import com.vaadin.flow.i18n.TranslationCache;
 import com.vaadin.flow.internal.CurrentInstance;
+import com.vaadin.flow.internal.HeapSizeEstimator;
+import com.vaadin.flow.router.internal.AbstractNavigationStateRenderer;
+import com.vaadin.flow.router.internal.RouteTargetPool;
 import com.vaadin.flow.shared.communication.PushMode;
 
 /**
@@ -94,17 +100,27 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
     private LinkedList<RequestHandler> requestHandlers = new LinkedList<>();
 
     private int nextUIId = 0;
-    private Map<Integer, UI> uIs = new HashMap<>();
+    /*
+     * Concurrent so that heartbeats can look up their UI without the session
+     * lock. All modifications still happen while holding the lock.
+     */
+    private Map<Integer, UI> uIs = new ConcurrentHashMap<>();
 
     protected WebBrowser browser = new WebBrowser();
 
-    private long cumulativeRequestDuration = 0;
+    private final AtomicLong cumulativeRequestDuration = new AtomicLong();
 
-    private long lastRequestDuration = -1;
+    private volatile long lastRequestDuration = -1;
 
     private long lastRequestTimestamp = System.currentTimeMillis();
 
-    private VaadinSessionState state = VaadinSessionState.OPEN;
+    private long lastMemoryBudgetCheck;
+
+    /*
+     * Volatile so that heartbeats can check the state without the session
+     * lock. All modifications still happen while holding the lock.
+     */
+    private volatile VaadinSessionState state = VaadinSessionState.OPEN;
 
     private transient WrappedSession session;
 
@@ -223,7 +239,7 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
      */
     public long getCumulativeRequestDuration() {
         checkHasLock();
-        return cumulativeRequestDuration;
+        return cumulativeRequestDuration.get();
     }
 
     /**
@@ -235,8 +251,19 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
      */
     public void setLastRequestDuration(long time) {
         checkHasLock();
+        recordRequestDuration(time);
+    }
+
+    /**
+     * Records the time spent servicing a request without requiring the session
+     * lock.
+     *
+     * @param time
+     *            The time spent in the request, in milliseconds.
+     */
+    void recordRequestDuration(long time) {
         lastRequestDuration = time;
-        cumulativeRequestDuration += time;
+        cumulativeRequestDuration.addAndGet(time);
     }
 
     /**
@@ -379,7 +406,9 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
         checkHasLock();
         this.locale = locale;
 
-        getUIs().forEach(ui -> ui.setLocale(locale));
+        // All UIs share the translations resolved for the new locale
+        TranslationCache
+                .runWithCache(() -> getUIs().forEach(ui -> ui.setLocale(locale)));
     }
 
     /**
@@ -513,6 +542,24 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
         return uIs.get(uiId);
     }
 
+    /**
+     * Returns a UI with the given id without requiring the session lock.
+     * <p>
+     * The returned UI may be concurrently modified by threads holding the
+     * session lock, so the caller may only use parts of it that are safe to
+     * access without the lock, such as
+     * {@link com.vaadin.flow.component.internal.UIInternals#recordHeartbeat(long)}.
+     * <p>
+     * This is meant for framework internal use.
+     *
+     * @param uiId
+     *            The UI id
+     * @return The UI with the given id or null if not found
+     */
+    public UI getUIByIdWithoutLock(int uiId) {
+        return uIs.get(uiId);
+    }
+
     /**
      * Checks if the current thread has exclusive access to this
      * <code>VaadinSession</code>.
@@ -852,6 +899,16 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
         return state;
     }
 
+    /**
+     * Returns the lifecycle state of this session without requiring the
+     * session lock. The state may change right after it has been read.
+     *
+     * @return the current state
+     */
+    VaadinSessionState getStateWithoutLock() {
+        return state;
+    }
+
     /**
      * Sets the lifecycle state of this session. The allowed transitions are
      * OPEN to CLOSING and CLOSING to CLOSED.
@@ -1027,6 +1084,55 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
         refreshLock();
     }
 
+    /**
+     * Computes an estimate of the memory used by this session. The estimate
+     * includes the footprints of all UIs, the registered stream resources,
+     * route chains preserved for {@code @PreserveOnRefresh} and pooled
+     * instances of {@code @Poolable} route targets.
+     * <p>
+     * The state trees of all UIs are visited, so the cost of this method is
+     * proportional to the number of nodes in the session.
+     *
+     * @return the memory footprint of the session, not <code>null</code>
+     * @see UIInternals#getMemoryFootprint()
+     */
+    public MemoryFootprint getMemoryFootprint() {
+        checkHasLock();
+        MemoryFootprint footprint = uIs.values().stream()
+                .map(ui -> ui.getInternals().getMemoryFootprint())
+                .reduce(MemoryFootprint.EMPTY, MemoryFootprint::add);
+
+        int resourceCount = resourceRegistry.getResourceCount();
+        footprint = footprint.add(new MemoryFootprint(0, 0, 0, resourceCount,
+                0, HeapSizeEstimator.hashMap(resourceCount)));
+
+        return footprint
+                .add(AbstractNavigationStateRenderer
+                        .getPreservedChainsFootprint(this))
+                .add(RouteTargetPool.getFootprint(this));
+    }
+
+    /**
+     * Checks whether enough time has passed since the memory budget of this
+     * session was last checked, and if so, records the given time as the time
+     * of the latest check.
+     *
+     * @param now
+     *            the current time in milliseconds
+     * @param interval
+     *            the minimum interval between checks in milliseconds
+     * @return <code>true</code> if the budget should be checked now,
+     *         <code>false</code> otherwise
+     */
+    boolean startMemoryBudgetCheck(long now, long interval) {
+        if (lastMemoryBudgetCheck != 0
+                && now - lastMemoryBudgetCheck < interval) {
+            return false;
+        }
+        lastMemoryBudgetCheck = now;
+        return true;
+    }
+
     /**
      * Get resource registry instance.
      * <p>
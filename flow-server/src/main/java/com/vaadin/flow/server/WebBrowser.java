@@ -63,7 +63,11 @@ public class WebBrowser implements Serializable {
 
         if (agent != null) {
             browserApplication = agent;
-            browserDetails = new BrowserDetails(agent);
+            // Parsed details are immutable and shared between sessions
+            VaadinService service = request.getService();
+            browserDetails = service != null
+                    ? service.getBrowserDetailsCache().get(agent)
+                    : new BrowserDetails(agent);
         }
     }
 
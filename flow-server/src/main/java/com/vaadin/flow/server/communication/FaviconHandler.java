@@ -19,6 +19,7 @@ import java.io.IOException;
 
 import javax.servlet.http.HttpServletResponse;
 
+import com.vaadin.flow.server.HandlerHelper.RequestType;
 import com.vaadin.flow.server.RequestHandler;
 import com.vaadin.flow.server.VaadinRequest;
 import com.vaadin.flow.server.VaadinResponse;
@@ -36,6 +37,12 @@ import com.vaadin.flow.server.VaadinSession;
  */
 public class FaviconHandler implements RequestHandler {
 
+    @Override
+    public boolean canHandleRequestType(RequestType requestType) {
+        // Only handles requests to specific paths
+        return requestType == null;
+    }
+
     @Override
     public boolean handleRequest(VaadinSession session, VaadinRequest request,
             VaadinResponse response) throws IOException {
@@ -45,11 +45,51 @@ import com.vaadin.flow.shared.ApplicationConstants;
 public class HeartbeatHandler extends SynchronizedRequestHandler
         implements SessionExpiredHandler {
 
+    @Override
+    public boolean canHandleRequestType(RequestType requestType) {
+        return requestType == RequestType.HEARTBEAT;
+    }
+
     @Override
     protected boolean canHandleRequest(VaadinRequest request) {
         return HandlerHelper.isRequestType(request, RequestType.HEARTBEAT);
     }
 
+    /**
+     * Handles a heartbeat request without locking the session. Reads the GET
+     * parameter named {@link ApplicationConstants#UI_ID_PARAMETER} to identify
+     * the UI. If the UI is found in the session, records a heartbeat through
+     * {@link UIInternals#recordHeartbeat(long)}. Otherwise, writes a HTTP Not
+     * Found error to the response.
+     * <p>
+     * Heartbeats are frequent and carry no other data, so they are not made to
+     * wait for the session lock. Closing UIs that have not received heartbeats
+     * is done later by the service.
+     */
+    @Override
+    public boolean handleRequest(VaadinSession session, VaadinRequest request,
+            VaadinResponse response) throws IOException {
+        if (!canHandleRequest(request)) {
+            return false;
+        }
+
+        UI ui = null;
+        String uiIdString = request
+                .getParameter(ApplicationConstants.UI_ID_PARAMETER);
+        if (uiIdString != null) {
+            ui = session.getUIByIdWithoutLock(Integer.parseInt(uiIdString));
+        }
+        if (ui != null) {
+            ui.getInternals().recordHeartbeat(System.currentTimeMillis());
+            writeHeartbeatResponse(response);
+        } else {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND,
+                    "UI not found");
+        }
+
+        return true;
+    }
+
     /**
      * Handles a heartbeat request for the given session. Reads the GET
      * parameter named {@link ApplicationConstants#UI_ID_PARAMETER} to identify
@@ -57,6 +97,10 @@ public class HeartbeatHandler extends SynchronizedRequestHandler
      * {@link UIInternals#getLastHeartbeatTimestamp() heartbeat timestamp} to
      * the current time. Otherwise, writes a HTTP Not Found error to the
      * response.
+     * <p>
+     * Heartbeat requests are handled without the session lock by
+     * {@link #handleRequest(VaadinSession, VaadinRequest, VaadinResponse)}, so
+     * this method is only used if called directly.
      */
     @Override
     public boolean synchronizedHandleRequest(VaadinSession session,
@@ -65,12 +109,7 @@ public class HeartbeatHandler extends SynchronizedRequestHandler
         if (ui != null) {
             ui.getInternals()
                     .setLastHeartbeatTimestamp(System.currentTimeMillis());
-            // Ensure that the browser does not cache heartbeat responses.
-            // iOS 6 Safari requires this (#10370)
-            response.setHeader("Cache-Control", "no-cache");
-            // If Content-Type is not set, browsers assume text/html and may
-            // complain about the empty response body (#12182)
-            response.setHeader("Content-Type", "text/plain");
+            writeHeartbeatResponse(response);
         } else {
             response.sendError(HttpServletResponse.SC_NOT_FOUND,
                     "UI not found");
@@ -79,6 +118,15 @@ public class HeartbeatHandler extends SynchronizedRequestHandler
         return true;
     }
 
+    private static void writeHeartbeatResponse(VaadinResponse response) {
+        // Ensure that the browser does not cache heartbeat responses.
+        // iOS 6 Safari requires this (#10370)
+        response.setHeader("Cache-Control", "no-cache");
+        // If Content-Type is not set, browsers assume text/html and may
+        // complain about the empty response body (#12182)
+        response.setHeader("Content-Type", "text/plain");
+    }
+
     /*
      * (non-Javadoc)
      *
@@ -36,6 +36,7 @@ import com.vaadin.flow.internal.BrowserLiveReloadAccess;
 import com.vaadin.flow.internal.UsageStatisticsExporter;
 import com.vaadin.flow.server.AppShellRegistry;
 import com.vaadin.flow.server.Constants;
+import com.vaadin.flow.server.HandlerHelper.RequestType;
 import com.vaadin.flow.server.VaadinContext;
 import com.vaadin.flow.server.VaadinRequest;
 import com.vaadin.flow.server.VaadinResponse;
@@ -184,6 +185,12 @@ public class IndexHtmlRequestHandler extends JavaScriptBootstrapHandler {
         initialJson.put("initial", initial);
     }
 
+    @Override
+    public boolean canHandleRequestType(RequestType requestType) {
+        // Page loads have no request type
+        return requestType == null || super.canHandleRequestType(requestType);
+    }
+
     @Override
     protected boolean canHandleRequest(VaadinRequest request) {
         return request.getService().getBootstrapUrlPredicate()
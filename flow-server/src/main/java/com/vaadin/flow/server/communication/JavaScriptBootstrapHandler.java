@@ -77,6 +77,11 @@ public class JavaScriptBootstrapHandler extends BootstrapHandler {
         super(context -> null);
     }
 
+    @Override
+    public boolean canHandleRequestType(RequestType requestType) {
+        return requestType == RequestType.INIT;
+    }
+
     @Override
     protected boolean canHandleRequest(VaadinRequest request) {
         return HandlerHelper.isRequestType(request, RequestType.INIT);
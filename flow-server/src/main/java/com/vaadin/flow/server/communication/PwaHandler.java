@@ -24,10 +24,13 @@ import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.Map;
 
+import javax.servlet.http.HttpServletResponse;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.vaadin.flow.server.BootstrapHandler;
+import com.vaadin.flow.server.HandlerHelper.RequestType;
 import com.vaadin.flow.server.PwaIcon;
 import com.vaadin.flow.server.PwaRegistry;
 import com.vaadin.flow.server.RequestHandler;
@@ -82,6 +85,13 @@ public class PwaHandler implements RequestHandler {
                             response.setHeader("Cache-Control",
                                     "no-cache, must-revalidate");
                         }
+                        String eTag = icon.getETag();
+                        response.setHeader("ETag", eTag);
+                        if (eTag.equals(request.getHeader("If-None-Match"))) {
+                            response.setStatus(
+                                    HttpServletResponse.SC_NOT_MODIFIED);
+                            return true;
+                        }
                         try (OutputStream out = response.getOutputStream()) {
                             icon.write(out);
                         }
@@ -122,6 +132,12 @@ public class PwaHandler implements RequestHandler {
                 });
     }
 
+    @Override
+    public boolean canHandleRequestType(RequestType requestType) {
+        // Only handles requests to specific paths
+        return requestType == null;
+    }
+
     @Override
     public boolean handleRequest(VaadinSession session, VaadinRequest request,
             VaadinResponse response) throws IOException {
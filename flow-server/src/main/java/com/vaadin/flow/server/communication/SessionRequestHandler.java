@@ -19,6 +19,8 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
+import com.vaadin.flow.server.HandlerHelper;
+import com.vaadin.flow.server.HandlerHelper.RequestType;
 import com.vaadin.flow.server.RequestHandler;
 import com.vaadin.flow.server.VaadinRequest;
 import com.vaadin.flow.server.VaadinResponse;
@@ -40,6 +42,11 @@ import com.vaadin.flow.server.VaadinSession;
  * The session is not locked during execution of the request handlers. The
  * request handler can itself decide if it needs to lock the session or not.
  * </p>
+ * <p>
+ * Heartbeat requests are not passed to the session request handlers, since
+ * reading the handlers requires the session lock and heartbeats are handled
+ * without waiting for it.
+ * </p>
  *
  * @see VaadinSession#addRequestHandler(RequestHandler)
  * @see RequestHandler
@@ -47,9 +54,17 @@ import com.vaadin.flow.server.VaadinSession;
  */
 public class SessionRequestHandler implements RequestHandler {
 
+    @Override
+    public boolean canHandleRequestType(RequestType requestType) {
+        return requestType != RequestType.HEARTBEAT;
+    }
+
     @Override
     public boolean handleRequest(VaadinSession session, VaadinRequest request,
             VaadinResponse response) throws IOException {
+        if (HandlerHelper.isRequestType(request, RequestType.HEARTBEAT)) {
+            return false;
+        }
         // Use a copy to avoid ConcurrentModificationException
         session.lock();
         List<RequestHandler> requestHandlers;
@@ -30,6 +30,7 @@ import org.slf4j.LoggerFactory;
 
 import com.vaadin.flow.component.UI;
 import com.vaadin.flow.server.AbstractStreamResource;
+import com.vaadin.flow.server.HandlerHelper.RequestType;
 import com.vaadin.flow.server.RequestHandler;
 import com.vaadin.flow.server.StreamReceiver;
 import com.vaadin.flow.server.StreamResource;
@@ -68,6 +69,12 @@ public class StreamRequestHandler implements RequestHandler {
         this.receiverHandler = receiverHandler;
     }
 
+    @Override
+    public boolean canHandleRequestType(RequestType requestType) {
+        // Only handles requests to specific paths
+        return requestType == null;
+    }
+
     @Override
     public boolean handleRequest(VaadinSession session, VaadinRequest request,
             VaadinResponse response) throws IOException {
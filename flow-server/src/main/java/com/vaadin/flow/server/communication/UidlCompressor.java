@@ -0,0 +1,318 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server.communication;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.vaadin.flow.server.InitParameters;
+import com.vaadin.flow.server.VaadinRequest;
+
+/**
+ * Gzip compresses UIDL responses that exceed a size threshold and keeps track
+ * of the achieved compression ratio and the time spent compressing.
+ * <p>
+ * The compressor keeps a small pool of deflaters that are reset and reused
+ * between responses. The pooled deflaters hold native memory, so
+ * {@link #destroy()} should be called when the compressor is no longer used.
+ *
+ * @see InitParameters#SERVLET_PARAMETER_UIDL_COMPRESSION_THRESHOLD
+ */
+public class UidlCompressor implements Serializable {
+
+    private static final String GZIP = "gzip";
+
+    private static final byte[] GZIP_HEADER = { 0x1f, (byte) 0x8b,
+            Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, 0 };
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private static final int MAX_POOLED_DEFLATERS = 8;
+
+    private final int threshold;
+
+    private transient BlockingQueue<Deflater> deflaters = createPool();
+    private transient volatile boolean destroyed;
+
+    private final AtomicLong compressedResponses = new AtomicLong();
+    private final AtomicLong uncompressedBytes = new AtomicLong();
+    private final AtomicLong compressedBytes = new AtomicLong();
+    private final AtomicLong compressionNanos = new AtomicLong();
+
+    /**
+     * Creates a new compressor for responses of at least the given size.
+     *
+     * @param threshold
+     *            the size in bytes from which responses are compressed, or 0
+     *            to not compress any responses
+     */
+    public UidlCompressor(int threshold) {
+        if (threshold < 0) {
+            throw new IllegalArgumentException(
+                    "The threshold cannot be negative");
+        }
+        this.threshold = threshold;
+    }
+
+    /**
+     * Checks whether a response of the given size should be compressed for
+     * the given request.
+     *
+     * @param request
+     *            the request to respond to, not <code>null</code>
+     * @param length
+     *            the size of the uncompressed response in bytes
+     * @return <code>true</code> if the response should be compressed,
+     *         <code>false</code> otherwise
+     */
+    public boolean shouldCompress(VaadinRequest request, int length) {
+        return threshold > 0 && length >= threshold
+                && acceptsGzip(request.getHeader("Accept-Encoding"));
+    }
+
+    /**
+     * Gets the content encoding of the compressed responses, to be used as
+     * the value of the <code>Content-Encoding</code> header.
+     *
+     * @return the content encoding, not <code>null</code>
+     */
+    public String getContentEncoding() {
+        return GZIP;
+    }
+
+    /**
+     * Compresses the given response data in the gzip format.
+     *
+     * @param data
+     *            the uncompressed data, not <code>null</code>
+     * @return the compressed data, not <code>null</code>
+     */
+    public byte[] compress(byte[] data) {
+        long start = System.nanoTime();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream(
+                Math.max(64, data.length / 4));
+        out.write(GZIP_HEADER, 0, GZIP_HEADER.length);
+
+        Deflater deflater = acquireDeflater();
+        try {
+            deflater.setInput(data);
+            deflater.finish();
+            byte[] buffer = new byte[Math.min(BUFFER_SIZE, data.length + 64)];
+            while (!deflater.finished()) {
+                int count = deflater.deflate(buffer);
+                out.write(buffer, 0, count);
+            }
+        } finally {
+            releaseDeflater(deflater);
+        }
+
+        CRC32 crc = new CRC32();
+        crc.update(data);
+        writeInt(out, (int) crc.getValue());
+        writeInt(out, data.length);
+        byte[] compressed = out.toByteArray();
+
+        long nanos = System.nanoTime() - start;
+        compressedResponses.incrementAndGet();
+        uncompressedBytes.addAndGet(data.length);
+        compressedBytes.addAndGet(compressed.length);
+        compressionNanos.addAndGet(nanos);
+
+        getLogger().debug(
+                "Compressed UIDL response from {} to {} bytes in {} microseconds",
+                data.length, compressed.length,
+                TimeUnit.NANOSECONDS.toMicros(nanos));
+        return compressed;
+    }
+
+    private Deflater acquireDeflater() {
+        Deflater deflater = deflaters.poll();
+        if (deflater == null) {
+            deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+        }
+        return deflater;
+    }
+
+    private void releaseDeflater(Deflater deflater) {
+        deflater.reset();
+        if (destroyed || !deflaters.offer(deflater)) {
+            // Release the native memory right away instead of waiting for GC
+            deflater.end();
+        } else if (destroyed) {
+            // Destroyed while compressing, don't leave anything in the pool
+            endPooledDeflaters();
+        }
+    }
+
+    /**
+     * Releases the native memory of the pooled deflaters. The compressor can
+     * still be used after this, but deflaters are then no longer reused.
+     */
+    public void destroy() {
+        destroyed = true;
+        endPooledDeflaters();
+    }
+
+    private void endPooledDeflaters() {
+        Deflater deflater;
+        while ((deflater = deflaters.poll()) != null) {
+            deflater.end();
+        }
+    }
+
+    /**
+     * Gets the number of deflaters that are currently kept for reuse.
+     *
+     * @return the number of pooled deflaters
+     */
+    int getPooledDeflaters() {
+        return deflaters.size();
+    }
+
+    private static BlockingQueue<Deflater> createPool() {
+        return new ArrayBlockingQueue<>(MAX_POOLED_DEFLATERS);
+    }
+
+    private void readObject(ObjectInputStream in)
+            throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        deflaters = createPool();
+    }
+
+    private static void writeInt(ByteArrayOutputStream out, int value) {
+        // Little endian, as defined for the gzip trailer
+        out.write(value & 0xff);
+        out.write((value >> 8) & 0xff);
+        out.write((value >> 16) & 0xff);
+        out.write((value >> 24) & 0xff);
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        boolean wildcard = false;
+        for (String token : acceptEncoding.split(",")) {
+            String[] parts = token.trim().split(";");
+            String encoding = parts[0].trim();
+            boolean accepted = parts.length < 2 || !isQualityZero(parts[1]);
+            if (GZIP.equalsIgnoreCase(encoding)) {
+                return accepted;
+            } else if ("*".equals(encoding)) {
+                wildcard = accepted;
+            }
+        }
+        return wildcard;
+    }
+
+    private static boolean isQualityZero(String parameter) {
+        String trimmed = parameter.trim();
+        if (!trimmed.startsWith("q=")) {
+            return false;
+        }
+        try {
+            return Double.parseDouble(trimmed.substring(2)) == 0;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Gets the size threshold from which responses are compressed.
+     *
+     * @return the threshold in bytes, or 0 if compression is disabled
+     */
+    public int getThreshold() {
+        return threshold;
+    }
+
+    /**
+     * Gets the number of responses that have been compressed.
+     *
+     * @return the number of compressed responses
+     */
+    public long getCompressedResponses() {
+        return compressedResponses.get();
+    }
+
+    /**
+     * Gets the total size of the compressed responses before compression.
+     *
+     * @return the uncompressed size in bytes
+     */
+    public long getUncompressedBytes() {
+        return uncompressedBytes.get();
+    }
+
+    /**
+     * Gets the total size of the compressed responses after compression.
+     *
+     * @return the compressed size in bytes
+     */
+    public long getCompressedBytes() {
+        return compressedBytes.get();
+    }
+
+    /**
+     * Gets the total time spent compressing responses.
+     *
+     * @return the compression time in nanoseconds
+     */
+    public long getCompressionNanos() {
+        return compressionNanos.get();
+    }
+
+    /**
+     * Gets the ratio between the compressed and uncompressed size of the
+     * compressed responses, e.g. 0.2 if the responses were compressed to a
+     * fifth of their original size.
+     *
+     * @return the compression ratio, or 1 if no responses have been
+     *         compressed
+     */
+    public double getCompressionRatio() {
+        long uncompressed = uncompressedBytes.get();
+        if (uncompressed == 0) {
+            return 1;
+        }
+        return (double) compressedBytes.get() / uncompressed;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "%d responses compressed from %d to %d bytes (ratio %.2f) in %d ms",
+                getCompressedResponses(), getUncompressedBytes(),
+                getCompressedBytes(), getCompressionRatio(),
+                TimeUnit.NANOSECONDS.toMillis(getCompressionNanos()));
+    }
+
+    private static Logger getLogger() {
+        return LoggerFactory.getLogger(UidlCompressor.class.getName());
+    }
+}
@@ -28,8 +28,10 @@ import org.slf4j.LoggerFactory;
 
 import com.vaadin.flow.component.UI;
 import com.vaadin.flow.component.internal.JavaScriptBootstrapUI;
+import com.vaadin.flow.function.DeploymentConfiguration;
 import com.vaadin.flow.server.HandlerHelper;
 import com.vaadin.flow.server.HandlerHelper.RequestType;
+import com.vaadin.flow.server.InitParameters;
 import com.vaadin.flow.server.SessionExpiredHandler;
 import com.vaadin.flow.server.SynchronizedRequestHandler;
 import com.vaadin.flow.server.VaadinRequest;
@@ -69,6 +71,8 @@ public class UidlRequestHandler extends SynchronizedRequestHandler
 
     private ServerRpcHandler rpcHandler;
 
+    private volatile UidlCompressor compressor;
+
     public static final Pattern HASH_PATTERN = Pattern.compile("window.location.hash ?= ?'(.*?)'");
     public static final Pattern URL_PATTERN = Pattern.compile("^(.*)#(.+)$");
     public static final String PUSH_STATE_HASH =
@@ -82,6 +86,11 @@ public class UidlRequestHandler extends SynchronizedRequestHandler
     private static final String CHANGES = "changes";
     private static final String EXECUTE = UIDL_KEY_EXECUTE;
 
+    @Override
+    public boolean canHandleRequestType(RequestType requestType) {
+        return requestType == RequestType.UIDL;
+    }
+
     @Override
     protected boolean canHandleRequest(VaadinRequest request) {
         return HandlerHelper.isRequestType(request, RequestType.UIDL);
@@ -131,7 +140,8 @@ public class UidlRequestHandler extends SynchronizedRequestHandler
             stringWriter.close();
         }
 
-        commitJsonResponse(response, stringWriter.toString());
+        commitJsonResponse(request, response, stringWriter.toString(),
+                getCompressor(session));
         return true;
     }
 
@@ -191,6 +201,52 @@ public class UidlRequestHandler extends SynchronizedRequestHandler
         return rpcHandler;
     }
 
+    /**
+     * Creates the compressor to use for UIDL responses. The compressor is
+     * destroyed when the service is destroyed.
+     *
+     * @param configuration
+     *            the deployment configuration of the service, not
+     *            <code>null</code>
+     * @return the compressor to use, not <code>null</code>
+     * @see InitParameters#SERVLET_PARAMETER_UIDL_COMPRESSION_THRESHOLD
+     */
+    protected UidlCompressor createCompressor(
+            DeploymentConfiguration configuration) {
+        return new UidlCompressor(configuration.getUidlCompressionThreshold());
+    }
+
+    /**
+     * Gets the compressor used for UIDL responses, e.g. for reporting the
+     * achieved compression ratio and the time spent compressing.
+     *
+     * @return the compressor, or <code>null</code> if no UIDL response has
+     *         been written yet
+     */
+    public UidlCompressor getCompressor() {
+        return compressor;
+    }
+
+    UidlCompressor getCompressor(VaadinSession session) {
+        // The handler is shared by all sessions of the service
+        UidlCompressor result = compressor;
+        if (result == null) {
+            synchronized (this) {
+                result = compressor;
+                if (result == null) {
+                    VaadinService service = session.getService();
+                    UidlCompressor created = createCompressor(
+                            service.getDeploymentConfiguration());
+                    service.addServiceDestroyListener(
+                            event -> created.destroy());
+                    compressor = created;
+                    result = created;
+                }
+            }
+        }
+        return result;
+    }
+
     /**
      * Commit the JSON response. We can't write immediately to the output stream
      * as we want to write only a critical notification if something goes wrong
@@ -205,13 +261,48 @@ public class UidlRequestHandler extends SynchronizedRequestHandler
      */
     public static void commitJsonResponse(VaadinResponse response, String json)
             throws IOException {
+        commitJsonResponse(response, json.getBytes(UTF_8));
+    }
+
+    /**
+     * Commit the JSON response, compressing it if it is large enough and the
+     * browser accepts compressed responses.
+     *
+     * @param request
+     *            The request to respond to
+     * @param response
+     *            The response to write to
+     * @param json
+     *            The JSON to write
+     * @param compressor
+     *            The compressor to use
+     * @throws IOException
+     *             If there was an exception while writing to the output
+     */
+    public static void commitJsonResponse(VaadinRequest request,
+            VaadinResponse response, String json, UidlCompressor compressor)
+            throws IOException {
+        byte[] b = json.getBytes(UTF_8);
+        if (compressor.getThreshold() > 0) {
+            // The response depends on the encodings accepted by the browser
+            response.setHeader("Vary", "Accept-Encoding");
+        }
+        if (compressor.shouldCompress(request, b.length)) {
+            b = compressor.compress(b);
+            response.setHeader("Content-Encoding",
+                    compressor.getContentEncoding());
+        }
+        commitJsonResponse(response, b);
+    }
+
+    private static void commitJsonResponse(VaadinResponse response, byte[] b)
+            throws IOException {
         response.setContentType(JsonConstants.JSON_CONTENT_TYPE);
 
         // Ensure that the browser does not cache UIDL responses.
         // iOS 6 Safari requires this (#9732)
         response.setHeader("Cache-Control", "no-cache");
 
-        byte[] b = json.getBytes(UTF_8);
         response.setContentLength(b.length);
 
         OutputStream outputStream = response.getOutputStream();
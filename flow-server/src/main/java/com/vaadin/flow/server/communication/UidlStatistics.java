@@ -0,0 +1,245 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server.communication;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import com.vaadin.flow.component.Component;
+import com.vaadin.flow.internal.StateNode;
+import com.vaadin.flow.internal.change.NodeChange;
+import com.vaadin.flow.internal.change.NodeFeatureChange;
+import com.vaadin.flow.internal.nodefeature.ComponentMapping;
+import com.vaadin.flow.server.UidlResponseListener;
+import com.vaadin.flow.server.VaadinService;
+
+import elemental.json.JsonValue;
+
+/**
+ * Statistics about the contents of a single UIDL response, for finding the
+ * features and components that produce the bulk of the changes sent to the
+ * client.
+ * <p>
+ * Sizes are the number of bytes of the UTF-8 encoded JSON. Statistics are only
+ * collected when there are {@link UidlResponseListener}s or a size warning
+ * threshold is configured, since the changes need to be encoded an extra time
+ * for measuring them.
+ *
+ * @see VaadinService#addUidlResponseListener(UidlResponseListener)
+ */
+public class UidlStatistics implements Serializable {
+
+    private static final int SUMMARY_ENTRIES = 3;
+
+    /**
+     * The number of items of some kind in a response and their encoded size.
+     */
+    public static class Volume implements Serializable {
+        private int count;
+        private long bytes;
+
+        private void add(int count, long bytes) {
+            this.count += count;
+            this.bytes += bytes;
+        }
+
+        /**
+         * Gets the number of items.
+         *
+         * @return the number of items
+         */
+        public int getCount() {
+            return count;
+        }
+
+        /**
+         * Gets the encoded size of the items.
+         *
+         * @return the size in bytes
+         */
+        public long getBytes() {
+            return bytes;
+        }
+
+        @Override
+        public String toString() {
+            return count + " (" + bytes + " bytes)";
+        }
+    }
+
+    private final Map<Class<?>, Volume> changesByFeature = new HashMap<>();
+    private final Map<Class<? extends Component>, Volume> changesByComponent = new HashMap<>();
+    private final Volume changes = new Volume();
+    private final Volume constants = new Volume();
+    private final Volume executions = new Volume();
+    private long totalBytes;
+
+    private transient Map<StateNode, Class<? extends Component>> componentTypes = new HashMap<>();
+
+    void addChange(NodeChange change, JsonValue json) {
+        long bytes = getEncodedLength(json);
+        changes.add(1, bytes);
+
+        Class<?> featureKey = change instanceof NodeFeatureChange
+                ? ((NodeFeatureChange) change).getFeature()
+                : change.getClass();
+        changesByFeature.computeIfAbsent(featureKey, key -> new Volume())
+                .add(1, bytes);
+
+        Class<? extends Component> componentType = getComponentType(
+                change.getNode());
+        if (componentType != null) {
+            changesByComponent
+                    .computeIfAbsent(componentType, key -> new Volume())
+                    .add(1, bytes);
+        }
+    }
+
+    void setConstants(int count, JsonValue json) {
+        constants.add(count, getEncodedLength(json));
+    }
+
+    void setExecutions(int count, JsonValue json) {
+        executions.add(count, getEncodedLength(json));
+    }
+
+    void setTotal(JsonValue response) {
+        totalBytes = getEncodedLength(response);
+        componentTypes = null;
+    }
+
+    private Class<? extends Component> getComponentType(StateNode node) {
+        if (node == null) {
+            return null;
+        }
+        if (componentTypes.containsKey(node)) {
+            return componentTypes.get(node);
+        }
+        Class<? extends Component> type = null;
+        if (node.hasFeature(ComponentMapping.class)) {
+            type = ComponentMapping.getComponent(node)
+                    .map(Component::getClass).orElse(null);
+        }
+        if (type == null) {
+            // Attribute changes of inner elements to the closest component
+            type = getComponentType(node.getParent());
+        }
+        componentTypes.put(node, type);
+        return type;
+    }
+
+    private static long getEncodedLength(JsonValue json) {
+        String string = json.toJson();
+        long length = 0;
+        for (int i = 0; i < string.length(); i++) {
+            char c = string.charAt(i);
+            if (c < 0x80) {
+                length++;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c)) {
+                // Surrogate pairs are encoded as four bytes
+                length += 4;
+                i++;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+
+    /**
+     * Gets the size of the whole response.
+     *
+     * @return the size in bytes
+     */
+    public long getTotalBytes() {
+        return totalBytes;
+    }
+
+    /**
+     * Gets the number and size of all state node changes in the response.
+     *
+     * @return the volume of all changes, not <code>null</code>
+     */
+    public Volume getChanges() {
+        return changes;
+    }
+
+    /**
+     * Gets the number and size of the state node changes in the response by
+     * the node feature they change. Node attach and detach changes, which are
+     * not related to any feature, are included with their change type as the
+     * key.
+     *
+     * @return the volume of changes by feature type, not <code>null</code>
+     */
+    public Map<Class<?>, Volume> getChangesByFeature() {
+        return Collections.unmodifiableMap(changesByFeature);
+    }
+
+    /**
+     * Gets the number and size of the state node changes in the response by
+     * the type of the closest component of the changed node. Changes to nodes
+     * that are not in a component are not included.
+     *
+     * @return the volume of changes by component type, not <code>null</code>
+     */
+    public Map<Class<? extends Component>, Volume> getChangesByComponent() {
+        return Collections.unmodifiableMap(changesByComponent);
+    }
+
+    /**
+     * Gets the number and size of the new constant pool entries in the
+     * response.
+     *
+     * @return the volume of constants, not <code>null</code>
+     */
+    public Volume getConstants() {
+        return constants;
+    }
+
+    /**
+     * Gets the number and size of the JavaScript executions in the response.
+     *
+     * @return the volume of JavaScript executions, not <code>null</code>
+     */
+    public Volume getExecutions() {
+        return executions;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "%d bytes: changes %s, constants %s, executions %s; "
+                        + "top features: %s; top components: %s",
+                totalBytes, changes, constants, executions,
+                summarize(changesByFeature), summarize(changesByComponent));
+    }
+
+    private static String summarize(Map<? extends Class<?>, Volume> volumes) {
+        return volumes.entrySet().stream()
+                .sorted((a, b) -> Long.compare(b.getValue().getBytes(),
+                        a.getValue().getBytes()))
+                .limit(SUMMARY_ENTRIES)
+                .map(entry -> entry.getKey().getName() + " "
+                        + entry.getValue())
+                .collect(Collectors.joining(", "));
+    }
+}
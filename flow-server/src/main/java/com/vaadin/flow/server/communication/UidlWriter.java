@@ -42,6 +42,7 @@ import com.vaadin.flow.component.UI;
 import com.vaadin.flow.component.internal.DependencyList;
 import com.vaadin.flow.component.internal.PendingJavaScriptInvocation;
 import com.vaadin.flow.component.internal.UIInternals;
+import com.vaadin.flow.dom.Node;
 import com.vaadin.flow.function.SerializableConsumer;
 import com.vaadin.flow.internal.JsonCodec;
 import com.vaadin.flow.internal.JsonUtils;
@@ -167,16 +168,24 @@ public class UidlWriter implements Serializable {
             response.put("meta", meta);
         }
 
+        UidlStatistics statistics = service.isUidlStatisticsEnabled()
+                ? new UidlStatistics()
+                : null;
+
         JsonArray stateChanges = Json.createArray();
 
-        encodeChanges(ui, stateChanges);
+        encodeChanges(ui, stateChanges, statistics);
 
         populateDependencies(response, uiInternals.getDependencyList(),
                 new ResolveContext(service, session.getBrowser()));
 
         if (uiInternals.getConstantPool().hasNewConstants()) {
-            response.put("constants",
-                    uiInternals.getConstantPool().dumpConstants());
+            JsonObject constants = uiInternals.getConstantPool()
+                    .dumpConstants();
+            response.put("constants", constants);
+            if (statistics != null) {
+                statistics.setConstants(constants.keys().length, constants);
+            }
         }
         if (stateChanges.length() != 0) {
             response.put("changes", stateChanges);
@@ -185,14 +194,23 @@ public class UidlWriter implements Serializable {
         List<PendingJavaScriptInvocation> executeJavaScriptList = uiInternals
                 .dumpPendingJavaScriptInvocations();
         if (!executeJavaScriptList.isEmpty()) {
-            response.put(JsonConstants.UIDL_KEY_EXECUTE,
-                    encodeExecuteJavaScriptList(executeJavaScriptList));
+            JsonArray executions = encodeExecuteJavaScriptList(
+                    executeJavaScriptList);
+            response.put(JsonConstants.UIDL_KEY_EXECUTE, executions);
+            if (statistics != null) {
+                statistics.setExecutions(executeJavaScriptList.size(),
+                        executions);
+            }
         }
         if (ui.getSession().getService().getDeploymentConfiguration()
                 .isRequestTiming()) {
             response.put("timings", createPerformanceData(ui));
         }
         uiInternals.incrementServerId();
+        if (statistics != null) {
+            statistics.setTotal(response);
+            service.fireUidlResponseListeners(ui, statistics);
+        }
         return response;
     }
 
@@ -299,8 +317,107 @@ public class UidlWriter implements Serializable {
     // non-private for testing purposes
     static JsonArray encodeExecuteJavaScriptList(
             List<PendingJavaScriptInvocation> executeJavaScriptList) {
-        return executeJavaScriptList.stream()
-                .map(UidlWriter::encodeExecuteJavaScript)
+        JsonArray encoded = Json.createArray();
+        List<PendingJavaScriptInvocation> batch = new ArrayList<>();
+        for (PendingJavaScriptInvocation invocation : executeJavaScriptList) {
+            if (!batch.isEmpty() && !canBatch(batch.get(0), invocation)) {
+                encodeBatch(batch, encoded);
+            }
+            if (isBatchable(invocation)) {
+                batch.add(invocation);
+            } else {
+                encoded.set(encoded.length(),
+                        encodeExecuteJavaScript(invocation));
+            }
+        }
+        encodeBatch(batch, encoded);
+        return encoded;
+    }
+
+    /*
+     * Only fire-and-forget invocations with a coalescing key are batched. The
+     * client postpones an invocation until all its node parameters are bound,
+     * so a batch may only reference its owner node to make all invocations in
+     * it wait for the same node.
+     */
+    private static boolean isBatchable(PendingJavaScriptInvocation invocation) {
+        return invocation.getCoalescingKey() != null
+                && !invocation.isSubscribed()
+                && invocation.getInvocation().getParameters().stream()
+                        .allMatch(parameter -> !isNodeParameter(parameter)
+                                || invocation.getOwner()
+                                        .equals(getNode(parameter)));
+    }
+
+    private static boolean canBatch(PendingJavaScriptInvocation first,
+            PendingJavaScriptInvocation invocation) {
+        return isBatchable(invocation)
+                && first.getOwner().equals(invocation.getOwner())
+                && hasNodeParameter(first) == hasNodeParameter(invocation);
+    }
+
+    private static boolean hasNodeParameter(
+            PendingJavaScriptInvocation invocation) {
+        return invocation.getInvocation().getParameters().stream()
+                .anyMatch(UidlWriter::isNodeParameter);
+    }
+
+    private static boolean isNodeParameter(Object parameter) {
+        return parameter instanceof Component || parameter instanceof Node<?>
+                || parameter instanceof ReturnChannelRegistration;
+    }
+
+    private static StateNode getNode(Object parameter) {
+        if (parameter instanceof Component) {
+            return ((Component) parameter).getElement().getNode();
+        } else if (parameter instanceof Node<?>) {
+            return ((Node<?>) parameter).getNode();
+        }
+        // Return channels are never batched
+        return null;
+    }
+
+    private static void encodeBatch(List<PendingJavaScriptInvocation> batch,
+            JsonArray encoded) {
+        if (batch.size() == 1) {
+            encoded.set(encoded.length(), encodeExecuteJavaScript(batch.get(0)));
+        } else if (!batch.isEmpty()) {
+            encoded.set(encoded.length(), encodeBatchedJavaScript(batch));
+        }
+        batch.clear();
+    }
+
+    /*
+     * Runs each expression in its own function with its original parameter
+     * names, so that a single function needs to be compiled by the client.
+     * An exception thrown by one expression doesn't prevent the following
+     * ones from running, and the first exception is rethrown at the end.
+     */
+    private static JsonArray encodeBatchedJavaScript(
+            List<PendingJavaScriptInvocation> batch) {
+        List<Object> parameters = new ArrayList<>();
+        StringBuilder expression = new StringBuilder("var $batchError;");
+        for (PendingJavaScriptInvocation invocation : batch) {
+            List<Object> invocationParameters = invocation.getInvocation()
+                    .getParameters();
+            StringBuilder names = new StringBuilder();
+            StringBuilder arguments = new StringBuilder();
+            for (int i = 0; i < invocationParameters.size(); i++) {
+                names.append(i == 0 ? "$" : ",$").append(i);
+                arguments.append(",$").append(parameters.size());
+                parameters.add(invocationParameters.get(i));
+            }
+            expression.append("try{(function(").append(names).append("){")
+                    .append(invocation.getInvocation().getExpression())
+                    .append("\n}).call(this").append(arguments)
+                    .append(")}catch(error){$batchError=$batchError||error}");
+        }
+        expression.append("if($batchError){throw $batchError}");
+
+        // [argument1, argument2, ..., script]
+        return Stream
+                .concat(parameters.stream().map(JsonCodec::encodeWithTypeInfo),
+                        Stream.of(Json.create(expression.toString())))
                 .collect(JsonUtils.asArray());
     }
 
@@ -380,9 +497,13 @@ public class UidlWriter implements Serializable {
      *            the UI
      * @param stateChanges
      *            a JSON array to put state changes into
+     * @param statistics
+     *            the statistics to add the changes to, or <code>null</code>
+     *            if no statistics are collected
      * @see StateTree#runExecutionsBeforeClientResponse()
      */
-    private void encodeChanges(UI ui, JsonArray stateChanges) {
+    private void encodeChanges(UI ui, JsonArray stateChanges,
+            UidlStatistics statistics) {
         UIInternals uiInternals = ui.getInternals();
         StateTree stateTree = uiInternals.getStateTree();
 
@@ -397,8 +518,11 @@ public class UidlWriter implements Serializable {
             }
 
             // Encode the actual change
-            stateChanges.set(stateChanges.length(),
-                    change.toJson(uiInternals.getConstantPool()));
+            JsonValue json = change.toJson(uiInternals.getConstantPool());
+            stateChanges.set(stateChanges.length(), json);
+            if (statistics != null) {
+                statistics.addChange(change, json);
+            }
         });
 
         componentsWithDependencies
@@ -41,6 +41,7 @@ import com.vaadin.flow.internal.JsonUtils;
 import com.vaadin.flow.server.BootstrapHandler;
 import com.vaadin.flow.server.Constants;
 import com.vaadin.flow.server.HandlerHelper;
+import com.vaadin.flow.server.HandlerHelper.RequestType;
 import com.vaadin.flow.server.PwaRegistry;
 import com.vaadin.flow.server.VaadinRequest;
 import com.vaadin.flow.server.VaadinResponse;
@@ -117,6 +118,12 @@ public class WebComponentBootstrapHandler extends BootstrapHandler {
         super(pageBuilder);
     }
 
+    @Override
+    public boolean canHandleRequestType(RequestType requestType) {
+        // Only handles requests to specific paths
+        return requestType == null;
+    }
+
     @Override
     protected boolean canHandleRequest(VaadinRequest request) {
         String pathInfo = request.getPathInfo();
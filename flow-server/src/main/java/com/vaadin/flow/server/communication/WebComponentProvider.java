@@ -32,6 +32,7 @@ import org.slf4j.LoggerFactory;
 
 import com.vaadin.flow.component.Component;
 import com.vaadin.flow.component.webcomponent.WebComponentConfiguration;
+import com.vaadin.flow.server.HandlerHelper.RequestType;
 import com.vaadin.flow.server.SynchronizedRequestHandler;
 import com.vaadin.flow.server.VaadinRequest;
 import com.vaadin.flow.server.VaadinResponse;
@@ -66,6 +67,12 @@ public class WebComponentProvider extends SynchronizedRequestHandler {
     // tag name -> generated html
     private Map<String, String> cache = new HashMap<>();
 
+    @Override
+    public boolean canHandleRequestType(RequestType requestType) {
+        // Only handles requests to specific paths
+        return requestType == null;
+    }
+
     @Override
     protected boolean canHandleRequest(VaadinRequest request) {
         String pathInfo = request.getPathInfo();
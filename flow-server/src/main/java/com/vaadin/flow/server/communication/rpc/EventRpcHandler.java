@@ -16,11 +16,14 @@
 package com.vaadin.flow.server.communication.rpc;
 
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 import com.vaadin.flow.dom.DomEvent;
 import com.vaadin.flow.dom.Element;
 import com.vaadin.flow.internal.StateNode;
 import com.vaadin.flow.internal.nodefeature.ElementListenerMap;
+import com.vaadin.flow.server.VaadinRequest;
+import com.vaadin.flow.server.VaadinService;
 import com.vaadin.flow.shared.JsonConstants;
 
 import elemental.json.Json;
@@ -56,9 +59,29 @@ public class EventRpcHandler extends AbstractRpcInvocationHandler {
 
         DomEvent event = new DomEvent(Element.get(node), eventType, eventData);
 
-        node.getFeature(ElementListenerMap.class).fireEvent(event);
+        node.getFeature(ElementListenerMap.class).fireEvent(event,
+                getEventAge());
 
         return Optional.empty();
     }
 
+    /**
+     * Gets the time that the events of the current request have been waiting
+     * to be handled, e.g. for the session lock.
+     *
+     * @return the time in milliseconds since the framework started handling
+     *         the current request, or 0 if not known
+     */
+    private static long getEventAge() {
+        VaadinRequest request = VaadinRequest.getCurrent();
+        if (request == null) {
+            return 0;
+        }
+        long startTime = VaadinService.getRequestStartTime(request);
+        if (startTime < 0) {
+            return 0;
+        }
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+    }
+
 }
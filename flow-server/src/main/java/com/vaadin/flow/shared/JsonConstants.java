@@ -315,6 +315,15 @@ public class JsonConstants implements Serializable {
      */
     public static final String SYNCHRONIZE_PROPERTY_TOKEN = "}";
 
+    /**
+     * Token used as an event data expression to represent that events that
+     * have been superseded by a later event of the same type from the same
+     * element may be left out when sending events to the server. The token is
+     * chosen to avoid collisions with regular event data expressions by using a
+     * character that cannot be the start of a valid JS expression.
+     */
+    public static final String COALESCE_EVENT_TOKEN = "]";
+
     /**
      * RPC type value used for return channel messages.
      */
@@ -59,6 +59,21 @@ public class ComponentMetaDataTest {
         }
     }
 
+    public static class AttachHandlerSubClass extends Sample {
+
+        @Override
+        protected void onAttach(AttachEvent attachEvent) {
+        }
+    }
+
+    public static class FireEventSubClass extends AttachHandlerSubClass {
+
+        @Override
+        protected void fireEvent(ComponentEvent<?> componentEvent) {
+            super.fireEvent(componentEvent);
+        }
+    }
+
     public static class ChangeSyncProperty extends Sample {
 
         @Override
@@ -162,6 +177,23 @@ public class ComponentMetaDataTest {
         Assert.assertEquals("baz", events.get(0));
     }
 
+    @Test
+    public void handlesAttach_overriddenHandlersDetected() {
+        ComponentMetaData sample = new ComponentMetaData(Sample.class);
+        Assert.assertFalse(sample.handlesAttach());
+        Assert.assertFalse(sample.handlesDetach());
+
+        ComponentMetaData onAttach = new ComponentMetaData(
+                AttachHandlerSubClass.class);
+        Assert.assertTrue(onAttach.handlesAttach());
+        Assert.assertFalse(onAttach.handlesDetach());
+
+        ComponentMetaData fireEvent = new ComponentMetaData(
+                FireEventSubClass.class);
+        Assert.assertTrue(fireEvent.handlesAttach());
+        Assert.assertTrue(fireEvent.handlesDetach());
+    }
+
     private void assertFooProperty(Class<? extends Component> clazz) {
         assertFooProperty(clazz, DisabledUpdateMode.ONLY_WHEN_ENABLED);
     }
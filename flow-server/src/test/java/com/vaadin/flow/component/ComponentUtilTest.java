@@ -15,6 +15,8 @@
  */
 package com.vaadin.flow.component;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -23,6 +25,27 @@ import com.vaadin.flow.component.ComponentTest.TestDiv;
 public class ComponentUtilTest {
     private Component component = new TestDiv();
 
+    @Tag("div")
+    private static class Container extends Component
+            implements HasComponents {
+    }
+
+    @Tag("div")
+    private static class AttachCounter extends Component {
+        private int attachCount;
+        private int detachCount;
+
+        @Override
+        protected void onAttach(AttachEvent attachEvent) {
+            attachCount++;
+        }
+
+        @Override
+        protected void onDetach(DetachEvent detachEvent) {
+            detachCount++;
+        }
+    }
+
     @Test
     public void setData_byString() {
         Assert.assertNull("There should initially not be any value",
@@ -71,4 +94,35 @@ public class ComponentUtilTest {
                 "Storage should be cleared after removing the last attribute",
                 component.attributes);
     }
+
+    @Test(timeout = 10000)
+    public void attachDetach_largeSubtree_handlersAndListenersInvoked() {
+        UI ui = new UI();
+        Container root = new Container();
+        AttachCounter counter = new AttachCounter();
+        AtomicInteger attachEvents = new AtomicInteger();
+        AtomicInteger detachEvents = new AtomicInteger();
+        Container parent = root;
+        for (int i = 0; i < 100; i++) {
+            Container child = new Container();
+            parent.add(child);
+            for (int j = 0; j < 100; j++) {
+                parent.add(new Container());
+            }
+            parent = child;
+        }
+        parent.add(counter);
+        parent.addAttachListener(event -> attachEvents.incrementAndGet());
+        parent.addDetachListener(event -> detachEvents.incrementAndGet());
+
+        for (int i = 0; i < 20; i++) {
+            ui.add(root);
+            ui.remove(root);
+        }
+
+        Assert.assertEquals(20, counter.attachCount);
+        Assert.assertEquals(20, counter.detachCount);
+        Assert.assertEquals(20, attachEvents.get());
+        Assert.assertEquals(20, detachEvents.get());
+    }
 }
@@ -1,5 +1,6 @@
 package com.vaadin.flow.component.internal;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -19,13 +20,16 @@ import com.vaadin.flow.component.PushConfiguration;
 import com.vaadin.flow.component.Tag;
 import com.vaadin.flow.component.Text;
 import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.internal.UIInternals.JavaScriptInvocation;
 import com.vaadin.flow.component.page.Push;
 import com.vaadin.flow.di.DefaultInstantiator;
 import com.vaadin.flow.dom.Element;
 import com.vaadin.flow.function.DeploymentConfiguration;
+import com.vaadin.flow.internal.StateNode;
 import com.vaadin.flow.router.Location;
 import com.vaadin.flow.router.Route;
 import com.vaadin.flow.router.RouterLayout;
+import com.vaadin.flow.server.MemoryFootprint;
 import com.vaadin.flow.server.VaadinContext;
 import com.vaadin.flow.server.VaadinService;
 import com.vaadin.flow.shared.Registration;
@@ -74,6 +78,29 @@ public class UIInternalsTest {
         Mockito.when(ui.getSession()).thenReturn(session);
     }
 
+    @Test
+    public void getMemoryFootprint_includesNodesAndContributors() {
+        UI ui = new UI();
+        UIInternals uiInternals = ui.getInternals();
+        MemoryFootprint initial = uiInternals.getMemoryFootprint();
+
+        ui.getElement().appendChild(new Element("div"), new Element("span"));
+        MemoryFootprint withChildren = uiInternals.getMemoryFootprint();
+
+        Assert.assertEquals(initial.getNodeCount() + 2,
+                withChildren.getNodeCount());
+        Assert.assertTrue(withChildren.getNodeSize() > initial.getNodeSize());
+
+        Registration registration = uiInternals
+                .addMemoryFootprintContributor(() -> 1000);
+        Assert.assertEquals(withChildren.getOtherSize() + 1000,
+                uiInternals.getMemoryFootprint().getOtherSize());
+
+        registration.remove();
+        Assert.assertEquals(withChildren.getOtherSize(),
+                uiInternals.getMemoryFootprint().getOtherSize());
+    }
+
     @Test
     public void heartbeatTimestampSet_heartbeatListenersAreCalled() {
         List<Long> heartbeats = new ArrayList<>();
@@ -158,6 +185,62 @@ public class UIInternalsTest {
                 .setTransport(Mockito.any());
     }
 
+    @Test
+    public void dumpPendingJavaScriptInvocations_sameCoalescingKey_onlyLastSent() {
+        StateNode node = internals.getStateTree().getRootNode();
+        List<PendingJavaScriptInvocation> invocations = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            invocations.add(addInvocation(node, "data", "setData($0)", i));
+        }
+        addInvocation(node, "title", "setTitle($0)", "Sales");
+        addInvocation(node, null, "redraw()");
+
+        List<PendingJavaScriptInvocation> sent = internals
+                .dumpPendingJavaScriptInvocations();
+
+        Assert.assertEquals(3, sent.size());
+        Assert.assertSame(invocations.get(199), sent.get(0));
+        Assert.assertEquals("setTitle($0)",
+                sent.get(1).getInvocation().getExpression());
+        Assert.assertTrue(invocations.get(0).isCanceled());
+    }
+
+    @Test
+    public void dumpPendingJavaScriptInvocations_subscribedOrOtherNode_notCoalesced() {
+        StateNode node = internals.getStateTree().getRootNode();
+        StateNode otherNode = new StateNode();
+        AtomicReference<String> error = new AtomicReference<>();
+
+        PendingJavaScriptInvocation subscribed = addInvocation(node, "data",
+                "setData($0)", 1);
+        subscribed.then(value -> {
+        }, error::set);
+        addInvocation(otherNode, "data", "setData($0)", 2);
+        addInvocation(node, "data", "setData($0)", 3);
+
+        Assert.assertEquals(3,
+                internals.dumpPendingJavaScriptInvocations().size());
+        Assert.assertNull(error.get());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void setCoalescingKey_sentToBrowser_throws() {
+        PendingJavaScriptInvocation invocation = addInvocation(
+                internals.getStateTree().getRootNode(), null, "redraw()");
+        internals.dumpPendingJavaScriptInvocations();
+
+        invocation.setCoalescingKey("redraw");
+    }
+
+    private PendingJavaScriptInvocation addInvocation(StateNode node,
+            String key, String expression, Serializable... parameters) {
+        PendingJavaScriptInvocation invocation = new PendingJavaScriptInvocation(
+                node, new JavaScriptInvocation(expression, parameters));
+        invocation.setCoalescingKey(key);
+        internals.addJavaScriptInvocation(invocation);
+        return invocation;
+    }
+
     @Test
     public void showRouteTarget_clientSideBootstrap() {
         PushConfiguration pushConfig = setUpInitialPush();
@@ -0,0 +1,169 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.dom;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.lang3.SerializationUtils;
+import org.hamcrest.CoreMatchers;
+import org.hamcrest.MatcherAssert;
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.internal.PendingJavaScriptInvocation;
+import com.vaadin.tests.util.MockUI;
+
+public class ElementTemplateTest {
+
+    private static final String CARD = "<div class='card' title='Product'>"
+            + "<h3><slot name='title'></slot></h3><p>Static text</p>"
+            + "<slot></slot></div>";
+
+    private final ElementTemplate template = new ElementTemplate(CARD);
+
+    @Test
+    public void create_rootTagAndAttributesCopied() {
+        Element element = template.create();
+
+        Assert.assertEquals("div", element.getTag());
+        Assert.assertEquals("card", element.getAttribute("class"));
+        Assert.assertEquals("Product", element.getAttribute("title"));
+        Assert.assertEquals(0, element.getChildCount());
+        Assert.assertEquals(
+                "<h3><slot name=\"title\"></slot></h3><p>Static text</p><slot></slot>",
+                template.getInnerHtml());
+    }
+
+    @Test
+    public void of_element_sameAsHtml() {
+        Element root = ElementFactory.createDiv();
+        root.setAttribute("class", "card");
+        root.appendChild(ElementFactory.createSpan("Static text"));
+
+        ElementTemplate fromElement = ElementTemplate.of(root);
+
+        Assert.assertEquals(new ElementTemplate(
+                "<div class='card'><span>Static text</span></div>").getId(),
+                fromElement.getId());
+        Assert.assertEquals("div", fromElement.getTag());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructor_severalRootElements_throws() {
+        new ElementTemplate("<div></div><div></div>");
+    }
+
+    @Test
+    public void constructor_shadowHostRoots_accepted() {
+        for (String tag : Arrays.asList("div", "span", "p", "section",
+                "article", "h1", "h6", "nav", "my-card")) {
+            Assert.assertEquals(tag, new ElementTemplate(
+                    "<" + tag + "><slot></slot></" + tag + ">").getTag());
+        }
+    }
+
+    @Test
+    public void constructor_rootWithoutShadowRootSupport_throws() {
+        for (String tag : Arrays.asList("li", "ul", "a", "button", "table",
+                "img", "font-face")) {
+            try {
+                new ElementTemplate("<" + tag + "></" + tag + ">");
+                Assert.fail("Expected an exception for <" + tag + ">");
+            } catch (IllegalArgumentException e) {
+                MatcherAssert.assertThat(e.getMessage(),
+                        CoreMatchers.containsString("<" + tag + ">"));
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void of_rootWithoutShadowRootSupport_throws() {
+        Element row = new Element("tr");
+        row.appendChild(new Element("td").setText("Static text"));
+
+        ElementTemplate.of(row);
+    }
+
+    @Test
+    public void attach_manyInstances_templateSentOnce() {
+        UI ui = new MockUI();
+        for (int i = 0; i < 100; i++) {
+            Element element = template.create();
+            element.appendChild(ElementFactory.createSpan("Product " + i)
+                    .setAttribute("slot", "title"));
+            ui.getElement().appendChild(element);
+        }
+
+        List<PendingJavaScriptInvocation> invocations = dumpInvocations(ui);
+
+        Assert.assertEquals(101, invocations.size());
+        Assert.assertEquals(template.getInnerHtml(), invocations.get(0)
+                .getInvocation().getParameters().get(1));
+        invocations.subList(1, invocations.size())
+                .forEach(invocation -> Assert.assertEquals("elementTemplate",
+                        invocation.getCoalescingKey()));
+
+        // Only the instances and their dynamic children have state nodes
+        AtomicInteger nodeCount = new AtomicInteger();
+        ui.getElement().getNode().visitNodeTree(
+                node -> nodeCount.incrementAndGet());
+        Assert.assertTrue(nodeCount.get() < 100 * 3 + 10);
+    }
+
+    @Test
+    public void reattach_templateNotSentAgain_renderedAgain() {
+        UI ui = new MockUI();
+        Element element = template.create();
+        ui.getElement().appendChild(element);
+        dumpInvocations(ui);
+
+        ui.getElement().removeChild(element);
+        ui.getElement().appendChild(element);
+        List<PendingJavaScriptInvocation> invocations = dumpInvocations(ui);
+
+        Assert.assertEquals(1, invocations.size());
+        Assert.assertEquals(template.getId(),
+                invocations.get(0).getInvocation().getParameters().get(0));
+    }
+
+    @Test
+    public void attach_otherUI_templateSentAgain() {
+        UI ui = new MockUI();
+        ui.getElement().appendChild(template.create());
+        dumpInvocations(ui);
+
+        UI other = new MockUI();
+        other.getElement().appendChild(template.create());
+
+        Assert.assertEquals(2, dumpInvocations(other).size());
+    }
+
+    @Test
+    public void serializeTemplateInstance() {
+        Element element = template.create();
+        Element deserialized = SerializationUtils.roundtrip(element);
+
+        Assert.assertEquals("card", deserialized.getAttribute("class"));
+    }
+
+    private static List<PendingJavaScriptInvocation> dumpInvocations(UI ui) {
+        ui.getInternals().getStateTree().runExecutionsBeforeClientResponse();
+        return ui.getInternals().dumpPendingJavaScriptInvocations();
+    }
+}
@@ -0,0 +1,215 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.i18n;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import com.vaadin.flow.component.Component;
+import com.vaadin.flow.component.Tag;
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.di.Instantiator;
+import com.vaadin.flow.internal.CurrentInstance;
+import com.vaadin.flow.server.VaadinService;
+
+public class TranslationCacheTest {
+
+    private static class CountingProvider implements I18NProvider {
+        private final List<String> requests = new ArrayList<>();
+
+        @Override
+        public List<Locale> getProvidedLocales() {
+            return Collections.singletonList(Locale.ENGLISH);
+        }
+
+        @Override
+        public String getTranslation(String key, Locale locale,
+                Object... params) {
+            requests.add(key);
+            StringBuilder translation = new StringBuilder(key).append('_')
+                    .append(locale);
+            for (Object param : params) {
+                translation.append('_').append(param);
+            }
+            return translation.toString();
+        }
+    }
+
+    @Tag("div")
+    private static class TranslatedComponent extends Component
+            implements LocaleChangeObserver {
+        private String text;
+
+        @Override
+        public void localeChange(LocaleChangeEvent event) {
+            text = getTranslation("title");
+        }
+    }
+
+    private enum Unit {
+        KG
+    }
+
+    private final CountingProvider provider = new CountingProvider();
+
+    private final TranslationCache cache = new TranslationCache();
+
+    @After
+    public void clearCurrentInstances() {
+        CurrentInstance.clearAll();
+    }
+
+    @Test
+    public void getTranslation_sameArguments_providerCalledOnce() {
+        String first = cache.getTranslation(provider, "count", Locale.ENGLISH,
+                3, "items", Unit.KG);
+        String second = cache.getTranslation(provider, "count",
+                Locale.ENGLISH, 3, "items", Unit.KG);
+
+        Assert.assertEquals("count_en_3_items_KG", first);
+        Assert.assertSame(first, second);
+        Assert.assertEquals(1, provider.requests.size());
+        Assert.assertEquals(1, cache.getHitCount());
+        Assert.assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    public void getTranslation_differentArguments_cachedSeparately() {
+        cache.getTranslation(provider, "count", Locale.ENGLISH, 3);
+        cache.getTranslation(provider, "count", Locale.ENGLISH, 3L);
+        cache.getTranslation(provider, "count", Locale.GERMAN, 3);
+        cache.getTranslation(provider, "count", Locale.ENGLISH, 4);
+        cache.getTranslation(provider, "other", Locale.ENGLISH, 3);
+
+        Assert.assertEquals(5, provider.requests.size());
+        Assert.assertEquals(5, cache.size());
+    }
+
+    @Test
+    public void getTranslation_mutableParameter_notCached() {
+        Date date = new Date(0);
+        cache.getTranslation(provider, "date", Locale.ENGLISH, date);
+        date.setTime(1000);
+        String translation = cache.getTranslation(provider, "date",
+                Locale.ENGLISH, date);
+
+        Assert.assertEquals("date_en_" + date, translation);
+        Assert.assertEquals(2, provider.requests.size());
+        Assert.assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void getTranslation_parameterArrayModified_cachedKeyUnchanged() {
+        Object[] params = { "a" };
+        cache.getTranslation(provider, "key", Locale.ENGLISH, params);
+        params[0] = "b";
+
+        Assert.assertEquals("key_en_b",
+                cache.getTranslation(provider, "key", Locale.ENGLISH, params));
+    }
+
+    @Test
+    public void getTranslation_differentProvider_cacheCleared() {
+        cache.getTranslation(provider, "key", Locale.ENGLISH);
+        CountingProvider other = new CountingProvider();
+        cache.getTranslation(other, "key", Locale.ENGLISH);
+
+        Assert.assertEquals(1, other.requests.size());
+        Assert.assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void getTranslation_cacheFull_sizeBounded() {
+        TranslationCache smallCache = new TranslationCache(8);
+        for (int i = 0; i < 100; i++) {
+            smallCache.getTranslation(provider, "key" + i, Locale.ENGLISH);
+            Assert.assertTrue(smallCache.size() <= 8);
+        }
+    }
+
+    @Test
+    public void runWithCache_noServiceCache_temporaryCacheShared() {
+        Assert.assertNull(TranslationCache.getCurrent());
+
+        List<TranslationCache> caches = new ArrayList<>();
+        TranslationCache.runWithCache(() -> {
+            caches.add(TranslationCache.getCurrent());
+            TranslationCache.runWithCache(
+                    () -> caches.add(TranslationCache.getCurrent()));
+        });
+
+        Assert.assertNotNull(caches.get(0));
+        Assert.assertSame(caches.get(0), caches.get(1));
+        Assert.assertNull(TranslationCache.getCurrent());
+    }
+
+    @Test
+    public void setLocale_manyObservers_keyTranslatedOncePerLocale() {
+        VaadinService service = mockService(null);
+        UI ui = new UI();
+        UI.setCurrent(ui);
+        List<TranslatedComponent> components = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            TranslatedComponent component = new TranslatedComponent();
+            components.add(component);
+            ui.add(component);
+        }
+        // Observers are also informed when attached
+        provider.requests.clear();
+
+        ui.setLocale(Locale.GERMAN);
+        ui.setLocale(Locale.FRENCH);
+
+        Assert.assertEquals(2, provider.requests.size());
+        components.forEach(component -> Assert.assertEquals("title_fr",
+                component.text));
+        Assert.assertNull(service.getTranslationCache());
+        // No caching outside of the locale change without a service cache
+        components.get(0).getTranslation("title");
+        Assert.assertEquals(3, provider.requests.size());
+    }
+
+    @Test
+    public void getTranslation_serviceCacheEnabled_serviceCacheUsed() {
+        mockService(cache);
+        TranslatedComponent component = new TranslatedComponent();
+
+        Assert.assertSame(cache, TranslationCache.getCurrent());
+        component.getTranslation("title", Locale.ENGLISH);
+        component.getTranslation("title", Locale.ENGLISH);
+
+        Assert.assertEquals(1, provider.requests.size());
+        Assert.assertEquals(1, cache.getHitCount());
+    }
+
+    private VaadinService mockService(TranslationCache serviceCache) {
+        Instantiator instantiator = Mockito.mock(Instantiator.class);
+        Mockito.when(instantiator.getI18NProvider()).thenReturn(provider);
+        VaadinService service = Mockito.mock(VaadinService.class);
+        Mockito.when(service.getInstantiator()).thenReturn(instantiator);
+        Mockito.when(service.getTranslationCache()).thenReturn(serviceCache);
+        VaadinService.setCurrent(service);
+        return service;
+    }
+}
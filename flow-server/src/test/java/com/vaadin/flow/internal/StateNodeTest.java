@@ -124,6 +124,17 @@ public class StateNodeTest {
                 node.hasFeature(ElementPropertyMap.class));
     }
 
+    @Test
+    public void getEstimatedSize_includesInitializedFeatures() {
+        StateNode node = createTestNode("Properties",
+                ElementPropertyMap.class);
+        long empty = node.getEstimatedSize();
+
+        node.getFeature(ElementPropertyMap.class).setProperty("foo", "bar");
+
+        Assert.assertTrue(node.getEstimatedSize() > empty);
+    }
+
     @Test(expected = IllegalStateException.class)
     public void getMissingFeatureThrows() {
         StateNode node = new StateNode(ElementData.class);
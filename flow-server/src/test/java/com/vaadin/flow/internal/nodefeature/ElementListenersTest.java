@@ -337,6 +337,81 @@ public class ElementListenersTest
         registration.synchronizeProperty("");
     }
 
+    @Test
+    public void setCoalescing_hasExpressionToken() {
+        DomListenerRegistration registration = ns.add("foo", noOp);
+
+        Assert.assertFalse(registration.isCoalescing());
+
+        registration.setCoalescing(true);
+
+        Assert.assertTrue(registration.isCoalescing());
+        Assert.assertEquals(
+                Collections.singleton(JsonConstants.COALESCE_EVENT_TOKEN),
+                getExpressions("foo"));
+
+        registration.setCoalescing(false);
+
+        Assert.assertEquals(Collections.emptySet(), getExpressions("foo"));
+    }
+
+    @Test
+    public void setCoalescing_notAllListenersCoalescing_noExpressionToken() {
+        ns.add("foo", noOp).setCoalescing(true);
+        DomListenerRegistration registration = ns.add("foo", e -> {
+            // no op
+        });
+
+        Assert.assertFalse(getExpressions("foo")
+                .contains(JsonConstants.COALESCE_EVENT_TOKEN));
+
+        registration.remove();
+
+        Assert.assertTrue(getExpressions("foo")
+                .contains(JsonConstants.COALESCE_EVENT_TOKEN));
+    }
+
+    @Test
+    public void serverThrottle_eventsWithinPeriodDropped() {
+        AtomicInteger eventCount = new AtomicInteger();
+        DomListenerRegistration registration = ns
+                .add("foo", e -> eventCount.incrementAndGet())
+                .serverThrottle(60000);
+
+        Assert.assertEquals(60000, registration.getServerThrottle());
+
+        ns.fireEvent(createEvent("foo"));
+        ns.fireEvent(createEvent("foo"));
+        ns.fireEvent(createEvent("foo"));
+
+        Assert.assertEquals(1, eventCount.get());
+        Assert.assertEquals(2, registration.getDroppedEventCount());
+
+        registration.serverThrottle(0);
+        ns.fireEvent(createEvent("foo"));
+
+        Assert.assertEquals(2, eventCount.get());
+    }
+
+    @Test
+    public void maxEventAge_olderEventsDropped() {
+        AtomicInteger eventCount = new AtomicInteger();
+        DomListenerRegistration registration = ns
+                .add("foo", e -> eventCount.incrementAndGet())
+                .setMaxEventAge(1000);
+
+        ns.fireEvent(createEvent("foo"), 500);
+        ns.fireEvent(createEvent("foo"), 1500);
+
+        Assert.assertEquals(1, eventCount.get());
+        Assert.assertEquals(1, registration.getDroppedEventCount());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void serverThrottle_negativePeriod_illegalArgumentException() {
+        ns.add("foo", noOp).serverThrottle(-1);
+    }
+
     // Helper for accessing package private API from other tests
     public static Set<String> getExpressions(
             ElementListenerMap elementListenerMap, String eventName) {
@@ -18,6 +18,7 @@ package com.vaadin.flow.internal.nodefeature;
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -392,6 +393,99 @@ public class NodeMapTest
         Assert.assertTrue(nodeMap.usesSingleMap());
     }
 
+    @Test
+    public void put_fewValues_usesArrayMap() {
+        nodeMap.put("foo", "bar");
+        nodeMap.put("baz", "qux");
+
+        Assert.assertTrue(nodeMap.usesArrayMap());
+        Assert.assertEquals("bar", nodeMap.get("foo"));
+        Assert.assertEquals("qux", nodeMap.get("baz"));
+        Assert.assertEquals(2, nodeMap.keySet().size());
+        Assert.assertTrue(nodeMap.keySet().contains("baz"));
+
+        nodeMap.remove("foo");
+
+        Assert.assertTrue(nodeMap.usesArrayMap());
+        Assert.assertFalse(nodeMap.contains("foo"));
+        Assert.assertEquals("qux", nodeMap.get("baz"));
+
+        nodeMap.remove("baz");
+
+        Assert.assertTrue(nodeMap.keySet().isEmpty());
+    }
+
+    @Test
+    public void put_manyValues_switchesToHashMap() {
+        for (int i = 0; i < 20; i++) {
+            nodeMap.put("key" + i, Integer.valueOf(i));
+        }
+
+        Assert.assertFalse(nodeMap.usesSingleMap());
+        Assert.assertFalse(nodeMap.usesArrayMap());
+        Assert.assertEquals(20, nodeMap.keySet().size());
+        for (int i = 0; i < 20; i++) {
+            Assert.assertEquals(Integer.valueOf(i), nodeMap.get("key" + i));
+        }
+    }
+
+    @Test
+    public void keySet_arrayMap_readOnlyViewInInsertionOrder() {
+        nodeMap.put("foo", "bar");
+        nodeMap.put("baz", "qux");
+        Set<String> keys = nodeMap.keySet();
+
+        Assert.assertEquals(Arrays.asList("foo", "baz"),
+                new ArrayList<>(keys));
+        Assert.assertSame(keys, nodeMap.keySet());
+
+        nodeMap.put("abc", "def");
+        Assert.assertEquals(Arrays.asList("foo", "baz", "abc"),
+                new ArrayList<>(keys));
+
+        try {
+            keys.remove("foo");
+            Assert.fail("Key set should be read-only");
+        } catch (UnsupportedOperationException expected) {
+            // Expected
+        }
+    }
+
+    @Test
+    public void keySet_switchesToHashMap_insertionOrderKept() {
+        List<String> expected = new ArrayList<>();
+        for (int i = 20; i > 0; i--) {
+            nodeMap.put("key" + i, Integer.valueOf(i));
+            expected.add("key" + i);
+            Assert.assertEquals(expected, new ArrayList<>(nodeMap.keySet()));
+        }
+    }
+
+    @Test
+    public void getEstimatedSize_growsWithValues() {
+        long empty = nodeMap.getEstimatedSize();
+        nodeMap.put("foo", "bar");
+        long single = nodeMap.getEstimatedSize();
+        nodeMap.put("baz", "qux");
+        long array = nodeMap.getEstimatedSize();
+
+        Assert.assertTrue(empty < single);
+        Assert.assertTrue(single < array);
+    }
+
+    @Test
+    public void updateFromClient_noPendingChanges_noChangeTrackerCreated() {
+        StateNode node = new StateNode(ElementPropertyMap.class);
+        ElementPropertyMap map = node.getFeature(ElementPropertyMap.class);
+        map.setUpdateFromClientFilter(key -> true);
+        node.clearChanges();
+
+        map.updateFromClient("foo", "bar");
+
+        Assert.assertEquals("bar", map.getProperty("foo"));
+        Assert.assertFalse(node.hasChangeTracker(map));
+    }
+
     @Test
     public void streamSingleNullValue() {
         nodeMap.put("foo", null);
@@ -51,6 +51,7 @@ import com.vaadin.flow.router.NavigationState;
 import com.vaadin.flow.router.NavigationStateBuilder;
 import com.vaadin.flow.router.NavigationTrigger;
 import com.vaadin.flow.router.ParentLayout;
+import com.vaadin.flow.router.Poolable;
 import com.vaadin.flow.router.PreserveOnRefresh;
 import com.vaadin.flow.router.QueryParameters;
 import com.vaadin.flow.router.Route;
@@ -107,6 +108,14 @@ public class NavigationStateRendererTest {
         }
     }
 
+    @Route(value = "pooled")
+    @Poolable(maxSize = 1)
+    public static class PooledView extends Text {
+        public PooledView() {
+            super("");
+        }
+    }
+
     private Router router;
 
     @Rule
@@ -664,4 +673,121 @@ public class NavigationStateRendererTest {
                 "No pushState invocation is expected when navigating to the current location.",
                 pushStateCalled.get());
     }
+
+    @Test
+    public void handle_poolableView_instanceReusedAfterNavigatingAway() {
+        MockVaadinServletService service = createMockServiceWithInstantiator();
+        MockVaadinSession session = new AlwaysLockedVaadinSession(service);
+        session.setConfiguration(new MockDeploymentConfiguration());
+        MockUI ui = new MockUI(session);
+        NavigationStateRenderer pooledRenderer = new NavigationStateRenderer(
+                navigationStateFromTarget(PooledView.class));
+        NavigationStateRenderer regularRenderer = new NavigationStateRenderer(
+                navigationStateFromTarget(RegularView.class));
+
+        pooledRenderer.handle(createNavigationEvent(ui, "pooled"));
+        HasElement first = ui.getInternals().getActiveRouterTargetsChain()
+                .get(0);
+        AtomicInteger detachCount = new AtomicInteger();
+        ((Component) first)
+                .addDetachListener(event -> detachCount.incrementAndGet());
+
+        regularRenderer.handle(createNavigationEvent(ui, "regular"));
+        RouteTargetPool pool = RouteTargetPool.get(session);
+        Assert.assertEquals(1, detachCount.get());
+        Assert.assertEquals(1, pool.size());
+
+        pooledRenderer.handle(createNavigationEvent(ui, "pooled"));
+
+        Assert.assertSame(first,
+                ui.getInternals().getActiveRouterTargetsChain().get(0));
+        Assert.assertTrue(((Component) first).isAttached());
+        Assert.assertEquals(0, pool.size());
+        Assert.assertEquals(1, pool.getHitCount());
+        Assert.assertEquals(1, pool.getMissCount());
+    }
+
+    @Test
+    public void clearOrphanedPreservedChains_chainsOfOpenUIsKept() {
+        MockVaadinServletService service = createMockServiceWithInstantiator();
+        MockVaadinSession session = new AlwaysLockedVaadinSession(service);
+        session.setConfiguration(new MockDeploymentConfiguration());
+
+        PreservedView shown = new PreservedView();
+        new MockUI(session).add(shown);
+        PreservedView closed = new PreservedView();
+        MockUI closedUI = new MockUI(session);
+        closedUI.add(closed);
+        closedUI.close();
+        PreservedView detached = new PreservedView();
+
+        AbstractNavigationStateRenderer.setPreservedChain(session, "ROOT.1",
+                new Location("preserved"),
+                new ArrayList<>(Arrays.asList(shown)));
+        AbstractNavigationStateRenderer.setPreservedChain(session, "ROOT.2",
+                new Location("preserved"),
+                new ArrayList<>(Arrays.asList(closed)));
+        AbstractNavigationStateRenderer.setPreservedChain(session, "ROOT.3",
+                new Location("preserved"),
+                new ArrayList<>(Arrays.asList(detached)));
+
+        Assert.assertEquals(2, AbstractNavigationStateRenderer
+                .clearOrphanedPreservedChains(session));
+
+        Assert.assertTrue(AbstractNavigationStateRenderer
+                .getPreservedChain(session, "ROOT.1",
+                        new Location("preserved"))
+                .isPresent());
+        Assert.assertFalse(AbstractNavigationStateRenderer
+                .getPreservedChain(session, "ROOT.2",
+                        new Location("preserved"))
+                .isPresent());
+        Assert.assertFalse(AbstractNavigationStateRenderer
+                .getPreservedChain(session, "ROOT.3",
+                        new Location("preserved"))
+                .isPresent());
+    }
+
+    @Test
+    public void handle_poolableViewOfOtherUI_newInstanceCreated() {
+        MockVaadinServletService service = createMockServiceWithInstantiator();
+        MockVaadinSession session = new AlwaysLockedVaadinSession(service);
+        session.setConfiguration(new MockDeploymentConfiguration());
+        MockUI ui = new MockUI(session);
+        MockUI otherUi = new MockUI(session);
+        NavigationStateRenderer pooledRenderer = new NavigationStateRenderer(
+                navigationStateFromTarget(PooledView.class));
+
+        pooledRenderer.handle(createNavigationEvent(ui, "pooled"));
+        HasElement first = ui.getInternals().getActiveRouterTargetsChain()
+                .get(0);
+        new NavigationStateRenderer(
+                navigationStateFromTarget(RegularView.class))
+                        .handle(createNavigationEvent(ui, "regular"));
+
+        pooledRenderer.handle(createNavigationEvent(otherUi, "pooled"));
+
+        // Detached nodes still belong to the state tree of the first UI
+        Assert.assertNotSame(first,
+                otherUi.getInternals().getActiveRouterTargetsChain().get(0));
+        Assert.assertEquals(1, RouteTargetPool.get(session).size());
+
+        // Instances of closed UIs are replaced by new ones that have never
+        // been attached
+        ui.close();
+        RouteTargetPool pool = RouteTargetPool.get(session);
+        Assert.assertEquals(1, pool.prewarm(otherUi, PooledView.class, 5));
+        Assert.assertEquals(1, pool.size());
+
+        new NavigationStateRenderer(
+                navigationStateFromTarget(RegularView.class))
+                        .handle(createNavigationEvent(otherUi, "regular"));
+        pooledRenderer.handle(createNavigationEvent(otherUi, "pooled"));
+        Assert.assertEquals(1, pool.getHitCount());
+    }
+
+    private static NavigationEvent createNavigationEvent(UI ui, String path) {
+        return new NavigationEvent(new Router(new TestRouteRegistry()),
+                new Location(path), ui, NavigationTrigger.PROGRAMMATIC);
+    }
 }
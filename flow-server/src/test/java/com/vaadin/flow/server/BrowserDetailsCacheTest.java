@@ -0,0 +1,159 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import com.vaadin.flow.shared.BrowserDetails;
+
+public class BrowserDetailsCacheTest {
+
+    private static final List<String> USER_AGENTS = Arrays.asList(
+            "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/80.0.3987.132 Safari/537.36",
+            "Mozilla/5.0 (Macintosh; Intel Mac OS X 10_15_3) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/80.0.3987.132 Safari/537.36",
+            "Mozilla/5.0 (X11; Linux x86_64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/79.0.3945.130 Safari/537.36",
+            "Mozilla/5.0 (X11; CrOS x86_64 6457.31.0) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/40.0.2214.38 Safari/537.36",
+            "Mozilla/5.0 (Windows NT 10.0; Win64; x64; rv:73.0) Gecko/20100101 Firefox/73.0",
+            "Mozilla/5.0 (X11; Ubuntu; Linux x86_64; rv:72.0) Gecko/20100101 Firefox/72.0",
+            "Mozilla/5.0 (Android; Tablet; rv:33.0) Gecko/33.0 Firefox/33.0",
+            "Mozilla/5.0 (Macintosh; Intel Mac OS X 10_15_2) AppleWebKit/605.1.15 (KHTML, like Gecko) Version/13.0.4 Safari/605.1.15",
+            "Mozilla/5.0 (iPhone; CPU iPhone OS 13_3 like Mac OS X) AppleWebKit/605.1.15 (KHTML, like Gecko) Version/13.0.4 Mobile/15E148 Safari/604.1",
+            "Mozilla/5.0 (iPad; CPU OS 12_4 like Mac OS X) AppleWebKit/605.1.15 (KHTML, like Gecko) Version/12.1.2 Mobile/15E148 Safari/604.1",
+            "Mozilla/5.0 (iPhone; CPU iPhone OS 9_2_1 like Mac OS X) AppleWebKit/601.1 (KHTML, like Gecko) CriOS/49.0.2623.73 Mobile/13D15 Safari/601.1.46",
+            "Mozilla/5.0 (Linux; Android 10; SM-G975F) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/80.0.3987.99 Mobile Safari/537.36",
+            "Mozilla/5.0 (Linux; U; Android 2.2; en-us; Nexus One Build/FRF91) AppleWebKit/533.1 (KHTML, like Gecko) Version/4.0 Mobile Safari/533.1",
+            "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/79.0.3945.130 Safari/537.36 Edg/79.0.309.71",
+            "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/70.0.3538.102 Safari/537.36 Edge/18.18363",
+            "Mozilla/5.0 (Windows NT 6.1; Trident/7.0; SLCC2; .NET CLR 2.0.50727; .NET CLR 3.5.30729; .NET CLR 3.0.30729; Media Center PC 6.0; .NET4.0C; rv:11.0) like Gecko");
+
+    private final BrowserDetailsCache cache = new BrowserDetailsCache();
+
+    @Test
+    public void get_sameUserAgent_cachedInstanceReturned() {
+        String userAgent = USER_AGENTS.get(0);
+        BrowserDetails details = cache.get(userAgent);
+
+        Assert.assertSame(details, cache.get(new String(userAgent)));
+        Assert.assertEquals(1, cache.getHitCount());
+        Assert.assertEquals(1, cache.getMissCount());
+        Assert.assertEquals(0.5, cache.getHitRate(), 0);
+        Assert.assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void get_cachedDetails_sameAsParsedDetails() {
+        for (String userAgent : USER_AGENTS) {
+            cache.get(userAgent);
+        }
+        for (String userAgent : USER_AGENTS) {
+            Assert.assertEquals(userAgent,
+                    describe(new BrowserDetails(userAgent)),
+                    describe(cache.get(userAgent)));
+        }
+        Assert.assertEquals(USER_AGENTS.size(), cache.size());
+        Assert.assertEquals(USER_AGENTS.size(), cache.getHitCount());
+    }
+
+    @Test
+    public void get_cacheFull_sizeBounded() {
+        BrowserDetailsCache smallCache = new BrowserDetailsCache(8);
+        for (int i = 0; i < 100; i++) {
+            smallCache.get(USER_AGENTS.get(0) + " Build/" + i);
+            Assert.assertTrue(smallCache.size() <= 8);
+        }
+        Assert.assertEquals(100, smallCache.getMissCount());
+    }
+
+    @Test
+    public void get_longUserAgent_notCached() {
+        StringBuilder userAgent = new StringBuilder(USER_AGENTS.get(0));
+        while (userAgent.length() <= 512) {
+            userAgent.append(" Extension/1.0");
+        }
+
+        BrowserDetails details = cache.get(userAgent.toString());
+
+        Assert.assertTrue(details.isChrome());
+        Assert.assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void clear_metricsKept() {
+        cache.get(USER_AGENTS.get(0));
+        cache.clear();
+
+        Assert.assertEquals(0, cache.size());
+        Assert.assertEquals(1, cache.getMissCount());
+        Assert.assertEquals(0, cache.getHitRate(), 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructor_zeroMaxSize_throws() {
+        new BrowserDetailsCache(0);
+    }
+
+    @Test
+    public void webBrowser_requestWithService_usesServiceCache() {
+        VaadinService service = Mockito.mock(VaadinService.class);
+        Mockito.when(service.getBrowserDetailsCache()).thenReturn(cache);
+        VaadinRequest request = Mockito.mock(VaadinRequest.class);
+        Mockito.when(request.getService()).thenReturn(service);
+        Mockito.when(request.getHeader("User-Agent"))
+                .thenReturn(USER_AGENTS.get(4));
+
+        WebBrowser first = new WebBrowser(request);
+        WebBrowser second = new WebBrowser(request);
+
+        Assert.assertTrue(first.isFirefox());
+        Assert.assertTrue(second.isWindows());
+        Assert.assertEquals(1, cache.getMissCount());
+        Assert.assertEquals(1, cache.getHitCount());
+    }
+
+    @Test
+    public void get_loginStorm_parsedOncePerUserAgent() {
+        // Simulates a burst of new sessions from a realistic mix of browsers
+        Random random = new Random(42);
+        int lookups = 200000;
+        for (int i = 0; i < lookups; i++) {
+            cache.get(USER_AGENTS.get(random.nextInt(USER_AGENTS.size())));
+        }
+
+        Assert.assertEquals(USER_AGENTS.size(), cache.getMissCount());
+        Assert.assertEquals(lookups - USER_AGENTS.size(), cache.getHitCount());
+        Assert.assertTrue(cache.getHitRate() > 0.99);
+    }
+
+    private static String describe(BrowserDetails details) {
+        return Arrays.asList(details.isFirefox(), details.isChrome(),
+                details.isSafari(), details.isEdge(), details.isIE(),
+                details.isOpera(), details.isWebKit(), details.isGecko(),
+                details.getBrowserMajorVersion(),
+                details.getBrowserMinorVersion(),
+                details.getBrowserEngineVersion(), details.isWindows(),
+                details.isMacOSX(), details.isLinux(), details.isAndroid(),
+                details.isIPhone(), details.isChromeOS(),
+                details.getOperatingSystemMajorVersion(),
+                details.getOperatingSystemMinorVersion(),
+                details.isTooOldToFunctionProperly()).toString();
+    }
+}
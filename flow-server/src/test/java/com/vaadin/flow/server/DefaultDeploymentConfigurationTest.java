@@ -19,6 +19,8 @@ import java.util.Properties;
 
 import org.junit.Test;
 
+import com.vaadin.tests.util.MockDeploymentConfiguration;
+
 import static org.hamcrest.Matchers.is;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
@@ -154,4 +156,107 @@ public class DefaultDeploymentConfigurationTest {
                 initParameters);
         assertEquals(5000, config.getMaxMessageSuspendTimeout());
     }
+
+    @Test
+    public void clientUpdateTimeSlice_validValue_accepted() {
+        Properties initParameters = new Properties();
+        initParameters.setProperty(
+                InitParameters.SERVLET_PARAMETER_CLIENT_UPDATE_TIME_SLICE,
+                "12");
+        DefaultDeploymentConfiguration config = createDeploymentConfig(
+                initParameters);
+        assertEquals(12, config.getClientUpdateTimeSlice());
+    }
+
+    @Test
+    public void clientUpdateTimeSlice_invalidValue_defaultValue() {
+        Properties initParameters = new Properties();
+        initParameters.setProperty(
+                InitParameters.SERVLET_PARAMETER_CLIENT_UPDATE_TIME_SLICE,
+                "12ms");
+        DefaultDeploymentConfiguration config = createDeploymentConfig(
+                initParameters);
+        assertEquals(0, config.getClientUpdateTimeSlice());
+    }
+
+    @Test
+    public void clientUpdateTimeSlice_invalidValueInInterfaceDefault_defaultValue() {
+        MockDeploymentConfiguration config = new MockDeploymentConfiguration();
+        config.setApplicationOrSystemProperty(
+                InitParameters.SERVLET_PARAMETER_CLIENT_UPDATE_TIME_SLICE,
+                "12ms");
+        assertEquals(0, config.getClientUpdateTimeSlice());
+
+        config.setApplicationOrSystemProperty(
+                InitParameters.SERVLET_PARAMETER_CLIENT_UPDATE_TIME_SLICE,
+                "-12");
+        assertEquals(0, config.getClientUpdateTimeSlice());
+    }
+
+    @Test
+    public void sessionMemoryBudget_invalidValue_defaultValue() {
+        Properties initParameters = new Properties();
+        initParameters.setProperty(
+                InitParameters.SERVLET_PARAMETER_SESSION_MEMORY_BUDGET, "2MB");
+        DefaultDeploymentConfiguration config = createDeploymentConfig(
+                initParameters);
+        assertEquals(0, config.getSessionMemoryBudget());
+    }
+
+    @Test
+    public void sessionMemoryBudget_invalidValueInInterfaceDefault_defaultValue() {
+        MockDeploymentConfiguration config = new MockDeploymentConfiguration();
+        config.setApplicationOrSystemProperty(
+                InitParameters.SERVLET_PARAMETER_SESSION_MEMORY_BUDGET, "2MB");
+        assertEquals(0, config.getSessionMemoryBudget());
+
+        config.setApplicationOrSystemProperty(
+                InitParameters.SERVLET_PARAMETER_SESSION_MEMORY_BUDGET,
+                String.valueOf(Long.MAX_VALUE));
+        assertEquals(0, config.getSessionMemoryBudget());
+    }
+
+    @Test
+    public void uidlSizeWarningThreshold_validValue_accepted() {
+        Properties initParameters = new Properties();
+        initParameters.setProperty(
+                InitParameters.SERVLET_PARAMETER_UIDL_SIZE_WARNING_THRESHOLD,
+                "512");
+        DefaultDeploymentConfiguration config = createDeploymentConfig(
+                initParameters);
+        assertEquals(512, config.getUidlSizeWarningThreshold());
+    }
+
+    @Test
+    public void uidlSizeWarningThreshold_invalidValue_defaultValue() {
+        Properties initParameters = new Properties();
+        initParameters.setProperty(
+                InitParameters.SERVLET_PARAMETER_UIDL_SIZE_WARNING_THRESHOLD,
+                "512kB");
+        DefaultDeploymentConfiguration config = createDeploymentConfig(
+                initParameters);
+        assertEquals(0, config.getUidlSizeWarningThreshold());
+    }
+
+    @Test
+    public void uidlCompressionThreshold_validValue_accepted() {
+        Properties initParameters = new Properties();
+        initParameters.setProperty(
+                InitParameters.SERVLET_PARAMETER_UIDL_COMPRESSION_THRESHOLD,
+                "4096");
+        DefaultDeploymentConfiguration config = createDeploymentConfig(
+                initParameters);
+        assertEquals(4096, config.getUidlCompressionThreshold());
+    }
+
+    @Test
+    public void uidlCompressionThreshold_invalidValue_defaultValue() {
+        Properties initParameters = new Properties();
+        initParameters.setProperty(
+                InitParameters.SERVLET_PARAMETER_UIDL_COMPRESSION_THRESHOLD,
+                "4kB");
+        DefaultDeploymentConfiguration config = createDeploymentConfig(
+                initParameters);
+        assertEquals(0, config.getUidlCompressionThreshold());
+    }
 }
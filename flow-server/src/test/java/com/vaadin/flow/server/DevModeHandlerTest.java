@@ -33,9 +33,11 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicReference;
 
 import com.sun.net.httpserver.HttpServer;
@@ -370,6 +372,76 @@ public class DevModeHandlerTest {
         devModeHandler.serveDevModeRequest(request, null);
     }
 
+    @Test
+    public void serveDevModeRequest_sequentialRequests_connectionReused()
+            throws Exception {
+        Set<InetSocketAddress> clientAddresses = ConcurrentHashMap.newKeySet();
+        int port = DevModeHandler.getFreePort();
+        httpServer = HttpServer.create(new InetSocketAddress(port), 0);
+        httpServer.createContext("/", exchange -> {
+            clientAddresses.add(exchange.getRemoteAddress());
+            byte[] body = "bar".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(HTTP_OK, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        httpServer.start();
+        DevModeHandler devModeHandler = DevModeHandler.start(port,
+                configuration, npmFolder,
+                CompletableFuture.completedFuture(null));
+        devModeHandler.join();
+        clientAddresses.clear();
+
+        for (int i = 0; i < 5; i++) {
+            assertTrue(devModeHandler.serveDevModeRequest(
+                    prepareRequest("/VAADIN/foo.js"), prepareResponse()));
+        }
+
+        assertEquals(1, clientAddresses.size());
+    }
+
+    @Test
+    public void serveDevModeRequest_compressedResponse_headersPassedThrough()
+            throws Exception {
+        byte[] gzipped = { 31, -117, 8, 0, 0, 0, 0, 0, 0, 3, 3, 0, 0, 0, 0, 0,
+                0, 0, 0, 0 };
+        int port = DevModeHandler.getFreePort();
+        httpServer = HttpServer.create(new InetSocketAddress(port), 0);
+        httpServer.createContext("/", exchange -> {
+            exchange.getResponseHeaders().add("Content-Encoding", "gzip");
+            exchange.getResponseHeaders().add("Vary", "Accept-Encoding");
+            exchange.getResponseHeaders().add("Vary", "Origin");
+            // Zero length means chunked transfer encoding
+            exchange.sendResponseHeaders(HTTP_OK, 0);
+            exchange.getResponseBody().write(gzipped);
+            exchange.close();
+        });
+        httpServer.start();
+        DevModeHandler devModeHandler = DevModeHandler.start(port,
+                configuration, npmFolder,
+                CompletableFuture.completedFuture(null));
+        devModeHandler.join();
+        HttpServletResponse response = prepareResponse();
+        List<String> headers = new ArrayList<>();
+        // Header names are case insensitive
+        Mockito.doAnswer(invocation -> headers.add(
+                invocation.getArguments()[0].toString().toLowerCase() + ": "
+                        + invocation.getArguments()[1]))
+                .when(response)
+                .addHeader(Mockito.anyString(), Mockito.anyString());
+
+        assertTrue(devModeHandler.serveDevModeRequest(
+                prepareRequest("/VAADIN/foo.js"), response));
+
+        assertTrue(headers.contains("content-encoding: gzip"));
+        assertTrue(headers.contains("vary: Accept-Encoding"));
+        assertTrue(headers.contains("vary: Origin"));
+        assertFalse(headers.stream()
+                .anyMatch(header -> header.startsWith("transfer-encoding")));
+        Mockito.verify(response.getOutputStream()).write(Mockito.any(),
+                Mockito.eq(0), Mockito.eq(gzipped.length));
+    }
+
     @Test
     public void vaadinServlet_forDifferentRequests_shouldHaveCorrectResponse()
             throws Exception {
@@ -18,16 +18,23 @@ package com.vaadin.flow.server;
 import javax.servlet.ServletContext;
 
 import java.io.ByteArrayOutputStream;
+import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
 import java.util.List;
 
 import org.junit.Assert;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.mockito.Mockito;
 
 @PWA(name = "foo", shortName = "bar")
 public class PwaRegistryTest {
 
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
     @Test
     public void pwaIconIsGeneratedBasedOnClasspathIcon_servletContextHasNoResources()
             throws IOException {
@@ -50,4 +57,80 @@ public class PwaRegistryTest {
         // the default image has 47 on the position 36
         Assert.assertEquals(26, stream.toByteArray()[36]);
     }
+
+    @Test
+    public void pwaIconsRenderedOnDemand_cachedInConfiguredDirectory()
+            throws IOException {
+        File cacheDir = temporaryFolder.newFolder();
+        ServletContext context = Mockito.mock(ServletContext.class);
+        Mockito.when(context
+                .getInitParameter(InitParameters.PWA_ICON_CACHE_DIRECTORY))
+                .thenReturn(cacheDir.getPath());
+
+        PwaRegistry registry = new PwaRegistry(
+                PwaRegistryTest.class.getAnnotation(PWA.class), context);
+        Assert.assertEquals("No icons should be rendered on startup", 0,
+                cacheDir.list().length);
+
+        PwaIcon icon = registry.getIcons().stream()
+                .filter(candidate -> candidate.getWidth() == 32).findFirst()
+                .get();
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        icon.write(stream);
+        Assert.assertEquals(26, stream.toByteArray()[36]);
+        File[] cached = cacheDir.listFiles();
+        Assert.assertEquals(1, cached.length);
+        Assert.assertArrayEquals(stream.toByteArray(),
+                Files.readAllBytes(cached[0].toPath()));
+
+        // A new registry for the same logo uses the cached icon
+        Files.write(cached[0].toPath(), new byte[] { 1, 2, 3 });
+        PwaIcon sameIcon = new PwaRegistry(
+                PwaRegistryTest.class.getAnnotation(PWA.class), context)
+                        .getIcons().stream()
+                        .filter(candidate -> candidate.getWidth() == 32)
+                        .findFirst().get();
+        Assert.assertEquals(icon.getETag(), sameIcon.getETag());
+        Assert.assertEquals(icon.getHref(), sameIcon.getHref());
+        stream.reset();
+        sameIcon.write(stream);
+        Assert.assertArrayEquals(new byte[] { 1, 2, 3 },
+                stream.toByteArray());
+    }
+
+    @Test
+    public void pwaIconsRenderedOnDemand_cachingFails_noTemporaryFilesLeft()
+            throws IOException {
+        File cacheDir = temporaryFolder.newFolder();
+        ServletContext context = Mockito.mock(ServletContext.class);
+        Mockito.when(context
+                .getInitParameter(InitParameters.PWA_ICON_CACHE_DIRECTORY))
+                .thenReturn(cacheDir.getPath());
+
+        PwaRegistry registry = new PwaRegistry(
+                PwaRegistryTest.class.getAnnotation(PWA.class), context);
+        PwaIcon icon = registry.getIcons().stream()
+                .filter(candidate -> candidate.getWidth() == 32).findFirst()
+                .get();
+        // A non-empty directory in place of the icon makes the move fail
+        File blocker = new File(cacheDir,
+                icon.getETag().replace("\"", "") + ".png");
+        Assert.assertTrue(new File(blocker, "child").mkdirs());
+
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        icon.write(stream);
+        Assert.assertEquals(26, stream.toByteArray()[36]);
+        Assert.assertArrayEquals(new String[] { blocker.getName() },
+                cacheDir.list());
+    }
+
+    @Test
+    public void pwaIcons_differentSizes_differentETags() throws IOException {
+        PwaRegistry registry = new PwaRegistry(
+                PwaRegistryTest.class.getAnnotation(PWA.class),
+                Mockito.mock(ServletContext.class));
+
+        Assert.assertEquals(registry.getIcons().size(), registry.getIcons()
+                .stream().map(PwaIcon::getETag).distinct().count());
+    }
 }
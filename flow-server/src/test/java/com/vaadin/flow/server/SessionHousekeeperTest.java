@@ -0,0 +1,176 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import com.vaadin.flow.internal.CurrentInstance;
+import com.vaadin.tests.util.MockDeploymentConfiguration;
+
+public class SessionHousekeeperTest {
+
+    private static class TestService extends MockVaadinServletService {
+        private final List<VaadinSession> cleanedUp = new ArrayList<>();
+
+        private TestService(MockDeploymentConfiguration configuration) {
+            super(configuration);
+        }
+
+        @Override
+        void cleanupSession(VaadinSession session) {
+            cleanedUp.add(session);
+        }
+    }
+
+    private TestService service;
+
+    @After
+    public void tearDown() {
+        if (service != null) {
+            service.destroy();
+        }
+        CurrentInstance.clearAll();
+    }
+
+    @Test
+    public void backgroundHousekeepingDisabled_noHousekeeper() {
+        service = new TestService(new MockDeploymentConfiguration());
+
+        Assert.assertNull(service.getSessionHousekeeper());
+    }
+
+    @Test
+    public void backgroundHousekeepingEnabled_requestEnd_doesNotLockOrCleanup() {
+        service = createService();
+        Assert.assertNotNull(service.getSessionHousekeeper());
+
+        MockVaadinSession session = new MockVaadinSession(service) {
+            @Override
+            public void lock() {
+                Assert.fail("Session should not be locked at request end");
+            }
+        };
+        VaadinSession.setCurrent(session);
+        VaadinRequest request = Mockito.mock(VaadinRequest.class);
+        Mockito.when(request.getAttribute("requestStartTime"))
+                .thenReturn(System.nanoTime() - 5000000);
+
+        service.requestEnd(request, null, session);
+
+        Assert.assertTrue(service.cleanedUp.isEmpty());
+        session.getLockInstance().lock();
+        try {
+            Assert.assertTrue(session.getLastRequestDuration() >= 5);
+            Assert.assertEquals(session.getLastRequestDuration(),
+                    session.getCumulativeRequestDuration());
+        } finally {
+            session.getLockInstance().unlock();
+        }
+    }
+
+    @Test
+    public void sweep_dueSessions_cleanedUpAndRescheduled() {
+        service = createService();
+        SessionHousekeeper housekeeper = new SessionHousekeeper(service, 0);
+        VaadinSession session = new MockVaadinSession(service);
+
+        housekeeper.register(session);
+        housekeeper.register(session);
+
+        Assert.assertEquals(1, housekeeper.sweep());
+        Assert.assertEquals(1, service.cleanedUp.size());
+        Assert.assertSame(session, service.cleanedUp.get(0));
+
+        // Open sessions are scheduled again
+        Assert.assertEquals(1, housekeeper.sweep());
+        Assert.assertEquals(2, service.cleanedUp.size());
+    }
+
+    @Test
+    public void sweep_closedSession_notRescheduled() {
+        service = createService();
+        SessionHousekeeper housekeeper = new SessionHousekeeper(service, 0);
+        VaadinSession session = new MockVaadinSession(service);
+        close(session);
+
+        housekeeper.register(session);
+
+        Assert.assertEquals(1, housekeeper.sweep());
+        Assert.assertEquals(0, housekeeper.sweep());
+    }
+
+    @Test
+    public void sweep_sessionsNotDue_notSwept() {
+        service = createService();
+        SessionHousekeeper housekeeper = new SessionHousekeeper(service,
+                60000);
+        housekeeper.register(new MockVaadinSession(service));
+
+        Assert.assertEquals(0, housekeeper.sweep());
+        Assert.assertTrue(service.cleanedUp.isEmpty());
+    }
+
+    @Test
+    public void sweep_manyDueSessions_allSweptInOneRun() {
+        service = createService();
+        SessionHousekeeper housekeeper = new SessionHousekeeper(service, 0);
+        for (int i = 0; i < 10000; i++) {
+            VaadinSession session = new MockVaadinSession(service);
+            close(session);
+            housekeeper.register(session);
+        }
+
+        Assert.assertEquals(10000, housekeeper.sweep());
+        Assert.assertEquals(0, housekeeper.sweep());
+    }
+
+    @Test
+    public void sweep_manyOpenSessions_eachSweptOncePerRun() {
+        service = createService();
+        SessionHousekeeper housekeeper = new SessionHousekeeper(service, 0);
+        for (int i = 0; i < 500; i++) {
+            housekeeper.register(new MockVaadinSession(service));
+        }
+
+        Assert.assertEquals(500, housekeeper.sweep());
+        Assert.assertEquals(500, service.cleanedUp.size());
+        Assert.assertEquals(500, housekeeper.sweep());
+    }
+
+    private static void close(VaadinSession session) {
+        session.lock();
+        try {
+            session.setState(VaadinSessionState.CLOSING);
+            session.setState(VaadinSessionState.CLOSED);
+        } finally {
+            session.unlock();
+        }
+    }
+
+    private static TestService createService() {
+        MockDeploymentConfiguration configuration = new MockDeploymentConfiguration();
+        configuration.setApplicationOrSystemProperty(
+                InitParameters.SERVLET_PARAMETER_BACKGROUND_SESSION_HOUSEKEEPING,
+                "true");
+        return new TestService(configuration);
+    }
+}
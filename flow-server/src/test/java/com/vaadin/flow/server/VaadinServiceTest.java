@@ -19,11 +19,18 @@ import javax.servlet.ServletConfig;
 import javax.servlet.ServletException;
 import javax.servlet.http.HttpSessionBindingEvent;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -35,6 +42,7 @@ import org.mockito.Mockito;
 
 import com.vaadin.flow.component.Component;
 import com.vaadin.flow.component.Tag;
+import com.vaadin.flow.component.UI;
 import com.vaadin.flow.di.Instantiator;
 import com.vaadin.flow.di.InstantiatorFactory;
 import com.vaadin.flow.di.Lookup;
@@ -44,7 +52,14 @@ import com.vaadin.flow.internal.UsageStatistics;
 import com.vaadin.flow.router.RouteConfiguration;
 import com.vaadin.flow.router.RouteData;
 import com.vaadin.flow.router.Router;
+import com.vaadin.flow.server.HandlerHelper.RequestType;
+import com.vaadin.flow.server.communication.HeartbeatHandler;
+import com.vaadin.flow.server.communication.IndexHtmlRequestHandler;
+import com.vaadin.flow.server.communication.JavaScriptBootstrapHandler;
+import com.vaadin.flow.server.communication.SessionRequestHandler;
 import com.vaadin.flow.server.communication.StreamRequestHandler;
+import com.vaadin.flow.shared.ApplicationConstants;
+import com.vaadin.tests.util.AlwaysLockedVaadinSession;
 import com.vaadin.tests.util.MockDeploymentConfiguration;
 
 import static org.hamcrest.CoreMatchers.containsString;
@@ -388,6 +403,349 @@ public class VaadinServiceTest {
         return factory;
     }
 
+    @Test
+    public void checkMemoryBudget_budgetExceeded_listenerCalledOncePerInterval() {
+        MockDeploymentConfiguration configuration = new MockDeploymentConfiguration();
+        configuration.setApplicationOrSystemProperty(
+                InitParameters.SERVLET_PARAMETER_SESSION_MEMORY_BUDGET, "1");
+        MockVaadinServletService service = new MockVaadinServletService(
+                configuration);
+        MemoryFootprint footprint = new MemoryFootprint(100, 2000, 0, 0, 0,
+                0);
+        MockVaadinSession session = new AlwaysLockedVaadinSession(service) {
+            @Override
+            public MemoryFootprint getMemoryFootprint() {
+                return footprint;
+            }
+        };
+
+        List<MemoryBudgetExceededEvent> events = new ArrayList<>();
+        service.addMemoryBudgetExceededListener(events::add);
+
+        service.checkMemoryBudget(session);
+        service.checkMemoryBudget(session);
+
+        Assert.assertEquals(1, events.size());
+        Assert.assertSame(session, events.get(0).getSession());
+        Assert.assertSame(footprint, events.get(0).getFootprint());
+        Assert.assertEquals(1024, events.get(0).getBudget());
+    }
+
+    @Test
+    public void checkMemoryBudget_withinBudget_listenerNotCalled() {
+        MockDeploymentConfiguration configuration = new MockDeploymentConfiguration();
+        configuration.setApplicationOrSystemProperty(
+                InitParameters.SERVLET_PARAMETER_SESSION_MEMORY_BUDGET, "1");
+        MockVaadinServletService service = new MockVaadinServletService(
+                configuration);
+        MockVaadinSession session = new AlwaysLockedVaadinSession(service) {
+            @Override
+            public MemoryFootprint getMemoryFootprint() {
+                return new MemoryFootprint(10, 500, 0, 0, 0, 0);
+            }
+        };
+        AtomicBoolean called = new AtomicBoolean();
+        service.addMemoryBudgetExceededListener(event -> called.set(true));
+
+        service.checkMemoryBudget(session);
+
+        Assert.assertFalse(called.get());
+    }
+
+    @Test
+    public void checkMemoryBudget_noBudget_listenerNotCalled() {
+        MockVaadinServletService service = new MockVaadinServletService();
+        MockVaadinSession session = new MockVaadinSession(service);
+        AtomicBoolean called = new AtomicBoolean();
+        service.addMemoryBudgetExceededListener(event -> called.set(true));
+
+        service.checkMemoryBudget(session);
+
+        Assert.assertFalse(called.get());
+    }
+
+    @Test
+    public void handleWithDispatchTable_handlersCalledForDeclaredRequestTypes_metricsRecorded()
+            throws IOException {
+        List<String> calls = new ArrayList<>();
+        RequestHandler uidlHandler = new RequestHandler() {
+            @Override
+            public boolean handleRequest(VaadinSession session,
+                    VaadinRequest request, VaadinResponse response) {
+                calls.add("uidl");
+                return true;
+            }
+
+            @Override
+            public boolean canHandleRequestType(RequestType requestType) {
+                return requestType == RequestType.UIDL;
+            }
+        };
+        RequestHandler anyHandler = (session, request, response) -> {
+            calls.add("any");
+            return false;
+        };
+        MockVaadinServletService service = new MockVaadinServletService() {
+            @Override
+            protected List<RequestHandler> createRequestHandlers() {
+                // The list is reversed by the service
+                return new ArrayList<>(Arrays.asList(uidlHandler, anyHandler));
+            }
+        };
+
+        Assert.assertFalse(service.handleWithDispatchTable(null,
+                createRequest(RequestType.HEARTBEAT), null));
+        Assert.assertEquals(Collections.singletonList("any"), calls);
+
+        calls.clear();
+        Assert.assertTrue(service.handleWithDispatchTable(null,
+                createRequest(RequestType.UIDL), null));
+        Assert.assertEquals(Arrays.asList("any", "uidl"), calls);
+
+        List<RequestHandlerMetrics> metrics = service
+                .getRequestHandlerMetrics();
+        Assert.assertEquals(2, metrics.size());
+        Assert.assertSame(anyHandler, metrics.get(0).getHandler());
+        Assert.assertEquals(2, metrics.get(0).getInvocationCount());
+        Assert.assertEquals(0, metrics.get(0).getHandledCount());
+        Assert.assertSame(uidlHandler, metrics.get(1).getHandler());
+        Assert.assertEquals(1, metrics.get(1).getInvocationCount());
+        Assert.assertEquals(1, metrics.get(1).getHandledCount());
+    }
+
+    @Test
+    public void findVaadinSession_heartbeatOpenSession_foundWithoutLocking()
+            throws SessionExpiredException {
+        HeartbeatTestService service = new HeartbeatTestService();
+        service.session = new MockVaadinSession(service);
+
+        Assert.assertSame(service.session,
+                service.findVaadinSession(createHeartbeatRequest()));
+        Assert.assertEquals(0, service.lockCount);
+    }
+
+    @Test(expected = SessionExpiredException.class)
+    public void findVaadinSession_heartbeatInvalidatedSession_sessionExpired()
+            throws SessionExpiredException {
+        HeartbeatTestService service = new HeartbeatTestService();
+        service.invalidated = true;
+
+        service.findVaadinSession(createHeartbeatRequest());
+    }
+
+    @Test
+    public void findVaadinSession_heartbeatClosingSession_lockedPathUsed() {
+        HeartbeatTestService service = new HeartbeatTestService();
+        service.session = new MockVaadinSession(service);
+        service.session.lock();
+        try {
+            service.session.setState(VaadinSessionState.CLOSING);
+        } finally {
+            service.session.unlock();
+        }
+
+        try {
+            service.findVaadinSession(createHeartbeatRequest());
+            Assert.fail("Expected the locked path to be used");
+        } catch (SessionExpiredException e) {
+            // The test service fails to lock the session
+        }
+        Assert.assertEquals(1, service.lockCount);
+    }
+
+    @Test
+    public void handleRequest_heartbeatWhileSessionLockedByOtherThread_handledWithoutWaiting()
+            throws Exception {
+        HeartbeatTestService service = new HeartbeatTestService() {
+            @Override
+            protected List<RequestHandler> createRequestHandlers() {
+                // Reversed by the service, so that the session request
+                // handler is called before the heartbeat handler
+                return new ArrayList<>(Arrays.asList(new HeartbeatHandler(),
+                        new SessionRequestHandler()));
+            }
+        };
+        MockVaadinSession session = new MockVaadinSession(service);
+        UI ui = new UI() {
+            @Override
+            public int getUIId() {
+                return 42;
+            }
+        };
+        session.lock();
+        try {
+            ui.getInternals().setSession(session);
+            session.addUI(ui);
+        } finally {
+            session.unlock();
+        }
+        ui.getInternals().setLastHeartbeatTimestamp(0);
+        service.session = session;
+
+        VaadinRequest request = createHeartbeatRequest();
+        Mockito.when(request.getParameter(ApplicationConstants.UI_ID_PARAMETER))
+                .thenReturn(String.valueOf(ui.getUIId()));
+        storeAttributes(request);
+        VaadinResponse response = Mockito.mock(VaadinResponse.class);
+
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread holder = new Thread(() -> {
+            session.getLockInstance().lock();
+            try {
+                locked.countDown();
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                session.getLockInstance().unlock();
+            }
+        });
+        holder.start();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Assert.assertTrue(locked.await(5, TimeUnit.SECONDS));
+
+            // Run in another thread to fail instead of hanging if blocked
+            executor.submit(() -> {
+                service.handleRequest(request, response);
+                return null;
+            }).get(10, TimeUnit.SECONDS);
+
+            Assert.assertNotEquals(0,
+                    ui.getInternals().getLastHeartbeatTimestamp());
+            Mockito.verify(response).setHeader("Cache-Control", "no-cache");
+            Mockito.verify(response, Mockito.never())
+                    .sendError(Mockito.anyInt(), Mockito.anyString());
+        } finally {
+            release.countDown();
+            holder.join();
+            executor.shutdownNow();
+            CurrentInstance.clearAll();
+        }
+    }
+
+    private static class HeartbeatTestService extends MockVaadinServletService {
+        private VaadinSession session;
+        private boolean invalidated;
+        private int lockCount;
+
+        @Override
+        protected VaadinSession readFromHttpSession(
+                WrappedSession wrappedSession) {
+            if (invalidated) {
+                throw new IllegalStateException("Session invalidated");
+            }
+            return session;
+        }
+
+        @Override
+        protected void lockSession(WrappedSession wrappedSession) {
+            lockCount++;
+            throw new IllegalStateException("Session invalidated");
+        }
+    }
+
+    @Test
+    public void handleRequest_pageLoad_servedByIndexHtmlHandler()
+            throws ServiceException, IOException {
+        AtomicBoolean served = new AtomicBoolean();
+        IndexHtmlRequestHandler indexHandler = new IndexHtmlRequestHandler() {
+            @Override
+            public boolean synchronizedHandleRequest(VaadinSession session,
+                    VaadinRequest request, VaadinResponse response) {
+                served.set(true);
+                return true;
+            }
+        };
+        MockVaadinServletService service = new MockVaadinServletService() {
+            @Override
+            protected List<RequestHandler> createRequestHandlers() {
+                // Registered like in VaadinServletService
+                return new ArrayList<>(Arrays.asList(indexHandler,
+                        new JavaScriptBootstrapHandler()));
+            }
+
+            @Override
+            public VaadinSession findVaadinSession(VaadinRequest request) {
+                VaadinSession session = new AlwaysLockedVaadinSession(this);
+                VaadinSession.setCurrent(session);
+                return session;
+            }
+        };
+        VaadinRequest request = createRequest(null);
+        Mockito.when(request.getService()).thenReturn(service);
+        storeAttributes(request);
+        VaadinResponse response = Mockito.mock(VaadinResponse.class);
+
+        try {
+            service.handleRequest(request, response);
+        } finally {
+            CurrentInstance.clearAll();
+        }
+
+        Assert.assertTrue(served.get());
+        Mockito.verify(response, Mockito.never())
+                .sendError(Mockito.anyInt(), Mockito.anyString());
+    }
+
+    private static void storeAttributes(VaadinRequest request) {
+        Map<String, Object> attributes = new HashMap<>();
+        Mockito.doAnswer(invocation -> attributes.put(
+                (String) invocation.getArguments()[0],
+                invocation.getArguments()[1])).when(request)
+                .setAttribute(Mockito.anyString(), Mockito.any());
+        Mockito.when(request.getAttribute(Mockito.anyString()))
+                .thenAnswer(invocation -> attributes
+                        .get(invocation.getArguments()[0]));
+    }
+
+    private static VaadinRequest createHeartbeatRequest() {
+        VaadinRequest request = createRequest(RequestType.HEARTBEAT);
+        Mockito.when(request.getWrappedSession(Mockito.anyBoolean()))
+                .thenReturn(Mockito.mock(WrappedSession.class));
+        return request;
+    }
+
+    @Test
+    public void handleWithDispatchTable_getRequestHandlersOverridden_overrideUsed()
+            throws IOException {
+        List<RequestHandler> handlers = new ArrayList<>();
+        handlers.add((session, request, response) -> false);
+        MockVaadinServletService service = new MockVaadinServletService() {
+            @Override
+            public Iterable<RequestHandler> getRequestHandlers() {
+                return handlers;
+            }
+        };
+
+        Assert.assertFalse(service.handleWithDispatchTable(null,
+                createRequest(RequestType.UIDL), null));
+        Assert.assertEquals(1, service.getRequestHandlerMetrics().size());
+        Assert.assertSame(handlers.get(0),
+                service.getRequestHandlerMetrics().get(0).getHandler());
+    }
+
+    @Test
+    public void getRequestType_unknownType_null() {
+        Assert.assertNull(HandlerHelper.getRequestType(createRequest(null)));
+        VaadinRequest request = Mockito.mock(VaadinRequest.class);
+        Mockito.when(request
+                .getParameter(ApplicationConstants.REQUEST_TYPE_PARAMETER))
+                .thenReturn("foo");
+        Assert.assertNull(HandlerHelper.getRequestType(request));
+        Assert.assertEquals(RequestType.PUSH,
+                HandlerHelper.getRequestType(createRequest(RequestType.PUSH)));
+    }
+
+    private static VaadinRequest createRequest(RequestType type) {
+        VaadinRequest request = Mockito.mock(VaadinRequest.class);
+        Mockito.when(request
+                .getParameter(ApplicationConstants.REQUEST_TYPE_PARAMETER))
+                .thenReturn(type == null ? null : type.getIdentifier());
+        return request;
+    }
+
     private static VaadinService createService() throws ServiceException {
         VaadinService service = new MockVaadinServletService();
         return service;
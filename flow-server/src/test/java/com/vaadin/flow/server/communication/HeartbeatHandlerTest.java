@@ -0,0 +1,154 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server.communication;
+
+import javax.servlet.http.HttpServletResponse;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.internal.CurrentInstance;
+import com.vaadin.flow.server.MockVaadinServletService;
+import com.vaadin.flow.server.MockVaadinSession;
+import com.vaadin.flow.server.VaadinRequest;
+import com.vaadin.flow.server.VaadinResponse;
+import com.vaadin.flow.server.VaadinSession;
+import com.vaadin.flow.shared.ApplicationConstants;
+
+public class HeartbeatHandlerTest {
+
+    private static final int UI_ID = 1;
+
+    private final HeartbeatHandler handler = new HeartbeatHandler();
+
+    private MockVaadinSession session;
+    private UI ui;
+    private VaadinRequest request;
+    private VaadinResponse response;
+
+    @Before
+    public void setup() {
+        session = new MockVaadinSession(new MockVaadinServletService());
+        ui = new UI() {
+            @Override
+            public int getUIId() {
+                return UI_ID;
+            }
+        };
+        session.lock();
+        try {
+            ui.getInternals().setSession(session);
+            session.addUI(ui);
+        } finally {
+            session.unlock();
+        }
+
+        request = Mockito.mock(VaadinRequest.class);
+        Mockito.when(request
+                .getParameter(ApplicationConstants.REQUEST_TYPE_PARAMETER))
+                .thenReturn(ApplicationConstants.REQUEST_TYPE_HEARTBEAT);
+        Mockito.when(
+                request.getParameter(ApplicationConstants.UI_ID_PARAMETER))
+                .thenReturn(String.valueOf(UI_ID));
+        response = Mockito.mock(VaadinResponse.class);
+    }
+
+    @After
+    public void tearDown() {
+        CurrentInstance.clearAll();
+    }
+
+    @Test
+    public void handleRequest_sessionLockedByOtherThread_heartbeatRecordedWithoutWaiting()
+            throws Exception {
+        ui.getInternals().setLastHeartbeatTimestamp(0);
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread holder = new Thread(() -> {
+            session.getLockInstance().lock();
+            try {
+                locked.countDown();
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                session.getLockInstance().unlock();
+            }
+        });
+        holder.start();
+        try {
+            Assert.assertTrue(locked.await(5, TimeUnit.SECONDS));
+
+            Assert.assertTrue(
+                    handler.handleRequest(session, request, response));
+
+            Assert.assertNotEquals(0,
+                    ui.getInternals().getLastHeartbeatTimestamp());
+            Mockito.verify(response).setHeader("Cache-Control", "no-cache");
+        } finally {
+            release.countDown();
+            holder.join();
+        }
+    }
+
+    @Test
+    public void handleRequest_heartbeatListener_notifiedWithSessionLock()
+            throws Exception {
+        List<Boolean> lockHeld = new ArrayList<>();
+        session.lock();
+        try {
+            ui.getInternals().addHeartbeatListener(event -> lockHeld
+                    .add(VaadinSession.getCurrent().hasLock()));
+        } finally {
+            session.unlock();
+        }
+
+        handler.handleRequest(session, request, response);
+
+        Assert.assertEquals(1, lockHeld.size());
+        Assert.assertTrue(lockHeld.get(0));
+    }
+
+    @Test
+    public void handleRequest_unknownUi_notFound() throws Exception {
+        Mockito.when(
+                request.getParameter(ApplicationConstants.UI_ID_PARAMETER))
+                .thenReturn(String.valueOf(UI_ID + 1));
+
+        Assert.assertTrue(handler.handleRequest(session, request, response));
+
+        Mockito.verify(response).sendError(HttpServletResponse.SC_NOT_FOUND,
+                "UI not found");
+    }
+
+    @Test
+    public void handleRequest_notHeartbeat_notHandled() throws Exception {
+        Mockito.when(request
+                .getParameter(ApplicationConstants.REQUEST_TYPE_PARAMETER))
+                .thenReturn(ApplicationConstants.REQUEST_TYPE_UIDL);
+
+        Assert.assertFalse(handler.handleRequest(session, request, response));
+    }
+}
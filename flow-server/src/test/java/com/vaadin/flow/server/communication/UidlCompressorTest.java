@@ -0,0 +1,153 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server.communication;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.zip.GZIPInputStream;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang3.SerializationUtils;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import com.vaadin.flow.server.VaadinRequest;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+public class UidlCompressorTest {
+
+    private final UidlCompressor compressor = new UidlCompressor(1024);
+
+    @Test
+    public void compress_decompressesToOriginal() throws IOException {
+        byte[] data = createUidl(200);
+
+        byte[] compressed = compressor.compress(data);
+
+        Assert.assertArrayEquals(data, decompress(compressed));
+        Assert.assertTrue(compressed.length < data.length / 5);
+    }
+
+    @Test
+    public void compress_severalResponses_deflaterReused()
+            throws IOException {
+        byte[] first = createUidl(100);
+        byte[] second = "for(;;);[{\"syncId\":2}]".getBytes(UTF_8);
+
+        Assert.assertArrayEquals(first,
+                decompress(compressor.compress(first)));
+        Assert.assertEquals(1, compressor.getPooledDeflaters());
+        Assert.assertArrayEquals(second,
+                decompress(compressor.compress(second)));
+        Assert.assertEquals(1, compressor.getPooledDeflaters());
+    }
+
+    @Test
+    public void destroy_pooledDeflatersReleased() throws IOException {
+        byte[] data = createUidl(100);
+        compressor.compress(data);
+
+        compressor.destroy();
+
+        Assert.assertEquals(0, compressor.getPooledDeflaters());
+        Assert.assertArrayEquals(data, decompress(compressor.compress(data)));
+        Assert.assertEquals(0, compressor.getPooledDeflaters());
+    }
+
+    @Test
+    public void compress_deserialized_deflaterReused() throws IOException {
+        byte[] data = createUidl(100);
+        compressor.compress(data);
+
+        UidlCompressor deserialized = SerializationUtils
+                .deserialize(SerializationUtils.serialize(compressor));
+
+        Assert.assertEquals(1, deserialized.getCompressedResponses());
+        Assert.assertArrayEquals(data,
+                decompress(deserialized.compress(data)));
+        Assert.assertEquals(1, deserialized.getPooledDeflaters());
+    }
+
+    @Test
+    public void compress_statisticsReported() {
+        byte[] data = createUidl(200);
+
+        byte[] compressed = compressor.compress(data);
+        compressor.compress(data);
+
+        Assert.assertEquals(2, compressor.getCompressedResponses());
+        Assert.assertEquals(2L * data.length,
+                compressor.getUncompressedBytes());
+        Assert.assertEquals(2L * compressed.length,
+                compressor.getCompressedBytes());
+        Assert.assertEquals((double) compressed.length / data.length,
+                compressor.getCompressionRatio(), 0.0001);
+        Assert.assertTrue(compressor.getCompressionNanos() > 0);
+    }
+
+    @Test
+    public void shouldCompress_thresholdAndAcceptEncoding() {
+        Assert.assertTrue(compressor.shouldCompress(request("gzip, deflate"),
+                1024));
+        Assert.assertFalse(compressor.shouldCompress(request("gzip, deflate"),
+                1023));
+        Assert.assertFalse(compressor.shouldCompress(request(null), 2048));
+        Assert.assertFalse(compressor.shouldCompress(request("br"), 2048));
+        Assert.assertFalse(
+                compressor.shouldCompress(request("gzip;q=0, br"), 2048));
+        Assert.assertTrue(
+                compressor.shouldCompress(request("br, gzip;q=0.5"), 2048));
+        Assert.assertTrue(compressor.shouldCompress(request("*"), 2048));
+        Assert.assertFalse(
+                compressor.shouldCompress(request("*, gzip;q=0"), 2048));
+    }
+
+    @Test
+    public void shouldCompress_zeroThreshold_neverCompressed() {
+        Assert.assertFalse(new UidlCompressor(0)
+                .shouldCompress(request("gzip"), Integer.MAX_VALUE));
+    }
+
+    private static VaadinRequest request(String acceptEncoding) {
+        VaadinRequest request = Mockito.mock(VaadinRequest.class);
+        Mockito.when(request.getHeader("Accept-Encoding"))
+                .thenReturn(acceptEncoding);
+        return request;
+    }
+
+    private static byte[] createUidl(int changes) {
+        StringBuilder builder = new StringBuilder(
+                "for(;;);[{\"syncId\":1,\"clientId\":1,\"changes\":[");
+        for (int i = 0; i < changes; i++) {
+            if (i > 0) {
+                builder.append(',');
+            }
+            builder.append("{\"node\":").append(i)
+                    .append(",\"type\":\"put\",\"key\":\"tag\","
+                            + "\"feat\":0,\"value\":\"vaadin-grid-cell-content\"}");
+        }
+        return builder.append("]}]").toString().getBytes(UTF_8);
+    }
+
+    private static byte[] decompress(byte[] compressed) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(
+                new ByteArrayInputStream(compressed))) {
+            return IOUtils.toByteArray(in);
+        }
+    }
+}
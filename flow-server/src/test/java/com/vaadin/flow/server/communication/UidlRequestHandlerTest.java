@@ -30,12 +30,14 @@ import org.mockito.Mockito;
 import com.vaadin.flow.component.internal.JavaScriptBootstrapUI;
 import com.vaadin.flow.server.DefaultDeploymentConfiguration;
 import com.vaadin.flow.server.HandlerHelper.RequestType;
+import com.vaadin.flow.server.InitParameters;
 import com.vaadin.flow.server.VaadinRequest;
 import com.vaadin.flow.server.VaadinResponse;
 import com.vaadin.flow.server.VaadinService;
 import com.vaadin.flow.server.VaadinServletService;
 import com.vaadin.flow.server.VaadinSession;
 import com.vaadin.flow.shared.ApplicationConstants;
+import com.vaadin.tests.util.MockDeploymentConfiguration;
 
 import elemental.json.JsonObject;
 import elemental.json.impl.JsonUtil;
@@ -112,6 +114,81 @@ public class UidlRequestHandlerTest {
                 responseContent);
     }
 
+    @Test
+    public void commitJsonResponse_largeResponse_compressed()
+            throws IOException {
+        when(request.getHeader("Accept-Encoding")).thenReturn("gzip");
+        UidlCompressor compressor = new UidlCompressor(100);
+        StringBuilder json = new StringBuilder("for(;;);[{\"changes\":[");
+        for (int i = 0; i < 50; i++) {
+            json.append("{\"node\":1,\"type\":\"put\"},");
+        }
+        json.append("{}]}]");
+
+        UidlRequestHandler.commitJsonResponse(request, response,
+                json.toString(), compressor);
+
+        Mockito.verify(response).setHeader("Content-Encoding", "gzip");
+        Mockito.verify(response).setHeader("Vary", "Accept-Encoding");
+        Assert.assertEquals(1, compressor.getCompressedResponses());
+        Mockito.verify(response)
+                .setContentLength((int) compressor.getCompressedBytes());
+    }
+
+    @Test
+    public void getCompressor_serviceDestroyed_pooledDeflatersReleased() {
+        Properties properties = new Properties();
+        properties.setProperty(
+                InitParameters.SERVLET_PARAMETER_UIDL_COMPRESSION_THRESHOLD,
+                "100");
+        VaadinService service = new VaadinServletService(null,
+                new DefaultDeploymentConfiguration(getClass(), properties));
+        VaadinSession session = mock(VaadinSession.class);
+        when(session.getService()).thenReturn(service);
+
+        UidlCompressor compressor = handler.getCompressor(session);
+        compressor.compress(new byte[1024]);
+        Assert.assertEquals(1, compressor.getPooledDeflaters());
+
+        service.destroy();
+
+        Assert.assertEquals(0, compressor.getPooledDeflaters());
+        Assert.assertSame(compressor, handler.getCompressor(session));
+    }
+
+    @Test
+    public void createCompressor_invalidThreshold_compressionDisabled() {
+        MockDeploymentConfiguration configuration = new MockDeploymentConfiguration();
+        configuration.setApplicationOrSystemProperty(
+                InitParameters.SERVLET_PARAMETER_UIDL_COMPRESSION_THRESHOLD,
+                "10k");
+
+        Assert.assertEquals(0,
+                handler.createCompressor(configuration).getThreshold());
+
+        configuration.setApplicationOrSystemProperty(
+                InitParameters.SERVLET_PARAMETER_UIDL_COMPRESSION_THRESHOLD,
+                "-1");
+
+        Assert.assertEquals(0,
+                handler.createCompressor(configuration).getThreshold());
+    }
+
+    @Test
+    public void commitJsonResponse_smallResponse_notCompressed()
+            throws IOException {
+        when(request.getHeader("Accept-Encoding")).thenReturn("gzip");
+        UidlCompressor compressor = new UidlCompressor(100);
+
+        UidlRequestHandler.commitJsonResponse(request, response,
+                "for(;;);[{}]", compressor);
+
+        Mockito.verify(response, Mockito.never())
+                .setHeader(Mockito.eq("Content-Encoding"), Mockito.anyString());
+        Assert.assertEquals("for(;;);[{}]",
+                CommunicationUtil.getStringWhenWriteString(outputStream));
+    }
+
     @Test
     public void should_not_modifyUidl_when_MPR_nonJavaScriptBootstrapUI() throws Exception {
         JavaScriptBootstrapUI ui = null;
@@ -17,6 +17,7 @@ package com.vaadin.flow.server.communication;
 
 import javax.servlet.http.HttpServletRequest;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -39,14 +40,17 @@ import com.vaadin.flow.component.internal.UIInternals.JavaScriptInvocation;
 import com.vaadin.flow.dom.Element;
 import com.vaadin.flow.dom.ElementFactory;
 import com.vaadin.flow.internal.JsonUtils;
+import com.vaadin.flow.internal.nodefeature.ElementAttributeMap;
 import com.vaadin.flow.router.ParentLayout;
 import com.vaadin.flow.router.Route;
 import com.vaadin.flow.router.RouteConfiguration;
 import com.vaadin.flow.router.RouterLayout;
+import com.vaadin.flow.server.InitParameters;
 import com.vaadin.flow.server.MockServletServiceSessionSetup;
 import com.vaadin.flow.server.VaadinServletRequest;
 import com.vaadin.flow.server.VaadinSession;
 import com.vaadin.flow.shared.ApplicationConstants;
+import com.vaadin.flow.shared.Registration;
 import com.vaadin.flow.shared.ui.Dependency;
 import com.vaadin.flow.shared.ui.LoadMode;
 
@@ -180,6 +184,75 @@ public class UidlWriterTest {
         assertTrue(JsonUtils.jsonEquals(expectedJson, json));
     }
 
+    @Test
+    public void encodeExecuteJavaScript_coalescingKeys_batchedPerOwner() {
+        Element element = ElementFactory.createDiv();
+        Element other = ElementFactory.createDiv();
+
+        List<PendingJavaScriptInvocation> executeJavaScriptList = Stream.of(
+                keyedInvocation(element, "a", "$0.a = $1", element, "x"),
+                keyedInvocation(element, "b", "$0.b = $1", element, 2),
+                keyedInvocation(element, "c", "$0.c()", element),
+                keyedInvocation(other, "a", "$0.a = $1", other, "y"),
+                keyedInvocation(other, null, "$0.focus()", other))
+                .collect(Collectors.toList());
+
+        JsonArray json = UidlWriter
+                .encodeExecuteJavaScriptList(executeJavaScriptList);
+
+        assertEquals(3, json.length());
+        JsonArray batch = json.getArray(0);
+        // element, "x", element, 2, element, script
+        assertEquals(6, batch.length());
+        assertEquals("x", batch.getString(1));
+        assertEquals(2, batch.getNumber(3), 0);
+        String script = batch.getString(5);
+        assertTrue(script, script.contains(
+                "try{(function($0,$1){$0.a = $1\n}).call(this,$0,$1)}"));
+        assertTrue(script, script.contains(
+                "try{(function($0,$1){$0.b = $1\n}).call(this,$2,$3)}"));
+        assertTrue(script, script
+                .contains("try{(function($0){$0.c()\n}).call(this,$4)}"));
+        assertTrue(script,
+                script.endsWith("if($batchError){throw $batchError}"));
+
+        // Single invocations are encoded as usual
+        assertEquals("$0.a = $1", json.getArray(1).getString(2));
+        assertEquals("$0.focus()", json.getArray(2).getString(1));
+    }
+
+    @Test
+    public void encodeExecuteJavaScript_subscribedOrOtherNodeParameter_notBatched() {
+        Element element = ElementFactory.createDiv();
+        Element other = ElementFactory.createDiv();
+
+        PendingJavaScriptInvocation subscribed = keyedInvocation(element, "a",
+                "return $0.a", element);
+        subscribed.then(value -> {
+        });
+        List<PendingJavaScriptInvocation> executeJavaScriptList = Stream.of(
+                keyedInvocation(element, "b", "$0.b = 1", element),
+                subscribed,
+                keyedInvocation(element, "c", "$0.c = $1", element, other),
+                keyedInvocation(element, "d", "$0.d = 1", element),
+                keyedInvocation(element, "e", "window.e = 1"))
+                .collect(Collectors.toList());
+
+        JsonArray json = UidlWriter
+                .encodeExecuteJavaScriptList(executeJavaScriptList);
+
+        assertEquals(5, json.length());
+    }
+
+    private static PendingJavaScriptInvocation keyedInvocation(Element owner,
+            String key, String expression, Serializable... parameters) {
+        PendingJavaScriptInvocation invocation = new PendingJavaScriptInvocation(
+                owner.getNode(),
+                new JavaScriptInvocation(expression, parameters));
+        invocation.setCoalescingKey(key);
+        return invocation;
+    }
+
     @Test
     public void componentDependencies_npmMode() throws Exception {
         UI ui = initializeUIForDependenciesTest(new TestUI());
@@ -283,6 +356,87 @@ public class UidlWriterTest {
                 response.getBoolean(ApplicationConstants.RESYNCHRONIZE_ID));
     }
 
+    @Test
+    public void uidlResponseListener_statisticsByFeatureAndComponent()
+            throws Exception {
+        UI ui = initializeUIForDependenciesTest(new TestUI());
+        UidlWriter uidlWriter = new UidlWriter();
+        // Initial response with the changes from initializing the UI
+        uidlWriter.createUidl(ui, false);
+        List<UidlStatistics> statistics = new ArrayList<>();
+        mocks.getService().addUidlResponseListener(
+                event -> statistics.add(event.getStatistics()));
+
+        ActualComponent component = new ActualComponent();
+        component.getElement().setAttribute("title", "Some title");
+        ui.add(component);
+        ui.getPage().executeJs("console.log($0)", "Hello");
+
+        JsonObject response = uidlWriter.createUidl(ui, false);
+
+        assertEquals(1, statistics.size());
+        UidlStatistics stats = statistics.get(0);
+        assertEquals(response.toJson().length(), stats.getTotalBytes());
+        assertEquals(response.getArray("changes").length(),
+                stats.getChanges().getCount());
+        assertEquals(1, stats.getExecutions().getCount());
+        assertTrue(stats.getChangesByFeature()
+                .containsKey(ElementAttributeMap.class));
+        UidlStatistics.Volume componentChanges = stats.getChangesByComponent()
+                .get(ActualComponent.class);
+        assertNotNull(componentChanges);
+        assertTrue(componentChanges.getBytes() > 0);
+        assertTrue(stats.getChanges().getBytes() < stats.getTotalBytes());
+    }
+
+    @Test
+    public void uidlResponseListener_removed_notNotified() throws Exception {
+        UI ui = initializeUIForDependenciesTest(new TestUI());
+        UidlWriter uidlWriter = new UidlWriter();
+        List<UidlStatistics> statistics = new ArrayList<>();
+        Registration registration = mocks.getService()
+                .addUidlResponseListener(
+                        event -> statistics.add(event.getStatistics()));
+        registration.remove();
+
+        assertFalse(mocks.getService().isUidlStatisticsEnabled());
+        uidlWriter.createUidl(ui, false);
+        assertTrue(statistics.isEmpty());
+    }
+
+    @Test
+    public void uidlSizeWarningThreshold_statisticsEnabledWithoutListeners()
+            throws Exception {
+        initializeUIForDependenciesTest(new TestUI());
+        mocks.getDeploymentConfiguration().setApplicationOrSystemProperty(
+                InitParameters.SERVLET_PARAMETER_UIDL_SIZE_WARNING_THRESHOLD,
+                "64");
+
+        assertEquals(64, mocks.getDeploymentConfiguration()
+                .getUidlSizeWarningThreshold());
+        assertTrue(mocks.getService().isUidlStatisticsEnabled());
+    }
+
+    @Test
+    public void uidlSizeWarningThreshold_invalidValue_statisticsDisabled()
+            throws Exception {
+        initializeUIForDependenciesTest(new TestUI());
+        mocks.getDeploymentConfiguration().setApplicationOrSystemProperty(
+                InitParameters.SERVLET_PARAMETER_UIDL_SIZE_WARNING_THRESHOLD,
+                "64kB");
+
+        assertEquals(0, mocks.getDeploymentConfiguration()
+                .getUidlSizeWarningThreshold());
+        assertFalse(mocks.getService().isUidlStatisticsEnabled());
+
+        mocks.getDeploymentConfiguration().setApplicationOrSystemProperty(
+                InitParameters.SERVLET_PARAMETER_UIDL_SIZE_WARNING_THRESHOLD,
+                "-1");
+
+        assertEquals(0, mocks.getDeploymentConfiguration()
+                .getUidlSizeWarningThreshold());
+    }
+
     private void assertInlineDependencies(List<JsonObject> inlineDependencies) {
         assertThat("Should have an inline dependency", inlineDependencies,
                 hasSize(1));
@@ -15,15 +15,21 @@
  */
 package com.vaadin.flow.server.communication.rpc;
 
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
+import org.junit.After;
 import org.junit.Assert;
 import org.junit.Test;
+import org.mockito.Mockito;
 
 import com.vaadin.flow.component.ComponentTest.TestComponent;
 import com.vaadin.flow.component.UI;
+import com.vaadin.flow.dom.DomListenerRegistration;
 import com.vaadin.flow.dom.Element;
+import com.vaadin.flow.internal.CurrentInstance;
 import com.vaadin.flow.internal.StateNode;
+import com.vaadin.flow.server.VaadinRequest;
 import com.vaadin.flow.shared.JsonConstants;
 
 import elemental.json.Json;
@@ -61,6 +67,51 @@ public class EventRpcHandlerTest {
         Assert.assertEquals(123, invocationData.get());
     }
 
+    @Test
+    public void staleEvent_maxEventAge_eventDropped() throws Exception {
+        TestComponent c = new TestComponent();
+        Element element = c.getElement();
+        UI ui = new UI();
+        ui.add(c);
+        AtomicInteger invocations = new AtomicInteger(0);
+        AtomicInteger otherInvocations = new AtomicInteger(0);
+
+        DomListenerRegistration registration = element
+                .addEventListener("test-event",
+                        e -> invocations.incrementAndGet())
+                .setMaxEventAge(100);
+        element.addEventListener("test-event",
+                e -> otherInvocations.incrementAndGet());
+
+        setCurrentRequestStartTime(System.nanoTime()
+                - TimeUnit.MILLISECONDS.toNanos(5000));
+        sendElementEvent(element, ui, "test-event", null);
+
+        Assert.assertEquals(0, invocations.get());
+        Assert.assertEquals(1, registration.getDroppedEventCount());
+        Assert.assertEquals(
+                "Listener without max age should get the stale event", 1,
+                otherInvocations.get());
+
+        setCurrentRequestStartTime(System.nanoTime());
+        sendElementEvent(element, ui, "test-event", null);
+
+        Assert.assertEquals(1, invocations.get());
+        Assert.assertEquals(1, registration.getDroppedEventCount());
+    }
+
+    @After
+    public void clearCurrentInstances() {
+        CurrentInstance.clearAll();
+    }
+
+    private static void setCurrentRequestStartTime(long startTime) {
+        VaadinRequest request = Mockito.mock(VaadinRequest.class);
+        Mockito.when(request.getAttribute("requestStartTime"))
+                .thenReturn(startTime);
+        CurrentInstance.set(VaadinRequest.class, request);
+    }
+
     private static JsonObject createElementEventInvocation(Element element,
             String eventType, JsonObject eventData) {
         StateNode node = element.getNode();